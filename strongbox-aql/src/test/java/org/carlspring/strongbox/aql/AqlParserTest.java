@@ -2,6 +2,9 @@ package org.carlspring.strongbox.aql;
 
 import org.carlspring.strongbox.aql.grammar.AqlQueryParser;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
+import org.carlspring.strongbox.data.criteria.PageCursor;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Paginator.Order;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.QueryParserException;
 import org.carlspring.strongbox.data.criteria.Selector;
@@ -127,6 +130,46 @@ public class AqlParserTest
                      parameterMap);
     }
 
+    @Test
+    public void testKeysetPagination()
+    {
+        String query = "storage:storage0 +repository:releases asc: version";
+
+        AqlQueryParser aqlParser = new AqlQueryParser(query);
+
+        Selector<ArtifactEntry> selector = aqlParser.parseQuery();
+        Paginator paginator = selector.getPaginator();
+        String property = paginator.getProperty();
+
+        OQueryTemplate<Object, ArtifactEntry> queryTemplate = new OQueryTemplate<>(null);
+
+        paginator.setCursor(PageCursor.START);
+        String sqlQuery = queryTemplate.calculateQueryString(selector);
+
+        logger.info(String.format("Query [%s] first page:\n[%s]", query, sqlQuery));
+
+        assertTrue(sqlQuery.endsWith(String.format(" ORDER BY %s ASC, @rid ASC LIMIT 25", property)));
+        assertFalse(sqlQuery.contains(":cursorValue"));
+
+        paginator.setCursor(new PageCursor("1.2", "#12:5"));
+        sqlQuery = queryTemplate.calculateQueryString(selector);
+
+        logger.info(String.format("Query [%s] next page:\n[%s]", query, sqlQuery));
+
+        assertTrue(sqlQuery.endsWith(String.format(") AND (%s > :cursorValue OR (%s = :cursorValue AND @rid > :cursorRid))" +
+                                                   " ORDER BY %s ASC, @rid ASC LIMIT 25",
+                                                   property, property, property)));
+        assertFalse(sqlQuery.contains(" SKIP "));
+
+        paginator.setOrder(Order.DESC);
+        paginator.setCursor(PageCursor.at("1.2"));
+        sqlQuery = queryTemplate.calculateQueryString(selector);
+
+        assertTrue(sqlQuery.endsWith(String.format(") AND (%s <= :cursorValue OR %s IS NULL)" +
+                                                   " ORDER BY %s DESC, @rid DESC LIMIT 25",
+                                                   property, property, property)));
+    }
+
     @Test
     public void testInvalidQuery()
     {
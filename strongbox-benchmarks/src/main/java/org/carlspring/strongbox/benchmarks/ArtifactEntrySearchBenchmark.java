@@ -0,0 +1,123 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Search latency of the {@code ArtifactEntryService.findArtifactList}, depending on the number of the artifact
+ * entries in the repository:
+ * <ul>
+ * <li>{@code EXACT} - all the coordinates of a single artifact, as the artifact lookups do</li>
+ * <li>{@code SUBSTRING} - a part of the artifactId, as the search in the UI does</li>
+ * </ul>
+ *
+ * Run with {@code java -jar target/benchmarks.jar ArtifactEntrySearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactEntrySearchBenchmark
+{
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.benchmarks";
+
+    private static final int ARTIFACT_VERSIONS = 10;
+
+    @Param({ "1000", "10000" })
+    private int artifacts;
+
+    @Param({ "EXACT", "SUBSTRING" })
+    private String query;
+
+    private StorageBenchmarkContext context;
+
+    private ArtifactEntryService artifactEntryService;
+
+    private Map<String, String> coordinates;
+
+    private boolean strict;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        context.createHostedRepository(REPOSITORY_ID);
+
+        artifactEntryService = context.getBean(ArtifactEntryService.class);
+        for (int i = 0; i < artifacts; i++)
+        {
+            ArtifactEntry artifactEntry = new ArtifactEntry();
+            artifactEntry.setStorageId(StorageBenchmarkContext.STORAGE_ID);
+            artifactEntry.setRepositoryId(REPOSITORY_ID);
+            artifactEntry.setArtifactCoordinates(newCoordinates(i));
+
+            artifactEntryService.save(artifactEntry);
+        }
+
+        if ("EXACT".equals(query))
+        {
+            coordinates = newCoordinates(artifacts / 2).getCoordinates();
+            strict = true;
+        }
+        else
+        {
+            coordinates = Collections.singletonMap("artifactId",
+                                                   String.format("search-benchmark-%s", artifacts / 2 / ARTIFACT_VERSIONS));
+            strict = false;
+        }
+    }
+
+    private static MavenArtifactCoordinates newCoordinates(int i)
+    {
+        return new MavenArtifactCoordinates(GROUP_ID,
+                                            String.format("search-benchmark-%s", i / ARTIFACT_VERSIONS),
+                                            String.format("1.%s", i % ARTIFACT_VERSIONS),
+                                            null,
+                                            "jar");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ArtifactEntry> findArtifactList()
+    {
+        return artifactEntryService.findArtifactList(StorageBenchmarkContext.STORAGE_ID,
+                                                     REPOSITORY_ID,
+                                                     coordinates,
+                                                     strict);
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Artifact store and read throughput of a hosted repository, through the whole storage stack (the
+ * {@code LayoutFileSystemProvider} with the checksums, the repository path locks, the artifact entries and the
+ * events):
+ * <ul>
+ * <li>{@code store} - the artifact is redeployed, as the deployment does</li>
+ * <li>{@code read} - the artifact is read through the repository file system, as the download does</li>
+ * </ul>
+ *
+ * Run with {@code java -jar target/benchmarks.jar ArtifactStoreBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArtifactStoreBenchmark
+{
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String ARTIFACT_PATH =
+            "org/carlspring/strongbox/benchmarks/store-benchmark/1.0/store-benchmark-1.0.jar";
+
+    @Param({ "1024", "1048576" })
+    private int size;
+
+    private StorageBenchmarkContext context;
+
+    private byte[] content;
+
+    private RepositoryPath artifactPath;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        context.createHostedRepository(REPOSITORY_ID);
+
+        content = new byte[size];
+        new Random(size).nextBytes(content);
+
+        context.store(REPOSITORY_ID, ARTIFACT_PATH, content);
+        artifactPath = context.resolve(REPOSITORY_ID, ARTIFACT_PATH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long store()
+        throws Exception
+    {
+        return context.store(REPOSITORY_ID, ARTIFACT_PATH, content);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long read()
+        throws IOException
+    {
+        byte[] buffer = new byte[8192];
+
+        long result = 0;
+        try (InputStream is = Files.newInputStream(artifactPath))
+        {
+            int n;
+            while ((n = is.read(buffer)) != -1)
+            {
+                result += n;
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,116 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Path resolution latency of the {@code GroupRepositoryProvider.fetchPath}, depending on how deep the hosted
+ * repository with the artifact is nested within the group repositories. Each group has {@code width} members: the
+ * nested group (or the hosted repository with the artifact) and the empty hosted repositories, which are looked up
+ * first.
+ * <ul>
+ * <li>{@code FOUND} - the artifact exists in the innermost hosted repository</li>
+ * <li>{@code MISSING} - the artifact exists nowhere, so every member is looked up</li>
+ * </ul>
+ *
+ * Run with {@code java -jar target/benchmarks.jar GroupResolutionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupResolutionBenchmark
+{
+
+    private static final String ARTIFACT_PATH =
+            "org/carlspring/strongbox/benchmarks/group-benchmark/1.0/group-benchmark-1.0.jar";
+
+    private static final String MISSING_ARTIFACT_PATH =
+            "org/carlspring/strongbox/benchmarks/group-benchmark/1.0/group-benchmark-1.0-missing.jar";
+
+    @Param({ "1", "4", "16" })
+    private int depth;
+
+    @Param({ "1", "4" })
+    private int width;
+
+    @Param({ "FOUND", "MISSING" })
+    private String lookup;
+
+    private StorageBenchmarkContext context;
+
+    private RepositoryProvider groupRepositoryProvider;
+
+    private RepositoryPath path;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+
+        String memberId = "releases";
+        context.createHostedRepository(memberId);
+        context.store(memberId, ARTIFACT_PATH, new byte[1024]);
+
+        Repository groupRepository = null;
+        for (int level = 1; level <= depth; level++)
+        {
+            List<String> memberIds = new ArrayList<>();
+            for (int i = 1; i < width; i++)
+            {
+                String emptyMemberId = String.format("empty-%s-%s", level, i);
+                context.createHostedRepository(emptyMemberId);
+                memberIds.add(emptyMemberId);
+            }
+            memberIds.add(memberId);
+
+            groupRepository = context.createGroupRepository("group-" + level, memberIds.toArray(new String[0]));
+            memberId = groupRepository.getId();
+        }
+
+        groupRepositoryProvider = context.getBean(RepositoryProviderRegistry.class)
+                                         .getProvider(groupRepository.getType());
+        path = context.resolve(groupRepository.getId(), "FOUND".equals(lookup) ? ARTIFACT_PATH : MISSING_ARTIFACT_PATH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public Path fetchPath()
+        throws IOException
+    {
+        return groupRepositoryProvider.fetchPath(path);
+    }
+
+}
@@ -0,0 +1,154 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.artifact.coordinates.MavenArtifactCoordinates;
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Deploy latency of a new version (the pom and the jar) of an artifact id, depending on the number of the versions the
+ * artifact id already has, through the whole storage stack and the database. Each deploy moves the last version tag
+ * from both files of the previous version to the new version, and adds the files to the artifact id group.
+ * <br>
+ * The latency should stay flat with the number of the versions. Compare with the results of a build before the last
+ * version tracking, see {@code BenchmarkResultsComparator}. Each invocation adds a version, so the group grows by the
+ * number of the invocations during the trial (a few hundred at most), which doesn't matter if the latency is flat.
+ *
+ * Run with {@code java -jar target/benchmarks.jar LastVersionTrackerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = 20)
+@Measurement(iterations = 10, batchSize = 20)
+@Fork(1)
+public class LastVersionTrackerBenchmark
+{
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.benchmarks";
+
+    private static final String ARTIFACT_ID = "last-version";
+
+    /**
+     * The existing versions are added to the group in batches, rather than deployed one by one.
+     */
+    private static final int BATCH_SIZE = 500;
+
+    @Param({ "10", "1000", "10000" })
+    private int versions;
+
+    private StorageBenchmarkContext context;
+
+    private int version;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        context.createHostedRepository(REPOSITORY_ID);
+
+        RepositoryArtifactIdGroupService repositoryArtifactIdGroupService = context.getBean(
+                RepositoryArtifactIdGroupService.class);
+
+        List<ArtifactEntry> artifactEntries = new ArrayList<>();
+        for (version = 1; version <= versions; version++)
+        {
+            artifactEntries.add(newArtifactEntry(version, "pom"));
+            artifactEntries.add(newArtifactEntry(version, "jar"));
+
+            if (artifactEntries.size() >= BATCH_SIZE || version == versions)
+            {
+                RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(
+                        StorageBenchmarkContext.STORAGE_ID,
+                        REPOSITORY_ID,
+                        String.format("%s:%s", GROUP_ID, ARTIFACT_ID));
+                repositoryArtifactIdGroupService.addArtifactsToGroup(artifactGroup, artifactEntries);
+                artifactEntries.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long deploy()
+        throws Exception
+    {
+        int deployedVersion = version++;
+
+        return context.store(REPOSITORY_ID, getPath(deployedVersion, "pom"), getContent(deployedVersion)) +
+               context.store(REPOSITORY_ID, getPath(deployedVersion, "jar"), getContent(deployedVersion));
+    }
+
+    private static ArtifactEntry newArtifactEntry(int version,
+                                                  String extension)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId(StorageBenchmarkContext.STORAGE_ID);
+        artifactEntry.setRepositoryId(REPOSITORY_ID);
+        artifactEntry.setArtifactCoordinates(new MavenArtifactCoordinates(GROUP_ID,
+                                                                          ARTIFACT_ID,
+                                                                          getVersion(version),
+                                                                          null,
+                                                                          extension));
+
+        Date now = new Date();
+        artifactEntry.setCreated(now);
+        artifactEntry.setLastUpdated(now);
+        artifactEntry.setLastUsed(now);
+
+        return artifactEntry;
+    }
+
+    private static String getPath(int version,
+                                  String extension)
+    {
+        return String.format("%s/%s/%s/%s-%s.%s",
+                             GROUP_ID.replace('.', '/'),
+                             ARTIFACT_ID,
+                             getVersion(version),
+                             ARTIFACT_ID,
+                             getVersion(version),
+                             extension);
+    }
+
+    private static String getVersion(int version)
+    {
+        return String.format("1.%s", version);
+    }
+
+    private static byte[] getContent(int version)
+    {
+        return getVersion(version).getBytes();
+    }
+
+}
@@ -0,0 +1,109 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.io.LayoutInputStream;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.MavenRepositoryFactory;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Artifact read throughput through the {@link LayoutInputStream} built by the {@code LayoutFileSystemProvider}
+ * ({@code newInputStream} and {@code decorateStream}), with the checksum lookups it does for every read:
+ * <ul>
+ * <li>{@code ALL} - the repository verifies the checksums on read, so every digest is calculated, which is how
+ * artifacts were read before</li>
+ * <li>{@code NONE} - checksums are known (checksum files or artifact entry), so no digest is calculated</li>
+ * </ul>
+ *
+ * Run with {@code java -jar target/benchmarks.jar LayoutInputStreamBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LayoutInputStreamBenchmark
+{
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String ARTIFACT_PATH =
+            "org/carlspring/strongbox/benchmarks/read-benchmark/1.0/read-benchmark-1.0.jar";
+
+    @Param({ "1024", "1048576", "104857600" })
+    private int size;
+
+    @Param({ "ALL", "NONE" })
+    private String digests;
+
+    private StorageBenchmarkContext context;
+
+    private RepositoryPath artifactPath;
+
+    private byte[] buffer = new byte[8192];
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+
+        MutableRepository repository = context.getBean(MavenRepositoryFactory.class).createRepository(REPOSITORY_ID);
+        repository.setPolicy(RepositoryPolicyEnum.RELEASE.getPolicy());
+        repository.setChecksumVerifyOnRead("ALL".equals(digests));
+        context.createRepository(repository);
+
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+
+        context.store(REPOSITORY_ID, ARTIFACT_PATH, content);
+        artifactPath = context.resolve(REPOSITORY_ID, ARTIFACT_PATH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public long read()
+        throws IOException
+    {
+        long result = 0;
+        try (InputStream is = Files.newInputStream(artifactPath))
+        {
+            int n;
+            while ((n = is.read(buffer)) != -1)
+            {
+                result += n;
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.metadata.MavenMetadataManager;
+import org.carlspring.strongbox.storage.metadata.MetadataType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the {@code MavenMetadataManager.mergeAndStore}, which is how the artifact level
+ * {@code maven-metadata.xml} of a member repository is merged into its group repositories, depending on the number of
+ * the versions in the group metadata. The merged version is already there, so the metadata doesn't grow between the
+ * invocations.
+ *
+ * Run with {@code java -jar target/benchmarks.jar MavenMetadataMergeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MavenMetadataMergeBenchmark
+{
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String GROUP_ID = "org.carlspring.strongbox.benchmarks";
+
+    private static final String ARTIFACT_ID = "metadata-benchmark";
+
+    @Param({ "10", "100", "1000" })
+    private int versions;
+
+    private StorageBenchmarkContext context;
+
+    private MavenMetadataManager mavenMetadataManager;
+
+    private RepositoryPath artifactBasePath;
+
+    private Metadata mergeMetadata;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+        context.createHostedRepository(REPOSITORY_ID);
+
+        mavenMetadataManager = context.getBean(MavenMetadataManager.class);
+        artifactBasePath = context.resolve(REPOSITORY_ID, GROUP_ID.replace('.', '/') + "/" + ARTIFACT_ID);
+        Files.createDirectories(artifactBasePath);
+
+        Metadata metadata = newMetadata();
+        for (int version = 1; version <= versions; version++)
+        {
+            metadata.getVersioning().addVersion("1." + version);
+        }
+        metadata.getVersioning().setLatest("1." + versions);
+        metadata.getVersioning().setRelease("1." + versions);
+        mavenMetadataManager.storeMetadata(artifactBasePath, null, metadata, MetadataType.ARTIFACT_ROOT_LEVEL);
+
+        mergeMetadata = newMetadata();
+        mergeMetadata.getVersioning().addVersion("1." + versions);
+        mergeMetadata.getVersioning().setLatest("1." + versions);
+        mergeMetadata.getVersioning().setRelease("1." + versions);
+    }
+
+    private static Metadata newMetadata()
+    {
+        Metadata metadata = new Metadata();
+        metadata.setGroupId(GROUP_ID);
+        metadata.setArtifactId(ARTIFACT_ID);
+        metadata.setVersioning(new Versioning());
+
+        return metadata;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public void mergeAndStore()
+        throws IOException
+    {
+        mavenMetadataManager.mergeAndStore(artifactBasePath, mergeMetadata);
+    }
+
+}
@@ -0,0 +1,110 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.benchmarks.support.StorageBenchmarkContext;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.NpmRepositoryFactory;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Package feed (packument) latency of a hosted npm repository, depending on the number of the package versions:
+ * <ul>
+ * <li>{@code COLD} - the package feed is built from the artifact entries, which is how it was done on each request</li>
+ * <li>{@code CACHED} - the package feed materialized by the {@link NpmPackageFeedCache}</li>
+ * </ul>
+ *
+ * Run with {@code java -jar target/benchmarks.jar NpmPackageFeedBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NpmPackageFeedBenchmark
+{
+
+    private static final String REPOSITORY_ID = "npm-releases";
+
+    private static final String PACKAGE_NAME = "npm-benchmark";
+
+    @Param({ "10", "1000" })
+    private int versions;
+
+    @Param({ "COLD", "CACHED" })
+    private String lookup;
+
+    private StorageBenchmarkContext context;
+
+    private NpmPackageFeedCache npmPackageFeedCache;
+
+    private Repository repository;
+
+    @Setup(Level.Trial)
+    public void setup()
+        throws Exception
+    {
+        context = StorageBenchmarkContext.start();
+
+        MutableRepository mutableRepository = context.getBean(NpmRepositoryFactory.class)
+                                                     .createRepository(REPOSITORY_ID);
+        mutableRepository.setPolicy(RepositoryPolicyEnum.RELEASE.getPolicy());
+        repository = context.createRepository(mutableRepository);
+
+        // An empty tar archive is enough, the package feed is built from the artifact entries.
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (GZIPOutputStream os = new GZIPOutputStream(content))
+        {
+            os.write(new byte[1024]);
+        }
+
+        for (int i = 0; i < versions; i++)
+        {
+            NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(PACKAGE_NAME, String.format("1.0.%s", i));
+            context.store(REPOSITORY_ID, coordinates.toPath(), content.toByteArray());
+        }
+
+        npmPackageFeedCache = context.getBean(NpmPackageFeedCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+        throws IOException
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getPackageFeed()
+        throws IOException
+    {
+        if ("COLD".equals(lookup))
+        {
+            npmPackageFeedCache.invalidate(repository);
+        }
+
+        return npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME).getContent();
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.nuget.filter.NugetODataFilterPlanCache;
+import org.carlspring.strongbox.nuget.filter.NugetODataFilterQueryParser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Parse and plan latency of the NuGet OData {@code $filter}, depending on the filter shape:
+ * <ul>
+ * <li>{@code PARSE} - the filter is parsed with the new lexer and parser, which is how it was done on each
+ * request</li>
+ * <li>{@code PLAN} - the filter is planned from the shape cached by the {@link NugetODataFilterPlanCache}</li>
+ * </ul>
+ * The package ids of the filter change from one call to another, the same way they do for the clients.
+ *
+ * Run with {@code java -jar target/benchmarks.jar NugetODataFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NugetODataFilterBenchmark
+{
+
+    private static final int PACKAGES = 1000;
+
+    @Param({ "IsLatestVersion",
+             "tolower(Id) eq '%s'",
+             "tolower(Id) eq '%s' and Version eq '1.0.%s' and IsLatestVersion" })
+    private String filter;
+
+    @Param({ "PARSE", "PLAN" })
+    private String lookup;
+
+    private String[] filters;
+
+    private int next;
+
+    private AnnotationConfigApplicationContext applicationContext;
+
+    private NugetODataFilterPlanCache nugetODataFilterPlanCache;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        filters = new String[PACKAGES];
+        for (int i = 0; i < PACKAGES; i++)
+        {
+            filters[i] = String.format(filter, String.format("package%s", i), i);
+        }
+
+        applicationContext = new AnnotationConfigApplicationContext(NugetODataFilterPlanCache.class);
+        nugetODataFilterPlanCache = applicationContext.getBean(NugetODataFilterPlanCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Predicate getPredicate()
+    {
+        String query = filters[next];
+        next = (next + 1) % PACKAGES;
+        if ("PARSE".equals(lookup))
+        {
+            return new NugetODataFilterQueryParser(query).parseQuery().getPredicate();
+        }
+
+        return nugetODataFilterPlanCache.getPredicate(query);
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.carlspring.strongbox.benchmarks;
+
+import org.carlspring.strongbox.services.support.RoutingRulesMatcher;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Routing rule check latency of a group member, depending on the number of the rules configured for the group:
+ * <ul>
+ * <li>{@code SCAN} - each rule pattern is matched in turn, which is how it was done before</li>
+ * <li>{@code MATCHER} - the {@link RoutingRulesMatcher} with the rules of the member combined into one pattern</li>
+ * </ul>
+ * None of the rules matches the path, which is the common case and the worst one for the scan.
+ *
+ * Run with {@code java -jar target/benchmarks.jar RoutingRulesMatcherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingRulesMatcherBenchmark
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String GROUP_ID = "group-releases";
+
+    private static final String MEMBER_ID = "releases";
+
+    private static final String PATH = "org/carlspring/strongbox/benchmarks/routing-benchmark/1.0/routing-benchmark-1.0.jar";
+
+    @Param({ "10", "100", "1000" })
+    private int rules;
+
+    @Param({ "SCAN", "MATCHER" })
+    private String lookup;
+
+    private List<Pattern> patterns;
+
+    private RoutingRulesMatcher routingRulesMatcher;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        List<MutableRoutingRule> routingRuleList = new ArrayList<>();
+        patterns = new ArrayList<>();
+        for (int i = 0; i < rules; i++)
+        {
+            String pattern = String.format(".*com/example/denied%s/.*", i);
+            routingRuleList.add(MutableRoutingRule.create(STORAGE_ID,
+                                                          GROUP_ID,
+                                                          Collections.singletonList(new MutableRoutingRuleRepository(STORAGE_ID,
+                                                                                                                     MEMBER_ID)),
+                                                          pattern,
+                                                          RoutingRuleTypeEnum.DENY));
+            patterns.add(Pattern.compile(pattern));
+        }
+
+        MutableRoutingRules routingRules = new MutableRoutingRules();
+        routingRules.setRules(routingRuleList);
+        routingRulesMatcher = new RoutingRulesMatcher(new RoutingRules(routingRules));
+    }
+
+    @Benchmark
+    public boolean isDenied()
+    {
+        if ("SCAN".equals(lookup))
+        {
+            for (Pattern pattern : patterns)
+            {
+                if (pattern.matcher(PATH).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return routingRulesMatcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, MEMBER_ID, PATH);
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.carlspring.strongbox.benchmarks.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH result files in the JSON format (as written with {@code -rf json}, see the {@code benchmarks}
+ * profile), so that the results of two builds can be checked against each other:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.carlspring.strongbox.benchmarks.support.BenchmarkResultsComparator \
+ *      baseline/jmh-result.json target/jmh-result.json
+ * </pre>
+ *
+ * The benchmarks are matched by their name and parameters. The change is shown in percent of the baseline score,
+ * and it is marked as a regression when it is worse than the baseline by more than the sum of both score errors.
+ */
+public class BenchmarkResultsComparator
+{
+
+    private final Map<String, Score> baseline;
+
+    private final Map<String, Score> current;
+
+    public BenchmarkResultsComparator(Map<String, Score> baseline,
+                                      Map<String, Score> current)
+    {
+        this.baseline = baseline;
+        this.current = current;
+    }
+
+    public static void main(String[] args)
+        throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Usage: BenchmarkResultsComparator <baseline.json> <current.json>");
+            System.exit(1);
+        }
+
+        BenchmarkResultsComparator comparator = new BenchmarkResultsComparator(read(new File(args[0])),
+                                                                               read(new File(args[1])));
+        int regressions = comparator.compare(System.out);
+
+        System.exit(regressions > 0 ? 2 : 0);
+    }
+
+    public static Map<String, Score> read(File resultFile)
+        throws IOException
+    {
+        Map<String, Score> result = new LinkedHashMap<>();
+        for (JsonNode benchmark : new ObjectMapper().readTree(resultFile))
+        {
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = benchmark.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> i = paramsNode.fields(); i.hasNext(); )
+            {
+                Map.Entry<String, JsonNode> param = i.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+
+            JsonNode metric = benchmark.path("primaryMetric");
+            String key = params.isEmpty() ? benchmark.path("benchmark").asText()
+                                          : String.format("%s %s", benchmark.path("benchmark").asText(), params);
+
+            result.put(key, new Score(benchmark.path("mode").asText(),
+                                      metric.path("score").asDouble(),
+                                      metric.path("scoreError").asDouble(),
+                                      metric.path("scoreUnit").asText()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Prints the comparison of each benchmark found in both results.
+     *
+     * @return the number of the regressions
+     */
+    public int compare(PrintStream out)
+    {
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet())
+        {
+            Score before = baseline.get(entry.getKey());
+            if (before == null)
+            {
+                out.println(String.format("%s: %s (new)", entry.getKey(), entry.getValue()));
+                continue;
+            }
+
+            Score after = entry.getValue();
+            double change = before.score == 0 ? 0 : (after.score - before.score) / before.score * 100;
+            boolean regression = after.isWorseThan(before);
+            if (regression)
+            {
+                regressions++;
+            }
+
+            out.println(String.format("%s: %s -> %s (%+.1f%%)%s",
+                                      entry.getKey(),
+                                      before,
+                                      after,
+                                      change,
+                                      regression ? " REGRESSION" : ""));
+        }
+
+        return regressions;
+    }
+
+    public static class Score
+    {
+
+        private final String mode;
+
+        private final double score;
+
+        private final double error;
+
+        private final String unit;
+
+        public Score(String mode,
+                     double score,
+                     double error,
+                     String unit)
+        {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        /**
+         * The throughput is better when it's higher, all the other modes measure the time, which is better when it's
+         * lower.
+         */
+        boolean isWorseThan(Score baseline)
+        {
+            double margin = error + baseline.error;
+
+            return "thrpt".equals(mode) ? score + margin < baseline.score : score - margin > baseline.score;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%.3f +- %.3f %s", score, error, unit);
+        }
+
+    }
+
+}
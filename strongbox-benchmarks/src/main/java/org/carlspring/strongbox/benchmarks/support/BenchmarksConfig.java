@@ -0,0 +1,44 @@
+package org.carlspring.strongbox.benchmarks.support;
+
+import org.carlspring.strongbox.config.ClientConfig;
+import org.carlspring.strongbox.config.CommonConfig;
+import org.carlspring.strongbox.config.DataServiceConfig;
+import org.carlspring.strongbox.config.EventsConfig;
+import org.carlspring.strongbox.config.Maven2LayoutProviderConfig;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig;
+import org.carlspring.strongbox.config.StorageApiConfig;
+import org.carlspring.strongbox.config.StorageCoreConfig;
+import org.carlspring.strongbox.cron.config.CronTasksConfig;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+
+/**
+ * The storage stack of the benchmarks: the same configurations as the Maven and npm layout provider tests, without the
+ * web layer and without the mocks.
+ */
+@Configuration
+@Import({ CommonConfig.class,
+          EventsConfig.class,
+          DataServiceConfig.class,
+          CronTasksConfig.class,
+          StorageCoreConfig.class,
+          StorageApiConfig.class,
+          Maven2LayoutProviderConfig.class,
+          NpmLayoutProviderConfig.class,
+          ClientConfig.class
+})
+@PropertySource("classpath:application.properties")
+public class BenchmarksConfig
+{
+
+    @Bean
+    public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer()
+    {
+        return new PropertySourcesPlaceholderConfigurer();
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.carlspring.strongbox.benchmarks.support;
+
+import org.carlspring.strongbox.config.OrientDBProfile;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.repository.RepositoryManagementStrategyException;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.services.StorageManagementService;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.MavenRepositoryFactory;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Starts the storage stack (configuration, embedded OrientDB and Hazelcast, storage, Maven and npm layout providers)
+ * on a temporary directory, for the benchmarks which need the real services rather than the single classes.
+ * <br>
+ * The stack is started once per JMH trial, so it should be created in a {@code @Setup(Level.Trial)} method and
+ * closed in the matching {@code @TearDown}.
+ */
+public class StorageBenchmarkContext
+        implements Closeable
+{
+
+    public static final String STORAGE_ID = "storage-benchmarks";
+
+    private static final String[] CONFIGURATION_FILES = { "etc/conf/strongbox.yaml",
+                                                          "etc/conf/strongbox-cron-tasks.yaml" };
+
+    private final Path basedir;
+
+    private final AnnotationConfigApplicationContext applicationContext;
+
+    private StorageBenchmarkContext(Path basedir,
+                                    AnnotationConfigApplicationContext applicationContext)
+    {
+        this.basedir = basedir;
+        this.applicationContext = applicationContext;
+    }
+
+    public static StorageBenchmarkContext start()
+        throws IOException
+    {
+        Path basedir = Files.createTempDirectory("strongbox-benchmarks");
+        Path home = basedir.resolve("strongbox");
+        Path vault = basedir.resolve("strongbox-vault");
+
+        for (String configurationFile : CONFIGURATION_FILES)
+        {
+            copyClasspathResource(configurationFile, home.resolve(configurationFile));
+        }
+        Files.createDirectories(vault.resolve("tmp"));
+
+        System.setProperty("strongbox.basedir", basedir.toString());
+        System.setProperty("strongbox.home", home.toString());
+        System.setProperty("strongbox.vault", vault.toString());
+        System.setProperty("strongbox.storage.booter.basedir", vault.resolve("storages").toString());
+        System.setProperty("strongbox.config.file", home.resolve(CONFIGURATION_FILES[0]).toString());
+        System.setProperty("ehcache.disk.store.dir", home.resolve("cache").toString());
+        System.setProperty("java.io.tmpdir", vault.resolve("tmp").toString());
+        System.setProperty(OrientDBProfile.PROPERTY_PROFILE, OrientDBProfile.PROFILE_EMBEDDED);
+
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext();
+        applicationContext.register(BenchmarksConfig.class);
+        applicationContext.refresh();
+        applicationContext.start();
+
+        StorageBenchmarkContext result = new StorageBenchmarkContext(basedir, applicationContext);
+        result.createStorage();
+
+        return result;
+    }
+
+    private static void copyClasspathResource(String resource,
+                                              Path target)
+        throws IOException
+    {
+        try (InputStream is = StorageBenchmarkContext.class.getClassLoader().getResourceAsStream(resource))
+        {
+            if (is == null)
+            {
+                throw new IOException(String.format("Resource [%s] not found in classpath.", resource));
+            }
+
+            Files.createDirectories(target.getParent());
+            Files.copy(is, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public <T> T getBean(Class<T> type)
+    {
+        return applicationContext.getBean(type);
+    }
+
+    private void createStorage()
+        throws IOException
+    {
+        MutableStorage storage = new MutableStorage(STORAGE_ID);
+        getBean(ConfigurationManagementService.class).addStorageIfNotExists(storage);
+        getBean(StorageManagementService.class).saveStorage(storage);
+    }
+
+    /**
+     * Creates the hosted Maven release repository, which allows the redeployment, so that the same artifacts can be
+     * stored over and over again.
+     */
+    public Repository createHostedRepository(String repositoryId)
+        throws IOException, RepositoryManagementStrategyException
+    {
+        MutableRepository repository = getBean(MavenRepositoryFactory.class).createRepository(repositoryId);
+        repository.setPolicy(RepositoryPolicyEnum.RELEASE.getPolicy());
+        repository.setAllowsRedeployment(true);
+
+        return createRepository(repository);
+    }
+
+    public Repository createGroupRepository(String repositoryId,
+                                            String... memberRepositoryIds)
+        throws IOException, RepositoryManagementStrategyException
+    {
+        MutableRepository repository = getBean(MavenRepositoryFactory.class).createRepository(repositoryId);
+        repository.setType(RepositoryTypeEnum.GROUP.getType());
+        repository.getGroupRepositories().addAll(Arrays.asList(memberRepositoryIds));
+
+        return createRepository(repository);
+    }
+
+    /**
+     * Creates the repository of any layout, see the {@code RepositoryFactory} implementations.
+     */
+    public Repository createRepository(MutableRepository repository)
+        throws IOException, RepositoryManagementStrategyException
+    {
+        ConfigurationManagementService configurationManagementService = getBean(ConfigurationManagementService.class);
+        configurationManagementService.saveRepository(STORAGE_ID, repository);
+        getBean(RepositoryManagementService.class).createRepository(STORAGE_ID, repository.getId());
+
+        return configurationManagementService.getConfiguration().getRepository(STORAGE_ID, repository.getId());
+    }
+
+    public RepositoryPath resolve(String repositoryId,
+                                  String path)
+    {
+        return getBean(RepositoryPathResolver.class).resolve(STORAGE_ID, repositoryId, path);
+    }
+
+    /**
+     * Stores the artifact the same way as the deployment does, with the validation, checksums and events.
+     */
+    public long store(String repositoryId,
+                      String path,
+                      byte[] content)
+        throws Exception
+    {
+        return getBean(ArtifactManagementService.class).validateAndStore(resolve(repositoryId, path),
+                                                                         new ByteArrayInputStream(content));
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        try
+        {
+            applicationContext.close();
+        }
+        finally
+        {
+            FileSystemUtils.deleteRecursively(basedir);
+        }
+    }
+
+}
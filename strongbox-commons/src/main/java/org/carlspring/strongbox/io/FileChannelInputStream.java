@@ -0,0 +1,115 @@
+package org.carlspring.strongbox.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link InputStream} over the {@link FileChannel} which uses positional reads, so it can skip to any position and
+ * transfer the file content to another channel with {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+ * The transfer avoids copying only when the target is a file or socket channel, other targets get a buffered copy.
+ */
+public class FileChannelInputStream
+        extends InputStream
+{
+
+    private final FileChannel channel;
+
+    private long position;
+
+    public FileChannelInputStream(FileChannel channel)
+    {
+        this.channel = channel;
+    }
+
+    public long size()
+        throws IOException
+    {
+        return channel.size();
+    }
+
+    @Override
+    public int read()
+        throws IOException
+    {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+
+        return n == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b,
+                    int off,
+                    int len)
+        throws IOException
+    {
+        if (len == 0)
+        {
+            return 0;
+        }
+
+        int n = channel.read(ByteBuffer.wrap(b, off, len), position);
+        if (n > 0)
+        {
+            position += n;
+        }
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n)
+        throws IOException
+    {
+        long skipped = Math.max(0, Math.min(n, channel.size() - position));
+        position += skipped;
+
+        return skipped;
+    }
+
+    @Override
+    public int available()
+        throws IOException
+    {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, channel.size() - position));
+    }
+
+    /**
+     * Transfers {@code count} bytes starting from {@code position} into the target channel. This doesn't change the
+     * position of the stream.
+     *
+     * @return the number of bytes transferred
+     */
+    public long transferTo(long position,
+                           long count,
+                           WritableByteChannel target)
+        throws IOException
+    {
+        long end = Math.min(position + count, channel.size());
+
+        long transferred = 0;
+        while (position + transferred < end)
+        {
+            long n = channel.transferTo(position + transferred, end - position - transferred, target);
+            if (n <= 0)
+            {
+                break;
+            }
+
+            transferred += n;
+        }
+
+        return transferred;
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        channel.close();
+    }
+
+}
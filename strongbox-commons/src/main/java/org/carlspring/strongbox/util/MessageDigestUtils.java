@@ -6,11 +6,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +29,14 @@ public class MessageDigestUtils
 
     private static final Logger logger = LoggerFactory.getLogger(MessageDigestUtils.class);
 
+    private static final int CHANNEL_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The direct buffers are expensive to allocate, so each thread reuses its own one.
+     */
+    private static final ThreadLocal<ByteBuffer> channelBuffer = ThreadLocal.withInitial(
+            () -> ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE));
+
     private MessageDigestUtils() 
     {
     }
@@ -99,4 +113,48 @@ public class MessageDigestUtils
 
         return convertToHexadecimalString(md);
     }
+
+    /**
+     * Calculates the checksums of the file for all the algorithms, reading the file only once.
+     *
+     * @param path       the file to read, which is opened with {@link FileChannel}, bypassing the stream decorators
+     * @param algorithms the digest algorithms, like <code>MD5</code> or <code>SHA-1</code>
+     * @return the hexadecimal checksums by algorithm, in the order of the algorithms
+     */
+    public static Map<String, String> calculateChecksums(Path path,
+                                                         Collection<String> algorithms)
+            throws IOException, NoSuchAlgorithmException
+    {
+        Map<String, MessageDigest> digests = new LinkedHashMap<>();
+        for (String algorithm : algorithms)
+        {
+            digests.put(algorithm, MessageDigest.getInstance(algorithm));
+        }
+
+        ByteBuffer buffer = channelBuffer.get();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            buffer.clear();
+            while (channel.read(buffer) != -1)
+            {
+                buffer.flip();
+                for (MessageDigest digest : digests.values())
+                {
+                    buffer.rewind();
+                    digest.update(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        finally
+        {
+            buffer.clear();
+        }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        digests.forEach((algorithm, digest) -> result.put(algorithm, convertToHexadecimalString(digest)));
+
+        return result;
+    }
+
 }
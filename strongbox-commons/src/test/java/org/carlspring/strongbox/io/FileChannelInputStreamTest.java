@@ -0,0 +1,127 @@
+package org.carlspring.strongbox.io;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FileChannelInputStreamTest
+{
+
+    private byte[] content;
+
+    private Path path;
+
+    @BeforeEach
+    public void setup()
+            throws Exception
+    {
+        // Larger than the default buffer sizes, so that the content is read and transferred in several chunks.
+        content = new byte[256 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        path = Files.createTempFile("file-channel-input-stream", ".jar");
+        Files.write(path, content);
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws Exception
+    {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testRead()
+            throws Exception
+    {
+        try (FileChannelInputStream is = newInputStream())
+        {
+            assertEquals(content.length, is.size());
+            assertEquals(content.length, is.available());
+
+            assertEquals(content[0] & 0xFF, is.read());
+            assertArrayEquals(Arrays.copyOfRange(content, 1, content.length), IOUtils.toByteArray(is));
+
+            assertEquals(-1, is.read());
+            assertEquals(-1, is.read(new byte[10], 0, 10));
+            assertEquals(0, is.available());
+        }
+    }
+
+    @Test
+    public void testSkip()
+            throws Exception
+    {
+        int offset = content.length / 3;
+
+        try (FileChannelInputStream is = newInputStream())
+        {
+            assertEquals(offset, is.skip(offset));
+            assertEquals(content.length - offset, is.available());
+            assertArrayEquals(Arrays.copyOfRange(content, offset, content.length), IOUtils.toByteArray(is));
+
+            // It can't skip beyond the end of the file.
+            assertEquals(0, is.skip(10));
+        }
+    }
+
+    @Test
+    public void testTransferTo()
+            throws Exception
+    {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (FileChannelInputStream is = newInputStream())
+        {
+            assertEquals(content.length, is.transferTo(0, content.length, Channels.newChannel(target)));
+        }
+
+        assertArrayEquals(content, target.toByteArray());
+    }
+
+    @Test
+    public void testRangedTransferTo()
+            throws Exception
+    {
+        int start = content.length / 3;
+        int end = 2 * content.length / 3;
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (FileChannelInputStream is = newInputStream())
+        {
+            assertEquals(end - start, is.transferTo(start, end - start, Channels.newChannel(target)));
+            assertArrayEquals(Arrays.copyOfRange(content, start, end), target.toByteArray());
+
+            // The count is limited by the end of the file.
+            target.reset();
+            assertEquals(content.length - end, is.transferTo(end, content.length, Channels.newChannel(target)));
+            assertArrayEquals(Arrays.copyOfRange(content, end, content.length), target.toByteArray());
+
+            target.reset();
+            assertEquals(0, is.transferTo(content.length, 10, Channels.newChannel(target)));
+            assertEquals(0, target.size());
+
+            // The transfers don't move the position of the stream.
+            assertArrayEquals(content, IOUtils.toByteArray(is));
+        }
+    }
+
+    private FileChannelInputStream newInputStream()
+            throws Exception
+    {
+        return new FileChannelInputStream(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.carlspring.strongbox.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MessageDigestUtilsTest
+{
+
+    @Test
+    public void testCalculateChecksums()
+            throws Exception
+    {
+        // Larger than the channel buffer, so that the digests are updated more than once.
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        Path path = Files.createTempFile("message-digest-utils", ".jar");
+        try
+        {
+            Files.write(path, content);
+
+            Map<String, String> checksums = MessageDigestUtils.calculateChecksums(path,
+                                                                                  Arrays.asList("MD5", "SHA-1"));
+
+            assertEquals(Arrays.asList("MD5", "SHA-1"), Arrays.asList(checksums.keySet().toArray()));
+            assertEquals(MessageDigestUtils.calculateChecksum(path, "MD5"), checksums.get("MD5"));
+            assertEquals(MessageDigestUtils.calculateChecksum(path, "SHA-1"), checksums.get("SHA-1"));
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testCalculateChecksumsOfEmptyFile()
+            throws Exception
+    {
+        Path path = Files.createTempFile("message-digest-utils", ".jar");
+        try
+        {
+            Map<String, String> checksums = MessageDigestUtils.calculateChecksums(path, Arrays.asList("MD5"));
+
+            assertEquals("d41d8cd98f00b204e9800998ecf8427e", checksums.get("MD5"));
+        }
+        finally
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.carlspring.strongbox.cron.jobs;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.cron.domain.CronTaskConfigurationDto;
+import org.carlspring.strongbox.services.ArtifactArchiveListingService;
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+
+/**
+ * Lists the archives of the artifacts, which were stored before the archive listings were persisted on store.
+ */
+public class BackfillArchiveListingsCronJob
+        extends JavaCronJob
+{
+
+    @Inject
+    private ArtifactArchiveListingService artifactArchiveListingService;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Override
+    public void executeTask(CronTaskConfigurationDto config)
+            throws Throwable
+    {
+        String storageId = config.getProperty("storageId");
+        String repositoryId = config.getProperty("repositoryId");
+
+        if (storageId == null)
+        {
+            for (Storage storage : configurationManager.getConfiguration().getStorages().values())
+            {
+                backfillRepositories(storage);
+            }
+        }
+        else if (repositoryId == null)
+        {
+            backfillRepositories(configurationManager.getConfiguration().getStorage(storageId));
+        }
+        else
+        {
+            artifactArchiveListingService.backfillArchiveListings(storageId, repositoryId);
+        }
+    }
+
+    private void backfillRepositories(Storage storage)
+            throws IOException
+    {
+        for (Repository repository : storage.getRepositories().values())
+        {
+            if (repository.isGroupRepository())
+            {
+                continue;
+            }
+
+            artifactArchiveListingService.backfillArchiveListings(storage.getId(), repository.getId());
+        }
+    }
+
+}
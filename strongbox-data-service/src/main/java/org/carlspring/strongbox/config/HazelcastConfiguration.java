@@ -23,6 +23,8 @@ public class HazelcastConfiguration
 {
 
     public static final int ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL = 60;
+    public static final int ARTIFACT_ENTRY_CACHE_MAX_SIZE = 10000;
+    public static final int ARTIFACT_ENTRY_NEAR_CACHE_MAX_SIZE = 1000;
     public static final int AUTHENTICATION_CACHE_INVALIDATE_INTERVAL = 10;
 
     public static MapConfig authenticationCacheConfig(String name)
@@ -36,11 +38,16 @@ public class HazelcastConfiguration
 
     public static MapConfig artifactEntryCacheConfig(String name)
     {
-        return new MapConfig().setName(name).setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
-                                                                                     .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
-                                                                                                                            .setSize(100))
-                                                                                     .setInvalidateOnChange(true)
-                                                                                     .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
+        return new MapConfig().setName(name)
+                              .setMaxSizeConfig(new MaxSizeConfig(ARTIFACT_ENTRY_CACHE_MAX_SIZE,
+                                                                  MaxSizeConfig.MaxSizePolicy.PER_NODE))
+                              .setEvictionPolicy(EvictionPolicy.LRU)
+                              .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL)
+                              .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                       .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                              .setSize(ARTIFACT_ENTRY_NEAR_CACHE_MAX_SIZE))
+                                                                       .setInvalidateOnChange(true)
+                                                                       .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
     }
 
     public static MapConfig newDefaultMapConfig(String name)
@@ -68,6 +75,7 @@ public class HazelcastConfiguration
         final Config config = new Config().setInstanceName(hazelcastInstanceId.getInstanceName())
                                           .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_REPOSITORY_ALIVENESS))
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS))
+                                          .addMapConfig(artifactEntryCacheConfig(CacheName.Artifact.ARTIFACT_ENTRIES))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig("strongbox", "password"));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
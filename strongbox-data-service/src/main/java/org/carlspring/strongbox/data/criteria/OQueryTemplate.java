@@ -11,6 +11,7 @@ import org.carlspring.strongbox.data.domain.GenericEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
@@ -25,6 +26,10 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 {
     private static final Logger logger = LoggerFactory.getLogger(OQueryTemplate.class);
 
+    private static final String CURSOR_VALUE_PARAMETER = "cursorValue";
+
+    private static final String CURSOR_RID_PARAMETER = "cursorRid";
+
     protected EntityManager entityManager;
 
     public OQueryTemplate()
@@ -49,6 +54,7 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
 
         OSQLSynchQuery<T> oQuery = new OSQLSynchQuery<>(sQuery);
         Map<String, Object> parameterMap = exposeParameterMap(s.getPredicate());
+        parameterMap.putAll(exposeCursorParameterMap(s.getPaginator()));
 
         logger.debug(String.format("Executing SQL query:%n\t[%s]%nWith parameters:%n\t[%s]", sQuery, parameterMap));
 
@@ -102,6 +108,13 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         sb.append(" FROM ").append(selector.getTargetClass().getSimpleName());
 
         Predicate p = selector.getPredicate();
+        Paginator paginator = selector.getPaginator();
+        PageCursor cursor = paginator == null ? null : paginator.getCursor();
+        if (cursor != null)
+        {
+            return calculateKeysetQueryString(selector, sb);
+        }
+
         if (p.isEmpty())
         {
             return sb.toString();
@@ -110,7 +123,6 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         sb.append(" WHERE ");
         sb.append(predicateToken(p, 0));
 
-        Paginator paginator = selector.getPaginator();
         if (paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty())
         {
             sb.append(String.format(" ORDER BY %s %s", paginator.getProperty(), paginator.getOrder()));
@@ -133,6 +145,116 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         return sb.toString();
     }
 
+    private String calculateKeysetQueryString(Selector<T> selector,
+                                              StringBuilder sb)
+    {
+        Predicate p = selector.getPredicate();
+        Paginator paginator = selector.getPaginator();
+        String seekToken = seekToken(paginator);
+
+        if (!p.isEmpty() || seekToken != null)
+        {
+            sb.append(" WHERE ");
+        }
+        if (!p.isEmpty())
+        {
+            sb.append("(").append(predicateToken(p, 0)).append(")");
+        }
+        if (!p.isEmpty() && seekToken != null)
+        {
+            sb.append(" AND ");
+        }
+        if (seekToken != null)
+        {
+            sb.append(seekToken);
+        }
+
+        String property = paginator.getProperty();
+        Paginator.Order order = paginator.getOrder();
+        if (property != null && !property.trim().isEmpty())
+        {
+            sb.append(String.format(" ORDER BY %s %s, @rid %s", property, order, order));
+        }
+        else
+        {
+            sb.append(String.format(" ORDER BY @rid %s", order));
+        }
+
+        if (paginator.getSkip() > 0)
+        {
+            sb.append(String.format(" SKIP %s", paginator.getSkip()));
+        }
+        sb.append(String.format(" LIMIT %s", paginator.getLimit()));
+
+        if (selector.isFetch())
+        {
+            sb.append(" FETCHPLAN *:-1");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * The condition to select the results after the cursor, with the <code>null</code> property values coming first
+     * in ascending order.
+     */
+    private String seekToken(Paginator paginator)
+    {
+        PageCursor cursor = paginator.getCursor();
+        if (cursor.isStart())
+        {
+            return null;
+        }
+
+        boolean asc = !Paginator.Order.DESC.equals(paginator.getOrder());
+        String property = paginator.getProperty();
+        if (property == null || property.trim().isEmpty())
+        {
+            return cursor.isInclusive() ? null :
+                   String.format("@rid %s :%s", asc ? ">" : "<", CURSOR_RID_PARAMETER);
+        }
+
+        String rid = String.format(":%s", CURSOR_RID_PARAMETER);
+        String value = String.format(":%s", CURSOR_VALUE_PARAMETER);
+        if (cursor.getValue() == null)
+        {
+            // The cursor is within the null values, which come first in ascending order and last in descending.
+            return asc ? String.format("(%s IS NOT NULL OR @rid > %s)", property, rid) :
+                   String.format("(%s IS NULL AND @rid < %s)", property, rid);
+        }
+        if (cursor.isInclusive())
+        {
+            return asc ? String.format("%s >= %s", property, value) :
+                   String.format("(%s <= %s OR %s IS NULL)", property, value, property);
+        }
+
+        return asc ?
+               String.format("(%s > %s OR (%s = %s AND @rid > %s))", property, value, property, value, rid) :
+               String.format("(%s < %s OR (%s = %s AND @rid < %s) OR %s IS NULL)", property, value, property, value,
+                             rid, property);
+    }
+
+    private Map<String, Object> exposeCursorParameterMap(Paginator paginator)
+    {
+        Map<String, Object> result = new HashMap<>();
+
+        PageCursor cursor = paginator == null ? null : paginator.getCursor();
+        if (cursor == null || cursor.isStart())
+        {
+            return result;
+        }
+        if (cursor.getValue() != null)
+        {
+            result.put(CURSOR_VALUE_PARAMETER, cursor.getValue());
+        }
+        if (cursor.getRid() != null)
+        {
+            result.put(CURSOR_RID_PARAMETER, new ORecordId(cursor.getRid()));
+        }
+
+        return result;
+    }
+
     protected String predicateToken(Predicate p,
                                     int tokenCount)
     {
@@ -242,6 +364,8 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
             return " LIKE ";
         case CONTAINS:
             return " CONTAINS ";
+        case IN:
+            return " IN ";
         case IS_NULL:
             return " IS NULL ";
         case IS_NOT_NULL:
@@ -0,0 +1,258 @@
+package org.carlspring.strongbox.data.criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Objects;
+
+import org.carlspring.strongbox.data.criteria.Paginator.Order;
+import org.carlspring.strongbox.data.domain.GenericEntity;
+
+import com.orientechnologies.orient.core.id.ORecordId;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * Position within the query results ordered by the {@link Paginator} property, which is the sort key value and the
+ * record id of the last seen entity. The next page is selected with the condition on the sort key and the record id,
+ * instead of skipping all the preceding results.
+ * <p>
+ * The record id breaks the ties of the sort key, and the <code>null</code> sort key values come first in ascending
+ * order, same as OrientDB orders them.
+ */
+public class PageCursor
+{
+
+    /**
+     * The cursor before the first result.
+     */
+    public static final PageCursor START = new PageCursor(null, null);
+
+    private static final String TOKEN_SEPARATOR = "\n";
+
+    private final Object value;
+
+    private final String rid;
+
+    public PageCursor(Object value,
+                      String rid)
+    {
+        this.value = value;
+        this.rid = rid;
+    }
+
+    /**
+     * @return the cursor right after the entity
+     */
+    public static PageCursor after(GenericEntity entity,
+                                   String property)
+    {
+        return new PageCursor(resolveValue(entity, property), entity.getObjectId());
+    }
+
+    /**
+     * @return the cursor before all the results with the sort key value
+     */
+    public static PageCursor at(Object value)
+    {
+        return new PageCursor(value, null);
+    }
+
+    public Object getValue()
+    {
+        return value;
+    }
+
+    public String getRid()
+    {
+        return rid;
+    }
+
+    public boolean isStart()
+    {
+        return value == null && rid == null;
+    }
+
+    /**
+     * @return <code>true</code> if the results with the sort key value equal to the cursor value are included
+     */
+    public boolean isInclusive()
+    {
+        return rid == null;
+    }
+
+    /**
+     * Resolves the sort key value of the entity, the same way as the query does.
+     *
+     * @param property
+     *            the {@link Paginator} property, like <code>artifactCoordinates.coordinates.version</code>
+     * @return the property value or <code>null</code> if it can't be resolved
+     */
+    public static Object resolveValue(Object target,
+                                      String property)
+    {
+        if (target == null || property == null || property.trim().isEmpty())
+        {
+            return null;
+        }
+
+        String lowerCaseSuffix = ".toLowerCase()";
+        boolean lowerCase = property.endsWith(lowerCaseSuffix);
+        String path = lowerCase ? property.substring(0, property.length() - lowerCaseSuffix.length()) : property;
+
+        Object result;
+        try
+        {
+            result = PropertyUtils.getNestedProperty(target, path);
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+
+        return lowerCase && result instanceof String ? ((String) result).toLowerCase() : result;
+    }
+
+    /**
+     * @return the comparator of the cursors, consistent with the query order
+     */
+    public static Comparator<PageCursor> comparator(Order order)
+    {
+        Comparator<Object> valueComparator = Comparator.nullsFirst(PageCursor::compareValues);
+        Comparator<String> ridComparator = PageCursor::compareRids;
+        if (Order.DESC.equals(order))
+        {
+            valueComparator = valueComparator.reversed();
+            ridComparator = ridComparator.reversed();
+        }
+
+        // The inclusive cursor comes before all the results with the same sort key value.
+        return Comparator.comparing(PageCursor::getValue, valueComparator)
+                         .thenComparing(PageCursor::getRid, Comparator.nullsFirst(ridComparator));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareValues(Object v1,
+                                     Object v2)
+    {
+        if (v1 instanceof Comparable && v1.getClass().isInstance(v2))
+        {
+            return ((Comparable<Object>) v1).compareTo(v2);
+        }
+
+        return v1.toString().compareTo(v2.toString());
+    }
+
+    private static int compareRids(String rid1,
+                                   String rid2)
+    {
+        return new ORecordId(rid1).compareTo(new ORecordId(rid2));
+    }
+
+    /**
+     * @return the opaque token, which can be passed to the clients to request the next page
+     */
+    public String encode()
+    {
+        String valueToken;
+        if (value == null)
+        {
+            valueToken = "0";
+        }
+        else if (value instanceof Date)
+        {
+            valueToken = "d" + ((Date) value).getTime();
+        }
+        else if (value instanceof Number)
+        {
+            valueToken = "n" + value;
+        }
+        else
+        {
+            valueToken = "s" + value;
+        }
+
+        String token = (rid == null ? "" : rid) + TOKEN_SEPARATOR + valueToken;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if the token is not valid
+     */
+    public static PageCursor decode(String token)
+    {
+        String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(TOKEN_SEPARATOR,
+                                                                                                          2);
+        if (parts.length != 2 || parts[1].isEmpty())
+        {
+            throw new IllegalArgumentException(String.format("Invalid page cursor [%s].", token));
+        }
+
+        String rid = parts[0].isEmpty() ? null : parts[0];
+        if (rid != null && !ORecordId.isA(rid))
+        {
+            throw new IllegalArgumentException(String.format("Invalid page cursor [%s].", token));
+        }
+
+        String valueToken = parts[1].substring(1);
+        Object value;
+        try
+        {
+            switch (parts[1].charAt(0))
+            {
+            case '0':
+                value = null;
+                break;
+            case 'd':
+                value = new Date(Long.parseLong(valueToken));
+                break;
+            case 'n':
+                value = valueToken.contains(".") ? (Object) Double.valueOf(valueToken) : Long.valueOf(valueToken);
+                break;
+            case 's':
+                value = valueToken;
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Invalid page cursor [%s].", token));
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            throw new IllegalArgumentException(String.format("Invalid page cursor [%s].", token), e);
+        }
+
+        return new PageCursor(value, rid);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (!(obj instanceof PageCursor))
+        {
+            return false;
+        }
+
+        PageCursor other = (PageCursor) obj;
+
+        return Objects.equals(value, other.value) && Objects.equals(rid, other.rid);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(value, rid);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("PageCursor [value=%s, rid=%s]", value, rid);
+    }
+
+}
@@ -11,6 +11,8 @@ public class Paginator
     private String property;
     private Order order = Order.ASC;
 
+    private PageCursor cursor;
+
     public Integer getSkip()
     {
         return skip == null ? Integer.valueOf(0) : skip;
@@ -51,6 +53,20 @@ public class Paginator
         this.order = order;
     }
 
+    public PageCursor getCursor()
+    {
+        return cursor;
+    }
+
+    /**
+     * Switches to the keyset pagination: the results are ordered by the property and the record id, and selected
+     * after the cursor, so that the deep pages don't cost more than the first one.
+     */
+    public void setCursor(PageCursor cursor)
+    {
+        this.cursor = cursor;
+    }
+
     public static enum Order
     {
         ASC, DESC;
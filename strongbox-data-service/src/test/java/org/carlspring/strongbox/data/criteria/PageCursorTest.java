@@ -0,0 +1,86 @@
+package org.carlspring.strongbox.data.criteria;
+
+import org.carlspring.strongbox.data.criteria.Paginator.Order;
+
+import java.util.Comparator;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PageCursorTest
+{
+
+    @Test
+    public void testToken()
+    {
+        PageCursor cursor = new PageCursor("1.2", "#12:5");
+
+        assertEquals(cursor, PageCursor.decode(cursor.encode()));
+        assertEquals(PageCursor.START, PageCursor.decode(PageCursor.START.encode()));
+        assertEquals(PageCursor.at(42L), PageCursor.decode(PageCursor.at(42L).encode()));
+        assertEquals(PageCursor.at(new Date(1000L)), PageCursor.decode(PageCursor.at(new Date(1000L)).encode()));
+    }
+
+    @Test
+    public void testInvalidToken()
+    {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("invalid"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> PageCursor.decode(new PageCursor("1.2", "not a rid").encode()));
+    }
+
+    @Test
+    public void testAscendingOrder()
+    {
+        Comparator<PageCursor> comparator = PageCursor.comparator(Order.ASC);
+        PageCursor cursor = new PageCursor("1.2", "#12:5");
+
+        assertTrue(comparator.compare(PageCursor.at("1.2"), cursor) < 0);
+        assertTrue(comparator.compare(new PageCursor("1.2", "#12:6"), cursor) > 0);
+        assertTrue(comparator.compare(new PageCursor("1.1", "#12:6"), cursor) < 0);
+        assertTrue(comparator.compare(new PageCursor(null, "#12:6"), cursor) < 0);
+    }
+
+    @Test
+    public void testDescendingOrder()
+    {
+        Comparator<PageCursor> comparator = PageCursor.comparator(Order.DESC);
+        PageCursor cursor = new PageCursor("1.2", "#12:5");
+
+        assertTrue(comparator.compare(PageCursor.at("1.2"), cursor) < 0);
+        assertTrue(comparator.compare(new PageCursor("1.2", "#12:4"), cursor) > 0);
+        assertTrue(comparator.compare(new PageCursor("1.3", "#12:1"), cursor) < 0);
+        assertTrue(comparator.compare(new PageCursor(null, "#12:1"), cursor) > 0);
+    }
+
+    @Test
+    public void testResolveValue()
+    {
+        assertEquals("abc", PageCursor.resolveValue(new Bean("ABC"), "name.toLowerCase()"));
+        assertEquals("ABC", PageCursor.resolveValue(new Bean("ABC"), "name"));
+        assertNull(PageCursor.resolveValue(new Bean("ABC"), "unknown"));
+        assertNull(PageCursor.resolveValue(new Bean("ABC"), null));
+    }
+
+    public static class Bean
+    {
+
+        private final String name;
+
+        public Bean(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+    }
+
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Configuration
@@ -15,10 +16,53 @@ import org.springframework.scheduling.annotation.EnableAsync;
 public class EventsConfig
 {
 
-    @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    /**
+     * The executor of the {@link org.carlspring.strongbox.event.AsyncEventListener}s by default (artifact entries,
+     * archive listings).
+     */
+    public static final String EVENT_TASK_EXECUTOR = "eventTaskExecutor";
+
+    /**
+     * The executor of the repository index updates.
+     */
+    public static final String INDEX_EVENT_TASK_EXECUTOR = "indexEventTaskExecutor";
+
+    /**
+     * The executor of the repository metadata updates.
+     */
+    public static final String METADATA_EVENT_TASK_EXECUTOR = "metadataEventTaskExecutor";
+
+    /**
+     * The executor of the background remote repository searches.
+     */
+    public static final String REMOTE_SEARCH_TASK_EXECUTOR = "remoteSearchTaskExecutor";
+
+    @Bean(name = EVENT_TASK_EXECUTOR)
+    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                                      Environment environment)
+    {
+        return new EventExecutorFactoryBean("default", servletContext, environment);
+    }
+
+    @Bean(name = INDEX_EVENT_TASK_EXECUTOR)
+    public EventExecutorFactoryBean indexEventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                                           Environment environment)
+    {
+        return new EventExecutorFactoryBean("index", servletContext, environment);
+    }
+
+    @Bean(name = METADATA_EVENT_TASK_EXECUTOR)
+    public EventExecutorFactoryBean metadataEventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                                              Environment environment)
+    {
+        return new EventExecutorFactoryBean("metadata", servletContext, environment);
+    }
+
+    @Bean(name = REMOTE_SEARCH_TASK_EXECUTOR)
+    public EventExecutorFactoryBean remoteSearchTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                                             Environment environment)
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new EventExecutorFactoryBean("remoteSearch", servletContext, environment);
     }
 
 }
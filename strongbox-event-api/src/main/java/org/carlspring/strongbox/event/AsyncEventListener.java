@@ -6,6 +6,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.springframework.core.annotation.AliasFor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -15,8 +16,15 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Documented
 // TransactionalEventListener.fallbackExecution() needed only for test environment
 @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
-@Async("eventTaskExecutor")
+@Async
 public @interface AsyncEventListener
 {
 
+    /**
+     * The name of the executor bean to handle the event with, see
+     * {@link org.carlspring.strongbox.config.EventsConfig}.
+     */
+    @AliasFor(annotation = Async.class, attribute = "value")
+    String executor() default "eventTaskExecutor";
+
 }
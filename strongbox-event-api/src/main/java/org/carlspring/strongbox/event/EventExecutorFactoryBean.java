@@ -1,61 +1,84 @@
 package org.carlspring.strongbox.event;
 
+import org.carlspring.strongbox.event.EventTaskExecutor.SaturationPolicy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.core.env.Environment;
 import org.springframework.core.task.SyncTaskExecutor;
 
 import javax.servlet.ServletContext;
-import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
-public class EventExecutorFactoryBean implements FactoryBean<Executor>
+/**
+ * Creates the {@link EventTaskExecutor} configured with the <code>strongbox.events.[name].*</code> properties.
+ * <br>
+ * Outside of the Jetty container (the tests, including the ones with the mock servlet context, and the command line
+ * tools) the events are handled synchronously.
+ */
+public class EventExecutorFactoryBean implements FactoryBean<Executor>, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(EventExecutorFactoryBean.class);
 
+    private static final String JETTY_EXECUTOR_ATTRIBUTE = "org.eclipse.jetty.server.Executor";
+
+    private final String name;
+
     private final ServletContext servletContext;
 
-    public EventExecutorFactoryBean(ServletContext servletContext)
+    private final Environment environment;
+
+    private EventTaskExecutor eventTaskExecutor;
+
+    public EventExecutorFactoryBean(String name,
+                                    ServletContext servletContext,
+                                    Environment environment)
     {
         super();
+        this.name = name;
         this.servletContext = servletContext;
+        this.environment = environment;
     }
 
     @Override
     public Executor getObject()
         throws Exception
     {
-        Executor executor = Optional.ofNullable(servletContext)
-                                    .flatMap(c -> Optional.ofNullable(lookupExecutor()))
-                                    .orElse(new SyncTaskExecutor());
-        
-        logger.info(String.format("Using [%s] executor for Async events.", executor.getClass()));
-        
-        return executor;
-    }
-
-    private Executor lookupExecutor()
-    {
-        Executor result;
-        if ((result = lookupJettyExecutor()) != null)
+        if (!isJettyContainer())
         {
-            return result;
+            logger.info(String.format("Using [%s] executor for [%s] Async events.", SyncTaskExecutor.class, name));
+
+            return new SyncTaskExecutor();
         }
-        return null;
-    }
 
-    private Executor lookupJettyExecutor()
-    {
-        Executor executor = (Executor) servletContext.getAttribute("org.eclipse.jetty.server.Executor");
-        if (executor == null)
+        if (eventTaskExecutor == null)
         {
-            return null;
+            String prefix = "strongbox.events." + name + ".";
+            int threads = environment.getProperty(prefix + "threads", Integer.class, 2);
+            int queueCapacity = environment.getProperty(prefix + "queueCapacity", Integer.class, 1000);
+            SaturationPolicy saturationPolicy = environment.getProperty(prefix + "saturationPolicy",
+                                                                        SaturationPolicy.class,
+                                                                        SaturationPolicy.CALLER_RUNS);
+
+            logger.info(String.format("Using [%s] threads, [%s] queue capacity and [%s] policy for [%s] Async events.",
+                                      threads, queueCapacity, saturationPolicy, name));
+
+            eventTaskExecutor = new EventTaskExecutor(name, threads, queueCapacity, saturationPolicy);
         }
 
-        logger.info("Jetty environment detected.");
+        return eventTaskExecutor;
+    }
 
-        return executor;
+    /**
+     * The Jetty container exposes its executor as the servlet context attribute, unlike the mock servlet context.
+     */
+    private boolean isJettyContainer()
+    {
+        return servletContext != null && servletContext.getAttribute(JETTY_EXECUTOR_ATTRIBUTE) != null;
     }
 
     @Override
@@ -64,4 +87,17 @@ public class EventExecutorFactoryBean implements FactoryBean<Executor>
         return Executor.class;
     }
 
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        if (eventTaskExecutor != null)
+        {
+            eventTaskExecutor.shutdown(environment.getProperty("strongbox.events.shutdownTimeoutMillis",
+                                                               Long.class,
+                                                               10000L),
+                                       TimeUnit.MILLISECONDS);
+        }
+    }
+
 }
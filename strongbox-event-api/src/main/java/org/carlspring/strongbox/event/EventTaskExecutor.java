@@ -0,0 +1,182 @@
+package org.carlspring.strongbox.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded executor for the {@link AsyncEventListener}s of the same kind (artifact entries, indexes, metadata), so
+ * that the event handling has its own threads, apart from the request threads, and a slow kind of the listeners
+ * can't hold up the others.
+ * <br>
+ * When both the threads and the queue are busy, the event is handled according to the {@link SaturationPolicy}.
+ * The queue size, the time the events wait in the queue and the time taken to handle them are exposed as the
+ * <code>strongbox.events.*</code> metrics, tagged with the executor name.
+ */
+public class EventTaskExecutor
+        implements TaskExecutor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTaskExecutor.class);
+
+    private final String name;
+
+    private final SaturationPolicy saturationPolicy;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer lagTimer;
+
+    private final Timer latencyTimer;
+
+    private final Counter callerRunsCounter;
+
+    private final Counter discardedCounter;
+
+    public EventTaskExecutor(String name,
+                             int threads,
+                             int queueCapacity,
+                             SaturationPolicy saturationPolicy)
+    {
+        this.name = name;
+        this.saturationPolicy = saturationPolicy;
+
+        RejectedExecutionHandler rejectedExecutionHandler = this::rejected;
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          60L,
+                                          TimeUnit.SECONDS,
+                                          new ArrayBlockingQueue<>(queueCapacity),
+                                          new CustomizableThreadFactory(name + "-event-"),
+                                          rejectedExecutionHandler);
+        executor.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("strongbox.events.queue.size", executor, e -> e.getQueue().size())
+             .description("Events waiting to be handled")
+             .tag("executor", name)
+             .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.events.active", executor, ThreadPoolExecutor::getActiveCount)
+             .description("Events being handled")
+             .tag("executor", name)
+             .register(Metrics.globalRegistry);
+        lagTimer = Timer.builder("strongbox.events.lag")
+                        .description("Time the events wait in the queue before being handled")
+                        .tag("executor", name)
+                        .register(Metrics.globalRegistry);
+        latencyTimer = Timer.builder("strongbox.events.latency")
+                            .description("Time taken to handle the events")
+                            .tag("executor", name)
+                            .register(Metrics.globalRegistry);
+        callerRunsCounter = Counter.builder("strongbox.events.saturated")
+                                   .description("Events handled within the publishing thread, because the queue was full")
+                                   .tag("executor", name)
+                                   .register(Metrics.globalRegistry);
+        discardedCounter = Counter.builder("strongbox.events.discarded")
+                                  .description("Events discarded, because the queue was full")
+                                  .tag("executor", name)
+                                  .register(Metrics.globalRegistry);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public SaturationPolicy getSaturationPolicy()
+    {
+        return saturationPolicy;
+    }
+
+    public int getQueueSize()
+    {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        long submittedAt = System.nanoTime();
+        executor.execute(() -> {
+            long startedAt = System.nanoTime();
+            lagTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try
+            {
+                task.run();
+            }
+            finally
+            {
+                latencyTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private void rejected(Runnable task,
+                          ThreadPoolExecutor executor)
+    {
+        if (executor.isShutdown())
+        {
+            discardedCounter.increment();
+            logger.warn(String.format("Event discarded, [%s] executor is shut down.", name));
+
+            return;
+        }
+
+        switch (saturationPolicy)
+        {
+            case CALLER_RUNS:
+                callerRunsCounter.increment();
+                logger.debug(String.format("[%s] executor saturated, handling the event within [%s].",
+                                           name, Thread.currentThread().getName()));
+                task.run();
+
+                break;
+            case DISCARD:
+                discardedCounter.increment();
+                logger.warn(String.format("Event discarded, [%s] executor saturated.", name));
+
+                break;
+        }
+    }
+
+    /**
+     * Waits for the queued events to be handled, at most for the given time.
+     */
+    public void shutdown(long timeout,
+                         TimeUnit unit)
+        throws InterruptedException
+    {
+        executor.shutdown();
+        if (!executor.awaitTermination(timeout, unit))
+        {
+            logger.warn(String.format("[%s] executor terminated with [%s] events not handled.",
+                                      name, executor.shutdownNow().size()));
+        }
+    }
+
+    public enum SaturationPolicy
+    {
+
+        /**
+         * The event is handled within the publishing thread, which slows down the publisher until the queue has
+         * room again.
+         */
+        CALLER_RUNS,
+
+        /**
+         * The event is discarded, for the listeners which can be caught up later (like the scheduled reindexing).
+         */
+        DISCARD
+
+    }
+
+}
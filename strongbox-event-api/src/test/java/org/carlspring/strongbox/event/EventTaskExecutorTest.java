@@ -0,0 +1,112 @@
+package org.carlspring.strongbox.event;
+
+import org.carlspring.strongbox.event.EventTaskExecutor.SaturationPolicy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventTaskExecutorTest
+{
+
+    @Test
+    public void testHandleEventsApartFromPublisher()
+            throws Exception
+    {
+        EventTaskExecutor executor = new EventTaskExecutor("test-async", 2, 10, SaturationPolicy.CALLER_RUNS);
+        try
+        {
+            AtomicReference<Thread> handlerThread = new AtomicReference<>();
+            CountDownLatch handled = new CountDownLatch(1);
+            executor.execute(() -> {
+                handlerThread.set(Thread.currentThread());
+                handled.countDown();
+            });
+
+            assertTrue(handled.await(10, TimeUnit.SECONDS));
+            assertNotEquals(Thread.currentThread(), handlerThread.get());
+        }
+        finally
+        {
+            executor.shutdown(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testCallerRunsWhenSaturated()
+            throws Exception
+    {
+        EventTaskExecutor executor = new EventTaskExecutor("test-caller-runs", 1, 1, SaturationPolicy.CALLER_RUNS);
+        CountDownLatch release = new CountDownLatch(1);
+        try
+        {
+            saturate(executor, release);
+
+            AtomicReference<Thread> handlerThread = new AtomicReference<>();
+            executor.execute(() -> handlerThread.set(Thread.currentThread()));
+
+            assertEquals(Thread.currentThread(), handlerThread.get());
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testDiscardWhenSaturated()
+            throws Exception
+    {
+        EventTaskExecutor executor = new EventTaskExecutor("test-discard", 1, 1, SaturationPolicy.DISCARD);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+        try
+        {
+            saturate(executor, release);
+
+            executor.execute(handled::incrementAndGet);
+        }
+        finally
+        {
+            release.countDown();
+            executor.shutdown(10, TimeUnit.SECONDS);
+        }
+
+        // The queued events are handled on shutdown, the discarded one never.
+        assertEquals(0, handled.get());
+    }
+
+    /**
+     * Occupies the only thread and then fills the queue.
+     */
+    private void saturate(EventTaskExecutor executor,
+                          CountDownLatch release)
+            throws InterruptedException
+    {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.execute(() -> {
+        });
+        assertEquals(1, executor.getQueueSize());
+    }
+
+}
@@ -81,7 +81,7 @@ public abstract class AsyncArtifactEntryHandler
         threadWithNewTransactionContext.join();
     }
 
-    private void handleLocked(RepositoryPath repositoryPath)
+    protected void handleLocked(RepositoryPath repositoryPath)
         throws IOException,
         InterruptedException
     {
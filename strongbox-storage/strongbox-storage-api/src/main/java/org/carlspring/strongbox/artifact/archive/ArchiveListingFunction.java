@@ -2,7 +2,12 @@ package org.carlspring.strongbox.artifact.archive;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -31,6 +36,28 @@ public interface ArchiveListingFunction
         return result;
     }
 
+    /**
+     * Lists the ZIP archive entries from the central directory, reading only the end of the archive.
+     */
+    default Set<String> getZipEntryNames(final RepositoryPath path)
+            throws IOException
+    {
+        try (SeekableByteChannel channel = Files.newByteChannel(path))
+        {
+            return ZipCentralDirectoryReader.readEntryNames(channel);
+        }
+    }
+
+    /**
+     * Opens the archive directly from the storage, without the layout stream decoration (like the digests
+     * calculation), which is useless for listing.
+     */
+    default InputStream newInputStream(final RepositoryPath path)
+            throws IOException
+    {
+        return new BufferedInputStream(Channels.newInputStream(Files.newByteChannel(path)));
+    }
+
     default boolean supports(RepositoryPath path)
     {
         return true;
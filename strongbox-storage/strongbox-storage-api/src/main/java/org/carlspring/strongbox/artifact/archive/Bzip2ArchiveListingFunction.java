@@ -2,10 +2,8 @@ package org.carlspring.strongbox.artifact.archive;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -26,9 +24,8 @@ public enum Bzip2ArchiveListingFunction
     public Set<String> listFilenames(final RepositoryPath path)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
-             BufferedInputStream bis = new BufferedInputStream(is);
-             BZip2CompressorInputStream bzIs = new BZip2CompressorInputStream(bis);
+        try (InputStream is = newInputStream(path);
+             BZip2CompressorInputStream bzIs = new BZip2CompressorInputStream(is);
              ArchiveInputStream tarIs = new TarArchiveInputStream(bzIs))
         {
             return getEntryNames(tarIs);
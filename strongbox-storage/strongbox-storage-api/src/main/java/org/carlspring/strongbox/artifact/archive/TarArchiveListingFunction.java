@@ -2,10 +2,8 @@ package org.carlspring.strongbox.artifact.archive;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -25,9 +23,8 @@ public enum TarArchiveListingFunction
     public Set<String> listFilenames(final RepositoryPath path)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
-             BufferedInputStream bis = new BufferedInputStream(is);
-             ArchiveInputStream ais = new TarArchiveInputStream(bis))
+        try (InputStream is = newInputStream(path);
+             ArchiveInputStream ais = new TarArchiveInputStream(is))
         {
             return getEntryNames(ais);
         }
@@ -2,12 +2,11 @@ package org.carlspring.strongbox.artifact.archive;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
+import java.util.zip.ZipException;
 
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
@@ -25,11 +24,19 @@ public enum ZipArchiveListingFunction
     public Set<String> listFilenames(final RepositoryPath path)
             throws IOException
     {
-        try (InputStream is = Files.newInputStream(path);
-             BufferedInputStream bis = new BufferedInputStream(is);
-             ArchiveInputStream ais = new ZipArchiveInputStream(bis))
+        try
         {
-            return getEntryNames(ais);
+            return getZipEntryNames(path);
+        }
+        catch (ZipException e)
+        {
+            // The central directory is broken (the archive is truncated, for example), but the local file headers
+            // may still be readable.
+            try (InputStream is = newInputStream(path);
+                 ArchiveInputStream ais = new ZipArchiveInputStream(is))
+            {
+                return getEntryNames(ais);
+            }
         }
     }
 
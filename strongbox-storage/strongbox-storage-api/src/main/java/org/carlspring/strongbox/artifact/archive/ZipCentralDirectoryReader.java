@@ -0,0 +1,183 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the entry names of a ZIP archive (jar, war, zip and etc.) from its central directory, which is at the end of
+ * the archive, so that the compressed entries are not read at all.
+ *
+ * @see <a href="https://pkware.cachefly.net/webdocs/casestudies/APPNOTE.TXT">ZIP File Format Specification</a>
+ */
+public final class ZipCentralDirectoryReader
+{
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+
+    private static final int EOCD_LENGTH = 22;
+
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final int ZIP64_EOCD_LOCATOR_SIGNATURE = 0x07064b50;
+
+    private static final int ZIP64_EOCD_LOCATOR_LENGTH = 20;
+
+    private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+
+    private static final int ZIP64_EOCD_LENGTH = 56;
+
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+
+    private static final int CENTRAL_FILE_HEADER_LENGTH = 46;
+
+    private ZipCentralDirectoryReader()
+    {
+    }
+
+    public static Set<String> readEntryNames(SeekableByteChannel channel)
+            throws IOException
+    {
+        long size = channel.size();
+        if (size < EOCD_LENGTH)
+        {
+            throw new ZipException("Archive is too short to be a ZIP file.");
+        }
+
+        // The end of central directory record is followed by the variable length comment only.
+        int tailLength = (int) Math.min(size, EOCD_LENGTH + MAX_COMMENT_LENGTH);
+        long tailPosition = size - tailLength;
+        ByteBuffer tail = read(channel, tailPosition, tailLength);
+
+        int eocdOffset = -1;
+        for (int i = tailLength - EOCD_LENGTH; i >= 0; i--)
+        {
+            if (tail.getInt(i) == EOCD_SIGNATURE)
+            {
+                eocdOffset = i;
+                break;
+            }
+        }
+        if (eocdOffset < 0)
+        {
+            throw new ZipException("End of central directory record not found.");
+        }
+
+        long eocdPosition = tailPosition + eocdOffset;
+        long entryCount = tail.getShort(eocdOffset + 10) & 0xFFFF;
+        long centralDirectorySize = tail.getInt(eocdOffset + 12) & 0xFFFFFFFFL;
+        long centralDirectoryEnd = eocdPosition;
+
+        int locatorOffset = eocdOffset - ZIP64_EOCD_LOCATOR_LENGTH;
+        long locatorPosition = eocdPosition - ZIP64_EOCD_LOCATOR_LENGTH;
+        if (locatorPosition >= 0)
+        {
+            ByteBuffer locator = locatorOffset >= 0 ? slice(tail, locatorOffset, ZIP64_EOCD_LOCATOR_LENGTH) :
+                                 read(channel, locatorPosition, ZIP64_EOCD_LOCATOR_LENGTH);
+            if (locator.getInt(0) == ZIP64_EOCD_LOCATOR_SIGNATURE)
+            {
+                // The ZIP64 record precedes the locator, its own offset is not used, in case there is some data
+                // prepended to the archive (like a self-extracting stub).
+                long zip64EocdPosition = locatorPosition - ZIP64_EOCD_LENGTH;
+                ByteBuffer zip64Eocd = read(channel, zip64EocdPosition, ZIP64_EOCD_LENGTH);
+                if (zip64Eocd.getInt(0) != ZIP64_EOCD_SIGNATURE)
+                {
+                    throw new ZipException("ZIP64 end of central directory record not found.");
+                }
+
+                entryCount = zip64Eocd.getLong(32);
+                centralDirectorySize = zip64Eocd.getLong(40);
+                centralDirectoryEnd = zip64EocdPosition;
+                if (entryCount < 0)
+                {
+                    throw new ZipException(String.format("Invalid central directory entry count [%s].", entryCount));
+                }
+            }
+        }
+
+        long centralDirectoryPosition = centralDirectoryEnd - centralDirectorySize;
+        if (centralDirectorySize < 0 || centralDirectorySize > Integer.MAX_VALUE || centralDirectoryPosition < 0)
+        {
+            throw new ZipException(String.format("Invalid central directory size [%s].", centralDirectorySize));
+        }
+
+        ByteBuffer centralDirectory = read(channel, centralDirectoryPosition, (int) centralDirectorySize);
+
+        Set<String> result = new LinkedHashSet<>();
+        int offset = 0;
+        for (long i = 0; i < entryCount; i++)
+        {
+            if (offset + CENTRAL_FILE_HEADER_LENGTH > centralDirectorySize ||
+                centralDirectory.getInt(offset) != CENTRAL_FILE_HEADER_SIGNATURE)
+            {
+                throw new ZipException(String.format("Invalid central directory file header at [%s].", offset));
+            }
+
+            int nameLength = centralDirectory.getShort(offset + 28) & 0xFFFF;
+            int extraLength = centralDirectory.getShort(offset + 30) & 0xFFFF;
+            int commentLength = centralDirectory.getShort(offset + 32) & 0xFFFF;
+
+            int nameOffset = offset + CENTRAL_FILE_HEADER_LENGTH;
+            if (nameOffset + nameLength > centralDirectorySize)
+            {
+                throw new ZipException(String.format("Invalid central directory file header at [%s].", offset));
+            }
+
+            byte[] name = new byte[nameLength];
+            ByteBuffer nameBuffer = centralDirectory.duplicate();
+            nameBuffer.position(nameOffset);
+            nameBuffer.get(name);
+            result.add(new String(name, StandardCharsets.UTF_8));
+
+            offset = nameOffset + nameLength + extraLength + commentLength;
+        }
+
+        return result;
+    }
+
+    /**
+     * The offsets and sizes come from the archive itself, so a corrupted or truncated archive is reported as a
+     * {@link ZipException}, rather than an {@link IllegalArgumentException} or an {@link java.io.EOFException}.
+     */
+    private static ByteBuffer read(SeekableByteChannel channel,
+                                   long position,
+                                   int length)
+            throws IOException
+    {
+        if (position < 0 || length < 0 || position > channel.size() - length)
+        {
+            throw new ZipException(String.format("Invalid archive offset [%s], the archive is truncated or corrupted.",
+                                                 position));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        channel.position(position);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer) < 0)
+            {
+                throw new ZipException("Unexpected end of the archive, the archive is truncated.");
+            }
+        }
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer,
+                                    int offset,
+                                    int length)
+    {
+        ByteBuffer result = buffer.duplicate();
+        result.position(offset);
+        result.limit(offset + length);
+
+        return result.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
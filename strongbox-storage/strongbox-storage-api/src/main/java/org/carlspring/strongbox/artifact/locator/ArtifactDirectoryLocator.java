@@ -4,14 +4,34 @@ import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOpera
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.stream.Stream;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Walks the directories of a repository and executes the {@link ArtifactDirectoryOperation} for each of them.
+ * <p>
+ * The directories are streamed as they are visited, depth first. With an {@link #setExecutor(Executor) executor} the
+ * operations are executed concurrently, with the following ordering guarantees:
+ * <ul>
+ * <li>the operation of a directory is executed after the operation of its parent directory</li>
+ * <li>the operations of the sibling directories (like the versions of an artifact id) are executed one by one, in the
+ * order they were visited</li>
+ * </ul>
+ * so only the directories of the different artifact ids are processed at the same time.
+ *
  * @author mtodorov
  */
 public class ArtifactDirectoryLocator
@@ -19,6 +39,8 @@ public class ArtifactDirectoryLocator
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactDirectoryLocator.class);
 
+    private static final Executor CALLER_RUNS = Runnable::run;
+
     private ArtifactDirectoryOperation operation;
 
     /**
@@ -27,6 +49,18 @@ public class ArtifactDirectoryLocator
      */
     private RepositoryPath basedir;
 
+    private Executor executor;
+
+    /**
+     * Limits the number of the directories which are located, but not processed yet.
+     */
+    private int maxPendingDirectories = 256;
+
+    /**
+     * Limits the rate of the located directories, so that the walk doesn't take over the storage I/O.
+     */
+    private RateLimiter rateLimiter;
+
     public void locateArtifactDirectories()
         throws IOException
     {
@@ -34,22 +68,27 @@ public class ArtifactDirectoryLocator
 
         RepositoryPath startingPath = getStartingPath();
 
-        try (Stream<Path> pathStream = Files.walk(startingPath))
+        DirectoryWalker walker = new DirectoryWalker(executor != null ? executor : CALLER_RUNS);
+        try
+        {
+            Files.walkFileTree(startingPath, walker);
+        }
+        finally
         {
-            pathStream.filter(Files::isDirectory)
-                      // Skip directories which start with a dot (like, for example: .index)
-                      .filter(path -> !path.getFileName().toString().startsWith("."))
-                      // Note: Sorting can be expensive:
-                      .sorted()
-                      .forEach(this::execute);
+            walker.awaitTermination();
         }
 
         long endTime = System.currentTimeMillis();
 
-        logger.debug("Executed (cache: " + -operation.getVisitedRootPaths().size() + ")" +
-                     " visits in " + (endTime - startTime) + " ms.");
+        logger.debug(String.format("Executed [%s] visits in [%s] ms.", walker.directoryCount, endTime - startTime));
 
         getOperation().getVisitedRootPaths().clear();
+
+        RuntimeException failure = walker.failure.get();
+        if (failure != null)
+        {
+            throw failure;
+        }
     }
 
     public RepositoryPath getStartingPath()
@@ -88,6 +127,41 @@ public class ArtifactDirectoryLocator
         this.basedir = basedir;
     }
 
+    public Executor getExecutor()
+    {
+        return executor;
+    }
+
+    /**
+     * @param executor
+     *            the executor to run the operations concurrently, or <code>null</code> to run them within the
+     *            calling thread
+     */
+    public void setExecutor(Executor executor)
+    {
+        this.executor = executor;
+    }
+
+    public int getMaxPendingDirectories()
+    {
+        return maxPendingDirectories;
+    }
+
+    public void setMaxPendingDirectories(int maxPendingDirectories)
+    {
+        this.maxPendingDirectories = maxPendingDirectories;
+    }
+
+    public RateLimiter getRateLimiter()
+    {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter)
+    {
+        this.rateLimiter = rateLimiter;
+    }
+
     void execute(Path path)
     {
         try
@@ -99,5 +173,127 @@ public class ArtifactDirectoryLocator
             logger.error(String.format("Failed to execute operation [%s]", operation.getClass().getSimpleName()), e);
         }
     }
-    
+
+    /**
+     * Chains the operation of each directory after the operation of its previous sibling, or its parent for the
+     * first child, and waits for all of them to complete.
+     */
+    private class DirectoryWalker extends SimpleFileVisitor<Path>
+    {
+
+        private final Executor directoryExecutor;
+
+        private final Semaphore pendingDirectories = new Semaphore(maxPendingDirectories);
+
+        private final Deque<DirectoryTask> directoryTasks = new ArrayDeque<>();
+
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private long directoryCount;
+
+        DirectoryWalker(Executor directoryExecutor)
+        {
+            this.directoryExecutor = directoryExecutor;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir,
+                                                 BasicFileAttributes attrs)
+        {
+            // Skip directories which start with a dot (like, for example: .index)
+            Path fileName = dir.getFileName();
+            if (fileName != null && fileName.toString().startsWith(".") && directoryCount > 0)
+            {
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+
+            if (rateLimiter != null)
+            {
+                rateLimiter.acquire();
+            }
+            pendingDirectories.acquireUninterruptibly();
+            directoryCount++;
+
+            DirectoryTask parentTask = directoryTasks.peek();
+            CompletableFuture<Void> previous = parentTask == null ? CompletableFuture.completedFuture(null) :
+                                               parentTask.lastChild;
+
+            CompletableFuture<Void> future = previous.thenRunAsync(() -> executeSafely(dir), directoryExecutor);
+            if (parentTask != null)
+            {
+                parentTask.lastChild = future;
+            }
+            directoryTasks.push(new DirectoryTask((RepositoryPath) dir, future));
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir,
+                                                  IOException e)
+        {
+            DirectoryTask directoryTask = directoryTasks.pop();
+
+            // The operations keep the visited artifact id directories, which are not needed once all the directories
+            // within are processed.
+            directoryTask.lastChild.thenRun(() -> operation.getVisitedRootPaths().remove(directoryTask.directory));
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file,
+                                               IOException e)
+        {
+            logger.error(String.format("Failed to visit [%s]", file), e);
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        private void executeSafely(Path dir)
+        {
+            try
+            {
+                execute(dir);
+            }
+            catch (RuntimeException e)
+            {
+                // The failed operation should not cancel the operations chained after it.
+                failure.compareAndSet(null, e);
+                logger.error(String.format("Failed to execute operation [%s] for [%s]",
+                                           operation.getClass().getSimpleName(), dir), e);
+            }
+            finally
+            {
+                pendingDirectories.release();
+            }
+        }
+
+        void awaitTermination()
+        {
+            pendingDirectories.acquireUninterruptibly(maxPendingDirectories);
+            pendingDirectories.release(maxPendingDirectories);
+        }
+
+    }
+
+    private static class DirectoryTask
+    {
+
+        private final RepositoryPath directory;
+
+        /**
+         * The operation of the last visited child directory, or of the directory itself if there are no children.
+         */
+        private CompletableFuture<Void> lastChild;
+
+        DirectoryTask(RepositoryPath directory,
+                      CompletableFuture<Void> future)
+        {
+            this.directory = directory;
+            this.lastChild = future;
+        }
+
+    }
+
 }
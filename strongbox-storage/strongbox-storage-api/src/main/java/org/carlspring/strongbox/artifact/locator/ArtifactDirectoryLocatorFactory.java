@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.artifact.locator;
+
+import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOperation;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link ArtifactDirectoryLocator}s for the repository wide operations (checksum regeneration, metadata
+ * rebuild, snapshot removal).
+ * <br>
+ * All the locators share the same bounded thread pool and directory rate limit, so the concurrent rebuilds together
+ * don't use more threads and storage I/O than configured, and the request traffic is not starved.
+ */
+@Component
+public class ArtifactDirectoryLocatorFactory
+{
+
+    /**
+     * The number of the threads to execute the directory operations, <code>1</code> executes them within the
+     * calling thread.
+     */
+    @Value("${strongbox.locator.parallelism:4}")
+    private int parallelism;
+
+    /**
+     * The number of the directories located per second by all the locators, <code>0</code> for no limit.
+     */
+    @Value("${strongbox.locator.maxDirectoriesPerSecond:0}")
+    private double maxDirectoriesPerSecond;
+
+    @Value("${strongbox.locator.maxPendingDirectories:256}")
+    private int maxPendingDirectories;
+
+    private ExecutorService executor;
+
+    private RateLimiter rateLimiter;
+
+    @PostConstruct
+    public void init()
+    {
+        if (parallelism > 1)
+        {
+            executor = new ThreadPoolExecutor(parallelism,
+                                              parallelism,
+                                              60L,
+                                              TimeUnit.SECONDS,
+                                              new LinkedBlockingQueue<>(),
+                                              new CustomizableThreadFactory("artifact-directory-locator-"));
+            ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+        }
+        if (maxDirectoriesPerSecond > 0)
+        {
+            rateLimiter = RateLimiter.create(maxDirectoriesPerSecond);
+        }
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        if (executor != null)
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    public ArtifactDirectoryLocator create(ArtifactDirectoryOperation operation)
+    {
+        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
+        locator.setOperation(operation);
+        locator.setExecutor(executor);
+        locator.setRateLimiter(rateLimiter);
+        locator.setMaxPendingDirectories(maxPendingDirectories);
+
+        return locator;
+    }
+
+}
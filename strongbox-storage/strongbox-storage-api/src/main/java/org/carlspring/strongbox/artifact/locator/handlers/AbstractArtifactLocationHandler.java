@@ -4,10 +4,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -23,7 +24,7 @@ public abstract class AbstractArtifactLocationHandler
 {
     private static final Logger logger = LoggerFactory.getLogger(AbstractArtifactLocationHandler.class);
     
-    private LinkedHashMap<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new LinkedHashMap<>();
+    private Map<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new ConcurrentHashMap<>();
 
     /**
      * The base path within the repository from where to start scanning for artifacts.
@@ -31,7 +32,7 @@ public abstract class AbstractArtifactLocationHandler
     private RepositoryPath basePath;
 
 
-    public LinkedHashMap<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
+    public Map<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
     {
         return visitedRootPaths;
     }
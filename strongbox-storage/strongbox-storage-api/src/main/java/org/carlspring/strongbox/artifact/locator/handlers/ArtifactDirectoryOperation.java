@@ -1,8 +1,8 @@
 package org.carlspring.strongbox.artifact.locator.handlers;
 
 import java.io.IOException;
-import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
@@ -21,7 +21,13 @@ public interface ArtifactDirectoryOperation
      */
     void execute(RepositoryPath directoryPath) throws IOException;
 
-    LinkedHashMap<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths();
+    /**
+     * The visited artifact id directories with their version directories. The operations may be executed
+     * concurrently, so the map should be thread safe.
+     *
+     * @see org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator
+     */
+    Map<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths();
 
     RepositoryPath getBasePath();
     
@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.artifact.locator.handlers;
 
+import org.carlspring.strongbox.providers.io.ChecksumRegenerationCheckpoint;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
@@ -22,13 +23,19 @@ public class ArtifactLocationGenerateChecksumOperation
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactLocationGenerateChecksumOperation.class);
 
-    private Path previousPath;
-
     private boolean forceRegeneration = false;
 
+    private ChecksumRegenerationCheckpoint checkpoint;
+
     public void execute(RepositoryPath path)
             throws IOException
     {
+        if (checkpoint != null && checkpoint.isCompleted(path))
+        {
+            logger.debug(String.format("Checksums of [%s] were already regenerated, skipping.", path));
+            return;
+        }
+
         try (Stream<Path> pathStream = Files.list(path))
         {
             boolean containsMetadata = pathStream.anyMatch(p -> {
@@ -70,22 +77,17 @@ public class ArtifactLocationGenerateChecksumOperation
             System.out.println(parentPath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !parentPath.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = parentPath;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = parentPath;
-        }
-
         RepositoryPath basePath = parentPath;
         LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
                                                                                                    .provider();
-        provider.storeChecksum(basePath, forceRegeneration);
+        if (checkpoint == null)
+        {
+            provider.storeChecksum(basePath, forceRegeneration);
+            return;
+        }
+
+        provider.storeChecksum(basePath, forceRegeneration, checkpoint.getStartedAt());
+        checkpoint.complete(basePath);
     }
 
     public boolean getForceRegeneration()
@@ -97,4 +99,14 @@ public class ArtifactLocationGenerateChecksumOperation
     {
         this.forceRegeneration = forceRegeneration;
     }
+
+    public ChecksumRegenerationCheckpoint getCheckpoint()
+    {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(ChecksumRegenerationCheckpoint checkpoint)
+    {
+        this.checkpoint = checkpoint;
+    }
 }
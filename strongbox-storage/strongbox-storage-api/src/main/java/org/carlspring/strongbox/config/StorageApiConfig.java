@@ -3,6 +3,9 @@ package org.carlspring.strongbox.config;
 import org.carlspring.strongbox.booters.ResourcesBooter;
 import org.carlspring.strongbox.booters.StorageBooter;
 import org.carlspring.strongbox.booters.TempDirBooter;
+import org.carlspring.strongbox.providers.io.HazelcastRepositoryPathLockBackend;
+import org.carlspring.strongbox.providers.io.LocalRepositoryPathLockBackend;
+import org.carlspring.strongbox.providers.io.RepositoryPathLockBackend;
 import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
 import org.carlspring.strongbox.storage.validation.ArtifactCoordinatesValidator;
 
@@ -10,6 +13,11 @@ import javax.inject.Inject;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -35,16 +43,59 @@ public class StorageApiConfig
     @Inject
     private List<ArtifactCoordinatesValidator> versionValidators;
 
-    @Bean
-    ChecksumCacheManager checksumCacheManager()
+    @Bean(destroyMethod = "stopMonitor")
+    ChecksumCacheManager checksumCacheManager(@Value("${strongbox.checksumCache.lifetimeMillis:60000}") long lifetimeMillis,
+                                              @Value("${strongbox.checksumCache.tickMillis:1000}") long tickMillis,
+                                              @Value("${strongbox.checksumCache.maxWeight:100000}") long maxWeight)
     {
         ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
-        checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
-        checksumCacheManager.setCachedChecksumLifetime(60000);
+        checksumCacheManager.setCachedChecksumExpiredCheckInterval(tickMillis);
+        checksumCacheManager.setCachedChecksumLifetime(lifetimeMillis);
+        checksumCacheManager.setCachedChecksumMaxWeight(maxWeight);
+        checksumCacheManager.startMonitor();
+
+        FunctionCounter.builder("strongbox.checksum.cache.hits", checksumCacheManager, m -> m.getStats().getHitCount())
+                       .description("Checksum lookups answered from the cache")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.checksum.cache.misses", checksumCacheManager, m -> m.getStats().getMissCount())
+                       .description("Checksum lookups not found within the cache")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.checksum.cache.evictions",
+                                checksumCacheManager,
+                                m -> m.getStats().getExpiredCount())
+                       .description("Cached checksums which were not claimed within their lifetime")
+                       .tag("cause", "expired")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.checksum.cache.evictions",
+                                checksumCacheManager,
+                                m -> m.getStats().getEvictionCount())
+                       .description("Cached checksums evicted because the cache was full")
+                       .tag("cause", "size")
+                       .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.checksum.cache.weight", checksumCacheManager, ChecksumCacheManager::getWeight)
+             .description("Checksums within the cache")
+             .register(Metrics.globalRegistry);
 
         return checksumCacheManager;
     }
 
+    @Bean
+    RepositoryPathLockBackend repositoryPathLockBackend(@Value("${strongbox.cluster.enabled:false}") boolean clusterEnabled,
+                                                        HazelcastInstance hazelcastInstance)
+    {
+        if (clusterEnabled)
+        {
+            return new HazelcastRepositoryPathLockBackend(hazelcastInstance);
+        }
+
+        LocalRepositoryPathLockBackend result = new LocalRepositoryPathLockBackend();
+        Gauge.builder("strongbox.repository.lock.active", result, LocalRepositoryPathLockBackend::size)
+             .description("Repository path locks which are currently held or waited for")
+             .register(Metrics.globalRegistry);
+
+        return result;
+    }
+
     @Bean
     LinkedHashSet<ArtifactCoordinatesValidator> versionValidators()
     {
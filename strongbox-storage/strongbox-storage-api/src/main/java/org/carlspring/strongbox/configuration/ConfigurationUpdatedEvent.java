@@ -0,0 +1,23 @@
+package org.carlspring.strongbox.configuration;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link org.carlspring.strongbox.services.ConfigurationManagementService} after each configuration
+ * change, so that the data derived from the configuration can be refreshed.
+ */
+public class ConfigurationUpdatedEvent
+        extends ApplicationEvent
+{
+
+    public ConfigurationUpdatedEvent(Configuration configuration)
+    {
+        super(configuration);
+    }
+
+    public Configuration getConfiguration()
+    {
+        return (Configuration) getSource();
+    }
+
+}
@@ -1,6 +1,13 @@
 package org.carlspring.strongbox.domain;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.persistence.CascadeType;
 import javax.persistence.Entity;
+import javax.persistence.ManyToOne;
 
 /**
  * @author Przemyslaw Fusik
@@ -13,6 +20,16 @@ public class RepositoryArtifactIdGroupEntry
     private String storageId;
     private String repositoryId;
 
+    /**
+     * The entries of the last version, tagged as the last version, so that they are not looked up among all the
+     * versions on each deploy.
+     */
+    @ManyToOne(cascade = { CascadeType.DETACH,
+                           CascadeType.MERGE,
+                           CascadeType.PERSIST,
+                           CascadeType.REFRESH })
+    private Set<ArtifactEntry> lastVersionEntries = new HashSet<>();
+
     public RepositoryArtifactIdGroupEntry()
     {
     }
@@ -46,6 +63,17 @@ public class RepositoryArtifactIdGroupEntry
         this.storageId = storageId;
     }
 
+    @Nonnull
+    public Set<ArtifactEntry> getLastVersionEntries()
+    {
+        return lastVersionEntries != null ? lastVersionEntries : Collections.emptySet();
+    }
+
+    public void setLastVersionEntries(Set<ArtifactEntry> lastVersionEntries)
+    {
+        this.lastVersionEntries = lastVersionEntries;
+    }
+
     public String getArtifactId()
     {
         return getName();
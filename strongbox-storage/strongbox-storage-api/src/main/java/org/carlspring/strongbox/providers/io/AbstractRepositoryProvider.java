@@ -4,7 +4,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Date;
 import java.util.Optional;
 
@@ -21,15 +23,18 @@ import org.carlspring.strongbox.data.criteria.Selector;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
+import org.carlspring.strongbox.io.FileChannelInputStream;
 import org.carlspring.strongbox.io.LayoutOutputStream;
 import org.carlspring.strongbox.io.RepositoryStreamReadContext;
 import org.carlspring.strongbox.io.RepositoryStreamWriteContext;
 import org.carlspring.strongbox.io.StreamUtils;
+import org.carlspring.strongbox.providers.datastore.FileSystemStorageProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.services.support.ArtifactEntrySearchIndex;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
@@ -60,6 +65,9 @@ public abstract class AbstractRepositoryProvider extends RepositoryStreamSupport
     @Inject
     private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
     
+    @Inject
+    private ArtifactEntrySearchIndex artifactEntrySearchIndex;
+
     @Inject
     protected ArtifactEventListenerRegistry artifactEventListenerRegistry;
 
@@ -90,6 +98,31 @@ public abstract class AbstractRepositoryProvider extends RepositoryStreamSupport
     protected abstract InputStream getInputStreamInternal(RepositoryPath repositoryPath)
         throws IOException;
 
+    /**
+     * The artifacts stored on the local file system can be read directly from the file, the stream still takes the
+     * read lock and fires the download events as the regular one. The artifact entry is checked once, by
+     * {@link #onBeforeRead(RepositoryStreamReadContext)}.
+     */
+    @Override
+    public RepositoryInputStream getFileChannelInputStream(Path path)
+        throws IOException
+    {
+        Assert.isInstanceOf(RepositoryPath.class, path);
+        RepositoryPath repositoryPath = (RepositoryPath) path;
+
+        Repository repository = repositoryPath.getRepository();
+        if (repository.isGroupRepository()
+                || !FileSystemStorageProvider.ALIAS.equals(repository.getImplementation())
+                || !RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return null;
+        }
+
+        FileChannel channel = FileChannel.open(repositoryPath.getTarget(), StandardOpenOption.READ);
+
+        return decorate(repositoryPath, new FileChannelInputStream(channel));
+    }
+
     protected RepositoryInputStream decorate(RepositoryPath repositoryPath,
                                              InputStream is) throws IOException
     {
@@ -257,6 +290,11 @@ public abstract class AbstractRepositoryProvider extends RepositoryStreamSupport
         {
             return result;
         }
+
+        // The substring and prefix coordinate conditions are narrowed down to the artifact entries from the index.
+        artifactEntrySearchIndex.findArtifactEntryIds(storageId, repositoryId, predicate)
+                                .ifPresent(ids -> result.and(Predicate.of(ExpOperator.IN.of("uuid", ids))));
+
         return result.and(predicate);
     }
 
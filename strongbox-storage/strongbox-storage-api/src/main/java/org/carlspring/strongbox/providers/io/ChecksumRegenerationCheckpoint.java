@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The progress of the checksum regeneration within a repository, which is kept in a file outside of the repository
+ * tree, so that the interrupted regeneration can be resumed. There is a file per storage, repository and base path, so
+ * the regenerations of the different base paths don't overwrite each other's progress.
+ * <p>
+ * The first line of the file is the header with the start time and the parameters of the regeneration, the next
+ * lines are the completed directories, relative to the repository root. The regeneration is resumed only with the
+ * same parameters, and then:
+ * <ul>
+ * <li>the completed directories are skipped</li>
+ * <li>the checksum files written since the start time are considered up to date</li>
+ * </ul>
+ */
+public class ChecksumRegenerationCheckpoint
+        implements Closeable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ChecksumRegenerationCheckpoint.class);
+
+    private static final String HEADER_SEPARATOR = "|";
+
+    private final Path checkpointPath;
+
+    private final FileTime startedAt;
+
+    private final Set<String> completedDirectories;
+
+    private final Writer writer;
+
+    private ChecksumRegenerationCheckpoint(Path checkpointPath,
+                                           FileTime startedAt,
+                                           Set<String> completedDirectories,
+                                           Writer writer)
+    {
+        this.checkpointPath = checkpointPath;
+        this.startedAt = startedAt;
+        this.completedDirectories = completedDirectories;
+        this.writer = writer;
+    }
+
+    /**
+     * Opens the checkpoint of the regeneration with the same parameters, or starts the new one.
+     */
+    public static ChecksumRegenerationCheckpoint open(Path checkpointDirectory,
+                                                      RepositoryPath repositoryRoot,
+                                                      String basePath,
+                                                      boolean forceRegeneration)
+        throws IOException
+    {
+        Repository repository = repositoryRoot.getRepository();
+        Path checkpointPath = checkpointDirectory.resolve(repository.getStorage().getId())
+                                                 .resolve(repository.getId())
+                                                 .resolve(getCheckpointFileName(basePath));
+        Files.createDirectories(checkpointPath.getParent());
+
+        String parameters = String.valueOf(forceRegeneration) + HEADER_SEPARATOR + Objects.toString(basePath, "");
+
+        FileTime startedAt = null;
+        Set<String> completedDirectories = ConcurrentHashMap.newKeySet();
+        if (Files.exists(checkpointPath))
+        {
+            try (BufferedReader reader = Files.newBufferedReader(checkpointPath, StandardCharsets.UTF_8))
+            {
+                String header = reader.readLine();
+                int separatorIndex = header == null ? -1 : header.indexOf(HEADER_SEPARATOR);
+                if (separatorIndex > 0 && header.substring(separatorIndex + 1).equals(parameters))
+                {
+                    startedAt = FileTime.fromMillis(Long.parseLong(header.substring(0, separatorIndex)));
+                    reader.lines().filter(l -> !l.isEmpty()).forEach(completedDirectories::add);
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                logger.warn(String.format("Ignoring invalid checksum regeneration checkpoint [%s].", checkpointPath));
+            }
+        }
+
+        Writer writer;
+        if (startedAt != null)
+        {
+            logger.info(String.format("Resuming checksum regeneration in [%s], [%s] directories already completed.",
+                                      repositoryRoot, completedDirectories.size()));
+
+            writer = Files.newBufferedWriter(checkpointPath, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+        else
+        {
+            startedAt = FileTime.fromMillis(System.currentTimeMillis());
+            completedDirectories.clear();
+
+            writer = Files.newBufferedWriter(checkpointPath, StandardCharsets.UTF_8);
+            writer.write(startedAt.toMillis() + HEADER_SEPARATOR + parameters + "\n");
+            writer.flush();
+        }
+
+        return new ChecksumRegenerationCheckpoint(checkpointPath, startedAt, completedDirectories, writer);
+    }
+
+    /**
+     * The base path is hashed, because it can't be used as a file name as is.
+     */
+    private static String getCheckpointFileName(String basePath)
+    {
+        String normalizedBasePath = StringUtils.strip(Objects.toString(basePath, ""), "/");
+
+        return UUID.nameUUIDFromBytes(normalizedBasePath.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    public FileTime getStartedAt()
+    {
+        return startedAt;
+    }
+
+    public boolean isCompleted(RepositoryPath directory)
+    {
+        return completedDirectories.contains(directory.relativize().toString());
+    }
+
+    /**
+     * Records the completed directory, the directories are completed concurrently by the locator threads.
+     */
+    public synchronized void complete(RepositoryPath directory)
+        throws IOException
+    {
+        String relativePath = directory.relativize().toString();
+        if (completedDirectories.add(relativePath))
+        {
+            writer.write(relativePath + "\n");
+            writer.flush();
+        }
+    }
+
+    /**
+     * Closes and removes the checkpoint once the regeneration has completed.
+     */
+    public synchronized void finish()
+        throws IOException
+    {
+        writer.close();
+        Files.deleteIfExists(checkpointPath);
+    }
+
+    /**
+     * Closes the checkpoint, keeping it to resume the regeneration.
+     */
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        writer.close();
+    }
+
+}
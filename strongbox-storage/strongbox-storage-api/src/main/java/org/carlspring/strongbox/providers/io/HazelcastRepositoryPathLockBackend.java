@@ -0,0 +1,29 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import ca.thoughtwire.lock.DistributedLockService;
+
+/**
+ * Cluster wide locks, backed by Hazelcast.
+ */
+public class HazelcastRepositoryPathLockBackend
+        implements RepositoryPathLockBackend
+{
+
+    private final DistributedLockService lockService;
+
+    public HazelcastRepositoryPathLockBackend(HazelcastInstance hazelcastInstance)
+    {
+        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+    }
+
+    @Override
+    public ReadWriteLock getReadWriteLock(String name)
+    {
+        return lockService.getReentrantReadWriteLock(name);
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * JVM local locks for the standalone (not clustered) deployments.
+ * <br>
+ * Each lock name is backed by the single {@link ReentrantReadWriteLock} while it's in use. The lock entries are
+ * reference counted: an entry is created with the first {@link Lock#lock()} and removed as soon as the last holder
+ * (or waiter) releases it, so idle locks don't pile up in memory.
+ */
+public class LocalRepositoryPathLockBackend
+        implements RepositoryPathLockBackend
+{
+
+    private final ConcurrentMap<String, LockEntry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public ReadWriteLock getReadWriteLock(String name)
+    {
+        return new LocalReadWriteLock(name);
+    }
+
+    /**
+     * @return the number of locks which are currently held or waited for
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+
+    private LockEntry retain(String name)
+    {
+        return entries.compute(name, (k, v) -> {
+            LockEntry result = v == null ? new LockEntry() : v;
+            result.references++;
+
+            return result;
+        });
+    }
+
+    private void release(String name)
+    {
+        entries.computeIfPresent(name, (k, v) -> --v.references == 0 ? null : v);
+    }
+
+    private static class LockEntry
+    {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * Guarded by the {@link ConcurrentHashMap} bin lock, it's changed only within {@code compute} methods.
+         */
+        private int references;
+
+    }
+
+    private class LocalReadWriteLock
+            implements ReadWriteLock
+    {
+
+        private final Lock readLock;
+
+        private final Lock writeLock;
+
+        private LocalReadWriteLock(String name)
+        {
+            readLock = new LocalLock(name, e -> e.lock.readLock());
+            writeLock = new LocalLock(name, e -> e.lock.writeLock());
+        }
+
+        @Override
+        public Lock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public Lock writeLock()
+        {
+            return writeLock;
+        }
+
+    }
+
+    private class LocalLock
+            implements Lock
+    {
+
+        private final String name;
+
+        private final Function<LockEntry, Lock> lockSelector;
+
+        private LocalLock(String name,
+                          Function<LockEntry, Lock> lockSelector)
+        {
+            this.name = name;
+            this.lockSelector = lockSelector;
+        }
+
+        @Override
+        public void lock()
+        {
+            Lock lock = lockSelector.apply(retain(name));
+            try
+            {
+                lock.lock();
+            }
+            catch (RuntimeException | Error e)
+            {
+                release(name);
+                throw e;
+            }
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            Lock lock = lockSelector.apply(retain(name));
+            try
+            {
+                lock.lockInterruptibly();
+            }
+            catch (InterruptedException | RuntimeException | Error e)
+            {
+                release(name);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            boolean result = false;
+            try
+            {
+                result = lockSelector.apply(retain(name)).tryLock();
+            }
+            finally
+            {
+                if (!result)
+                {
+                    release(name);
+                }
+            }
+
+            return result;
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            boolean result = false;
+            try
+            {
+                result = lockSelector.apply(retain(name)).tryLock(time, unit);
+            }
+            finally
+            {
+                if (!result)
+                {
+                    release(name);
+                }
+            }
+
+            return result;
+        }
+
+        @Override
+        public void unlock()
+        {
+            LockEntry entry = entries.get(name);
+            if (entry == null)
+            {
+                throw new IllegalMonitorStateException(String.format("Lock [%s] is not held.", name));
+            }
+
+            lockSelector.apply(entry).unlock();
+            release(name);
+        }
+
+        /**
+         * The condition belongs to the {@link ReentrantReadWriteLock} of the lock entry, which exists only while the
+         * lock is in use, so it must be created by the lock holder. The write lock supports conditions, the read lock
+         * doesn't (see {@link ReentrantReadWriteLock.ReadLock#newCondition()}).
+         */
+        @Override
+        public Condition newCondition()
+        {
+            LockEntry entry = entries.get(name);
+            if (entry == null)
+            {
+                throw new IllegalMonitorStateException(String.format("Lock [%s] is not held.", name));
+            }
+
+            return lockSelector.apply(entry).newCondition();
+        }
+
+    }
+
+}
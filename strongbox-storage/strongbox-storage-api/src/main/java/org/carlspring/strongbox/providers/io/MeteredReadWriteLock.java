@@ -0,0 +1,179 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link ReadWriteLock} decorator which records the time spent waiting for the lock and the time the lock was held.
+ * <br>
+ * The same instance should be used for the whole lifetime of the lock (see {@link RepositoryPathLock}), because the
+ * hold time is measured from the {@code lock()} to the {@code unlock()} call on this instance. Once the lock is not
+ * held anymore, the {@code idleListener} is notified.
+ */
+class MeteredReadWriteLock
+        implements ReadWriteLock
+{
+
+    private final String name;
+
+    private final Lock readLock;
+
+    private final Lock writeLock;
+
+    private final AtomicInteger holds = new AtomicInteger();
+
+    private final Consumer<MeteredReadWriteLock> idleListener;
+
+    MeteredReadWriteLock(String name,
+                         ReadWriteLock target,
+                         LockTimers readTimers,
+                         LockTimers writeTimers,
+                         Consumer<MeteredReadWriteLock> idleListener)
+    {
+        this.name = name;
+        this.idleListener = idleListener;
+        readLock = new MeteredLock(target.readLock(), readTimers);
+        writeLock = new MeteredLock(target.writeLock(), writeTimers);
+    }
+
+    String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public Lock readLock()
+    {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock()
+    {
+        return writeLock;
+    }
+
+    static class LockTimers
+    {
+
+        private final Timer waitTimer;
+
+        private final Timer holdTimer;
+
+        LockTimers(Timer waitTimer,
+                   Timer holdTimer)
+        {
+            this.waitTimer = waitTimer;
+            this.holdTimer = holdTimer;
+        }
+
+    }
+
+    private class MeteredLock
+            implements Lock
+    {
+
+        private final Lock target;
+
+        private final LockTimers timers;
+
+        /**
+         * Acquisition timestamps, the lock can be acquired several times because it's reentrant, and the read lock
+         * can be held by several threads. The pairs may get mixed up then, but the total hold time stays the same.
+         */
+        private final Deque<Long> lockedAt = new ConcurrentLinkedDeque<>();
+
+        private MeteredLock(Lock target,
+                            LockTimers timers)
+        {
+            this.target = target;
+            this.timers = timers;
+        }
+
+        @Override
+        public void lock()
+        {
+            long start = System.nanoTime();
+            target.lock();
+            locked(start);
+        }
+
+        @Override
+        public void lockInterruptibly()
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+            target.lockInterruptibly();
+            locked(start);
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock())
+            {
+                return false;
+            }
+            locked(start);
+
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time,
+                               TimeUnit unit)
+            throws InterruptedException
+        {
+            long start = System.nanoTime();
+            if (!target.tryLock(time, unit))
+            {
+                return false;
+            }
+            locked(start);
+
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+            target.unlock();
+
+            Long start = lockedAt.pollLast();
+            if (start != null)
+            {
+                timers.holdTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+
+            if (holds.decrementAndGet() == 0)
+            {
+                idleListener.accept(MeteredReadWriteLock.this);
+            }
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            return target.newCondition();
+        }
+
+        private void locked(long start)
+        {
+            long now = System.nanoTime();
+            timers.waitTimer.record(now - start, TimeUnit.NANOSECONDS);
+            lockedAt.addLast(now);
+            holds.incrementAndGet();
+        }
+
+    }
+
+}
@@ -5,6 +5,8 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
@@ -13,16 +15,23 @@ import javax.inject.Inject;
 
 import org.apache.commons.io.input.ProxyInputStream;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.providers.io.MeteredReadWriteLock.LockTimers;
+import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-import com.hazelcast.core.HazelcastInstance;
-
-import ca.thoughtwire.lock.DistributedLockService;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 /**
+ * The locks are provided by {@link RepositoryPathLockBackend}, which is JVM local for standalone deployments and
+ * Hazelcast based when clustering is enabled (see {@code strongbox.cluster.enabled}).
+ * <br>
+ * Lock wait and hold times are published as {@code strongbox.repository.lock.wait} and
+ * {@code strongbox.repository.lock.hold} timers, tagged with storage, repository and lock mode.
+ *
  * @author Przemyslaw Fusik
  */
 @Component
@@ -31,13 +40,17 @@ public class RepositoryPathLock
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryPathLock.class);
 
-    private DistributedLockService lockService;
+    private final ConcurrentMap<String, LockTimers> lockTimers = new ConcurrentHashMap<>();
+
+    /**
+     * The metered locks which are in use, so that the lock and unlock calls made through different
+     * {@link #lock(RepositoryPath)} invocations are measured by the same instance. A lock is removed once it's not
+     * held anymore.
+     */
+    private final ConcurrentMap<String, MeteredReadWriteLock> locks = new ConcurrentHashMap<>();
 
     @Inject
-    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
-    {
-        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
-    }
+    private RepositoryPathLockBackend lockBackend;
 
     public ReadWriteLock lock(final @Nonnull RepositoryPath repositoryPath) throws IOException
     {
@@ -53,7 +66,35 @@ public class RepositoryPathLock
                                   .map(p -> String.format("%s?%s", lock, p))
                                   .orElseGet(() -> lock.toString());
 
-        return lockService.getReentrantReadWriteLock(lockName);
+        Repository repository = repositoryPath.getRepository();
+
+        return locks.computeIfAbsent(lockName,
+                                     n -> new MeteredReadWriteLock(n,
+                                                                   lockBackend.getReadWriteLock(n),
+                                                                   getLockTimers(repository, "read"),
+                                                                   getLockTimers(repository, "write"),
+                                                                   l -> locks.remove(l.getName(), l)));
+    }
+
+    private LockTimers getLockTimers(Repository repository,
+                                     String mode)
+    {
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+
+        return lockTimers.computeIfAbsent(String.format("%s:%s:%s", storageId, repositoryId, mode),
+                                          k -> new LockTimers(Timer.builder("strongbox.repository.lock.wait")
+                                                                   .description("Time spent waiting for the repository path lock")
+                                                                   .tags("storage", storageId,
+                                                                         "repository", repositoryId,
+                                                                         "mode", mode)
+                                                                   .register(Metrics.globalRegistry),
+                                                              Timer.builder("strongbox.repository.lock.hold")
+                                                                   .description("Time the repository path lock was held")
+                                                                   .tags("storage", storageId,
+                                                                         "repository", repositoryId,
+                                                                         "mode", mode)
+                                                                   .register(Metrics.globalRegistry)));
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -0,0 +1,16 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Provides the named {@link ReadWriteLock}s used by {@link RepositoryPathLock}.
+ *
+ * @see LocalRepositoryPathLockBackend
+ * @see HazelcastRepositoryPathLockBackend
+ */
+public interface RepositoryPathLockBackend
+{
+
+    ReadWriteLock getReadWriteLock(String name);
+
+}
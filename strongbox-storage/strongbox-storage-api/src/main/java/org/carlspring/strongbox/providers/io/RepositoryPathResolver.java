@@ -4,6 +4,7 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ArtifactEntryCacheManager;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
@@ -26,6 +27,9 @@ public class RepositoryPathResolver
     @Inject
     protected ArtifactEntryService artifactEntryService;
 
+    @Inject
+    protected ArtifactEntryCacheManager artifactEntryCacheManager;
+
     @Inject
     protected RepositoryFileSystemRegistry fileSystemRegistry;
 
@@ -83,6 +87,13 @@ public class RepositoryPathResolver
     private class CachedRepositoryPath extends RepositoryPath
     {
 
+        /**
+         * The entry found for this path, valid until any entry is evicted from the {@link ArtifactEntryCacheManager}.
+         */
+        private ArtifactEntry cachedArtifactEntry;
+
+        private long cachedArtifactEntryStamp;
+
         private CachedRepositoryPath(RepositoryPath target)
         {
             super(target.getTarget(), target.getFileSystem());
@@ -97,9 +108,19 @@ public class RepositoryPathResolver
                 return null;
             }
 
-            return artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
-                                                        getRepository().getId(),
-                                                        RepositoryFiles.relativizePath(this));
+            long stamp = artifactEntryCacheManager.getStamp();
+            if (cachedArtifactEntry != null && cachedArtifactEntryStamp == stamp)
+            {
+                return cachedArtifactEntry;
+            }
+
+            // The missing entries are not memoized, as the path could be stored by the same request.
+            cachedArtifactEntry = artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
+                                                                       getRepository().getId(),
+                                                                       RepositoryFiles.relativizePath(this));
+            cachedArtifactEntryStamp = stamp;
+
+            return cachedArtifactEntry;
             // TODO: we should check this restriction 
 //            if (Files.exists(this) && !Files.isDirectory(this) && RepositoryFiles.isArtifact(this) && result == null)
 //            {
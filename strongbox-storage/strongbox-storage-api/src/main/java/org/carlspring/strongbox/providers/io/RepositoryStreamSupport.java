@@ -3,6 +3,7 @@ package org.carlspring.strongbox.providers.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
@@ -14,10 +15,12 @@ import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.io.output.ProxyOutputStream;
+import org.carlspring.strongbox.io.FileChannelInputStream;
 import org.carlspring.strongbox.io.RepositoryStreamCallback;
 import org.carlspring.strongbox.io.RepositoryStreamContext;
 import org.carlspring.strongbox.io.RepositoryStreamReadContext;
 import org.carlspring.strongbox.io.RepositoryStreamWriteContext;
+import org.carlspring.strongbox.io.StreamUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -203,6 +206,40 @@ public abstract class RepositoryStreamSupport implements RepositoryStreamCallbac
             open();
         }
 
+        public long size()
+            throws IOException
+        {
+            return getFileChannelInputStream().size();
+        }
+
+        /**
+         * Transfers the content from the artifact file into the target channel.
+         *
+         * @see FileChannelInputStream#transferTo(long, long, WritableByteChannel)
+         */
+        public long transferTo(long position,
+                               long count,
+                               WritableByteChannel target)
+            throws IOException
+        {
+            FileChannelInputStream source = getFileChannelInputStream();
+
+            open();
+
+            return source.transferTo(position, count, target);
+        }
+
+        private FileChannelInputStream getFileChannelInputStream()
+        {
+            FileChannelInputStream source = StreamUtils.findSource(FileChannelInputStream.class, this);
+            if (source == null)
+            {
+                throw new UnsupportedOperationException("Transfer is not supported by the underlying stream.");
+            }
+
+            return source;
+        }
+
         @Override
         public void close()
             throws IOException
@@ -24,11 +24,17 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -99,57 +105,100 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         }
     }
 
+    /**
+     * Digests are calculated only for the algorithms which have no known checksum (neither checksum file nor
+     * {@link ArtifactEntry} checksum), so that the artifact bytes are not hashed on every read. If the repository
+     * has {@link Repository#isChecksumVerifyOnRead()} enabled, all digests are calculated and verified against the
+     * known checksums once the whole artifact has been read.
+     */
     protected LayoutInputStream decorateStream(RepositoryPath path,
                                                InputStream is)
             throws NoSuchAlgorithmException, IOException
     {
         Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
-        LayoutInputStream result = new LayoutInputStream(is, digestAlgorithmSet);
+        LayoutInputStream result = new LayoutInputStream(is, Collections.emptySet());
         
         // Add digest algorithm only if it is not a Checksum (we don't need a Checksum of Checksum).
         if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
         {
             return result;
         }
-        
-        digestAlgorithmSet.stream().forEach(a -> {
+
+        Map<String, String> checksums = getChecksums(path, digestAlgorithmSet);
+        boolean verifyOnRead = path.getRepository().isChecksumVerifyOnRead();
+        for (String algorithm : digestAlgorithmSet)
+        {
+            if (verifyOnRead || !checksums.containsKey(algorithm))
+            {
+                result.addAlgorithm(algorithm);
+            }
+        }
+
+        if (verifyOnRead)
+        {
+            result.expectHexDigests(checksums, Files.size(path));
+        }
+        else
+        {
+            result.getHexDigests().putAll(checksums);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the known checksums of the artifact, taken from checksum files or {@link ArtifactEntry}
+     */
+    private Map<String, String> getChecksums(RepositoryPath path,
+                                             Set<String> digestAlgorithmSet)
+    {
+        Map<String, String> result = new LinkedHashMap<>();
+        ArtifactEntry artifactEntry = null;
+        boolean artifactEntryFetched = false;
+
+        for (String algorithm : digestAlgorithmSet)
+        {
             String checksum = null;
             try
             {
-                checksum = getChecksum(path, result, a);
+                checksum = readChecksum(path, algorithm);
+                if (checksum == null && !artifactEntryFetched)
+                {
+                    artifactEntryFetched = true;
+                    artifactEntry = path.getArtifactEntry();
+                }
             }
             catch (IOException e)
             {
                 logger.error(String.format("Failed to get checksum for [%s]", path), e);
             }
-            if (checksum == null)
+
+            if (checksum == null && artifactEntry != null)
             {
-                return;
+                checksum = artifactEntry.getChecksums().get(algorithm);
             }
+            if (checksum != null)
+            {
+                result.put(algorithm, checksum);
+            }
+        }
 
-            result.getHexDigests().put(a, checksum);
-        });
-        
         return result;
     }
 
-    private String getChecksum(RepositoryPath path,
-                               LayoutInputStream is,
-                               String digestAlgorithm) throws IOException
+    private String readChecksum(RepositoryPath path,
+                                String digestAlgorithm) throws IOException
     {
         RepositoryPath checksumPath = getChecksumPath(path, digestAlgorithm);
-        
-        String checksum = null;
-        if (Files.exists(checksumPath) && Files.size(checksumPath) != 0)
+        if (!Files.exists(checksumPath) || Files.size(checksumPath) == 0)
         {
-            checksum = MessageDigestUtils.readChecksumFile(Files.newInputStream(checksumPath));
+            return null;
         }
-        else
+
+        try (InputStream is = Files.newInputStream(checksumPath))
         {
-            checksum = is.getMessageDigestAsHexadecimalString(digestAlgorithm);
+            return MessageDigestUtils.readChecksumFile(is);
         }
-
-        return checksum;
     }
 
     public RepositoryPath getChecksumPath(RepositoryPath path,
@@ -214,58 +263,122 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                               boolean forceRegeneration)
         throws IOException
     {
-        Files.walk(basePath)
-             .filter(p -> !Files.isDirectory(p))
-             .filter(p -> {
-                 try
-                 {
-                     return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error(String.format("Failed to read attributes for [%s]", p), e);
-                 }
-                 return false;
-             })
-             .forEach(p -> {
-                 try
-                 {
-                     writeChecksum((RepositoryPath) p, forceRegeneration);
-                 }
-                 catch (IOException e)
-                 {
-                     logger.error(String.format("Failed to write checksum for [%s]", p), e);
-                 }
-             });
+        storeChecksum(basePath, forceRegeneration, null);
+    }
+
+    /**
+     * @param upToDateSince
+     *            the checksum files modified since this time are not regenerated, even with
+     *            <code>forceRegeneration</code>, or <code>null</code>
+     */
+    public void storeChecksum(RepositoryPath basePath,
+                              boolean forceRegeneration,
+                              FileTime upToDateSince)
+        throws IOException
+    {
+        try (Stream<Path> pathStream = Files.walk(basePath))
+        {
+            pathStream.filter(p -> !Files.isDirectory(p))
+                      .filter(p -> {
+                          try
+                          {
+                              return !Boolean.TRUE.equals(RepositoryFiles.isChecksum((RepositoryPath) p));
+                          }
+                          catch (IOException e)
+                          {
+                              logger.error(String.format("Failed to read attributes for [%s]", p), e);
+                          }
+                          return false;
+                      })
+                      .forEach(p -> {
+                          try
+                          {
+                              writeChecksum((RepositoryPath) p, forceRegeneration, upToDateSince);
+                          }
+                          catch (IOException e)
+                          {
+                              logger.error(String.format("Failed to write checksum for [%s]", p), e);
+                          }
+                      });
+        }
     }
 
-    
     public void writeChecksum(RepositoryPath path,
                               boolean force)
         throws IOException
     {
-        try (LayoutInputStream is = newInputStream(path))
-        {
-            Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
-            digestAlgorithmSet.stream()
-                              .forEach(p ->
-                                       {
-                                           String checksum = is.getHexDigests().get(p);
-                                           RepositoryPath checksumPath = getChecksumPath(path, p);
-                                           if (Files.exists(checksumPath) && !force)
-                                           {
-                                               return;
-                                           }
-                                           try
-                                           {
-                                               Files.write(checksumPath, checksum.getBytes());
-                                           }
-                                           catch (IOException e)
-                                           {
-                                               logger.error(String.format("Failed to write checksum for [%s]",
-                                                                          checksumPath.toString()), e);
-                                           }
-                                       });
+        writeChecksum(path, force, null);
+    }
+
+    /**
+     * Calculates the checksums for all the digest algorithms of the repository with a single read of the artifact
+     * file, which bypasses the {@link LayoutInputStream} decoration.
+     */
+    public void writeChecksum(RepositoryPath path,
+                              boolean force,
+                              FileTime upToDateSince)
+        throws IOException
+    {
+        Set<String> digestAlgorithmSet = path.getFileSystem()
+                                             .getDigestAlgorithmSet()
+                                             .stream()
+                                             .filter(a -> isChecksumOutdated(getChecksumPath(path, a), force,
+                                                                             upToDateSince))
+                                             .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (digestAlgorithmSet.isEmpty())
+        {
+            return;
+        }
+
+        Map<String, String> checksums;
+        try
+        {
+            checksums = MessageDigestUtils.calculateChecksums(path, digestAlgorithmSet);
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IOException(e);
+        }
+
+        checksums.forEach((algorithm, checksum) -> {
+            RepositoryPath checksumPath = getChecksumPath(path, algorithm);
+            try
+            {
+                Files.write(checksumPath, checksum.getBytes());
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to write checksum for [%s]", checksumPath.toString()), e);
+            }
+        });
+    }
+
+    private boolean isChecksumOutdated(RepositoryPath checksumPath,
+                                       boolean force,
+                                       FileTime upToDateSince)
+    {
+        if (!Files.exists(checksumPath))
+        {
+            return true;
+        }
+        if (!force)
+        {
+            return false;
+        }
+        if (upToDateSince == null)
+        {
+            return true;
+        }
+
+        try
+        {
+            return Files.getLastModifiedTime(checksumPath).compareTo(upToDateSince) < 0;
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to read attributes for [%s]", checksumPath), e);
+
+            return true;
         }
     }
 
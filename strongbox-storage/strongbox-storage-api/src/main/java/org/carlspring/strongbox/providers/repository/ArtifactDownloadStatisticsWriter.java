@@ -0,0 +1,301 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.javatuples.Pair;
+import org.javatuples.Triplet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accumulates the artifact downloads in memory and periodically writes them into {@link ArtifactEntry} records, so
+ * that the downloads don't need a database transaction each.
+ * <br>
+ * Every flush applies the downloads gathered since the previous one, as a set of batch statements with at most
+ * {@code strongbox.download.statistics.batchSize} updates each. If a batch fails, its downloads are kept and will be
+ * written with the next flush. The downloads of an artifact which has no entry yet are kept as well, for at most
+ * {@code strongbox.download.statistics.maxMisses} flushes.
+ */
+@Component
+public class ArtifactDownloadStatisticsWriter
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadStatisticsWriter.class);
+
+    private final ConcurrentMap<Triplet<String, String, String>, DownloadCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Counters which were removed from {@link #counters} during the previous flush, failed to be written, or have no
+     * artifact entry yet. They are checked once again because a download could have been recorded while the counter
+     * was being removed.
+     */
+    private List<DownloadCounter> retiredCounters = new ArrayList<>();
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.download.statistics.flushIntervalMillis:5000}")
+    private long flushIntervalMillis;
+
+    @Value("${strongbox.download.statistics.batchSize:500}")
+    private int batchSize;
+
+    @Value("${strongbox.download.statistics.maxMisses:12}")
+    private int maxMisses;
+
+    private ScheduledExecutorService executor;
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init()
+    {
+        Gauge.builder("strongbox.download.statistics.pending", this, ArtifactDownloadStatisticsWriter::getPendingDownloads)
+             .description("Artifact downloads which are not written into the database yet")
+             .register(Metrics.globalRegistry);
+        flushTimer = Timer.builder("strongbox.download.statistics.flush")
+                          .description("Time taken to write the artifact download statistics into the database")
+                          .register(Metrics.globalRegistry);
+
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("download-statistics-"));
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                                        flushIntervalMillis,
+                                        flushIntervalMillis,
+                                        TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy()
+        throws InterruptedException
+    {
+        executor.shutdown();
+        executor.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+        flushQuietly();
+    }
+
+    public void recordDownload(String storageId,
+                               String repositoryId,
+                               String path)
+    {
+        counters.computeIfAbsent(Triplet.with(storageId, repositoryId, path), DownloadCounter::new)
+                .record(System.currentTimeMillis());
+    }
+
+    /**
+     * @return the number of recorded downloads which are not written into the database yet
+     */
+    public long getPendingDownloads()
+    {
+        return counters.values().stream().mapToLong(DownloadCounter::getPending).sum();
+    }
+
+    /**
+     * Writes all the recorded downloads into the database.
+     */
+    public synchronized void flush()
+    {
+        Set<DownloadCounter> pendingSet = new LinkedHashSet<>();
+
+        for (DownloadCounter counter : retiredCounters)
+        {
+            if (counter.getPending() > 0)
+            {
+                pendingSet.add(counter);
+            }
+        }
+        retiredCounters = new ArrayList<>();
+
+        for (Map.Entry<Triplet<String, String, String>, DownloadCounter> entry : counters.entrySet())
+        {
+            DownloadCounter counter = entry.getValue();
+            if (counter.getPending() > 0)
+            {
+                pendingSet.add(counter);
+            }
+            else if (counters.remove(entry.getKey(), counter))
+            {
+                retiredCounters.add(counter);
+            }
+        }
+
+        if (pendingSet.isEmpty())
+        {
+            return;
+        }
+
+        List<DownloadCounter> pending = new ArrayList<>(pendingSet);
+
+        flushTimer.record(() -> {
+            for (int i = 0; i < pending.size(); i += batchSize)
+            {
+                writeBatch(pending.subList(i, Math.min(i + batchSize, pending.size())));
+            }
+        });
+    }
+
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to write artifact download statistics.", e);
+        }
+    }
+
+    private void writeBatch(List<DownloadCounter> batch)
+    {
+        long[] downloads = new long[batch.size()];
+        Map<Triplet<String, String, String>, Pair<Integer, Date>> downloadStatistics = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++)
+        {
+            DownloadCounter counter = batch.get(i);
+            downloads[i] = counter.getDownloads();
+
+            // A retired counter and its replacement may both be pending for the same artifact.
+            downloadStatistics.merge(counter.getKey(),
+                                     Pair.with((int) (downloads[i] - counter.getWritten()),
+                                               new Date(counter.getLastUsed())),
+                                     (s1, s2) -> Pair.with(s1.getValue0() + s2.getValue0(),
+                                                           s1.getValue1().after(s2.getValue1()) ? s1.getValue1() :
+                                                           s2.getValue1()));
+        }
+
+        Set<Triplet<String, String, String>> updated;
+        try
+        {
+            updated = new TransactionTemplate(transactionManager).execute(
+                    t -> artifactEntryService.updateDownloadStatistics(downloadStatistics));
+        }
+        catch (Exception e)
+        {
+            logger.warn(String.format("Failed to write download statistics of [%s] artifacts, will retry with the next flush.",
+                                      batch.size()),
+                        e);
+
+            retiredCounters.addAll(batch);
+
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++)
+        {
+            DownloadCounter counter = batch.get(i);
+            if (updated.contains(counter.getKey()))
+            {
+                counter.setWritten(downloads[i]);
+            }
+            else if (counter.miss() < maxMisses)
+            {
+                // The artifact entry may be not committed yet, so the downloads are kept for the next flush.
+                retiredCounters.add(counter);
+            }
+            else
+            {
+                logger.debug(String.format("Discarded [%s] downloads of [%s], there is no such artifact.",
+                                           downloads[i] - counter.getWritten(), counter.getKey()));
+
+                counter.setWritten(downloads[i]);
+            }
+        }
+    }
+
+    /**
+     * Downloads of the single artifact. The counter grows monotonically, and the flush keeps track of how many
+     * downloads it has already written, so concurrent downloads are never lost.
+     */
+    private static class DownloadCounter
+    {
+
+        private final Triplet<String, String, String> key;
+
+        private final LongAdder downloads = new LongAdder();
+
+        private final LongAccumulator lastUsed = new LongAccumulator(Long::max, 0);
+
+        private volatile long written;
+
+        private int misses;
+
+        private DownloadCounter(Triplet<String, String, String> key)
+        {
+            this.key = key;
+        }
+
+        private void record(long timestamp)
+        {
+            lastUsed.accumulate(timestamp);
+            downloads.increment();
+        }
+
+        private Triplet<String, String, String> getKey()
+        {
+            return key;
+        }
+
+        private long getDownloads()
+        {
+            return downloads.sum();
+        }
+
+        private long getLastUsed()
+        {
+            return lastUsed.get();
+        }
+
+        private long getWritten()
+        {
+            return written;
+        }
+
+        private void setWritten(long written)
+        {
+            this.written = written;
+        }
+
+        private int miss()
+        {
+            return ++misses;
+        }
+
+        private long getPending()
+        {
+            return downloads.sum() - written;
+        }
+
+    }
+
+}
@@ -1,32 +1,46 @@
 package org.carlspring.strongbox.providers.repository;
 
+import javax.inject.Inject;
 import java.io.IOException;
-import java.util.Date;
 
-import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
-import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Records the artifact downloads, the {@link ArtifactDownloadStatisticsWriter} then writes them into the database in
+ * batches.
+ */
 @Component
-public class ArtifactDownloadingEventHandler extends AsyncArtifactEntryHandler
+public class ArtifactDownloadingEventHandler
 {
 
-    public ArtifactDownloadingEventHandler()
-    {
-        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING);
-    }
+    @Inject
+    private ArtifactDownloadStatisticsWriter artifactDownloadStatisticsWriter;
 
-    @Override
-    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath) throws IOException
+    @EventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
+        throws IOException
     {
-        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
-        
-        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + 1);
-        artifactEntry.setLastUsed(new Date());
+        if (ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING.getType() != event.getType())
+        {
+            return;
+        }
+
+        RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (repository.isGroupRepository())
+        {
+            return;
+        }
 
-        return artifactEntry;
+        artifactDownloadStatisticsWriter.recordDownload(repository.getStorage().getId(),
+                                                        repository.getId(),
+                                                        RepositoryFiles.relativizePath(repositoryPath));
     }
 
 }
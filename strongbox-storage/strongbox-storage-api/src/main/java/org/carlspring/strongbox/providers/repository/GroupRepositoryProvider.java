@@ -6,13 +6,17 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
@@ -20,7 +24,9 @@ import javax.persistence.PersistenceContext;
 
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.ConfigurationUtils;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
+import org.carlspring.strongbox.data.criteria.PageCursor;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.data.criteria.QueryTemplate;
@@ -64,6 +70,9 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
     
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private PathLookupCacheManager pathLookupCacheManager;
     
     @Override
     public String getAlias()
@@ -88,8 +97,89 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         {
             return result;
         }
-        
-        return resolvePathTraversal(repositoryPath);
+
+        boolean negativeCacheEnabled = pathLookupCacheManager.isNegativeCacheEnabled();
+        boolean resolutionCacheEnabled = pathLookupCacheManager.isResolutionCacheEnabled();
+        if (!negativeCacheEnabled && !resolutionCacheEnabled)
+        {
+            return resolvePathTraversal(repositoryPath);
+        }
+
+        Repository groupRepository = repositoryPath.getRepository();
+        String storageId = groupRepository.getStorage().getId();
+        String repositoryId = groupRepository.getId();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        NegativeLookupCache negativeCache = pathLookupCacheManager.getGroupNegativeCache();
+        if (negativeCacheEnabled && negativeCache.isMissing(storageId, repositoryId, path))
+        {
+            logger.debug(String.format("Path [%s] is known to be missing.", repositoryPath));
+
+            return null;
+        }
+
+        PathLookupCache<RepositoryPath> resolutionCache = pathLookupCacheManager.getGroupResolutionCache();
+        if (resolutionCacheEnabled)
+        {
+            result = resolvePathFromResolutionCache(repositoryPath, resolutionCache, path);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+
+        long negativeCacheStamp = negativeCache.getStamp(storageId, repositoryId);
+        long resolutionCacheStamp = resolutionCache.getStamp(storageId, repositoryId);
+
+        result = resolvePathTraversal(repositoryPath);
+        if (result == null && negativeCacheEnabled)
+        {
+            negativeCache.putMissing(storageId, repositoryId, path, negativeCacheStamp);
+        }
+        else if (result != null && resolutionCacheEnabled)
+        {
+            resolutionCache.put(storageId, repositoryId, path, result, resolutionCacheStamp);
+        }
+
+        return result;
+    }
+
+    /**
+     * The member repository path, which the group path was previously resolved to, is fetched directly, without
+     * traversing the group members and checking the routing rules.
+     */
+    private RepositoryPath resolvePathFromResolutionCache(RepositoryPath repositoryPath,
+                                                          PathLookupCache<RepositoryPath> resolutionCache,
+                                                          String path)
+        throws IOException
+    {
+        Repository groupRepository = repositoryPath.getRepository();
+        String storageId = groupRepository.getStorage().getId();
+
+        RepositoryPath memberPath = resolutionCache.get(storageId, groupRepository.getId(), path);
+        if (memberPath == null)
+        {
+            return null;
+        }
+
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(memberPath.getRepository().getType());
+        RepositoryPath result;
+        try
+        {
+            result = (RepositoryPath) provider.fetchPath(memberPath);
+        }
+        catch (IOException e)
+        {
+            logger.debug(String.format("Failed to resolve cached path [%s]", memberPath), e);
+            result = null;
+        }
+
+        if (result == null)
+        {
+            resolutionCache.remove(storageId, groupRepository.getId(), path);
+        }
+
+        return result;
     }
     
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath) throws IOException
@@ -167,6 +257,11 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * The group members are searched with the keyset pagination and their sorted results are merged, so that each
+     * member is read once and only as far as the requested page. The artifacts found in several members are returned
+     * once.
+     */
     @Override
     public List<Path> search(String storageId,
                              String repositoryId,
@@ -175,11 +270,9 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
     {
         logger.debug(String.format("Search in [%s]:[%s] ...", storageId, repositoryId));
 
-        Map<ArtifactCoordinates, Path> resultMap = new LinkedHashMap<>();
-
         Storage storage = getConfiguration().getStorage(storageId);
         Repository groupRepository = storage.getRepository(repositoryId);
-        Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository);
+        Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository, true);
 
         if (groupRepositorySet.isEmpty())
         {
@@ -188,64 +281,236 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
 
         int skip = paginator.getSkip();
         int limit = paginator.getLimit();
+        int pageSize = Math.min(skip + limit, Paginator.MAX_LIMIT);
+
+        PageCursor cursor = paginator.getCursor();
+        // The members are read from the beginning of the cursor sort key value, so that the duplicates with the same
+        // sort key value are recognised by the merge. The ones with the smaller values are looked up separately.
+        PageCursor memberCursor = cursor == null ? PageCursor.START :
+                                  cursor.isStart() || isBlank(paginator.getProperty()) ? cursor :
+                                  PageCursor.at(cursor.getValue());
+
+        Comparator<PageCursor> comparator = PageCursor.comparator(paginator.getOrder());
+        PriorityQueue<GroupMemberCursor> queue = new PriorityQueue<>(
+                (c1, c2) -> comparator.compare(c1.peekCursor(), c2.peekCursor()));
+        for (Repository r : groupRepositorySet)
+        {
+            GroupMemberCursor groupMemberCursor = new GroupMemberCursor(r, predicate, paginator, memberCursor,
+                                                                        pageSize);
+            if (groupMemberCursor.hasNext())
+            {
+                queue.add(groupMemberCursor);
+            }
+        }
 
-        int groupSize = groupRepositorySet.size();
-        int groupSkip = (skip / (limit * groupSize)) * limit;
-        int groupLimit = limit;
-
-        skip = skip - groupSkip;
-
-        outer: do
+        boolean afterCursor = cursor != null && !cursor.isStart();
+        Set<ArtifactCoordinates> coordinatesSet = new HashSet<>();
+        List<Path> result = new LinkedList<>();
+        while (!queue.isEmpty() && result.size() < limit)
         {
-            Paginator paginatorLocal = new Paginator();
-            paginatorLocal.setLimit(groupLimit);
-            paginatorLocal.setSkip(groupSkip);
-            paginatorLocal.setProperty(paginator.getProperty());
-            paginatorLocal.setOrder(paginator.getOrder());
+            // The merged results are taken in batches, so that the duplicates of the artifacts returned before the
+            // cursor can be looked up with one query per member.
+            int batchSize = Math.min(skip + limit - result.size(), pageSize);
+            Map<String, RepositoryPath> candidates = new LinkedHashMap<>();
+            while (!queue.isEmpty() && candidates.size() < batchSize)
+            {
+                GroupMemberCursor groupMemberCursor = queue.poll();
+                PageCursor pathCursor = groupMemberCursor.peekCursor();
+                RepositoryPath path = groupMemberCursor.next();
+                if (groupMemberCursor.hasNext())
+                {
+                    queue.add(groupMemberCursor);
+                }
 
-            groupLimit = 0;
+                ArtifactCoordinates coordinates = getArtifactCoordinates(path);
+                if (!coordinatesSet.add(coordinates))
+                {
+                    continue;
+                }
+                if (afterCursor && comparator.compare(pathCursor, cursor) <= 0)
+                {
+                    continue;
+                }
+
+                candidates.put(coordinates.toPath(), path);
+            }
 
-            for (Iterator<Repository> i = groupRepositorySet.iterator(); i.hasNext();)
+            if (afterCursor && !candidates.isEmpty())
             {
-                Repository r = i.next();
-                RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(r.getType());
+                candidates.keySet()
+                          .removeAll(findPathsBeforeCursor(groupRepositorySet, predicate, paginator, candidates.keySet()));
+            }
 
-                List<Path> repositoryResult = repositoryProvider.search(r.getStorage().getId(), r.getId(), predicate, paginatorLocal);
-                if (repositoryResult.isEmpty())
+            for (RepositoryPath path : candidates.values())
+            {
+                if (skip > 0)
                 {
-                    i.remove();
+                    skip--;
                     continue;
                 }
 
-                // count coordinates intersection
-                groupLimit += repositoryResult.stream()
-                                              .map((p) -> resultMap.put(getArtifactCoordinates(p),
-                                                                        p))
-                                              .filter(p ->  p != null)
-                                              .collect(Collectors.toList())
-                                              .size();
+                result.add(path);
+            }
+        }
+
+        return result;
+    }
 
-                //Break search iterations if we have reached enough list size.
-                if (resultMap.size() >= limit + skip)
+    /**
+     * Finds the artifacts which any of the members has before the cursor of the paginator. The members are read from
+     * the cursor sort key value only, so such artifacts are not seen by the merge, but they were returned by one of
+     * the previous pages already.
+     *
+     * @return the coordinates paths of the artifacts found before the cursor
+     */
+    private Set<String> findPathsBeforeCursor(Set<Repository> groupRepositorySet,
+                                              Predicate predicate,
+                                              Paginator paginator,
+                                              Set<String> coordinatesPaths)
+    {
+        Comparator<PageCursor> comparator = PageCursor.comparator(paginator.getOrder());
+
+        Predicate pathPredicate = Predicate.of(ExpOperator.IN.of("artifactCoordinates.path",
+                                                                 new ArrayList<>(coordinatesPaths)));
+        if (!predicate.isEmpty())
+        {
+            pathPredicate.and(Predicate.empty().and(predicate).nested());
+        }
+
+        Paginator paginatorLocal = new Paginator();
+        paginatorLocal.setLimit(coordinatesPaths.size());
+
+        // The lookup is local to the database, so the proxy members don't search their remote repositories for it.
+        Set<String> result = new HashSet<>();
+        for (Repository r : groupRepositorySet)
+        {
+            for (Path path : hostedRepositoryProvider.search(r.getStorage().getId(), r.getId(), pathPredicate,
+                                                             paginatorLocal))
+            {
+                ArtifactEntry artifactEntry = getArtifactEntry((RepositoryPath) path);
+                PageCursor pathCursor = PageCursor.after(artifactEntry, paginator.getProperty());
+                if (comparator.compare(pathCursor, paginator.getCursor()) <= 0)
                 {
-                    break outer;
+                    result.add(artifactEntry.getArtifactCoordinates().toPath());
                 }
             }
-            groupSkip += limit;
+        }
+
+        return result;
+    }
+
+    private static boolean isBlank(String property)
+    {
+        return property == null || property.trim().isEmpty();
+    }
+
+    /**
+     * Sorted results of a group member, fetched page by page after the last seen result.
+     */
+    private class GroupMemberCursor
+    {
+
+        private final Repository repository;
+
+        private final Predicate predicate;
+
+        private final Paginator paginator;
+
+        private final int pageSize;
+
+        private Iterator<Path> page = Collections.emptyIterator();
+
+        private RepositoryPath head;
+
+        private PageCursor headCursor;
+
+        private PageCursor nextPageCursor;
+
+        private boolean exhausted;
+
+        GroupMemberCursor(Repository repository,
+                          Predicate predicate,
+                          Paginator paginator,
+                          PageCursor cursor,
+                          int pageSize)
+        {
+            this.repository = repository;
+            this.predicate = predicate;
+            this.paginator = paginator;
+            this.nextPageCursor = cursor;
+            this.pageSize = pageSize;
+        }
+
+        boolean hasNext()
+        {
+            if (head != null)
+            {
+                return true;
+            }
+            if (!page.hasNext() && !exhausted)
+            {
+                fetchPage();
+            }
+            if (!page.hasNext())
+            {
+                return false;
+            }
 
-            // Will iterate until there is no more coordinates intersection and
-            // there is more search results within group repositories
-        } while (groupLimit > 0 && !groupRepositorySet.isEmpty());
+            head = (RepositoryPath) page.next();
+            headCursor = PageCursor.after(getArtifactEntry(head), paginator.getProperty());
+
+            return true;
+        }
+
+        PageCursor peekCursor()
+        {
+            return headCursor;
+        }
+
+        RepositoryPath next()
+        {
+            RepositoryPath result = head;
+            head = null;
+
+            return result;
+        }
 
-        LinkedList<Path> resultList = new LinkedList<>();
-        if (skip >= resultMap.size())
+        private void fetchPage()
         {
-            return resultList;
+            Paginator paginatorLocal = new Paginator();
+            paginatorLocal.setLimit(pageSize);
+            paginatorLocal.setProperty(paginator.getProperty());
+            paginatorLocal.setOrder(paginator.getOrder());
+            paginatorLocal.setCursor(nextPageCursor);
+
+            RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+            List<Path> repositoryResult = repositoryProvider.search(repository.getStorage().getId(),
+                                                                    repository.getId(),
+                                                                    predicate,
+                                                                    paginatorLocal);
+
+            exhausted = repositoryResult.size() < pageSize;
+            if (!repositoryResult.isEmpty())
+            {
+                RepositoryPath last = (RepositoryPath) repositoryResult.get(repositoryResult.size() - 1);
+                nextPageCursor = PageCursor.after(getArtifactEntry(last), paginator.getProperty());
+            }
+
+            page = repositoryResult.iterator();
         }
-        resultList.addAll(resultMap.values());
 
-        int toIndex = resultList.size() - skip > limit ? limit + skip : resultList.size();
-        return resultList.subList(skip, toIndex);
+    }
+
+    private ArtifactEntry getArtifactEntry(RepositoryPath p)
+    {
+        try
+        {
+            return p.getArtifactEntry();
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(String.format("Failed to resolve ArtifactEntry for [%s]", p), e);
+        }
     }
 
     private ArtifactCoordinates getArtifactCoordinates(Path p)
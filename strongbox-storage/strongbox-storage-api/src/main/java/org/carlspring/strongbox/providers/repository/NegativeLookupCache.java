@@ -0,0 +1,41 @@
+package org.carlspring.strongbox.providers.repository;
+
+/**
+ * Bounded cache of the paths which were not found in a repository, so that repeated lookups of the same missing
+ * path can be answered without resolving it once again.
+ *
+ * @see PathLookupCache
+ */
+public class NegativeLookupCache
+        extends PathLookupCache<Boolean>
+{
+
+    public NegativeLookupCache(String name,
+                               int maxSize,
+                               long ttlMillis)
+    {
+        super("strongbox.repository.negative.cache", name, maxSize, ttlMillis);
+    }
+
+    /**
+     * @return true if the path was recently found missing within the repository
+     */
+    public boolean isMissing(String storageId,
+                             String repositoryId,
+                             String path)
+    {
+        return Boolean.TRUE.equals(get(storageId, repositoryId, path));
+    }
+
+    /**
+     * Remembers the path as missing, unless there were any invalidations since the {@code lookupStamp} taken.
+     */
+    public void putMissing(String storageId,
+                           String repositoryId,
+                           String path,
+                           long lookupStamp)
+    {
+        put(storageId, repositoryId, path, Boolean.TRUE, lookupStamp);
+    }
+
+}
@@ -0,0 +1,375 @@
+package org.carlspring.strongbox.providers.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Bounded cache of the repository path lookup results, so that repeated lookups of the same path can be answered
+ * without resolving it once again. Entries expire after {@code ttlMillis}, and the oldest entries are evicted first
+ * once there are more than {@code maxSize} of them.
+ * <br>
+ * Entries are kept per repository and grouped by the parent directory of the path. Invalidating a path also
+ * invalidates all the entries of the repository within its ancestor directories, because storing an artifact usually
+ * creates other files next to it or above it (checksums, Maven metadata and so on).
+ * <br>
+ * A lookup which started before an invalidation of the repository can't populate the cache, see
+ * {@link #getStamp(String, String)}.
+ */
+public class PathLookupCache<V>
+{
+
+    private final ConcurrentMap<String, RepositoryEntries> repositories = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by {@link #invalidateAll()}, so that it also covers the repositories which had no entries yet.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Orders the entries by their age, the creation time alone is too coarse for that.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    /**
+     * @param metricPrefix prefix of the hits, misses, hit ratio and size metrics
+     * @param name         the {@code cache} tag value of the metrics
+     */
+    public PathLookupCache(String metricPrefix,
+                           String name,
+                           int maxSize,
+                           long ttlMillis)
+    {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+
+        FunctionCounter.builder(metricPrefix + ".hits", hits, LongAdder::sum)
+                       .description("Lookups answered by the cache")
+                       .tag("cache", name)
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder(metricPrefix + ".misses", misses, LongAdder::sum)
+                       .description("Lookups not answered by the cache")
+                       .tag("cache", name)
+                       .register(Metrics.globalRegistry);
+        Gauge.builder(metricPrefix + ".hit.ratio", this, PathLookupCache::getHitRatio)
+             .description("Cache hit ratio")
+             .tag("cache", name)
+             .register(Metrics.globalRegistry);
+        Gauge.builder(metricPrefix + ".size", size, AtomicInteger::get)
+             .description("Paths within the cache")
+             .tag("cache", name)
+             .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * @return the cached lookup result, or null if there is no result or it has expired
+     */
+    public V get(String storageId,
+                 String repositoryId,
+                 String path)
+    {
+        RepositoryEntries repositoryEntries = repositories.get(getRepositoryKey(storageId, repositoryId));
+        Map<String, CacheEntry<V>> entries = repositoryEntries == null ? null :
+                                             repositoryEntries.directories.get(getDirectory(path));
+        CacheEntry<V> entry = entries == null ? null : entries.get(path);
+        if (entry != null && entry.createdAt + ttlMillis > System.currentTimeMillis())
+        {
+            hits.increment();
+
+            return entry.value;
+        }
+
+        misses.increment();
+
+        return null;
+    }
+
+    /**
+     * The stamp of the repository should be taken before the lookup and passed into
+     * {@link #put(String, String, String, Object, long)}.
+     */
+    public long getStamp(String storageId,
+                         String repositoryId)
+    {
+        return getStamp(getRepositoryEntries(storageId, repositoryId));
+    }
+
+    /**
+     * The upper half is the {@link #generation}, the lower half is the stamp of the repository. Both are only compared
+     * for equality, so the overflow doesn't matter.
+     */
+    private long getStamp(RepositoryEntries repositoryEntries)
+    {
+        return (generation.get() << 32) | (repositoryEntries.stamp.get() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Remembers the lookup result, unless there were any invalidations of the repository since the
+     * {@code lookupStamp} taken.
+     */
+    public void put(String storageId,
+                    String repositoryId,
+                    String path,
+                    V value,
+                    long lookupStamp)
+    {
+        RepositoryEntries repositoryEntries = getRepositoryEntries(storageId, repositoryId);
+        if (getStamp(repositoryEntries) != lookupStamp)
+        {
+            return;
+        }
+
+        String directory = getDirectory(path);
+        ConcurrentMap<String, CacheEntry<V>> entries = repositoryEntries.directories.computeIfAbsent(directory,
+                                                                                                    k -> new ConcurrentHashMap<>());
+        if (entries.put(path, new CacheEntry<>(value, System.currentTimeMillis(), sequence.incrementAndGet())) == null)
+        {
+            size.incrementAndGet();
+        }
+
+        // Invalidation could have happened while the entry was being put.
+        if (getStamp(repositoryEntries) != lookupStamp)
+        {
+            repositoryEntries.invalidateDirectory(directory);
+        }
+
+        if (size.get() > maxSize)
+        {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the cached result of the path within the repository.
+     */
+    public void remove(String storageId,
+                       String repositoryId,
+                       String path)
+    {
+        RepositoryEntries repositoryEntries = getRepositoryEntries(storageId, repositoryId);
+        repositoryEntries.stamp.incrementAndGet();
+
+        Map<String, CacheEntry<V>> entries = repositoryEntries.directories.get(getDirectory(path));
+        if (entries != null && entries.remove(path) != null)
+        {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Invalidates the path within the repository, together with the entries of its ancestor directories.
+     */
+    public void invalidate(String storageId,
+                           String repositoryId,
+                           String path)
+    {
+        RepositoryEntries repositoryEntries = getRepositoryEntries(storageId, repositoryId);
+        repositoryEntries.stamp.incrementAndGet();
+
+        String directory = getDirectory(path);
+        while (true)
+        {
+            repositoryEntries.invalidateDirectory(directory);
+            if (directory.isEmpty())
+            {
+                break;
+            }
+            directory = getDirectory(directory);
+        }
+    }
+
+    /**
+     * Invalidates all the entries of the repository.
+     */
+    public void invalidate(String storageId,
+                           String repositoryId)
+    {
+        RepositoryEntries repositoryEntries = getRepositoryEntries(storageId, repositoryId);
+        repositoryEntries.stamp.incrementAndGet();
+        repositoryEntries.invalidateAll();
+    }
+
+    public void invalidateAll()
+    {
+        generation.incrementAndGet();
+
+        for (RepositoryEntries repositoryEntries : repositories.values())
+        {
+            repositoryEntries.invalidateAll();
+        }
+    }
+
+    public double getHitRatio()
+    {
+        long h = hits.sum();
+        long total = h + misses.sum();
+
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public int size()
+    {
+        return size.get();
+    }
+
+    private RepositoryEntries getRepositoryEntries(String storageId,
+                                                      String repositoryId)
+    {
+        return repositories.computeIfAbsent(getRepositoryKey(storageId, repositoryId), k -> new RepositoryEntries());
+    }
+
+    /**
+     * Removes the expired entries, and then the oldest ones until the cache is 10% below {@code maxSize}. The
+     * eviction runs once per {@code maxSize / 10} puts, so the cutoff is found by sorting the entry sequence numbers.
+     */
+    private synchronized void evict()
+    {
+        if (size.get() <= maxSize)
+        {
+            return;
+        }
+
+        long expiredBefore = System.currentTimeMillis() - ttlMillis;
+        int total = 0;
+        for (RepositoryEntries repositoryEntries : repositories.values())
+        {
+            total += repositoryEntries.removeIf(e -> e.createdAt <= expiredBefore);
+        }
+
+        int target = maxSize - maxSize / 10;
+        if (total > target)
+        {
+            long[] sequences = new long[total];
+            int n = 0;
+            for (RepositoryEntries repositoryEntries : repositories.values())
+            {
+                for (Map<String, CacheEntry<V>> entries : repositoryEntries.directories.values())
+                {
+                    for (CacheEntry<V> entry : entries.values())
+                    {
+                        if (n == sequences.length)
+                        {
+                            sequences = Arrays.copyOf(sequences, n * 2 + 1);
+                        }
+                        sequences[n++] = entry.sequence;
+                    }
+                }
+            }
+            Arrays.sort(sequences, 0, n);
+
+            long cutoff = n > target ? sequences[n - target - 1] : Long.MIN_VALUE;
+            for (RepositoryEntries repositoryEntries : repositories.values())
+            {
+                repositoryEntries.removeIf(e -> e.sequence <= cutoff);
+            }
+        }
+
+        // Concurrent puts and invalidations make the counter approximate, so it's recalculated here.
+        size.set(repositories.values().stream().mapToInt(RepositoryEntries::size).sum());
+    }
+
+    private static String getDirectory(String path)
+    {
+        String result = StringUtils.removeEnd(path, "/");
+        int i = result.lastIndexOf('/');
+
+        return i < 0 ? "" : result.substring(0, i);
+    }
+
+    private static String getRepositoryKey(String storageId,
+                                           String repositoryId)
+    {
+        return String.format("%s:%s", storageId, repositoryId);
+    }
+
+    private class RepositoryEntries
+    {
+
+        private final ConcurrentMap<String, ConcurrentMap<String, CacheEntry<V>>> directories = new ConcurrentHashMap<>();
+
+        private final AtomicLong stamp = new AtomicLong();
+
+        private void invalidateDirectory(String directory)
+        {
+            Map<String, CacheEntry<V>> entries = directories.remove(directory);
+            if (entries != null)
+            {
+                size.addAndGet(-entries.size());
+            }
+        }
+
+        private void invalidateAll()
+        {
+            for (String directory : directories.keySet())
+            {
+                invalidateDirectory(directory);
+            }
+        }
+
+        /**
+         * @return the number of the remaining entries
+         */
+        private int removeIf(Predicate<CacheEntry<V>> filter)
+        {
+            int result = 0;
+            for (Map.Entry<String, ConcurrentMap<String, CacheEntry<V>>> entry : directories.entrySet())
+            {
+                entry.getValue().values().removeIf(filter);
+                if (entry.getValue().isEmpty())
+                {
+                    directories.remove(entry.getKey(), entry.getValue());
+                }
+                result += entry.getValue().size();
+            }
+
+            return result;
+        }
+
+        private int size()
+        {
+            return directories.values().stream().mapToInt(Map::size).sum();
+        }
+
+    }
+
+    private static class CacheEntry<V>
+    {
+
+        private final V value;
+
+        private final long createdAt;
+
+        private final long sequence;
+
+        private CacheEntry(V value,
+                           long createdAt,
+                           long sequence)
+        {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
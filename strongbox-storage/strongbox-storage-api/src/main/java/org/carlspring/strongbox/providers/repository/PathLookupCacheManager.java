@@ -0,0 +1,212 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.configuration.ConfigurationUpdatedEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the repository path lookup caches and invalidates them when artifacts are stored, moved or deleted, or
+ * when the configuration changes (group members, routing rules):
+ * <ul>
+ * <li>group negative cache - paths which were not resolved within the group repositories</li>
+ * <li>proxy negative cache - paths which were not found within the remote repositories (404)</li>
+ * <li>group resolution cache - the member repository paths which the group repository paths were resolved to</li>
+ * </ul>
+ */
+@Component
+public class PathLookupCacheManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(PathLookupCacheManager.class);
+
+    /**
+     * Read events don't change the repository content, so they don't invalidate anything.
+     */
+    private static final Set<Integer> READ_EVENT_TYPES = EnumSet.of(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING,
+                                                                    ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADED,
+                                                                    ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_DOWNLOADING,
+                                                                    ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_DOWNLOADED,
+                                                                    ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_DOWNLOADING,
+                                                                    ArtifactEventTypeEnum.EVENT_ARTIFACT_CHECKSUM_DOWNLOADED)
+                                                                .stream()
+                                                                .map(ArtifactEventTypeEnum::getType)
+                                                                .collect(Collectors.toSet());
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Value("${strongbox.repository.negativeCache.enabled:true}")
+    private boolean negativeCacheEnabled;
+
+    @Value("${strongbox.repository.negativeCache.maxSize:10000}")
+    private int negativeCacheMaxSize;
+
+    @Value("${strongbox.repository.negativeCache.ttlMillis:30000}")
+    private long negativeCacheTtlMillis;
+
+    @Value("${strongbox.repository.resolutionCache.enabled:true}")
+    private boolean resolutionCacheEnabled;
+
+    @Value("${strongbox.repository.resolutionCache.maxSize:10000}")
+    private int resolutionCacheMaxSize;
+
+    @Value("${strongbox.repository.resolutionCache.ttlMillis:300000}")
+    private long resolutionCacheTtlMillis;
+
+    private NegativeLookupCache groupNegativeCache;
+
+    private NegativeLookupCache proxyNegativeCache;
+
+    private PathLookupCache<RepositoryPath> groupResolutionCache;
+
+    @PostConstruct
+    public void init()
+    {
+        groupNegativeCache = new NegativeLookupCache("group", negativeCacheMaxSize, negativeCacheTtlMillis);
+        proxyNegativeCache = new NegativeLookupCache("proxy", negativeCacheMaxSize, negativeCacheTtlMillis);
+        groupResolutionCache = new PathLookupCache<>("strongbox.repository.resolution.cache",
+                                                     "group",
+                                                     resolutionCacheMaxSize,
+                                                     resolutionCacheTtlMillis);
+    }
+
+    public boolean isNegativeCacheEnabled()
+    {
+        return negativeCacheEnabled;
+    }
+
+    public boolean isResolutionCacheEnabled()
+    {
+        return resolutionCacheEnabled;
+    }
+
+    /**
+     * @return cache of the paths which were not resolved within the group repositories
+     */
+    public NegativeLookupCache getGroupNegativeCache()
+    {
+        return groupNegativeCache;
+    }
+
+    /**
+     * @return cache of the paths which were not found within the remote repositories of the proxy repositories
+     */
+    public NegativeLookupCache getProxyNegativeCache()
+    {
+        return proxyNegativeCache;
+    }
+
+    /**
+     * @return cache of the group repository paths resolved to the member repository paths
+     */
+    public PathLookupCache<RepositoryPath> getGroupResolutionCache()
+    {
+        return groupResolutionCache;
+    }
+
+    @EventListener
+    public void handleEvent(ArtifactEvent<RepositoryPath> event)
+    {
+        if (READ_EVENT_TYPES.contains(event.getType()))
+        {
+            return;
+        }
+
+        invalidate(event.getPath());
+        if (event.getTargetPath() != null)
+        {
+            invalidate(event.getTargetPath());
+        }
+    }
+
+    @EventListener
+    public void handleEvent(ConfigurationUpdatedEvent event)
+    {
+        // Group members, routing rules or repository states could have been changed.
+        groupNegativeCache.invalidateAll();
+        groupResolutionCache.invalidateAll();
+    }
+
+    /**
+     * The path is invalidated within its repository, and within all the group repositories which include it, because
+     * the group repository paths are resolved to the member repository paths.
+     */
+    private void invalidate(RepositoryPath repositoryPath)
+    {
+        Repository repository = repositoryPath.getRepository();
+        String storageId = repository.getStorage().getId();
+        String repositoryId = repository.getId();
+        List<Repository> groupRepositories = configurationManager.getConfiguration()
+                                                                 .getGroupRepositoryAncestors(storageId, repositoryId);
+        try
+        {
+            // Directory operations (copy, move) can bring many paths at once.
+            if (Files.isDirectory(repositoryPath))
+            {
+                invalidate(repository, groupRepositories, null);
+
+                return;
+            }
+
+            invalidate(repository, groupRepositories, RepositoryFiles.relativizePath(repositoryPath));
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to invalidate path lookup caches for [%s].", repositoryPath), e);
+
+            invalidate(repository, groupRepositories, null);
+        }
+    }
+
+    /**
+     * @param path the path to invalidate, or null to invalidate the whole repositories
+     */
+    private void invalidate(Repository repository,
+                            List<Repository> groupRepositories,
+                            String path)
+    {
+        invalidate(proxyNegativeCache, repository, path);
+        invalidate(groupNegativeCache, repository, path);
+        invalidate(groupResolutionCache, repository, path);
+        for (Repository groupRepository : groupRepositories)
+        {
+            invalidate(groupNegativeCache, groupRepository, path);
+            invalidate(groupResolutionCache, groupRepository, path);
+        }
+    }
+
+    private void invalidate(PathLookupCache<?> cache,
+                            Repository repository,
+                            String path)
+    {
+        String storageId = repository.getStorage().getId();
+        if (path == null)
+        {
+            cache.invalidate(storageId, repository.getId());
+        }
+        else
+        {
+            cache.invalidate(storageId, repository.getId(), path);
+        }
+    }
+
+}
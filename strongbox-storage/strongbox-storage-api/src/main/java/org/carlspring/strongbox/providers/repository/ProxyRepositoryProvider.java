@@ -1,10 +1,13 @@
 package org.carlspring.strongbox.providers.repository;
 
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.io.RepositoryStreamReadContext;
+import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -12,6 +15,8 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryDownload;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryDownloadManager;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -43,12 +48,18 @@ public class ProxyRepositoryProvider
     @Inject
     private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
 
+    @Inject
+    private ProxyRepositoryDownloadManager proxyRepositoryDownloadManager;
+
     @Inject
     private HostedRepositoryProvider hostedRepositoryProvider;
 
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private PathLookupCacheManager pathLookupCacheManager;
+
     @Override
     public String getAlias()
     {
@@ -59,9 +70,45 @@ public class ProxyRepositoryProvider
     protected InputStream getInputStreamInternal(RepositoryPath path)
         throws IOException
     {
+        ProxyRepositoryDownload download = proxyRepositoryDownloadManager.getDownload(path);
+        InputStream is = download == null ? null : download.newInputStream();
+        if (is != null)
+        {
+            logger.debug(String.format("Following in-flight download of [%s].", path));
+
+            return is;
+        }
+
+        // The download (if any) is finished, and it's finished only after the artifact stored.
+
         return hostedRepositoryProvider.getInputStreamInternal(path);
     }
 
+    @Override
+    public void onBeforeRead(RepositoryStreamReadContext ctx)
+        throws IOException
+    {
+        // The artifact is not stored yet while it's being downloaded, so there
+        // is nothing to check and nothing to count here.
+        if (StreamUtils.findSource(ProxyRepositoryDownload.DownloadInputStream.class, ctx.getStream()) != null)
+        {
+            return;
+        }
+
+        super.onBeforeRead(ctx);
+    }
+
+    @Override
+    public void onAfterRead(RepositoryStreamReadContext ctx)
+    {
+        if (StreamUtils.findSource(ProxyRepositoryDownload.DownloadInputStream.class, ctx.getStream()) != null)
+        {
+            return;
+        }
+
+        super.onAfterRead(ctx);
+    }
+
     @Override
     protected RepositoryPath fetchPath(RepositoryPath repositoryPath)
         throws IOException
@@ -70,7 +117,7 @@ public class ProxyRepositoryProvider
 
         if (targetPath == null)
         {
-            targetPath = resolvePathExclusive(repositoryPath);
+            targetPath = resolvePathRemote(repositoryPath);
         }
         else if (RepositoryFiles.hasExpired(targetPath))
         {
@@ -80,6 +127,75 @@ public class ProxyRepositoryProvider
         return targetPath;
     }
 
+    /**
+     * Remote misses (404) are remembered within the {@link NegativeLookupCache}, so the same missing path is not
+     * requested from remote over and over again.
+     */
+    private RepositoryPath resolvePathRemote(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (!pathLookupCacheManager.isNegativeCacheEnabled())
+        {
+            return resolvePathRemoteInternal(repositoryPath);
+        }
+
+        String storageId = repositoryPath.getRepository().getStorage().getId();
+        String repositoryId = repositoryPath.getRepository().getId();
+        String path = RepositoryFiles.relativizePath(repositoryPath);
+
+        NegativeLookupCache negativeLookupCache = pathLookupCacheManager.getProxyNegativeCache();
+        if (negativeLookupCache.isMissing(storageId, repositoryId, path))
+        {
+            logger.debug(String.format("Path [%s] is known to be missing in remote repository.", repositoryPath));
+
+            return null;
+        }
+
+        long stamp = negativeLookupCache.getStamp(storageId, repositoryId);
+        try
+        {
+            return resolvePathRemoteInternal(repositoryPath);
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            negativeLookupCache.putMissing(storageId, repositoryId, path, stamp);
+
+            throw e;
+        }
+    }
+
+    private RepositoryPath resolvePathRemoteInternal(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (isStreamable(repositoryPath))
+        {
+            return resolvePathStreaming(repositoryPath);
+        }
+
+        return resolvePathExclusive(repositoryPath);
+    }
+
+    private boolean isStreamable(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return proxyRepositoryDownloadManager.isEnabled() && RepositoryFiles.isArtifact(repositoryPath);
+    }
+
+    /**
+     * Serves the artifact while it's being downloaded from remote, see {@link ProxyRepositoryDownload}.
+     */
+    private RepositoryPath resolvePathStreaming(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ProxyRepositoryDownload download = proxyRepositoryDownloadManager.attach(repositoryPath);
+        if (download == null)
+        {
+            return resolvePathExclusive(repositoryPath);
+        }
+
+        return repositoryPath;
+    }
+
     private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath)
             throws IOException
     {
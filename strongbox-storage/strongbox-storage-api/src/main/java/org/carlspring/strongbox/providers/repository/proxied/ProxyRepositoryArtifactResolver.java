@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
@@ -16,9 +17,12 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 
+import org.apache.commons.lang3.StringUtils;
+import org.carlspring.strongbox.util.MessageDigestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -81,6 +85,122 @@ public class ProxyRepositoryArtifactResolver
         }
     }
 
+    public boolean isRemoteRepositoryAlive(RepositoryPath repositoryPath)
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
+
+        return remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository);
+    }
+
+    /**
+     * This method does the same as {@link #fetchRemoteResource(RepositoryPath)}, but the remote bytes are passed
+     * through the in-flight {@link ProxyRepositoryDownload}, so they can be served to the clients while the
+     * artifact is being downloaded.
+     *
+     * The artifact is stored into the repository only after the download completed and its checksum verified, and
+     * the download is completed only after the artifact stored.
+     */
+    public RepositoryPath fetchRemoteResource(ProxyRepositoryDownload download)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = download.getRepositoryPath();
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
+
+        ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+        Lock lock = lockSource.writeLock();
+        lock.lock();
+
+        try
+        {
+            try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+                 ProxyRepositoryInputStream is = new ProxyRepositoryInputStream(client, repositoryPath))
+            {
+                //We need this to force initialize lazy connection to remote repository.
+                is.available();
+
+                download.start(is.getContentLength());
+                download.transfer(is);
+            }
+
+            verifyChecksum(download, remoteRepository);
+
+            RepositoryPath result;
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(download.getTempFile())))
+            {
+                result = doFetch(repositoryPath, is);
+            }
+
+            // The readers get EOF only now, so the artifact can be read from the repository once they are done.
+            download.complete();
+
+            return result;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private void verifyChecksum(ProxyRepositoryDownload download,
+                                RemoteRepository remoteRepository)
+        throws IOException
+    {
+        RepositoryPath repositoryPath = download.getRepositoryPath();
+        Map<String, RepositoryPath> checksumPathMap = repositoryPath.getFileSystem()
+                                                                    .provider()
+                                                                    .resolveChecksumPathMap(repositoryPath);
+        Map<String, String> digestMap = download.getHexDigests();
+
+        try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository))
+        {
+            RemoteArtifactStreamFetcher remoteArtifactStreamFetcher = new RemoteArtifactStreamFetcher(client);
+            for (Map.Entry<String, String> digest : digestMap.entrySet())
+            {
+                RepositoryPath checksumPath = checksumPathMap.get(digest.getKey());
+                if (checksumPath == null)
+                {
+                    logger.debug(String.format("No [%s] checksum file supported for [%s].",
+                                               digest.getKey(), repositoryPath));
+                    continue;
+                }
+
+                String remoteChecksum;
+                try (InputStream is = remoteArtifactStreamFetcher.getInputStream(0, checksumPath))
+                {
+                    remoteChecksum = MessageDigestUtils.readChecksumFile(is);
+                }
+                catch (ArtifactNotFoundException e)
+                {
+                    continue;
+                }
+
+                // Remote checksum files can also contain the artifact file name after the checksum value.
+                remoteChecksum = StringUtils.substringBefore(StringUtils.trimToEmpty(remoteChecksum), " ");
+                if (remoteChecksum.isEmpty())
+                {
+                    continue;
+                }
+                if (!remoteChecksum.equalsIgnoreCase(digest.getValue()))
+                {
+                    throw new IOException(String.format("The [%s] checksum for [%s] is invalid: expected [%s], actual [%s].",
+                                                        digest.getKey(),
+                                                        repositoryPath,
+                                                        remoteChecksum,
+                                                        digest.getValue()));
+                }
+
+                logger.debug(String.format("The [%s] checksum for [%s] verified.", digest.getKey(), repositoryPath));
+
+                return;
+            }
+        }
+
+        // Checksum validation is not strict for now (see SB-949)
+        logger.debug(String.format("No remote checksum found to verify [%s].", repositoryPath));
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
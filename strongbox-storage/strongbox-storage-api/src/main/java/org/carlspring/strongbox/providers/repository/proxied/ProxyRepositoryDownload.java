@@ -0,0 +1,396 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents the remote artifact download which is in progress.
+ * <br>
+ * Remote bytes are written only once, into the temporary file, and every client which requested the artifact
+ * (including the first one) follows this growing file. So the clients don't need to wait until the whole artifact
+ * will be downloaded before they get the first byte.
+ * <br>
+ * The readers get EOF only after the download completed, the checksum verified and the artifact stored into the
+ * repository, if the download fails they get an {@link IOException} instead.
+ * <br>
+ * The temporary file is reference counted: the {@link ProxyRepositoryDownloadManager} holds one reference until the
+ * download is finished, and each reader holds one until it's closed, so the file is deleted by the last of them.
+ *
+ * @see ProxyRepositoryDownloadManager
+ */
+public class ProxyRepositoryDownload
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryDownload.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RepositoryPath repositoryPath;
+
+    private final Path tempFile;
+
+    private final Object monitor = new Object();
+
+    private final Map<String, MessageDigest> digests = new HashMap<>();
+
+    private volatile long length;
+
+    private volatile long contentLength = -1;
+
+    private volatile boolean started;
+
+    private volatile boolean completed;
+
+    private volatile IOException failure;
+
+    /**
+     * The references to the temporary file, guarded by the monitor. The first one belongs to the
+     * {@link ProxyRepositoryDownloadManager}.
+     */
+    private int references = 1;
+
+    /**
+     * Set once the download is finished and removed from the {@link ProxyRepositoryDownloadManager}, so no more
+     * readers should attach to it.
+     */
+    private boolean finished;
+
+    public ProxyRepositoryDownload(RepositoryPath repositoryPath,
+                                   Path tempFile)
+    {
+        this.repositoryPath = repositoryPath;
+        this.tempFile = tempFile;
+    }
+
+    public RepositoryPath getRepositoryPath()
+    {
+        return repositoryPath;
+    }
+
+    public Path getTempFile()
+    {
+        return tempFile;
+    }
+
+    /**
+     * @return the artifact length provided by remote, or -1 if it's unknown
+     */
+    public long getContentLength()
+    {
+        return contentLength;
+    }
+
+    public boolean isCompleted()
+    {
+        return completed;
+    }
+
+    /**
+     * @return the new reader of the download, or null if the download has been finished and its temporary file
+     *         released, in which case the artifact should be read from the repository
+     */
+    public InputStream newInputStream()
+        throws IOException
+    {
+        synchronized (monitor)
+        {
+            if (finished)
+            {
+                return null;
+            }
+
+            references++;
+        }
+
+        try
+        {
+            return new DownloadInputStream();
+        }
+        catch (IOException e)
+        {
+            release();
+
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the reference of the {@link ProxyRepositoryDownloadManager}, the readers which are still following
+     * the download keep the temporary file until they are closed.
+     */
+    void finish()
+    {
+        synchronized (monitor)
+        {
+            finished = true;
+        }
+
+        release();
+    }
+
+    /**
+     * Releases the reference to the temporary file, which is deleted with the last reference.
+     */
+    private void release()
+    {
+        synchronized (monitor)
+        {
+            if (--references > 0)
+            {
+                return;
+            }
+        }
+
+        try
+        {
+            Files.deleteIfExists(tempFile);
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to delete [%s].", tempFile), e);
+        }
+    }
+
+    /**
+     * Waits until the remote connection established, so we know that the remote artifact exists.
+     */
+    public void awaitStarted()
+        throws IOException
+    {
+        synchronized (monitor)
+        {
+            while (!started && failure == null)
+            {
+                waitForUpdates();
+            }
+        }
+
+        if (failure != null)
+        {
+            throw failure;
+        }
+    }
+
+    void start(long contentLength)
+    {
+        synchronized (monitor)
+        {
+            this.contentLength = contentLength;
+            this.started = true;
+
+            monitor.notifyAll();
+        }
+    }
+
+    void transfer(InputStream is)
+        throws IOException
+    {
+        for (String digestAlgorithm : repositoryPath.getFileSystem().getDigestAlgorithmSet())
+        {
+            try
+            {
+                digests.put(digestAlgorithm, MessageDigest.getInstance(digestAlgorithm));
+            }
+            catch (NoSuchAlgorithmException e)
+            {
+                throw new IOException(e);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE))
+        {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = is.read(buffer)) != -1)
+            {
+                for (MessageDigest digest : digests.values())
+                {
+                    digest.update(buffer, 0, n);
+                }
+
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, n);
+                while (byteBuffer.hasRemaining())
+                {
+                    channel.write(byteBuffer);
+                }
+
+                synchronized (monitor)
+                {
+                    length += n;
+
+                    monitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    Map<String, String> getHexDigests()
+    {
+        Map<String, String> result = new HashMap<>();
+        digests.forEach((algorithm, digest) -> result.put(algorithm,
+                                                          MessageDigestUtils.convertToHexadecimalString(digest)));
+
+        return result;
+    }
+
+    void complete()
+    {
+        synchronized (monitor)
+        {
+            completed = true;
+
+            monitor.notifyAll();
+        }
+    }
+
+    void fail(IOException e)
+    {
+        synchronized (monitor)
+        {
+            failure = e;
+
+            monitor.notifyAll();
+        }
+    }
+
+    private long awaitAvailable(long position)
+        throws IOException
+    {
+        synchronized (monitor)
+        {
+            while (true)
+            {
+                if (failure != null)
+                {
+                    throw new IOException(String.format("Failed to fetch [%s] from remote.", repositoryPath),
+                                          failure);
+                }
+                if (length > position)
+                {
+                    return length - position;
+                }
+                if (completed)
+                {
+                    return -1;
+                }
+
+                waitForUpdates();
+            }
+        }
+    }
+
+    private void waitForUpdates()
+        throws InterruptedIOException
+    {
+        try
+        {
+            monitor.wait();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s].", repositoryPath));
+        }
+    }
+
+    /**
+     * Follows the growing temporary file with positional reads, so any number of readers can share the same
+     * download.
+     */
+    public class DownloadInputStream extends InputStream
+    {
+
+        private final FileChannel channel;
+
+        private long position;
+
+        private boolean closed;
+
+        private DownloadInputStream()
+            throws IOException
+        {
+            this.channel = FileChannel.open(tempFile, StandardOpenOption.READ);
+        }
+
+        @Override
+        public int read()
+            throws IOException
+        {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+
+            return n == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            if (len == 0)
+            {
+                return 0;
+            }
+
+            long available = awaitAvailable(position);
+            if (available < 0)
+            {
+                return -1;
+            }
+
+            int n = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, available)), position);
+            if (n > 0)
+            {
+                position += n;
+            }
+
+            return n;
+        }
+
+        @Override
+        public int available()
+        {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(0, length - position));
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+
+            try
+            {
+                channel.close();
+            }
+            finally
+            {
+                release();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,204 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.HostedRepositoryProvider;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps track of the remote artifact downloads which are in progress, so that concurrent requests of the same
+ * artifact are attached to the single in-flight {@link ProxyRepositoryDownload} instead of waiting for it.
+ * <br>
+ * The downloads are executed within dedicated bounded thread pool. If the pool is saturated then
+ * {@link #attach(RepositoryPath)} returns null and the caller should fall back to the blocking fetch.
+ */
+@Component
+public class ProxyRepositoryDownloadManager
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ProxyRepositoryDownloadManager.class);
+
+    private final ConcurrentMap<URI, ProxyRepositoryDownload> downloads = new ConcurrentHashMap<>();
+
+    @Inject
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Inject
+    private HostedRepositoryProvider hostedRepositoryProvider;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
+    @Value("${strongbox.proxy.streaming.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.streaming.maxConcurrentDownloads:32}")
+    private int maxConcurrentDownloads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init()
+    {
+        executor = new ThreadPoolExecutor(0,
+                                          maxConcurrentDownloads,
+                                          60L,
+                                          TimeUnit.SECONDS,
+                                          new SynchronousQueue<>(),
+                                          new CustomizableThreadFactory("proxy-download-"));
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        executor.shutdownNow();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public ProxyRepositoryDownload getDownload(RepositoryPath repositoryPath)
+    {
+        return downloads.get(repositoryPath.toUri());
+    }
+
+    /**
+     * Attaches to the in-flight download of given path, or starts the new one.
+     *
+     * @return the in-flight download, or null if the download can't be started in streaming mode, or the artifact
+     *         has just been stored by the previous download
+     * @throws IOException if the remote artifact can't be fetched (for example, it doesn't exist)
+     */
+    public ProxyRepositoryDownload attach(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        if (!proxyRepositoryArtifactResolver.isRemoteRepositoryAlive(repositoryPath))
+        {
+            return null;
+        }
+
+        URI key = repositoryPath.toUri();
+
+        ProxyRepositoryDownload download = downloads.get(key);
+        if (download != null)
+        {
+            logger.debug(String.format("Attached to in-flight download of [%s].", repositoryPath));
+
+            download.awaitStarted();
+
+            return download;
+        }
+
+        ProxyRepositoryDownload candidate = new ProxyRepositoryDownload(repositoryPath, createTempFile(repositoryPath));
+        download = downloads.putIfAbsent(key, candidate);
+        if (download != null)
+        {
+            candidate.finish();
+            download.awaitStarted();
+
+            return download;
+        }
+
+        // The previous download could have been stored and removed right before this one was registered.
+        if (hostedRepositoryProvider.fetchPath((Path) repositoryPath) != null)
+        {
+            logger.debug(String.format("Artifact [%s] has just been stored, skip remote fetch.", repositoryPath));
+
+            release(key, candidate);
+
+            return null;
+        }
+
+        try
+        {
+            executor.execute(() -> fetch(key, candidate));
+        }
+        catch (RejectedExecutionException e)
+        {
+            logger.debug(String.format("Too many in-flight downloads, fall back to blocking fetch of [%s].",
+                                       repositoryPath));
+
+            release(key, candidate);
+
+            return null;
+        }
+
+        candidate.awaitStarted();
+
+        return candidate;
+    }
+
+    private void fetch(URI key,
+                       ProxyRepositoryDownload download)
+    {
+        try
+        {
+            proxyRepositoryArtifactResolver.fetchRemoteResource(download);
+        }
+        catch (ArtifactNotFoundException e)
+        {
+            logger.debug(String.format("Remote artifact [%s] not found.", download.getRepositoryPath()));
+
+            download.fail(e);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to fetch [%s] from remote.", download.getRepositoryPath()), e);
+
+            download.fail(e);
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to fetch [%s] from remote.", download.getRepositoryPath()), e);
+
+            download.fail(new IOException(e));
+        }
+        finally
+        {
+            release(key, download);
+        }
+    }
+
+    private void release(URI key,
+                         ProxyRepositoryDownload download)
+    {
+        downloads.remove(key, download);
+
+        // The temporary file is deleted once the readers which are still following it are closed.
+        download.finish();
+    }
+
+    private Path createTempFile(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Path tempDir = Paths.get(propertiesBooter.getTempDirectory(), "proxy-downloads");
+        Files.createDirectories(tempDir);
+
+        return Files.createTempFile(tempDir, repositoryPath.getFileName().toString(), ".part");
+    }
+
+}
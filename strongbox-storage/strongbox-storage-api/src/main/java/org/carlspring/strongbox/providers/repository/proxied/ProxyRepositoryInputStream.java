@@ -94,6 +94,12 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return super.available();
     }
 
+    public long getContentLength()
+        throws IOException
+    {
+        return ((RemoteArtifactStreamFetcher.RemoteArtifactInputStream) this.in).getContentLength();
+    }
+
     @Override
     public void close()
         throws IOException
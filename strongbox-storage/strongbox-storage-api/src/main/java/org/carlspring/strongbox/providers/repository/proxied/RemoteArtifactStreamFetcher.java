@@ -117,6 +117,15 @@ public class RemoteArtifactStreamFetcher
             return connection = RemoteArtifactStreamFetcher.this.getConnection(resource, offset);
         }
 
+        /**
+         * @return the remote resource length, or -1 if the remote didn't provide it
+         */
+        public long getContentLength()
+            throws IOException
+        {
+            return getConnection().getResponse().getLength();
+        }
+
         private InputStream getTarget()
             throws IOException
         {
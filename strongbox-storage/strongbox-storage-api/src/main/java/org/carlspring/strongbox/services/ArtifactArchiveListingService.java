@@ -0,0 +1,18 @@
+package org.carlspring.strongbox.services;
+
+import java.io.IOException;
+
+public interface ArtifactArchiveListingService
+{
+
+    /**
+     * Lists the archives of the repository artifacts, which were stored before the archive listings were persisted
+     * on store.
+     *
+     * @return the number of the updated artifacts
+     */
+    long backfillArchiveListings(String storageId,
+                                 String repositoryId)
+            throws IOException;
+
+}
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.services;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,6 +13,7 @@ import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -73,10 +75,41 @@ public interface ArtifactEntryService
                            String repositoryId,
                            String path);
 
+    /**
+     * Resolves the existence of a batch of artifacts with the indexed lookups, instead of a query per artifact.
+     *
+     * @return the paths of the artifacts which exist in the repository
+     */
+    Set<String> findExistingPaths(String storageId,
+                                  String repositoryId,
+                                  Collection<String> paths);
+
     ArtifactEntry findOneArtifact(String storageId,
                                   String repositoryId,
                                   String path);
 
     int delete(List<ArtifactEntry> artifactEntries);
 
+    /**
+     * Increments the download counters and sets the last used dates of the artifacts with a single batch statement,
+     * without loading the whole {@link ArtifactEntry}s.
+     *
+     * @param downloadStatistics the download count and the last used date by the (storageId, repositoryId, path) of
+     *                           the artifact
+     * @return the artifacts which were updated; the artifacts without an {@link ArtifactEntry} are not included
+     */
+    Set<Triplet<String, String, String>> updateDownloadStatistics(Map<Triplet<String, String, String>, Pair<Integer, Date>> downloadStatistics);
+
+    /**
+     * Fetches the artifacts which have no {@link ArtifactEntry#getArtifactArchiveListing()} yet, ordered by record
+     * id.
+     *
+     * @param afterObjectId
+     *            the record id of the last artifact of the previous page, or <code>null</code> for the first page
+     */
+    List<ArtifactEntry> findArtifactsWithoutArchiveListing(String storageId,
+                                                           String repositoryId,
+                                                           String afterObjectId,
+                                                           int limit);
+
 }
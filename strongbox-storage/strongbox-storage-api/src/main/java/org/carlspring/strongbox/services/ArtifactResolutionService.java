@@ -16,6 +16,15 @@ public interface ArtifactResolutionService
     RepositoryInputStream getInputStream(RepositoryPath path)
             throws IOException;
 
+    /**
+     * Returns the stream which reads the artifact file directly and supports
+     * {@link RepositoryInputStream#transferTo}, or <code>null</code> if the artifact can't be read this way (for
+     * example, it's not stored on the local file system), in which case {@link #getInputStream(RepositoryPath)}
+     * should be used.
+     */
+    RepositoryInputStream getFileChannelInputStream(RepositoryPath path)
+            throws IOException;
+
     RepositoryOutputStream getOutputStream(RepositoryPath repositoryPath)
             throws IOException,
                    NoSuchAlgorithmException;
@@ -1,5 +1,8 @@
 package org.carlspring.strongbox.services;
 
+import java.util.Collection;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 
 /**
@@ -17,6 +20,13 @@ public interface RepositoryArtifactIdGroupService
                                            String repositoryId,
                                            String artifactId);
 
+    /**
+     * Adds a batch of artifacts to the group. The entries are saved through the {@link ArtifactEntryService}, and the
+     * group is updated once for the whole batch, without loading or saving its other entries.
+     */
+    void addArtifactsToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                             Collection<? extends ArtifactEntry> artifactEntries);
+
     @Override
     default Class<RepositoryArtifactIdGroupEntry> getEntityClass()
     {
@@ -0,0 +1,93 @@
+package org.carlspring.strongbox.services.impl;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.services.ArtifactArchiveListingService;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ArtifactStoredEventListener;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ArtifactArchiveListingServiceImpl
+        implements ArtifactArchiveListingService
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactArchiveListingServiceImpl.class);
+
+    @Value("${strongbox.archiveListing.backfill.batchSize:100}")
+    private int batchSize;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
+    @Inject
+    private ArtifactStoredEventListener artifactStoredEventListener;
+
+    @Override
+    public long backfillArchiveListings(String storageId,
+                                        String repositoryId)
+            throws IOException
+    {
+        Repository repository = configurationManager.getConfiguration()
+                                                    .getStorage(storageId)
+                                                    .getRepository(repositoryId);
+
+        long result = 0;
+        String lastObjectId = null;
+        List<ArtifactEntry> artifactEntries;
+        do
+        {
+            artifactEntries = artifactEntryService.findArtifactsWithoutArchiveListing(storageId, repositoryId,
+                                                                                      lastObjectId, batchSize);
+            for (ArtifactEntry artifactEntry : artifactEntries)
+            {
+                lastObjectId = artifactEntry.getObjectId();
+
+                // The remote artifacts which were not downloaded yet are listed once they are stored.
+                RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository,
+                                                                               artifactEntry.getArtifactPath());
+                if (!Files.exists(repositoryPath))
+                {
+                    continue;
+                }
+
+                try
+                {
+                    artifactStoredEventListener.updateArchiveListing(repositoryPath);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+
+                    throw new InterruptedIOException(String.format("Interrupted on [%s].", repositoryPath));
+                }
+                result++;
+            }
+        }
+        while (artifactEntries.size() == batchSize);
+
+        logger.info(String.format("Backfilled [%s] archive listings in [%s]/[%s].", result, storageId, repositoryId));
+
+        return result;
+    }
+
+}
@@ -1,18 +1,23 @@
 package org.carlspring.strongbox.services.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.inject.Inject;
+
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.carlspring.strongbox.artifact.ArtifactTag;
@@ -21,14 +26,20 @@ import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ArtifactEntryCacheManager;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
+import org.carlspring.strongbox.services.support.ArtifactEntrySearchIndex;
 import org.javatuples.Pair;
+import org.javatuples.Triplet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.command.script.OCommandScript;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
@@ -45,6 +56,14 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    private static final String UUIDS_PARAMETER = "artifactEntryUuids";
+
+    @Inject
+    private ArtifactEntryCacheManager artifactEntryCacheManager;
+
+    @Inject
+    private ArtifactEntrySearchIndex artifactEntrySearchIndex;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -59,7 +78,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             entity.setCreated(new Date());
         }
 
-        return super.cascadeEntitySave(entity);
+        // The entries saved by cascade (with their artifact groups) don't pass through save().
+        S result = super.cascadeEntitySave(entity);
+        artifactEntryCacheManager.evict(entity);
+        artifactEntrySearchIndex.add(result);
+
+        return result;
     }
 
     @Override
@@ -93,12 +117,20 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                                      .collect(Collectors.toMap(t -> String.format("%sTag", t.getName().replaceAll("-", "")),
                                                                                t -> (ArtifactTagEntry) t));
 
+        Optional<Set<String>> artifactEntryIds = findArtifactEntryIds(toList(storageId, repositoryId), coordinates,
+                                                                      strict);
+        if (artifactEntryIds.map(Set::isEmpty).orElse(false))
+        {
+            return Collections.emptyList();
+        }
+
         String sQuery = buildCoordinatesQuery(toList(storageId, repositoryId), coordinates.keySet(), tagMap.keySet(),
                                               skip,
-                                              limit, orderBy, strict);
+                                              limit, orderBy, strict, artifactEntryIds.isPresent());
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
+        artifactEntryIds.ifPresent(ids -> parameterMap.put(UUIDS_PARAMETER, ids));
         if (storageId != null && !storageId.trim().isEmpty())
         {
             parameterMap.put("storageId0", storageId);
@@ -176,11 +208,19 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                  boolean strict)
     {
         coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
+        Optional<Set<String>> artifactEntryIds = findArtifactEntryIds(storageRepositoryPairList, coordinates, strict);
+        if (artifactEntryIds.map(Set::isEmpty).orElse(false))
+        {
+            return 0L;
+        }
+
+        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0,
+                                              null, strict, artifactEntryIds.isPresent());
         sQuery = sQuery.replace("*", "count(distinct(artifactCoordinates))");
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
+        artifactEntryIds.ifPresent(ids -> parameterMap.put(UUIDS_PARAMETER, ids));
 
         Pair<String, String>[] p = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         IntStream.range(0, storageRepositoryPairList.size()).forEach(idx -> {
@@ -208,11 +248,19 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                boolean strict)
     {
         coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
+        Optional<Set<String>> artifactEntryIds = findArtifactEntryIds(storageRepositoryPairList, coordinates, strict);
+        if (artifactEntryIds.map(Set::isEmpty).orElse(false))
+        {
+            return 0L;
+        }
+
+        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0,
+                                              null, strict, artifactEntryIds.isPresent());
         sQuery = sQuery.replace("*", "count(*)");
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
         Map<String, Object> parameterMap = new HashMap<>(coordinates);
+        artifactEntryIds.ifPresent(ids -> parameterMap.put(UUIDS_PARAMETER, ids));
 
         Pair<String, String>[] p = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         IntStream.range(0, storageRepositoryPairList.size()).forEach(idx -> {
@@ -256,7 +304,8 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                            int skip,
                                            int limit,
                                            String orderBy,
-                                           boolean strict)
+                                           boolean strict,
+                                           boolean restrictedToIds)
     {
         StringBuilder sb = new StringBuilder();
         sb.append("SELECT * FROM ").append(getEntityClass().getSimpleName());
@@ -271,14 +320,20 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                         .append(".toLowerCase()")
                                         .append(strict ? " = " : " like ")
                                         .append(String.format(":%s", e)));
-        sb.append(" WHERE ").append(c1.length() > 0 ? c1.append(" AND ").toString() : " true = true AND ");
+        sb.append(" WHERE ");
+        if (restrictedToIds)
+        {
+            // The lookup by the indexed ids goes first, the coordinates are checked for the found entries only.
+            sb.append(String.format("uuid IN :%s AND ", UUIDS_PARAMETER));
+        }
+        sb.append(c1.length() > 0 ? c1.append(" AND ").toString() : " true = true AND ");
 
         //REPOSITORIES
         StringBuffer c2 = new StringBuffer();
         IntStream.range(0, storageRepositoryPairList.size())
                  .forEach(idx -> c2.append(idx > 0 ? " OR " : "")
                                    .append(calculateStorageAndRepositoryCondition(storageRepositoryPairArray[idx], idx)));
-        sb.append(c2.length() > 0 ? c2.toString() : "true");
+        sb.append(c2.length() > 0 ? "(" + c2.toString() + ")" : "true");
 
         //TAGS
         tagNameSet.stream().forEach(t -> sb.append(String.format(" AND tagSet contains (name = :%s)", t)));
@@ -341,6 +396,18 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return result.toString();
     }
 
+    private Optional<Set<String>> findArtifactEntryIds(Collection<Pair<String, String>> storageRepositoryPairList,
+                                                       Map<String, String> coordinates,
+                                                       boolean strict)
+    {
+        if (strict || coordinates.isEmpty())
+        {
+            return Optional.empty();
+        }
+
+        return artifactEntrySearchIndex.findArtifactEntryIds(storageRepositoryPairList, coordinates);
+    }
+
     private Map<String, String> prepareParameterMap(Map<String, String> coordinates,
                                                     boolean strict)
     {
@@ -370,34 +437,103 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return findArtifactEntryId(storageId, repositoryId, path) != null;
     }
 
+    @Override
+    public Set<String> findExistingPaths(String storageId,
+                                         String repositoryId,
+                                         Collection<String> paths)
+    {
+        if (CollectionUtils.isEmpty(paths))
+        {
+            return Collections.emptySet();
+        }
+
+        String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key IN :paths");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("paths", new ArrayList<>(paths));
+
+        List<ODocument> resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        Map<ORID, String> artifactCoordinatesPaths = new HashMap<>();
+        for (ODocument result : resultList)
+        {
+            artifactCoordinatesPaths.put(((OIdentifiable) result.field("rid")).getIdentity(), result.field("key"));
+        }
+        if (artifactCoordinatesPaths.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        // The coordinates may be shared by the repositories, so only the entries of this repository are counted.
+        sQuery = String.format("SELECT artifactCoordinates FROM %s WHERE storageId = :storageId AND repositoryId = :repositoryId AND artifactCoordinates IN :artifactCoordinatesIds",
+                               getEntityClass().getSimpleName());
+
+        params = new HashMap<>();
+        params.put("storageId", storageId);
+        params.put("repositoryId", repositoryId);
+        params.put("artifactCoordinatesIds", new ArrayList<>(artifactCoordinatesPaths.keySet()));
+
+        resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        return resultList.stream()
+                         .map(result -> ((OIdentifiable) result.field("artifactCoordinates")).getIdentity())
+                         .map(artifactCoordinatesPaths::get)
+                         .filter(Objects::nonNull)
+                         .collect(Collectors.toSet());
+    }
+
     @Override
     public ArtifactEntry findOneArtifact(String storageId,
                                          String repositoryId,
                                          String path)
     {
+        ArtifactEntry cachedArtifactEntry = artifactEntryCacheManager.get(storageId, repositoryId, path);
+        if (cachedArtifactEntry != null)
+        {
+            return cachedArtifactEntry;
+        }
+
+        long lookupStamp = artifactEntryCacheManager.getStamp();
         ORID artifactEntryId = findArtifactEntryId(storageId, repositoryId, path);
-        return Optional.ofNullable(artifactEntryId)
-                       .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
-                       .map(e -> detach(e))
-                       .orElse(null);
+        ArtifactEntry artifactEntry = Optional.ofNullable(artifactEntryId)
+                                              .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
+                                              .map(e -> detach(e))
+                                              .orElse(null);
+        if (artifactEntry != null)
+        {
+            artifactEntryCacheManager.put(storageId, repositoryId, path, artifactEntry, lookupStamp);
+        }
+
+        return artifactEntry;
     }
 
     @Override
     public void delete(String id)
     {
+        // Loaded before the deletion, the coordinates can't be read from the deleted entry.
+        Optional<ArtifactEntry> artifactEntry = findOne(id).map(e -> detach(e));
+
         super.delete(id);
+        artifactEntry.ifPresent(e -> {
+            artifactEntryCacheManager.evict(e);
+            artifactEntrySearchIndex.remove(e);
+        });
     }
 
     @Override
     public void delete(ArtifactEntry entity)
     {
         super.delete(entity);
+        artifactEntryCacheManager.evict(entity);
+        artifactEntrySearchIndex.remove(entity);
     }
 
     @Override
     public void deleteAll()
     {
         super.deleteAll();
+        artifactEntryCacheManager.clear();
+        artifactEntrySearchIndex.clear();
     }
 
     @Override
@@ -415,7 +551,78 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         parameterMap.put("uuids", artifactEntries.stream().map(ArtifactEntry::getUuid).collect(Collectors.toList()));
 
         OCommandSQL oCommandSQL = new OCommandSQL(sb.toString());
-        return getDelegate().command(oCommandSQL).execute(parameterMap);
+        int result = getDelegate().command(oCommandSQL).execute(parameterMap);
+
+        artifactEntries.forEach(artifactEntryCacheManager::evict);
+        artifactEntries.forEach(artifactEntrySearchIndex::remove);
+
+        return result;
+    }
+
+    @Override
+    public Set<Triplet<String, String, String>> updateDownloadStatistics(Map<Triplet<String, String, String>, Pair<Integer, Date>> downloadStatistics)
+    {
+        if (downloadStatistics.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        Map<ORID, Triplet<String, String, String>> artifactEntryIds = findArtifactEntryIds(downloadStatistics.keySet());
+        if (artifactEntryIds.isEmpty())
+        {
+            return Collections.emptySet();
+        }
+
+        StringBuilder script = new StringBuilder();
+        Map<String, Object> parameterMap = new HashMap<>();
+        int idx = 0;
+        for (Entry<ORID, Triplet<String, String, String>> entry : artifactEntryIds.entrySet())
+        {
+            Pair<Integer, Date> statistics = downloadStatistics.get(entry.getValue());
+
+            script.append(String.format("UPDATE %s INCREMENT downloadCount = :downloadCount%s SET lastUsed = :lastUsed%s;%n",
+                                        entry.getKey(), idx, idx));
+            parameterMap.put(String.format("downloadCount%s", idx), statistics.getValue0());
+            parameterMap.put(String.format("lastUsed%s", idx), statistics.getValue1());
+            idx++;
+        }
+
+        getDelegate().command(new OCommandScript("sql", script.toString())).execute(parameterMap);
+
+        Set<Triplet<String, String, String>> result = new HashSet<>(artifactEntryIds.values());
+
+        // The cached entries would bring the outdated statistics back on the next save.
+        result.forEach(key -> artifactEntryCacheManager.evict(key.getValue0(), key.getValue1(), key.getValue2()));
+
+        return result;
+    }
+
+    @Override
+    public List<ArtifactEntry> findArtifactsWithoutArchiveListing(String storageId,
+                                                                  String repositoryId,
+                                                                  String afterObjectId,
+                                                                  int limit)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SELECT FROM ").append(getEntityClass().getSimpleName());
+        sb.append(" WHERE storageId = :storageId AND repositoryId = :repositoryId AND artifactArchiveListing IS NULL");
+
+        Map<String, Object> parameterMap = new HashMap<>();
+        parameterMap.put("storageId", storageId);
+        parameterMap.put("repositoryId", repositoryId);
+        if (afterObjectId != null)
+        {
+            sb.append(" AND @rid > :afterObjectId");
+            parameterMap.put("afterObjectId", new ORecordId(afterObjectId));
+        }
+        sb.append(" ORDER BY @rid ASC");
+
+        OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sb.toString());
+        oQuery.setLimit(limit);
+
+        List<ArtifactEntry> entries = getDelegate().command(oQuery).execute(parameterMap);
+
+        return entries.stream().map(this::detach).collect(Collectors.toList());
     }
 
     private ORID findArtifactEntryId(String storageId,
@@ -455,6 +662,50 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return result == null ? null : ((ODocument) result.field("rid")).getIdentity();
     }
 
+    private Map<ORID, Triplet<String, String, String>> findArtifactEntryIds(Collection<Triplet<String, String, String>> artifacts)
+    {
+        String sQuery = String.format("SELECT FROM INDEX:idx_artifact_coordinates WHERE key IN :paths");
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("paths", artifacts.stream().map(Triplet::getValue2).distinct().collect(Collectors.toList()));
+
+        List<ODocument> resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        Map<ORID, String> artifactCoordinatesPaths = new HashMap<>();
+        for (ODocument result : resultList)
+        {
+            artifactCoordinatesPaths.put(((OIdentifiable) result.field("rid")).getIdentity(), result.field("key"));
+        }
+        if (artifactCoordinatesPaths.isEmpty())
+        {
+            return Collections.emptyMap();
+        }
+
+        // The coordinates may be shared by the repositories, so only the requested entries are taken.
+        sQuery = String.format("SELECT @rid AS rid, storageId, repositoryId, artifactCoordinates FROM %s WHERE artifactCoordinates IN :artifactCoordinatesIds",
+                               getEntityClass().getSimpleName());
+
+        params = new HashMap<>();
+        params.put("artifactCoordinatesIds", new ArrayList<>(artifactCoordinatesPaths.keySet()));
+
+        resultList = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery)).execute(params);
+
+        Map<ORID, Triplet<String, String, String>> artifactEntryIds = new HashMap<>();
+        for (ODocument result : resultList)
+        {
+            String path = artifactCoordinatesPaths.get(((OIdentifiable) result.field("artifactCoordinates")).getIdentity());
+            Triplet<String, String, String> artifact = Triplet.with(result.field("storageId"),
+                                                                    result.field("repositoryId"),
+                                                                    path);
+            if (artifacts.contains(artifact))
+            {
+                artifactEntryIds.put(((OIdentifiable) result.field("rid")).getIdentity(), artifact);
+            }
+        }
+
+        return artifactEntryIds;
+    }
+
     @Override
     public Class<ArtifactEntry> getEntityClass()
     {
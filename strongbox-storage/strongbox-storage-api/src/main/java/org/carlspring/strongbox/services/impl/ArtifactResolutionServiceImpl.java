@@ -58,6 +58,18 @@ public class ArtifactResolutionServiceImpl
         return is;
     }
 
+    @Override
+    public RepositoryInputStream getFileChannelInputStream(RepositoryPath path)
+        throws IOException
+    {
+        Repository repository = path.getFileSystem().getRepository();
+        artifactOperationsValidator.validate(path);
+
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        return (RepositoryInputStream) repositoryProvider.getFileChannelInputStream(path);
+    }
+
     @Override
     public RepositoryOutputStream getOutputStream(RepositoryPath repositoryPath)
         throws IOException,
@@ -1,9 +1,12 @@
 package org.carlspring.strongbox.services.impl;
 
 import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
+import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocatorFactory;
 import org.carlspring.strongbox.artifact.locator.handlers.ArtifactLocationGenerateChecksumOperation;
+import org.carlspring.strongbox.booters.PropertiesBooter;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.providers.io.ChecksumRegenerationCheckpoint;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
@@ -14,6 +17,8 @@ import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -29,6 +34,8 @@ public class ChecksumServiceImpl
 {
     private final Logger logger = LoggerFactory.getLogger(ChecksumServiceImpl.class);
 
+    private static final String CHECKPOINT_DIRECTORY = "checksum-regeneration";
+
     @Inject
     private ConfigurationManager configurationManager;
     
@@ -38,6 +45,12 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDirectoryLocatorFactory artifactDirectoryLocatorFactory;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
@@ -57,17 +70,30 @@ public class ChecksumServiceImpl
         }
         
         
+        RepositoryPath repositoryRootPath = repositoryPathResolver.resolve(repository);
         RepositoryPath repositoryBasePath = Optional.ofNullable(basePath)
                                                     .map(p -> repositoryPathResolver.resolve(repository, basePath))
-                                                    .orElseGet(() -> repositoryPathResolver.resolve(repository));
+                                                    .orElse(repositoryRootPath);
         
-        ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
-        operation.setBasePath(repositoryBasePath);
-        operation.setForceRegeneration(forceRegeneration);
+        // The progress is checkpointed, so that the regeneration which was interrupted (by a restart, for example)
+        // is resumed instead of rehashing the whole repository. The checkpoints are kept in the vault, outside of the
+        // repository tree.
+        Path checkpointDirectory = Paths.get(propertiesBooter.getVaultDirectory(), CHECKPOINT_DIRECTORY);
+        try (ChecksumRegenerationCheckpoint checkpoint = ChecksumRegenerationCheckpoint.open(checkpointDirectory,
+                                                                                            repositoryRootPath,
+                                                                                            basePath,
+                                                                                            forceRegeneration))
+        {
+            ArtifactLocationGenerateChecksumOperation operation = new ArtifactLocationGenerateChecksumOperation();
+            operation.setBasePath(repositoryBasePath);
+            operation.setForceRegeneration(forceRegeneration);
+            operation.setCheckpoint(checkpoint);
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
-        locator.locateArtifactDirectories();
+            ArtifactDirectoryLocator locator = artifactDirectoryLocatorFactory.create(operation);
+            locator.locateArtifactDirectories();
+
+            checkpoint.finish();
+        }
     }
 
     public Configuration getConfiguration()
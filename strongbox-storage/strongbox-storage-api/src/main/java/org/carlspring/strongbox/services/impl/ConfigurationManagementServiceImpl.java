@@ -26,6 +26,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -55,6 +56,9 @@ public class ConfigurationManagementServiceImpl
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Yes, this is a state object.
      * It is protected by the {@link #configurationLock} here
@@ -64,6 +68,12 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * The immutable snapshot of the {@link #configuration}, which is rebuilt on each modification,
+     * so that it can be read without the {@link #configurationLock}.
+     */
+    private volatile Configuration configurationSnapshot;
+
     @PostConstruct
     public void init()
     {
@@ -102,17 +112,7 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
-        final Lock readLock = configurationLock.readLock();
-        readLock.lock();
-
-        try
-        {
-            return new Configuration(configuration);
-        }
-        finally
-        {
-            readLock.unlock();
-        }
+        return configurationSnapshot;
     }
 
     @Override
@@ -210,7 +210,8 @@ public class ConfigurationManagementServiceImpl
     {
         modifyInLock(configuration ->
                      {
-                         List<Repository> includedInGroupRepositories = getConfiguration().getGroupRepositoriesContaining(
+                         // The snapshot is not rebuilt yet, when called within another modification.
+                         List<Repository> includedInGroupRepositories = new Configuration(configuration).getGroupRepositoriesContaining(
                                  storageId, repositoryId);
 
                          if (!includedInGroupRepositories.isEmpty())
@@ -564,6 +565,7 @@ public class ConfigurationManagementServiceImpl
     private void modifyInLock(final Consumer<MutableConfiguration> operation,
                               final boolean storeInFile)
     {
+        final Configuration snapshot;
         final Lock writeLock = configurationLock.writeLock();
         writeLock.lock();
 
@@ -575,11 +577,16 @@ public class ConfigurationManagementServiceImpl
             {
                 configurationFileManager.store(configuration);
             }
+
+            snapshot = new Configuration(configuration);
+            configurationSnapshot = snapshot;
         }
         finally
         {
             writeLock.unlock();
         }
+
+        eventPublisher.publishEvent(new ConfigurationUpdatedEvent(snapshot));
     }
 
 }
@@ -1,9 +1,13 @@
 package org.carlspring.strongbox.services.impl;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -12,8 +16,10 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.services.ArtifactTagService;
 import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.services.support.LastVersionTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
 import com.orientechnologies.common.concur.ONeedRetryException;
+import com.orientechnologies.orient.core.command.script.OCommandScript;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 
@@ -40,67 +47,60 @@ public class RepositoryArtifactIdGroupServiceImpl
     @Inject
     private ArtifactTagService artifactTagService;
 
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
     @Override
     public void addArtifactToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
                                    ArtifactEntry artifactEntry)
     {
-        ArtifactCoordinates coordinates = artifactEntry.getArtifactCoordinates();
-        Assert.notNull(coordinates, "coordinates should not be null");
+        addArtifactsToGroup(artifactGroup, Collections.singleton(artifactEntry));
+    }
+
+    @Override
+    public void addArtifactsToGroup(RepositoryArtifactIdGroupEntry artifactGroup,
+                                    Collection<? extends ArtifactEntry> artifactEntries)
+    {
+        Assert.notNull(artifactGroup.getObjectId(), "artifactGroup should be saved");
 
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
+        LastVersionTracker lastVersionTracker = new LastVersionTracker(lastVersionTag, artifactGroup);
+        for (ArtifactEntry artifactEntry : artifactEntries)
+        {
+            ArtifactCoordinates coordinates = artifactEntry.getArtifactCoordinates();
+            Assert.notNull(coordinates, "coordinates should not be null");
 
-        artifactEntry.getTagSet().add(lastVersionTag);
-        artifactGroup.putArtifactEntry(artifactEntry);
-        
-        artifactGroup.getArtifactEntries()
-                     .stream()
-                     .filter(e -> e.getTagSet().contains(lastVersionTag))
-                     .sorted((e1,
-                              e2) -> e1.getArtifactCoordinates().compareTo(e2.getArtifactCoordinates()))
-                     .forEach(e -> checkAndUpdateLastVersionTagIfNeeded(e, artifactEntry, lastVersionTag));
-        
-        
-        save(artifactGroup);
-    }
+            lastVersionTracker.update(artifactEntry);
+        }
 
-    private <S extends ArtifactEntry> Optional<S> checkAndUpdateLastVersionTagIfNeeded(S lastVersionEntry,
-                                                                                       S entity,
-                                                                                       ArtifactTag lastVersionTag)
-    {
-        Optional<S> result = Optional.empty();
-        ArtifactCoordinates coordinates = entity.getArtifactCoordinates();
-        
-        int artifactCoordinatesComparison = entity.getArtifactCoordinates()
-                                                  .compareTo(lastVersionEntry.getArtifactCoordinates());
-        if (artifactCoordinatesComparison == 0)
+        // The entries are saved on their own, so that the other versions of the group are not saved by cascade.
+        Map<ArtifactEntry, ArtifactEntry> savedEntries = new IdentityHashMap<>();
+        for (ArtifactEntry artifactEntry : artifactEntries)
         {
-            logger.debug(String.format("Set [%s] last version to [%s]",
-                                       entity.getArtifactPath(),
-                                       coordinates.getVersion()));
-            entity.getTagSet().add(lastVersionTag);
+            savedEntries.put(artifactEntry, artifactEntryService.save(artifactEntry));
         }
-        else if (artifactCoordinatesComparison > 0)
+        for (ArtifactEntry artifactEntry : lastVersionTracker.getUntaggedEntries())
         {
-            logger.debug(String.format("Update [%s] last version from [%s] to [%s]",
-                                       entity.getArtifactPath(),
-                                       lastVersionEntry.getArtifactCoordinates().getVersion(),
-                                       coordinates.getVersion()));
-            entity.getTagSet().add(lastVersionTag);
-
-            lastVersionEntry.getTagSet().remove(lastVersionTag);
-            result  = Optional.of(lastVersionEntry);
+            savedEntries.computeIfAbsent(artifactEntry, artifactEntryService::save);
         }
-        else
+
+        StringBuilder script = new StringBuilder();
+        for (ArtifactEntry artifactEntry : artifactEntries)
         {
-            logger.debug(String.format("Keep [%s] last version [%s]",
-                                       entity.getArtifactPath(),
-                                       lastVersionEntry.getArtifactCoordinates().getVersion()));
-            entity.getTagSet().remove(lastVersionTag);
+            script.append(String.format("UPDATE %s ADD artifactEntries = %s;%n",
+                                        artifactGroup.getObjectId(),
+                                        savedEntries.get(artifactEntry).getObjectId()));
         }
-        
-        return result;
+        script.append(String.format("UPDATE %s SET lastVersionEntries = [%s];%n",
+                                    artifactGroup.getObjectId(),
+                                    lastVersionTracker.getLastVersionEntries()
+                                                      .stream()
+                                                      .map(e -> savedEntries.getOrDefault(e, e).getObjectId())
+                                                      .collect(Collectors.joining(", "))));
+
+        getDelegate().command(new OCommandScript("sql", script.toString())).execute();
     }
-    
+
     public RepositoryArtifactIdGroupEntry findOneOrCreate(String storageId,
                                                      String repositoryId,
                                                      String artifactId)
@@ -0,0 +1,255 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import javax.inject.Inject;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded cache of the {@link ArtifactEntry} lookups by storage, repository and path, backed by the
+ * {@link CacheName.Artifact#ARTIFACT_ENTRIES} map with a near cache, so that the entries are not queried from the
+ * database several times per request.
+ * <p>
+ * The entries are evicted on each modification through the {@link org.carlspring.strongbox.services.ArtifactEntryService}
+ * (the {@link org.carlspring.strongbox.services.RepositoryArtifactIdGroupService} saves the entries through it as
+ * well), once immediately and once more after the transaction completes, so that the entries read by the concurrent
+ * transactions in the meantime are not kept either.
+ * <p>
+ * The eviction stamp guards the cluster wide map, so with {@code strongbox.cluster.enabled} it's a Hazelcast
+ * {@link IAtomicLong}: a lookup on one node can't cache an entry which another node has modified meanwhile.
+ */
+@Component
+public class ArtifactEntryCacheManager
+        implements DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryCacheManager.class);
+
+    private final Cache cache;
+
+    /**
+     * Incremented on each eviction, so that the entries memoized locally can be validated without a cache lookup.
+     */
+    private final Stamp stamp;
+
+    @Inject
+    ArtifactEntryCacheManager(CacheManager cacheManager,
+                              HazelcastInstance hazelcastInstance,
+                              @Value("${strongbox.cluster.enabled:false}") boolean clusterEnabled)
+    {
+        this(cacheManager, clusterEnabled ? new ClusterStamp(hazelcastInstance) : new LocalStamp());
+    }
+
+    ArtifactEntryCacheManager(CacheManager cacheManager)
+    {
+        this(cacheManager, new LocalStamp());
+    }
+
+    private ArtifactEntryCacheManager(CacheManager cacheManager,
+                                      Stamp stamp)
+    {
+        cache = cacheManager.getCache(CacheName.Artifact.ARTIFACT_ENTRIES);
+        Objects.requireNonNull(cache, "artifactEntries cache configuration was not provided");
+
+        this.stamp = stamp;
+    }
+
+    public ArtifactEntry get(String storageId,
+                             String repositoryId,
+                             String path)
+    {
+        try
+        {
+            return cache.get(getKey(storageId, repositoryId, path), ArtifactEntry.class);
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn(String.format("Failed to get cached [%s] for [%s].",
+                                      ArtifactEntry.class.getSimpleName(),
+                                      getKey(storageId, repositoryId, path)), e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Caches the entry, unless there were any evictions since the {@code lookupStamp} was taken, as the entry could
+     * have been read before the modification was committed.
+     */
+    public void put(String storageId,
+                    String repositoryId,
+                    String path,
+                    ArtifactEntry artifactEntry,
+                    long lookupStamp)
+    {
+        if (stamp.get() != lookupStamp)
+        {
+            return;
+        }
+
+        String key = getKey(storageId, repositoryId, path);
+        try
+        {
+            cache.put(key, artifactEntry);
+        }
+        catch (RuntimeException e)
+        {
+            // The entry is just not cached, if it can't be serialized.
+            logger.warn(String.format("Failed to cache [%s] for [%s].", ArtifactEntry.class.getSimpleName(), key), e);
+        }
+    }
+
+    public void evict(String storageId,
+                      String repositoryId,
+                      String path)
+    {
+        String key = getKey(storageId, repositoryId, path);
+        doEvict(key);
+
+        afterTransactionCompletion(() -> doEvict(key));
+    }
+
+    public void evict(ArtifactEntry artifactEntry)
+    {
+        String path;
+        try
+        {
+            path = artifactEntry.getArtifactPath();
+        }
+        catch (RuntimeException e)
+        {
+            // Without the coordinates there is no way to tell the path.
+            clear();
+
+            return;
+        }
+
+        evict(artifactEntry.getStorageId(), artifactEntry.getRepositoryId(), path);
+    }
+
+    public void clear()
+    {
+        doClear();
+
+        afterTransactionCompletion(this::doClear);
+    }
+
+    /**
+     * @return the current stamp, which changes whenever any entry is evicted
+     */
+    public long getStamp()
+    {
+        return stamp.get();
+    }
+
+    @Override
+    public void destroy()
+    {
+        cache.clear();
+    }
+
+    private void doEvict(String key)
+    {
+        stamp.increment();
+        cache.evict(key);
+    }
+
+    private void doClear()
+    {
+        stamp.increment();
+        cache.clear();
+    }
+
+    private void afterTransactionCompletion(Runnable runnable)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCompletion(int status)
+            {
+                runnable.run();
+            }
+        });
+    }
+
+    private String getKey(String storageId,
+                          String repositoryId,
+                          String path)
+    {
+        return storageId + ":" + repositoryId + ":" + path;
+    }
+
+    private interface Stamp
+    {
+
+        long get();
+
+        void increment();
+
+    }
+
+    private static class LocalStamp
+            implements Stamp
+    {
+
+        private final AtomicLong value = new AtomicLong();
+
+        @Override
+        public long get()
+        {
+            return value.get();
+        }
+
+        @Override
+        public void increment()
+        {
+            value.incrementAndGet();
+        }
+
+    }
+
+    private static class ClusterStamp
+            implements Stamp
+    {
+
+        private final IAtomicLong value;
+
+        private ClusterStamp(HazelcastInstance hazelcastInstance)
+        {
+            value = hazelcastInstance.getAtomicLong(CacheName.Artifact.ARTIFACT_ENTRIES + ".stamp");
+        }
+
+        @Override
+        public long get()
+        {
+            return value.get();
+        }
+
+        @Override
+        public void increment()
+        {
+            value.incrementAndGet();
+        }
+
+    }
+
+}
@@ -0,0 +1,592 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.data.criteria.Expression;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.data.criteria.Predicate.BooleanOperator;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.storage.Storage;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+import org.apache.commons.lang3.StringUtils;
+import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Search index of the {@link ArtifactEntry} coordinates, which answers the substring and prefix coordinate queries
+ * ({@code LIKE '%term%'} and {@code LIKE 'term%'}) without scanning all the artifact entries.
+ * <p>
+ * There is one {@link CoordinatesTrigramIndex} per repository, loaded from the database in the background after the
+ * first query to the repository, and kept up to date with the artifact entries saved (directly or by cascade) and
+ * deleted through the {@link org.carlspring.strongbox.services.ArtifactEntryService}, once their transactions are
+ * committed. The index gives the ids of the candidate artifact entries, so the queries are restricted to them, while
+ * the original conditions are still checked by the database. Until the index of a repository is loaded, the queries
+ * to it are not restricted.
+ * <p>
+ * The indexes are kept on the heap of each node, so they are bounded by {@code strongbox.search.index.maxEntries}
+ * (the least recently queried repositories are dropped first), and they are not used with
+ * {@code strongbox.cluster.enabled}, because the artifact entries saved by the other nodes are not seen by them.
+ */
+@Component
+public class ArtifactEntrySearchIndex
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntrySearchIndex.class);
+
+    private static final Pattern COORDINATE_PROPERTY = Pattern.compile(
+            "artifactCoordinates\\.coordinates\\.([^.]+)(\\.toLowerCase\\(\\))?");
+
+    private static final CoordinatesTrigramIndex EMPTY_INDEX = new CoordinatesTrigramIndex();
+
+    @Value("${strongbox.search.index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Above this number of the candidates a plain query is cheaper than the lookup by ids.
+     */
+    @Value("${strongbox.search.index.maxCandidates:10000}")
+    private int maxCandidates;
+
+    /**
+     * The total number of the artifact entries within the indexes of all the repositories, checked whenever an index
+     * is loaded.
+     */
+    @Value("${strongbox.search.index.maxEntries:1000000}")
+    private int maxEntries;
+
+    @Value("${strongbox.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Inject
+    private ConfigurationManager configurationManager;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, RepositoryIndex> repositoryIndexes = new ConcurrentHashMap<>();
+
+    private ExecutorService loader;
+
+    @PostConstruct
+    public void init()
+    {
+        if (enabled && clusterEnabled)
+        {
+            logger.info("Search index is disabled within the cluster.");
+        }
+
+        loader = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("search-index-loader-"));
+    }
+
+    @PreDestroy
+    public void destroy()
+    {
+        loader.shutdownNow();
+    }
+
+    /**
+     * @return the ids of the artifact entries, which can match the coordinate conditions of the predicate within the
+     *         repository, or nothing if the predicate can't be answered from the index
+     */
+    @Transactional
+    public Optional<Set<String>> findArtifactEntryIds(String storageId,
+                                                      String repositoryId,
+                                                      Predicate predicate)
+    {
+        return findArtifactEntryIds(Collections.singletonList(Pair.with(storageId, repositoryId)), predicate);
+    }
+
+    /**
+     * @param coordinates the coordinate {@code LIKE} patterns, as in
+     *                    {@link org.carlspring.strongbox.services.ArtifactEntryService#findArtifactList}
+     * @return the ids of the artifact entries, which can match all the coordinate patterns within the repositories,
+     *         or nothing if the patterns can't be answered from the index
+     */
+    @Transactional
+    public Optional<Set<String>> findArtifactEntryIds(Collection<Pair<String, String>> storageRepositoryPairList,
+                                                      Map<String, String> coordinates)
+    {
+        Predicate predicate = Predicate.empty();
+        coordinates.forEach((name, pattern) -> predicate.and(
+                Predicate.of(ExpOperator.LIKE.of("artifactCoordinates.coordinates." + name, pattern))));
+
+        return findArtifactEntryIds(storageRepositoryPairList, predicate);
+    }
+
+    private Optional<Set<String>> findArtifactEntryIds(Collection<Pair<String, String>> storageRepositoryPairList,
+                                                       Predicate predicate)
+    {
+        // The indexes are not loaded for the queries they can't answer anyway.
+        if (!isEnabled() || !find(EMPTY_INDEX, predicate).isPresent())
+        {
+            return Optional.empty();
+        }
+
+        // All the indexes are requested, so that they are all loaded at once, rather than one by one.
+        Collection<Pair<String, String>> storageRepositoryPairs = expand(storageRepositoryPairList);
+        List<CoordinatesTrigramIndex> indexes = new ArrayList<>();
+        for (Pair<String, String> storageRepositoryPair : storageRepositoryPairs)
+        {
+            getIndex(storageRepositoryPair.getValue0(), storageRepositoryPair.getValue1()).ifPresent(indexes::add);
+        }
+        if (indexes.size() < storageRepositoryPairs.size())
+        {
+            return Optional.empty();
+        }
+
+        Set<String> result = new HashSet<>();
+        for (CoordinatesTrigramIndex index : indexes)
+        {
+            Optional<Set<String>> ids = find(index, predicate);
+            if (!ids.isPresent())
+            {
+                return Optional.empty();
+            }
+
+            result.addAll(ids.get());
+            if (result.size() > maxCandidates)
+            {
+                return Optional.empty();
+            }
+        }
+
+        return Optional.of(result);
+    }
+
+    /**
+     * Indexes the artifact entry, once the current transaction is committed.
+     */
+    public void add(ArtifactEntry artifactEntry)
+    {
+        if (!isEnabled() || artifactEntry.getUuid() == null || artifactEntry.getArtifactCoordinates() == null)
+        {
+            return;
+        }
+
+        String id = artifactEntry.getUuid();
+        Map<String, String> coordinates = artifactEntry.getArtifactCoordinates().getCoordinates();
+
+        afterCommit(artifactEntry.getStorageId(), artifactEntry.getRepositoryId(), index -> index.put(id, coordinates));
+    }
+
+    /**
+     * Removes the artifact entry from the index, once the current transaction is committed.
+     */
+    public void remove(ArtifactEntry artifactEntry)
+    {
+        if (!isEnabled() || artifactEntry.getUuid() == null)
+        {
+            return;
+        }
+
+        String id = artifactEntry.getUuid();
+
+        afterCommit(artifactEntry.getStorageId(), artifactEntry.getRepositoryId(), index -> index.remove(id));
+    }
+
+    /**
+     * Drops all the indexes, they are loaded again on the next queries.
+     */
+    public void clear()
+    {
+        repositoryIndexes.clear();
+    }
+
+    private void afterCommit(String storageId,
+                             String repositoryId,
+                             Consumer<CoordinatesTrigramIndex> mutation)
+    {
+        Runnable runnable = () -> Optional.ofNullable(repositoryIndexes.get(key(storageId, repositoryId)))
+                                          .ifPresent(repositoryIndex -> repositoryIndex.apply(mutation));
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            runnable.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCommit()
+            {
+                runnable.run();
+            }
+        });
+    }
+
+    private boolean isEnabled()
+    {
+        return enabled && !clusterEnabled;
+    }
+
+    /**
+     * @return the index of the repository, or nothing if it's not loaded yet, the loading is scheduled then
+     */
+    private Optional<CoordinatesTrigramIndex> getIndex(String storageId,
+                                                       String repositoryId)
+    {
+        String key = key(storageId, repositoryId);
+        RepositoryIndex repositoryIndex = repositoryIndexes.computeIfAbsent(key, k -> new RepositoryIndex());
+        repositoryIndex.lastAccess = System.nanoTime();
+        if (repositoryIndex.loaded)
+        {
+            return Optional.of(repositoryIndex.index);
+        }
+
+        if (repositoryIndex.loadScheduled.compareAndSet(false, true))
+        {
+            try
+            {
+                loader.execute(() -> load(key, repositoryIndex, storageId, repositoryId));
+            }
+            catch (RejectedExecutionException e)
+            {
+                repositoryIndex.loadScheduled.set(false);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void load(String key,
+                      RepositoryIndex repositoryIndex,
+                      String storageId,
+                      String repositoryId)
+    {
+        if (repositoryIndexes.get(key) != repositoryIndex)
+        {
+            // Dropped by clear() meanwhile.
+            return;
+        }
+
+        try
+        {
+            new TransactionTemplate(transactionManager).execute(s -> {
+                repositoryIndex.load(storageId, repositoryId);
+
+                return null;
+            });
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn(String.format("Failed to load search index of [%s:%s].", storageId, repositoryId), e);
+            repositoryIndexes.remove(key, repositoryIndex);
+
+            return;
+        }
+
+        evict();
+    }
+
+    /**
+     * Drops the indexes of the least recently queried repositories, until there are no more than
+     * {@link #maxEntries} artifact entries within all the indexes.
+     */
+    private synchronized void evict()
+    {
+        long total = repositoryIndexes.values().stream().mapToLong(RepositoryIndex::size).sum();
+        if (total <= maxEntries)
+        {
+            return;
+        }
+
+        List<Map.Entry<String, RepositoryIndex>> entries = new ArrayList<>(repositoryIndexes.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<String, RepositoryIndex> entry : entries)
+        {
+            if (total <= maxEntries)
+            {
+                break;
+            }
+
+            long size = entry.getValue().size();
+            if (size > 0 && repositoryIndexes.remove(entry.getKey(), entry.getValue()))
+            {
+                logger.debug(String.format("Dropped search index of [%s] with [%s] artifact entries.",
+                                           entry.getKey(), size));
+                total -= size;
+            }
+        }
+    }
+
+    /**
+     * The repositories without the storage id or the repository id stand for all the storages or repositories.
+     */
+    private Collection<Pair<String, String>> expand(Collection<Pair<String, String>> storageRepositoryPairList)
+    {
+        Set<Pair<String, String>> result = new LinkedHashSet<>();
+        for (Pair<String, String> storageRepositoryPair : storageRepositoryPairList)
+        {
+            String storageId = storageRepositoryPair.getValue0();
+            String repositoryId = storageRepositoryPair.getValue1();
+            if (StringUtils.isNotBlank(storageId) && StringUtils.isNotBlank(repositoryId))
+            {
+                result.add(storageRepositoryPair);
+                continue;
+            }
+
+            for (Storage storage : configurationManager.getConfiguration().getStorages().values())
+            {
+                if (StringUtils.isNotBlank(storageId) && !storageId.equals(storage.getId()))
+                {
+                    continue;
+                }
+
+                storage.getRepositories()
+                       .keySet()
+                       .stream()
+                       .filter(r -> StringUtils.isBlank(repositoryId) || repositoryId.equals(r))
+                       .forEach(r -> result.add(Pair.with(storage.getId(), r)));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The conjunctions are answered if any of their operands is, the disjunctions only if all of them are.
+     */
+    private Optional<Set<String>> find(CoordinatesTrigramIndex index,
+                                       Predicate predicate)
+    {
+        if (predicate.isNegated())
+        {
+            return Optional.empty();
+        }
+
+        List<Optional<Set<String>>> operands = new ArrayList<>();
+        if (predicate.getExpression() != null)
+        {
+            operands.add(find(index, predicate.getExpression()));
+        }
+        predicate.getChildPredicateList().forEach(p -> operands.add(find(index, p)));
+
+        if (BooleanOperator.OR.equals(predicate.getOperator()))
+        {
+            Set<String> result = new HashSet<>();
+            for (Optional<Set<String>> operand : operands)
+            {
+                if (!operand.isPresent())
+                {
+                    return Optional.empty();
+                }
+                result.addAll(operand.get());
+            }
+
+            return operands.isEmpty() ? Optional.empty() : Optional.of(result);
+        }
+
+        Set<String> result = null;
+        for (Optional<Set<String>> operand : operands)
+        {
+            if (!operand.isPresent())
+            {
+                continue;
+            }
+            if (result == null)
+            {
+                result = new HashSet<>(operand.get());
+            }
+            else
+            {
+                result.retainAll(operand.get());
+            }
+        }
+
+        return Optional.ofNullable(result);
+    }
+
+    private Optional<Set<String>> find(CoordinatesTrigramIndex index,
+                                       Expression expression)
+    {
+        if (!ExpOperator.LIKE.equals(expression.getOperator()) || !(expression.getValue() instanceof String))
+        {
+            return Optional.empty();
+        }
+
+        Matcher matcher = COORDINATE_PROPERTY.matcher(expression.getProperty());
+        if (!matcher.matches())
+        {
+            return Optional.empty();
+        }
+
+        String pattern = (String) expression.getValue();
+        String term;
+        boolean prefix;
+        if (pattern.length() > 1 && pattern.startsWith("%") && pattern.endsWith("%"))
+        {
+            term = pattern.substring(1, pattern.length() - 1);
+            prefix = false;
+        }
+        else if (pattern.endsWith("%"))
+        {
+            term = pattern.substring(0, pattern.length() - 1);
+            prefix = true;
+        }
+        else
+        {
+            return Optional.empty();
+        }
+
+        if (term.isEmpty() || StringUtils.containsAny(term, '%', '_'))
+        {
+            // Any value matches, or the wildcards within the term can't be looked up.
+            return Optional.empty();
+        }
+
+        return Optional.of(index.find(matcher.group(1), term, prefix));
+    }
+
+    private static String key(String storageId,
+                              String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+    private OObjectDatabaseTx getDelegate()
+    {
+        return (OObjectDatabaseTx) entityManager.getDelegate();
+    }
+
+    /**
+     * The index of a repository with the mutations received while it's being loaded.
+     */
+    private class RepositoryIndex
+    {
+
+        private final CoordinatesTrigramIndex index = new CoordinatesTrigramIndex();
+
+        private final AtomicBoolean loadScheduled = new AtomicBoolean();
+
+        private List<Consumer<CoordinatesTrigramIndex>> pendingMutations = new ArrayList<>();
+
+        private volatile boolean loaded;
+
+        private volatile long lastAccess;
+
+        /**
+         * Too large to be loaded, it's not loaded again until the indexes are cleared.
+         */
+        private boolean skipped;
+
+        long size()
+        {
+            return loaded ? index.size() : 0;
+        }
+
+        synchronized void apply(Consumer<CoordinatesTrigramIndex> mutation)
+        {
+            if (skipped)
+            {
+                return;
+            }
+            if (pendingMutations != null)
+            {
+                pendingMutations.add(mutation);
+
+                return;
+            }
+
+            mutation.accept(index);
+        }
+
+        void load(String storageId,
+                  String repositoryId)
+        {
+            if (loaded)
+            {
+                return;
+            }
+
+            synchronized (index)
+            {
+                if (loaded)
+                {
+                    return;
+                }
+
+                String sQuery = "SELECT uuid, artifactCoordinates.coordinates AS coordinates FROM ArtifactEntry " +
+                                "WHERE storageId = :storageId AND repositoryId = :repositoryId";
+
+                Map<String, Object> parameterMap = new HashMap<>();
+                parameterMap.put("storageId", storageId);
+                parameterMap.put("repositoryId", repositoryId);
+
+                List<ODocument> result = getDelegate().command(new OSQLSynchQuery<ODocument>(sQuery))
+                                                      .execute(parameterMap);
+                if (result.size() > maxEntries)
+                {
+                    logger.info(String.format("Search index of [%s:%s] is not loaded, [%s] artifact entries exceed " +
+                                              "the limit of [%s].", storageId, repositoryId, result.size(), maxEntries));
+                    synchronized (this)
+                    {
+                        pendingMutations = null;
+                        skipped = true;
+                    }
+
+                    return;
+                }
+
+                for (ODocument document : result)
+                {
+                    Map<String, String> coordinates = document.field("coordinates");
+                    index.put(document.field("uuid"), coordinates != null ? coordinates : Collections.emptyMap());
+                }
+
+                synchronized (this)
+                {
+                    pendingMutations.forEach(mutation -> mutation.accept(index));
+                    pendingMutations = null;
+                }
+                loaded = true;
+
+                logger.debug(String.format("Loaded search index of [%s:%s] with [%s] artifact entries.",
+                                           storageId, repositoryId, index.size()));
+            }
+        }
+
+    }
+
+}
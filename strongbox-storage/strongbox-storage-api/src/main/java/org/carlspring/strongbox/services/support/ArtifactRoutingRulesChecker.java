@@ -1,18 +1,17 @@
 package org.carlspring.strongbox.services.support;
 
 import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.configuration.ConfigurationUpdatedEvent;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.support.RoutingRulesMatcher.MemberRoutingRules;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
-import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,74 +25,58 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    /**
+     * The routing rules compiled from the current configuration, rebuilt on each configuration change.
+     */
+    private final AtomicReference<RoutingRulesMatcher> routingRulesMatcher = new AtomicReference<>();
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final List<RoutingRule> denyRules = routingRules.getDenied();
-        final List<RoutingRule> acceptRules = routingRules.getAccepted();
-
-        return fitsRoutingRules(groupRepository, repositoryPath, denyRules) &&
-               !fitsRoutingRules(groupRepository, repositoryPath, acceptRules);
-    }
-
-    private boolean fitsRoutingRules(Repository groupRepository,
-                                     RepositoryPath repositoryPath,
-                                     List<RoutingRule> routingRules)
-            throws IOException
-    {
+        final RoutingRulesMatcher matcher = getRoutingRulesMatcher();
+        if (matcher.isEmpty())
+        {
+            return false;
+        }
 
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
+        final Repository subRepository = repositoryPath.getRepository();
+        final MemberRoutingRules routingRules = matcher.getRules(groupRepository.getStorage().getId(),
+                                                                 groupRepository.getId(),
+                                                                 subRepository.getStorage().getId(),
+                                                                 subRepository.getId());
+        if (routingRules.isEmpty())
+        {
+            return false;
+        }
 
-        return routingRules.stream()
-                           .filter(routingRule -> repositoryMatchesExactly(groupRepository, routingRule)
-                                                  || repositoryStorageIdMatches(groupRepository.getStorage().getId(),
-                                                                                routingRule)
-                                                  || repositoryIdMatches(groupRepository.getId(), routingRule)
-                                                  || allMatches(routingRule))
-                           .filter(routingRule -> routingRule.getRegex().matcher(artifactPath).matches())
-                           .flatMap(routingRule -> routingRule.getRepositories().stream())
-                           .filter(routingRuleRepository ->
-                                           repositoryMatchesExactly(subRepository, routingRuleRepository)
-                                           || repositoryStorageIdMatches(subRepository.getStorage().getId(),
-                                                                         routingRuleRepository)
-                                           || repositoryIdMatches(subRepository.getId(), routingRuleRepository)
-                                           || allMatches(routingRuleRepository))
-                           .findFirst()
-                           .isPresent();
+        return routingRules.isDenied(RepositoryFiles.relativizePath(repositoryPath));
     }
 
-
-    private boolean repositoryMatchesExactly(Repository repository,
-                                             RepositoryIdentifiable repositoryIdentifiable)
+    @EventListener
+    public void handleEvent(ConfigurationUpdatedEvent event)
     {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(repository.getStorage().getId())) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repository.getId()));
+        // The event could be outdated by the time it's handled, so the latest configuration is used instead.
+        routingRulesMatcher.set(compileRoutingRules());
     }
 
-    private boolean repositoryStorageIdMatches(String storageId,
-                                               RepositoryIdentifiable repositoryIdentifiable)
+    private RoutingRulesMatcher getRoutingRulesMatcher()
     {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(storageId)) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
-    }
+        RoutingRulesMatcher matcher = routingRulesMatcher.get();
+        if (matcher != null)
+        {
+            return matcher;
+        }
 
-    private boolean repositoryIdMatches(String repositoryId,
-                                        RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repositoryId));
+        // Don't override the matcher which could have been rebuilt by the configuration change meanwhile.
+        routingRulesMatcher.compareAndSet(null, compileRoutingRules());
+
+        return routingRulesMatcher.get();
     }
 
-    private boolean allMatches(RepositoryIdentifiable repositoryIdentifiable)
+    private RoutingRulesMatcher compileRoutingRules()
     {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
+        return new RoutingRulesMatcher(configurationManager.getConfiguration().getRoutingRules());
     }
+
 }
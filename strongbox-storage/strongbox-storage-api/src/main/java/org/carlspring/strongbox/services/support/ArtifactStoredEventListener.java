@@ -75,11 +75,7 @@ public class ArtifactStoredEventListener extends AsyncArtifactEntryHandler
             lock.unlock();
         }
         
-        if (archiveFilenames.isEmpty())
-        {
-            return artifactEntry;
-        }
-
+        // The listing is stored even if it's empty, so that the artifact is not picked up by the backfill.
         ArtifactArchiveListing artifactArchiveListing = artifactEntry.getArtifactArchiveListing();
         if (artifactArchiveListing == null)
         {
@@ -91,4 +87,14 @@ public class ArtifactStoredEventListener extends AsyncArtifactEntryHandler
         return artifactEntry;
     }
 
+    /**
+     * Lists the archive of the artifact, which was stored before its listing was persisted.
+     */
+    public void updateArchiveListing(RepositoryPath repositoryPath)
+        throws IOException,
+        InterruptedException
+    {
+        handleLocked(repositoryPath);
+    }
+
 }
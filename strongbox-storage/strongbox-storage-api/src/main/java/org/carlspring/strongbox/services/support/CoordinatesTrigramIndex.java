@@ -0,0 +1,203 @@
+package org.carlspring.strongbox.services.support;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted trigram index over the lower cased artifact coordinate values of a repository.
+ * <p>
+ * A substring (or a prefix) of three characters and more is looked up by intersecting the postings of its trigrams,
+ * so only the few candidates which share all the trigrams are compared with the term. The values are indexed with a
+ * leading marker character, which makes the prefixes of two characters indexable as well. The shorter terms are
+ * compared with every value of the coordinate, which still doesn't touch the database.
+ */
+@ThreadSafe
+class CoordinatesTrigramIndex
+{
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final char START_MARKER = '\u0002';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The normalized coordinate values of each indexed artifact entry.
+     */
+    private final Map<String, Map<String, String>> documents = new HashMap<>();
+
+    /**
+     * The artifact entries by coordinate name and trigram.
+     */
+    private final Map<String, Map<String, Set<String>>> postings = new HashMap<>();
+
+    void put(String id,
+             Map<String, String> coordinates)
+    {
+        Map<String, String> document = new HashMap<>();
+        coordinates.forEach((name, value) -> {
+            if (value != null)
+            {
+                document.put(name, normalize(value));
+            }
+        });
+
+        lock.writeLock().lock();
+        try
+        {
+            doRemove(id);
+
+            documents.put(id, document);
+            document.forEach((name, value) -> {
+                Map<String, Set<String>> coordinatePostings = postings.computeIfAbsent(name, k -> new HashMap<>());
+                for (String gram : grams(START_MARKER + value))
+                {
+                    coordinatePostings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+                }
+            });
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String id)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            doRemove(id);
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doRemove(String id)
+    {
+        Map<String, String> document = documents.remove(id);
+        if (document == null)
+        {
+            return;
+        }
+
+        document.forEach((name, value) -> {
+            Map<String, Set<String>> coordinatePostings = postings.get(name);
+            for (String gram : grams(START_MARKER + value))
+            {
+                Set<String> ids = coordinatePostings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty())
+                {
+                    coordinatePostings.remove(gram);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the ids of the artifact entries with the coordinate value containing (or starting with) the term,
+     *         case insensitive
+     */
+    Set<String> find(String coordinate,
+                     String term,
+                     boolean prefix)
+    {
+        String normalizedTerm = normalize(term);
+        String key = prefix ? START_MARKER + normalizedTerm : normalizedTerm;
+
+        lock.readLock().lock();
+        try
+        {
+            Collection<String> candidates = key.length() < GRAM_LENGTH ? documents.keySet() :
+                                            intersectPostings(coordinate, key);
+
+            Set<String> result = new HashSet<>();
+            for (String id : candidates)
+            {
+                String value = documents.get(id).get(coordinate);
+                if (value != null && (prefix ? value.startsWith(normalizedTerm) : value.contains(normalizedTerm)))
+                {
+                    result.add(id);
+                }
+            }
+
+            return result;
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<String> intersectPostings(String coordinate,
+                                                 String key)
+    {
+        Map<String, Set<String>> coordinatePostings = postings.getOrDefault(coordinate, Collections.emptyMap());
+
+        List<Set<String>> gramPostings = new ArrayList<>();
+        for (String gram : grams(key))
+        {
+            Set<String> ids = coordinatePostings.get(gram);
+            if (ids == null)
+            {
+                return Collections.emptySet();
+            }
+            gramPostings.add(ids);
+        }
+
+        // Starting from the rarest trigram keeps the intermediate result small.
+        gramPostings.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>(gramPostings.get(0));
+        for (int i = 1; i < gramPostings.size() && !result.isEmpty(); i++)
+        {
+            result.retainAll(gramPostings.get(i));
+        }
+
+        return result;
+    }
+
+    int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return documents.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String value)
+    {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++)
+        {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+
+        return result;
+    }
+
+    private static String normalize(String value)
+    {
+        return value.toLowerCase();
+    }
+
+}
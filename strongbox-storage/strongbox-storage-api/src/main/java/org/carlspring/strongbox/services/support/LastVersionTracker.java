@@ -0,0 +1,146 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link ArtifactTag#LAST_VERSION} tag on all the entries (artifact, pom, sources and so on) of the latest
+ * version of an artifact id group.
+ * <p>
+ * The entries of the latest version are tracked by {@link RepositoryArtifactIdGroupEntry#getLastVersionEntries()},
+ * so a new entry is compared with the current latest version only, regardless of the number of the versions within
+ * the group. The tracker works on a copy of them and doesn't modify the group, the caller saves the
+ * {@link #getLastVersionEntries()} and the {@link #getUntaggedEntries()} once all the entries were added.
+ */
+public class LastVersionTracker
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(LastVersionTracker.class);
+
+    private final ArtifactTag lastVersionTag;
+
+    /**
+     * Identity based, because the hash code of the new entries changes once they are saved.
+     */
+    private final Set<ArtifactEntry> lastVersionEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Set<ArtifactEntry> untaggedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public LastVersionTracker(ArtifactTag lastVersionTag,
+                              RepositoryArtifactIdGroupEntry artifactGroup)
+    {
+        this.lastVersionTag = lastVersionTag;
+
+        artifactGroup.getLastVersionEntries()
+                     .stream()
+                     .filter(Objects::nonNull)
+                     .forEach(lastVersionEntries::add);
+        if (lastVersionEntries.isEmpty())
+        {
+            findLastVersionEntries(artifactGroup);
+        }
+    }
+
+    /**
+     * Tags the entry as the last version, if it's not older than the current last version of the group. If it's
+     * newer, the tag is removed from all the entries of the previous last version.
+     */
+    public void update(ArtifactEntry artifactEntry)
+    {
+        ArtifactEntry lastVersionEntry = lastVersionEntries.stream().findFirst().orElse(null);
+        int artifactCoordinatesComparison = lastVersionEntry == null ? 0 : compare(artifactEntry, lastVersionEntry);
+        if (artifactCoordinatesComparison == 0)
+        {
+            logger.debug(String.format("Set [%s] last version to [%s]",
+                                       artifactEntry.getArtifactPath(),
+                                       artifactEntry.getArtifactCoordinates().getVersion()));
+        }
+        else if (artifactCoordinatesComparison > 0)
+        {
+            logger.debug(String.format("Update [%s] last version from [%s] to [%s]",
+                                       artifactEntry.getArtifactPath(),
+                                       lastVersionEntry.getArtifactCoordinates().getVersion(),
+                                       artifactEntry.getArtifactCoordinates().getVersion()));
+
+            lastVersionEntries.forEach(this::untag);
+            lastVersionEntries.clear();
+        }
+        else
+        {
+            logger.debug(String.format("Keep [%s] last version [%s]",
+                                       artifactEntry.getArtifactPath(),
+                                       lastVersionEntry.getArtifactCoordinates().getVersion()));
+            artifactEntry.getTagSet().remove(lastVersionTag);
+
+            return;
+        }
+
+        artifactEntry.getTagSet().add(lastVersionTag);
+        lastVersionEntries.add(artifactEntry);
+        untaggedEntries.remove(artifactEntry);
+    }
+
+    /**
+     * @return the entries of the last version of the group, including the updated ones
+     */
+    public Set<ArtifactEntry> getLastVersionEntries()
+    {
+        return Collections.unmodifiableSet(lastVersionEntries);
+    }
+
+    /**
+     * @return the entries of the previous last versions, which the tag was removed from and which have to be saved
+     */
+    public Set<ArtifactEntry> getUntaggedEntries()
+    {
+        return Collections.unmodifiableSet(untaggedEntries);
+    }
+
+    private void untag(ArtifactEntry artifactEntry)
+    {
+        artifactEntry.getTagSet().remove(lastVersionTag);
+        untaggedEntries.add(artifactEntry);
+    }
+
+    /**
+     * Fallback for the groups without the last version entries, which were created before they were introduced. The
+     * tag is also removed from the older versions, which kept it because only one entry was untagged on deploy.
+     */
+    private void findLastVersionEntries(RepositoryArtifactIdGroupEntry artifactGroup)
+    {
+        for (ArtifactEntry artifactEntry : artifactGroup.getArtifactEntries())
+        {
+            if (!artifactEntry.getTagSet().contains(lastVersionTag))
+            {
+                continue;
+            }
+
+            update(artifactEntry);
+            if (!lastVersionEntries.contains(artifactEntry))
+            {
+                untaggedEntries.add(artifactEntry);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(ArtifactEntry e1,
+                               ArtifactEntry e2)
+    {
+        ArtifactCoordinates c1 = e1.getArtifactCoordinates();
+        ArtifactCoordinates c2 = e2.getArtifactCoordinates();
+
+        return c1.compareTo(c2);
+    }
+
+}
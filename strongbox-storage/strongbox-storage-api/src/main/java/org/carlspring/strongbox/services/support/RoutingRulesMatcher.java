@@ -0,0 +1,253 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compiled form of the {@link RoutingRules}.
+ * <p>
+ * The rules are indexed by the group repository they apply to and by the member repositories they route, so the rules
+ * of a (group, member) pair are collected only once. Their patterns are combined into a single regular expression,
+ * which makes each check one lookup plus one match, regardless of the number of the configured rules.
+ * <p>
+ * A rule (or a rule repository) with an empty storage id and/or repository id applies to any storage and/or
+ * repository, as in {@link ArtifactRoutingRulesChecker}.
+ *
+ * @see <a href="https://strongbox.github.io/user-guide/artifact-routing-rules.html">Artifact Routing Rules</a>
+ */
+@Immutable
+public class RoutingRulesMatcher
+{
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private final boolean empty;
+
+    private final Map<String, List<RoutingRule>> deniedByGroup;
+
+    private final Map<String, List<RoutingRule>> acceptedByGroup;
+
+    /**
+     * The compiled rules memoized by (group, member) pair; it is limited by the number of the configured repositories.
+     */
+    private final Map<String, MemberRoutingRules> memberRules = new ConcurrentHashMap<>();
+
+    public RoutingRulesMatcher(RoutingRules routingRules)
+    {
+        this.empty = routingRules.getRules().isEmpty();
+        this.deniedByGroup = indexByGroup(routingRules.getDenied());
+        this.acceptedByGroup = indexByGroup(routingRules.getAccepted());
+    }
+
+    /**
+     * @return true if there are no routing rules configured at all
+     */
+    public boolean isEmpty()
+    {
+        return empty;
+    }
+
+    /**
+     * @return the routing rules which apply to the member repository within the group repository
+     */
+    public MemberRoutingRules getRules(String groupStorageId,
+                                       String groupRepositoryId,
+                                       String memberStorageId,
+                                       String memberRepositoryId)
+    {
+        String groupKey = key(groupStorageId, groupRepositoryId);
+        String memberKey = key(memberStorageId, memberRepositoryId);
+
+        return memberRules.computeIfAbsent(groupKey + ">" + memberKey,
+                                           k -> new MemberRoutingRules(
+                                                   compile(deniedByGroup, groupStorageId, groupRepositoryId,
+                                                           memberStorageId, memberRepositoryId),
+                                                   compile(acceptedByGroup, groupStorageId, groupRepositoryId,
+                                                           memberStorageId, memberRepositoryId)));
+    }
+
+    public boolean isDenied(String groupStorageId,
+                            String groupRepositoryId,
+                            String memberStorageId,
+                            String memberRepositoryId,
+                            String path)
+    {
+        return getRules(groupStorageId, groupRepositoryId, memberStorageId, memberRepositoryId).isDenied(path);
+    }
+
+    private static Map<String, List<RoutingRule>> indexByGroup(List<RoutingRule> routingRules)
+    {
+        return routingRules.stream().collect(Collectors.groupingBy(RoutingRulesMatcher::key));
+    }
+
+    private static PathMatcher compile(Map<String, List<RoutingRule>> rulesByGroup,
+                                       String groupStorageId,
+                                       String groupRepositoryId,
+                                       String memberStorageId,
+                                       String memberRepositoryId)
+    {
+        Set<String> memberKeys = candidateKeys(memberStorageId, memberRepositoryId);
+
+        // Several rules may share the same pattern, it's enough to match it once.
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String groupKey : candidateKeys(groupStorageId, groupRepositoryId))
+        {
+            for (RoutingRule routingRule : rulesByGroup.getOrDefault(groupKey, Collections.emptyList()))
+            {
+                if (routingRule.getRepositories()
+                               .stream()
+                               .map(RoutingRulesMatcher::key)
+                               .anyMatch(memberKeys::contains))
+                {
+                    patterns.add(routingRule.getPattern());
+                }
+            }
+        }
+
+        return PathMatcher.of(patterns);
+    }
+
+    /**
+     * @return the keys of the rules which apply to the repository: the exact match, the storage wildcard match,
+     *         the repository wildcard match and the match-all
+     */
+    private static Set<String> candidateKeys(String storageId,
+                                             String repositoryId)
+    {
+        return Stream.of(key(storageId, repositoryId),
+                         key(storageId, null),
+                         key(null, repositoryId),
+                         key(null, null))
+                     .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static String key(RepositoryIdentifiable repositoryIdentifiable)
+    {
+        return key(repositoryIdentifiable.getStorageId(), repositoryIdentifiable.getRepositoryId());
+    }
+
+    private static String key(String storageId,
+                              String repositoryId)
+    {
+        return StringUtils.trimToEmpty(storageId) + KEY_SEPARATOR + StringUtils.trimToEmpty(repositoryId);
+    }
+
+    /**
+     * The deny and accept rules of a member repository within a group repository.
+     */
+    @Immutable
+    public static class MemberRoutingRules
+    {
+
+        private final PathMatcher denyMatcher;
+
+        private final PathMatcher acceptMatcher;
+
+        MemberRoutingRules(PathMatcher denyMatcher,
+                           PathMatcher acceptMatcher)
+        {
+            this.denyMatcher = denyMatcher;
+            this.acceptMatcher = acceptMatcher;
+        }
+
+        /**
+         * @return true if no path can be denied for the member repository, so there is no need to check the paths
+         */
+        public boolean isEmpty()
+        {
+            return denyMatcher.isEmpty();
+        }
+
+        public boolean isDenied(String path)
+        {
+            return denyMatcher.matches(path) && !acceptMatcher.matches(path);
+        }
+
+    }
+
+    @Immutable
+    static class PathMatcher
+    {
+
+        private static final PathMatcher NONE = new PathMatcher(Collections.emptyList());
+
+        private final List<Pattern> regexes;
+
+        private PathMatcher(List<Pattern> regexes)
+        {
+            this.regexes = regexes;
+        }
+
+        static PathMatcher of(Set<String> patterns)
+        {
+            if (patterns.isEmpty())
+            {
+                return NONE;
+            }
+
+            List<Pattern> regexes = patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+            if (regexes.size() == 1 || !isCombinable(regexes))
+            {
+                return new PathMatcher(regexes);
+            }
+
+            String combinedPattern = patterns.stream()
+                                             .map(pattern -> "(?:" + pattern + ")")
+                                             .collect(Collectors.joining("|"));
+            try
+            {
+                return new PathMatcher(Collections.singletonList(Pattern.compile(combinedPattern)));
+            }
+            catch (PatternSyntaxException e)
+            {
+                return new PathMatcher(regexes);
+            }
+        }
+
+        /**
+         * The patterns with groups (back references could be shifted) or quotations (the quoted section could
+         * swallow the closing parenthesis) are matched one by one.
+         */
+        private static boolean isCombinable(List<Pattern> regexes)
+        {
+            return regexes.stream()
+                          .noneMatch(regex -> regex.matcher(StringUtils.EMPTY).groupCount() > 0 ||
+                                              regex.pattern().contains("\\Q"));
+        }
+
+        boolean isEmpty()
+        {
+            return regexes.isEmpty();
+        }
+
+        boolean matches(String path)
+        {
+            for (Pattern regex : regexes)
+            {
+                if (regex.matcher(path).matches())
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+    }
+
+}
@@ -1,13 +1,23 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 /**
  * All artifacts should pass through here.
@@ -25,6 +35,12 @@ import org.slf4j.LoggerFactory;
  * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
  * this, then remove the checksum from the cache. (If this checksums set is empty,
  * remove the respective Checksum from the cachedChecksums).
+ * <p>
+ * The cache is updated from the upload threads concurrently, so each artifact path is only changed atomically
+ * within {@link ConcurrentMap#compute}. The cache is bounded by its weight, which is the number of the cached
+ * checksums: once it's exceeded, the least recently accessed artifact paths are evicted. The artifact paths are
+ * expired by the timer wheel, which only looks at the artifact paths due within the current tick, instead of
+ * sweeping the whole cache, and the size eviction walks the same wheel.
  *
  * @author mtodorov
  */
@@ -33,11 +49,38 @@ public class ChecksumCacheManager
 
     private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
 
+    private static final int WHEEL_SIZE = 512;
+
     /**
      * Key:     Artifact path
      * Value:   Artifact checksum.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    private final ConcurrentMap<String, ArtifactChecksum> cachedChecksums = new ConcurrentHashMap<>();
+
+    /**
+     * Each bucket holds the artifact paths which are due within the tick of the bucket, or within the tick a whole
+     * number of revolutions later.
+     */
+    private final AtomicReferenceArray<ConcurrentLinkedQueue<ExpiryNode>> wheel = new AtomicReferenceArray<>(WHEEL_SIZE);
+
+    private final List<EvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong weight = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder expiredEvictions = new LongAdder();
+
+    private final LongAdder sizeEvictions = new LongAdder();
+
+    /**
+     * The last tick of the timer wheel which has been expired.
+     */
+    private volatile long lastTick;
+
+    private ScheduledExecutorService expirer;
 
     /**
      * Specifies how long to keep the cached checksums.
@@ -47,14 +90,25 @@ public class ChecksumCacheManager
     private long cachedChecksumLifetime = 5 * 60000;
 
     /**
-     * Specifies at what interval to check if the checksums have expired.
-     * The default is to check once every minute.
+     * Specifies the tick of the timer wheel, at which the checksums are expired.
+     * The default is to tick once every second.
+     */
+    private long cachedChecksumExpiredCheckInterval = 1000L;
+
+    /**
+     * Specifies how many checksums can be cached.
      */
-    private long cachedChecksumExpiredCheckInterval = 60000L;
+    private long cachedChecksumMaxWeight = 100000L;
 
 
     public ChecksumCacheManager()
     {
+        for (int i = 0; i < WHEEL_SIZE; i++)
+        {
+            wheel.set(i, new ConcurrentLinkedQueue<>());
+        }
+
+        lastTick = System.currentTimeMillis() / cachedChecksumExpiredCheckInterval;
     }
 
     public boolean containsArtifactPath(String artifactPath)
@@ -68,27 +122,56 @@ public class ChecksumCacheManager
         return containsChecksum;
     }
 
+    /**
+     * The lookup is a hit only if the checksum of the algorithm is cached, not just some checksums of the artifact
+     * path.
+     */
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = findArtifactChecksum(artifactBasePath);
+        final String checksum = artifactChecksum == null ? null : artifactChecksum.getChecksum(algorithm);
+        if (checksum == null)
         {
+            misses.increment();
+
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-        final String checksum = artifactChecksum.getChecksum(algorithm);
-        if (checksum != null)
-        {
-            logger.debug("Found checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
-        }
+        hits.increment();
+        logger.debug("Found checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
         return checksum;
     }
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        ArtifactChecksum artifactChecksum = findArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
+        {
+            misses.increment();
+        }
+        else
+        {
+            hits.increment();
+        }
+
+        return artifactChecksum;
+    }
+
+    private ArtifactChecksum findArtifactChecksum(String artifactBasePath)
+    {
+        long now = System.currentTimeMillis();
+        ArtifactChecksum artifactChecksum = cachedChecksums.get(artifactBasePath);
+        if (artifactChecksum != null
+            && isExpired(artifactChecksum, now)
+            && evict(artifactBasePath, artifactChecksum, EvictionCause.EXPIRED, now))
+        {
+            // Not expired by the timer wheel yet.
+            return null;
+        }
+
+        return artifactChecksum;
     }
 
     public boolean validateChecksum(String artifactPath,
@@ -98,71 +181,249 @@ public class ChecksumCacheManager
         return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        ArtifactChecksum[] created = new ArtifactChecksum[1];
+        cachedChecksums.compute(artifactBasePath, (k, v) -> {
+            ArtifactChecksum artifactChecksum = v;
+            if (artifactChecksum == null)
+            {
+                artifactChecksum = new ArtifactChecksum();
+                created[0] = artifactChecksum;
+            }
+
+            if (!artifactChecksum.getChecksums().containsKey(algorithm))
+            {
+                weight.incrementAndGet();
+            }
             artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
+
+            return artifactChecksum;
+        });
+
+        // Scheduled once it's within the cache, otherwise the wheel could drop the node as a removed one.
+        if (created[0] != null)
         {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+            schedule(new ExpiryNode(artifactBasePath, created[0]),
+                     created[0].getLastAccessed() + cachedChecksumLifetime);
+        }
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
+        if (weight.get() > cachedChecksumMaxWeight)
+        {
+            evictLeastRecentlyAccessed();
         }
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
-            logger.debug(ac.removeChecksum(algorithm)
-                           .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                   artifactBasePath,
-                                                   c))
-                           .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
-                                                          algorithm,
-                                                          artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
+            Optional<String> checksum = ac.removeChecksum(algorithm);
+            logger.debug(checksum.map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
+                                                         artifactBasePath,
+                                                         c))
+                                 .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
+                                                                algorithm,
+                                                                artifactBasePath)));
+            if (checksum.isPresent())
+            {
+                weight.decrementAndGet();
+            }
+
+            return ac.getChecksums().isEmpty() ? null : ac;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
-                .ifPresent(ac -> logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
-                                                            artifactBasePath, ac)));
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
+            weight.addAndGet(-ac.getChecksums().size());
+            logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.", artifactBasePath, ac));
+
+            return null;
+        });
     }
 
+    /**
+     * Advances the timer wheel up to the current tick, expiring the checksums which are due.
+     */
     public synchronized void removeExpiredChecksums()
     {
-        for (String checksum : getExpiredChecksums())
+        long now = System.currentTimeMillis();
+        long currentTick = now / cachedChecksumExpiredCheckInterval;
+
+        // Each bucket is visited once at most, even if the expirer was late by more than a revolution.
+        long fromTick = Math.max(lastTick + 1, currentTick - WHEEL_SIZE + 1);
+        for (long tick = fromTick; tick <= currentTick; tick++)
         {
-            removeArtifactChecksum(checksum);
+            lastTick = tick;
+
+            ConcurrentLinkedQueue<ExpiryNode> bucket = wheel.get((int) (tick % WHEEL_SIZE));
+            List<ExpiryNode> dueNodes = new ArrayList<>();
+            for (ExpiryNode node = bucket.poll(); node != null; node = bucket.poll())
+            {
+                dueNodes.add(node);
+            }
+
+            for (ExpiryNode node : dueNodes)
+            {
+                if (cachedChecksums.get(node.artifactBasePath) != node.artifactChecksum)
+                {
+                    // Removed, or replaced by the other entry with its own node.
+                    continue;
+                }
+
+                if (!evict(node.artifactBasePath, node.artifactChecksum, EvictionCause.EXPIRED, now))
+                {
+                    // Accessed since it was scheduled, or due within the later revolution.
+                    schedule(node, node.artifactChecksum.getLastAccessed() + cachedChecksumLifetime);
+                }
+            }
         }
     }
 
-    private Set<String> getExpiredChecksums()
+    private void schedule(ExpiryNode node,
+                          long expiresAt)
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
+        // A node which is due within the tick that has already been expired goes to the next one.
+        long tick = Math.max(expiresAt / cachedChecksumExpiredCheckInterval, lastTick + 1);
+        node.scheduledTick = tick;
+        wheel.get((int) (tick % WHEEL_SIZE)).add(node);
+    }
+
+    private boolean isExpired(ArtifactChecksum artifactChecksum,
+                              long now)
+    {
+        return now - artifactChecksum.getLastAccessed() >= cachedChecksumLifetime;
+    }
 
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
+    /**
+     * Evicts the least recently accessed artifact paths, until the weight is back under 90% of the maximum weight,
+     * so that the next additions don't have to evict again right away.
+     * <p>
+     * The timer wheel already orders the artifact paths by their expiry, so it's walked from the next tick on,
+     * visiting only as many artifact paths as are evicted, instead of sorting the whole cache. The artifact paths
+     * accessed since they were scheduled are given a second chance: they are skipped by the first walk, and only
+     * evicted by the second one if the weight is still exceeded.
+     */
+    private synchronized void evictLeastRecentlyAccessed()
+    {
+        long targetWeight = cachedChecksumMaxWeight - cachedChecksumMaxWeight / 10;
+        if (weight.get() <= cachedChecksumMaxWeight)
         {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
+            return;
+        }
 
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
+        long now = System.currentTimeMillis();
+        for (int walk = 0; walk < 2; walk++)
+        {
+            for (long tick = lastTick + 1; tick <= lastTick + WHEEL_SIZE; tick++)
             {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
+                ConcurrentLinkedQueue<ExpiryNode> bucket = wheel.get((int) (tick % WHEEL_SIZE));
+                for (Iterator<ExpiryNode> i = bucket.iterator(); i.hasNext();)
+                {
+                    if (weight.get() <= targetWeight)
+                    {
+                        return;
+                    }
+
+                    ExpiryNode node = i.next();
+                    if (cachedChecksums.get(node.artifactBasePath) != node.artifactChecksum)
+                    {
+                        // Removed, or replaced by the other entry with its own node.
+                        i.remove();
+                        continue;
+                    }
+
+                    long dueTick = (node.artifactChecksum.getLastAccessed() + cachedChecksumLifetime) /
+                                   cachedChecksumExpiredCheckInterval;
+                    if (walk == 0 && dueTick > node.scheduledTick)
+                    {
+                        continue;
+                    }
+
+                    if (evict(node.artifactBasePath, node.artifactChecksum, EvictionCause.SIZE, now))
+                    {
+                        i.remove();
+                    }
+                }
             }
         }
+    }
+
+    /**
+     * @return <code>true</code> if the checksums were evicted, which they are not if they have been removed or
+     *         replaced in the meantime, or, for the expiry, if they have been accessed in the meantime
+     */
+    private boolean evict(String artifactBasePath,
+                          ArtifactChecksum artifactChecksum,
+                          EvictionCause cause,
+                          long now)
+    {
+        boolean[] evicted = new boolean[1];
+        cachedChecksums.computeIfPresent(artifactBasePath, (k, ac) -> {
+            if (ac != artifactChecksum || (EvictionCause.EXPIRED.equals(cause) && !isExpired(ac, now)))
+            {
+                return ac;
+            }
+
+            weight.addAndGet(-ac.getChecksums().size());
+            evicted[0] = true;
 
-        return expiredChecksums;
+            return null;
+        });
+
+        if (!evicted[0])
+        {
+            return false;
+        }
+
+        if (EvictionCause.EXPIRED.equals(cause))
+        {
+            expiredEvictions.increment();
+            logger.debug(String.format("Checksums [%s] of [%s] were not claimed within [%s] ms, evicted from cache.",
+                                       artifactChecksum, artifactBasePath, cachedChecksumLifetime));
+        }
+        else
+        {
+            sizeEvictions.increment();
+            logger.debug(String.format("Checksums [%s] of [%s] were evicted from cache, which is full.",
+                                       artifactChecksum, artifactBasePath));
+        }
+
+        for (EvictionListener evictionListener : evictionListeners)
+        {
+            try
+            {
+                evictionListener.onEviction(artifactBasePath, artifactChecksum, cause);
+            }
+            catch (RuntimeException e)
+            {
+                logger.error(String.format("Failed to handle eviction of [%s].", artifactBasePath), e);
+            }
+        }
+
+        return true;
+    }
+
+    public void addEvictionListener(EvictionListener evictionListener)
+    {
+        evictionListeners.add(evictionListener);
+    }
+
+    public ChecksumCacheStats getStats()
+    {
+        return new ChecksumCacheStats(hits.sum(),
+                                      misses.sum(),
+                                      expiredEvictions.sum(),
+                                      sizeEvictions.sum(),
+                                      cachedChecksums.size(),
+                                      weight.get(),
+                                      cachedChecksumMaxWeight);
     }
 
     public long getCachedChecksumLifetime()
@@ -180,9 +441,29 @@ public class ChecksumCacheManager
         return cachedChecksumExpiredCheckInterval;
     }
 
-    public void setCachedChecksumExpiredCheckInterval(long cachedChecksumExpiredCheckInterval)
+    public synchronized void setCachedChecksumExpiredCheckInterval(long cachedChecksumExpiredCheckInterval)
     {
         this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
+
+        // The scheduled nodes are due within the ticks of the previous interval, so they are rescheduled.
+        List<ExpiryNode> nodes = new ArrayList<>();
+        for (int i = 0; i < WHEEL_SIZE; i++)
+        {
+            nodes.addAll(wheel.getAndSet(i, new ConcurrentLinkedQueue<>()));
+        }
+
+        lastTick = System.currentTimeMillis() / cachedChecksumExpiredCheckInterval;
+        nodes.forEach(n -> schedule(n, n.artifactChecksum.getLastAccessed() + cachedChecksumLifetime));
+    }
+
+    public long getCachedChecksumMaxWeight()
+    {
+        return cachedChecksumMaxWeight;
+    }
+
+    public void setCachedChecksumMaxWeight(long cachedChecksumMaxWeight)
+    {
+        this.cachedChecksumMaxWeight = cachedChecksumMaxWeight;
     }
 
     public long getSize()
@@ -190,37 +471,89 @@ public class ChecksumCacheManager
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
+    public long getWeight()
     {
-        new CachedChecksumExpirer();
+        return weight.get();
     }
 
-    private class CachedChecksumExpirer
-            extends Thread
+    public synchronized void startMonitor()
     {
+        if (expirer != null)
+        {
+            return;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("checksum-cache-expirer-");
+        threadFactory.setDaemon(true);
+
+        expirer = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        expirer.scheduleWithFixedDelay(this::expire,
+                                       cachedChecksumExpiredCheckInterval,
+                                       cachedChecksumExpiredCheckInterval,
+                                       TimeUnit.MILLISECONDS);
+    }
 
-        private CachedChecksumExpirer()
+    public synchronized void stopMonitor()
+    {
+        if (expirer != null)
         {
-            start();
+            expirer.shutdownNow();
+            expirer = null;
         }
+    }
 
-        @Override
-        public void run()
+    private void expire()
+    {
+        try
         {
-            try
-            {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
-            }
-            catch (InterruptedException e)
-            {
-                logger.error(e.getMessage(), e);
-            }
+            removeExpiredChecksums();
         }
+        catch (RuntimeException e)
+        {
+            // The next tick should not be cancelled.
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    public enum EvictionCause
+    {
+        /**
+         * The checksums were not claimed within the cached checksum lifetime.
+         */
+        EXPIRED,
+
+        /**
+         * The cache exceeded its maximum weight.
+         */
+        SIZE
+    }
+
+    @FunctionalInterface
+    public interface EvictionListener
+    {
+
+        void onEviction(String artifactBasePath,
+                        ArtifactChecksum artifactChecksum,
+                        EvictionCause cause);
+
+    }
+
+    private static class ExpiryNode
+    {
+
+        private final String artifactBasePath;
+
+        private final ArtifactChecksum artifactChecksum;
+
+        private volatile long scheduledTick;
+
+        ExpiryNode(String artifactBasePath,
+                   ArtifactChecksum artifactChecksum)
+        {
+            this.artifactBasePath = artifactBasePath;
+            this.artifactChecksum = artifactChecksum;
+        }
+
     }
 
 }
@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.storage.checksum;
+
+/**
+ * The snapshot of the {@link ChecksumCacheManager} statistics.
+ */
+public class ChecksumCacheStats
+{
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long expiredCount;
+
+    private final long evictionCount;
+
+    private final long size;
+
+    private final long weight;
+
+    private final long maxWeight;
+
+    public ChecksumCacheStats(long hitCount,
+                              long missCount,
+                              long expiredCount,
+                              long evictionCount,
+                              long size,
+                              long weight,
+                              long maxWeight)
+    {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.expiredCount = expiredCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.weight = weight;
+        this.maxWeight = maxWeight;
+    }
+
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return the number of the artifact paths, which checksums were not claimed within the cached checksum lifetime
+     */
+    public long getExpiredCount()
+    {
+        return expiredCount;
+    }
+
+    /**
+     * @return the number of the artifact paths, which checksums were evicted because the cache was full
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of the cached artifact paths
+     */
+    public long getSize()
+    {
+        return size;
+    }
+
+    /**
+     * @return the number of the cached checksums
+     */
+    public long getWeight()
+    {
+        return weight;
+    }
+
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("[hitCount=%s, missCount=%s, expiredCount=%s, evictionCount=%s, size=%s, weight=%s, maxWeight=%s]",
+                             hitCount, missCount, expiredCount, evictionCount, size, weight, maxWeight);
+    }
+
+}
@@ -0,0 +1,149 @@
+package org.carlspring.strongbox.artifact.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ZipCentralDirectoryReaderTest
+{
+
+    private Path path;
+
+    @BeforeEach
+    public void setUp()
+            throws IOException
+    {
+        path = Files.createTempFile("zip-central-directory-reader", ".jar");
+    }
+
+    @AfterEach
+    public void tearDown()
+            throws IOException
+    {
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void testReadEntryNames()
+            throws IOException
+    {
+        Files.write(path,
+                    zip(null, "META-INF/", "META-INF/MANIFEST.MF", "org/carlspring/Foo.class", "\u00fcn\u00efcode.txt"));
+
+        assertEquals(new HashSet<>(Arrays.asList("META-INF/", "META-INF/MANIFEST.MF", "org/carlspring/Foo.class",
+                                                 "\u00fcn\u00efcode.txt")),
+                     readEntryNames());
+    }
+
+    @Test
+    public void testReadEntryNamesWithCommentAndPrefix()
+            throws IOException
+    {
+        // Like the self-extracting archives, which have the executable stub before the archive.
+        Files.write(path, "#!/bin/sh\nexit 0\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(path, zip("The archive comment.", "a.txt", "b/c.txt"), StandardOpenOption.APPEND);
+
+        assertEquals(new HashSet<>(Arrays.asList("a.txt", "b/c.txt")), readEntryNames());
+    }
+
+    @Test
+    public void testReadEmptyArchive()
+            throws IOException
+    {
+        Files.write(path, zip(null));
+
+        assertEquals(new HashSet<>(), readEntryNames());
+    }
+
+    @Test
+    public void testReadTruncatedArchive()
+            throws IOException
+    {
+        byte[] zip = zip(null, "a.txt", "b.txt");
+        Files.write(path, Arrays.copyOf(zip, zip.length - 30));
+
+        assertThrows(ZipException.class, this::readEntryNames);
+    }
+
+    @Test
+    public void testReadZip64LocatorWithoutRecord()
+            throws IOException
+    {
+        // The ZIP64 record would start before the beginning of the archive.
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 22).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x07064b50).putInt(0).putLong(0).putInt(1);
+        buffer.putInt(0x06054b50).putShort((short) 0).putShort((short) 0).putShort((short) -1).putShort((short) -1)
+              .putInt(-1).putInt(-1).putShort((short) 0);
+        Files.write(path, buffer.array());
+
+        assertThrows(ZipException.class, this::readEntryNames);
+    }
+
+    @Test
+    public void testReadZip64RecordWithInvalidSize()
+            throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(56 + 20 + 22).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x06064b50).putLong(44).putShort((short) 45).putShort((short) 45).putInt(0).putInt(0)
+              .putLong(1).putLong(1).putLong(-1).putLong(0);
+        buffer.putInt(0x07064b50).putInt(0).putLong(0).putInt(1);
+        buffer.putInt(0x06054b50).putShort((short) 0).putShort((short) 0).putShort((short) -1).putShort((short) -1)
+              .putInt(-1).putInt(-1).putShort((short) 0);
+        Files.write(path, buffer.array());
+
+        assertThrows(ZipException.class, this::readEntryNames);
+    }
+
+    private Set<String> readEntryNames()
+            throws IOException
+    {
+        try (SeekableByteChannel channel = Files.newByteChannel(path))
+        {
+            return ZipCentralDirectoryReader.readEntryNames(channel);
+        }
+    }
+
+    private byte[] zip(String comment,
+                       String... names)
+            throws IOException
+    {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(bos))
+        {
+            for (String name : names)
+            {
+                zos.putNextEntry(new ZipEntry(name));
+                if (!name.endsWith("/"))
+                {
+                    zos.write(name.getBytes(StandardCharsets.UTF_8));
+                }
+                zos.closeEntry();
+            }
+            if (comment != null)
+            {
+                zos.setComment(comment);
+            }
+        }
+
+        return bos.toByteArray();
+    }
+
+}
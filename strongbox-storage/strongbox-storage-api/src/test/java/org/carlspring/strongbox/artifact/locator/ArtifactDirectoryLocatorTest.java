@@ -0,0 +1,330 @@
+package org.carlspring.strongbox.artifact.locator;
+
+import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOperation;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.testing.NullFileSystemProvider;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactDirectoryLocatorTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/locator-releases")
+                                                        .toAbsolutePath();
+
+    private ArtifactDirectoryLocatorFactory artifactDirectoryLocatorFactory;
+
+    private RepositoryPath rootPath;
+
+    private List<Path> directories;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+        for (String version : new String[]{ "1.0", "1.1", "1.2" })
+        {
+            Files.createDirectories(REPOSITORY_BASEDIR.resolve("org/carlspring/foo").resolve(version));
+        }
+        for (String version : new String[]{ "2.0", "2.1" })
+        {
+            Files.createDirectories(REPOSITORY_BASEDIR.resolve("org/carlspring/bar").resolve(version));
+        }
+        Files.createDirectories(REPOSITORY_BASEDIR.resolve(".index/local"));
+
+        try (Stream<Path> stream = Files.walk(REPOSITORY_BASEDIR))
+        {
+            directories = stream.filter(p -> !p.toString().contains(".index"))
+                                .collect(Collectors.toList());
+        }
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId("storage0");
+
+        MutableRepository repository = new MutableRepository();
+        repository.setStorage(storage);
+        repository.setId("locator-releases");
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+
+        NullFileSystemProvider provider = new NullFileSystemProvider(FileSystems.getDefault().provider());
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new ImmutableRepository(repository),
+                                                                     FileSystems.getDefault(),
+                                                                     provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        rootPath = new RepositoryPath(REPOSITORY_BASEDIR, repositoryFileSystem);
+
+        artifactDirectoryLocatorFactory = new ArtifactDirectoryLocatorFactory();
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "parallelism", 4);
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "maxPendingDirectories", 256);
+        artifactDirectoryLocatorFactory.init();
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        artifactDirectoryLocatorFactory.destroy();
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+    }
+
+    @Test
+    public void testFactoryCreatesConfiguredLocators()
+    {
+        ArtifactDirectoryOperation operation = new RecordingOperation(null);
+
+        ArtifactDirectoryLocator locator = artifactDirectoryLocatorFactory.create(operation);
+
+        assertSame(operation, locator.getOperation());
+        assertTrue(locator.getExecutor() instanceof ThreadPoolExecutor);
+        assertSame(locator.getExecutor(), artifactDirectoryLocatorFactory.create(operation).getExecutor());
+        assertNull(locator.getRateLimiter());
+        assertEquals(256, locator.getMaxPendingDirectories());
+
+        artifactDirectoryLocatorFactory.destroy();
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "parallelism", 1);
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "maxDirectoriesPerSecond", 100d);
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "executor", null);
+        artifactDirectoryLocatorFactory.init();
+
+        locator = artifactDirectoryLocatorFactory.create(operation);
+
+        assertNull(locator.getExecutor());
+        assertNotNull(locator.getRateLimiter());
+    }
+
+    @Test
+    public void testDirectoriesAreExecutedAfterParentsAndSiblingsOneByOne()
+        throws IOException
+    {
+        RecordingOperation operation = new RecordingOperation(null);
+        operation.delayMillis = 5;
+
+        locate(operation);
+
+        assertEquals(directories.size(), operation.finished.size());
+        for (Path directory : directories)
+        {
+            if (directory.equals(REPOSITORY_BASEDIR))
+            {
+                continue;
+            }
+            assertTrue(operation.started.get(directory) > operation.finished.get(directory.getParent()),
+                       String.format("[%s] was executed before its parent.", directory));
+        }
+
+        for (Path parent : directories)
+        {
+            List<Path> siblings = operation.executionOrder.stream()
+                                                          .filter(p -> parent.equals(p.getParent()))
+                                                          .collect(Collectors.toList());
+            assertEquals(listDirectories(parent), siblings);
+            for (int i = 1; i < siblings.size(); i++)
+            {
+                assertTrue(operation.started.get(siblings.get(i)) > operation.finished.get(siblings.get(i - 1)),
+                           String.format("[%s] was executed concurrently with [%s].",
+                                         siblings.get(i), siblings.get(i - 1)));
+            }
+        }
+    }
+
+    @Test
+    public void testLocateAwaitsAllOperations()
+        throws IOException
+    {
+        RecordingOperation operation = new RecordingOperation(null);
+        operation.delayMillis = 20;
+
+        locate(operation);
+
+        assertEquals(directories.size(), operation.finished.size());
+        assertEquals(0, operation.concurrency.get());
+    }
+
+    @Test
+    public void testPendingDirectoriesAreLimited()
+        throws IOException
+    {
+        ReflectionTestUtils.setField(artifactDirectoryLocatorFactory, "maxPendingDirectories", 1);
+
+        RecordingOperation operation = new RecordingOperation(null);
+        operation.delayMillis = 5;
+
+        locate(operation);
+
+        assertEquals(directories.size(), operation.finished.size());
+        assertEquals(1, operation.maxConcurrency.get());
+    }
+
+    @Test
+    public void testVisitedRootPathsAreCleared()
+        throws IOException
+    {
+        RecordingOperation operation = new RecordingOperation(null);
+        operation.trackVisitedRootPaths = true;
+
+        locate(operation);
+
+        assertTrue(operation.visitedRootPathsTracked.get() > 0);
+        assertTrue(operation.getVisitedRootPaths().isEmpty());
+    }
+
+    @Test
+    public void testFailureIsRethrownAfterAllOperations()
+    {
+        Path failingDirectory = REPOSITORY_BASEDIR.resolve("org/carlspring/foo/1.0");
+        RecordingOperation operation = new RecordingOperation(failingDirectory);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> locate(operation));
+
+        assertEquals(failingDirectory.toString(), e.getMessage());
+        assertEquals(directories.size(), operation.executionOrder.size());
+        assertEquals(directories.size() - 1, operation.finished.size());
+        assertTrue(operation.getVisitedRootPaths().isEmpty());
+    }
+
+    private ArtifactDirectoryLocator locate(RecordingOperation operation)
+        throws IOException
+    {
+        ArtifactDirectoryLocator locator = artifactDirectoryLocatorFactory.create(operation);
+        locator.setBasedir(rootPath);
+        locator.locateArtifactDirectories();
+
+        return locator;
+    }
+
+    private List<Path> listDirectories(Path parent)
+        throws IOException
+    {
+        // The walker visits the directories in the order of the directory stream.
+        List<Path> result = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(parent))
+        {
+            stream.filter(Files::isDirectory)
+                  .filter(p -> !p.getFileName().toString().startsWith("."))
+                  .forEach(result::add);
+        }
+
+        return result;
+    }
+
+    private static class RecordingOperation
+            implements ArtifactDirectoryOperation
+    {
+
+        private final Path failingDirectory;
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        private final AtomicInteger concurrency = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrency = new AtomicInteger();
+
+        private final AtomicInteger visitedRootPathsTracked = new AtomicInteger();
+
+        private final Map<Path, Integer> started = new ConcurrentHashMap<>();
+
+        private final Map<Path, Integer> finished = new ConcurrentHashMap<>();
+
+        private final List<Path> executionOrder = Collections.synchronizedList(new ArrayList<>());
+
+        private final Map<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new ConcurrentHashMap<>();
+
+        private volatile long delayMillis;
+
+        private volatile boolean trackVisitedRootPaths;
+
+        RecordingOperation(Path failingDirectory)
+        {
+            this.failingDirectory = failingDirectory;
+        }
+
+        @Override
+        public void execute(RepositoryPath directoryPath)
+        {
+            Path directory = Paths.get(directoryPath.toString());
+
+            maxConcurrency.accumulateAndGet(concurrency.incrementAndGet(), Math::max);
+            started.put(directory, sequence.incrementAndGet());
+            executionOrder.add(directory);
+            try
+            {
+                if (delayMillis > 0)
+                {
+                    Thread.sleep(delayMillis);
+                }
+                if (directory.equals(failingDirectory))
+                {
+                    throw new IllegalStateException(directory.toString());
+                }
+                if (trackVisitedRootPaths && !directory.equals(REPOSITORY_BASEDIR))
+                {
+                    visitedRootPaths.computeIfAbsent(directoryPath.getParent(), k -> new ArrayList<>())
+                                    .add(directoryPath);
+                    visitedRootPathsTracked.incrementAndGet();
+                }
+                finished.put(directory, sequence.incrementAndGet());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                concurrency.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Map<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
+        {
+            return visitedRootPaths;
+        }
+
+        @Override
+        public RepositoryPath getBasePath()
+        {
+            return null;
+        }
+
+    }
+
+}
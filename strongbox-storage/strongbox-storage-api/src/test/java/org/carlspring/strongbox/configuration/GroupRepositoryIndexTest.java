@@ -0,0 +1,160 @@
+package org.carlspring.strongbox.configuration;
+
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupRepositoryIndexTest
+{
+
+    private static final String STORAGE0 = "storage0";
+
+    private static final String STORAGE1 = "storage1";
+
+    private MutableConfiguration mutableConfiguration;
+
+    @BeforeEach
+    public void setUp()
+    {
+        mutableConfiguration = new MutableConfiguration();
+
+        MutableStorage storage0 = addStorage(STORAGE0);
+        MutableStorage storage1 = addStorage(STORAGE1);
+
+        addRepository(storage0, "releases");
+        addRepository(storage0, "snapshots");
+        addRepository(storage1, "releases");
+        addRepository(storage0, "group-empty", RepositoryTypeEnum.GROUP);
+        addRepository(storage0, "group-releases", RepositoryTypeEnum.GROUP, "releases", "storage1:releases");
+        addRepository(storage0, "group-all", RepositoryTypeEnum.GROUP, "group-releases", "snapshots", "group-empty");
+        addRepository(storage1, "group-top", RepositoryTypeEnum.GROUP, "storage0:group-all", "releases");
+    }
+
+    @Test
+    public void testGroupRepositoriesContaining()
+    {
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        assertEquals(Arrays.asList("storage0:group-releases"),
+                     ids(configuration.getGroupRepositoriesContaining(STORAGE0, "releases")));
+        assertEquals(Arrays.asList("storage0:group-releases", "storage1:group-top"),
+                     ids(configuration.getGroupRepositoriesContaining(STORAGE1, "releases")));
+        assertEquals(Arrays.asList("storage1:group-top"),
+                     ids(configuration.getGroupRepositoriesContaining(STORAGE0, "group-all")));
+        assertTrue(configuration.getGroupRepositoriesContaining(STORAGE1, "group-top").isEmpty());
+        assertTrue(configuration.getGroupRepositoriesContaining(STORAGE1, "snapshots").isEmpty());
+
+        assertThrows(UnsupportedOperationException.class,
+                     () -> configuration.getGroupRepositoriesContaining(STORAGE0, "releases").clear());
+    }
+
+    @Test
+    public void testGroupRepositoryMembers()
+    {
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        assertEquals(Arrays.asList("storage0:group-releases", "storage0:snapshots", "storage0:group-empty"),
+                     ids(configuration.getGroupRepositoryMembers(STORAGE0, "group-all")));
+        assertTrue(configuration.getGroupRepositoryMembers(STORAGE0, "releases").isEmpty());
+    }
+
+    @Test
+    public void testGroupRepositoryLeafMembers()
+    {
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        // The empty group repositories are considered to be the leaves.
+        assertEquals(Arrays.asList("storage0:releases",
+                                   "storage1:releases",
+                                   "storage0:snapshots",
+                                   "storage0:group-empty"),
+                     ids(configuration.getGroupRepositoryLeafMembers(STORAGE1, "group-top")));
+    }
+
+    @Test
+    public void testGroupRepositoryAncestors()
+    {
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        assertEquals(Arrays.asList("storage0:group-releases", "storage0:group-all", "storage1:group-top"),
+                     ids(configuration.getGroupRepositoryAncestors(STORAGE0, "releases")));
+        assertEquals(Arrays.asList("storage0:group-releases", "storage0:group-all", "storage1:group-top"),
+                     ids(configuration.getGroupRepositoryAncestors(STORAGE1, "releases")));
+        assertEquals(Arrays.asList("storage0:group-all", "storage1:group-top"),
+                     ids(configuration.getGroupRepositoryAncestors(STORAGE0, "snapshots")));
+        assertTrue(configuration.getGroupRepositoryAncestors(STORAGE1, "group-top").isEmpty());
+    }
+
+    @Test
+    public void testGroupRepositoriesInTopologicalOrder()
+    {
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        assertEquals(Arrays.asList("storage0:group-releases",
+                                   "storage0:group-empty",
+                                   "storage0:group-all",
+                                   "storage1:group-top"),
+                     ids(configuration.getGroupRepositoriesInTopologicalOrder()));
+    }
+
+    @Test
+    public void testCyclicGroupRepositories()
+    {
+        mutableConfiguration.getStorage(STORAGE0).getRepository("group-releases").addRepositoryToGroup("group-all");
+
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        assertEquals(Arrays.asList("storage0:releases", "storage1:releases", "storage0:snapshots",
+                                   "storage0:group-empty"),
+                     ids(configuration.getGroupRepositoryLeafMembers(STORAGE0, "group-all")));
+        assertEquals(4, configuration.getGroupRepositoriesInTopologicalOrder().size());
+        assertTrue(ids(configuration.getGroupRepositoryAncestors(STORAGE0, "releases")).contains("storage0:group-all"));
+    }
+
+    private MutableStorage addStorage(String storageId)
+    {
+        MutableStorage storage = new MutableStorage(storageId);
+        mutableConfiguration.addStorage(storage);
+
+        return storage;
+    }
+
+    private void addRepository(MutableStorage storage,
+                               String repositoryId)
+    {
+        addRepository(storage, repositoryId, RepositoryTypeEnum.HOSTED);
+    }
+
+    private void addRepository(MutableStorage storage,
+                               String repositoryId,
+                               RepositoryTypeEnum type,
+                               String... members)
+    {
+        MutableRepository repository = new MutableRepository(repositoryId);
+        repository.setType(type.getType());
+        repository.setStorage(storage);
+        Arrays.stream(members).forEach(repository::addRepositoryToGroup);
+
+        storage.addRepository(repository);
+    }
+
+    private List<String> ids(Collection<Repository> repositories)
+    {
+        return repositories.stream()
+                           .map(r -> r.getStorage().getId() + ":" + r.getId())
+                           .collect(Collectors.toList());
+    }
+
+}
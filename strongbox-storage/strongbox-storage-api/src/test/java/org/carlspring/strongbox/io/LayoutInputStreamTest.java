@@ -0,0 +1,96 @@
+package org.carlspring.strongbox.io;
+
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LayoutInputStreamTest
+{
+
+    private static final byte[] CONTENT = "strongbox".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testMatchingDigestsAreVerified()
+        throws Exception
+    {
+        try (LayoutInputStream is = newInputStream(sha1(CONTENT).toUpperCase()))
+        {
+            assertEquals(CONTENT.length, IOUtils.toByteArray(is).length);
+            assertEquals(-1, is.read());
+        }
+    }
+
+    @Test
+    public void testMismatchingDigestsFailOnEndOfStream()
+        throws Exception
+    {
+        try (LayoutInputStream is = newInputStream(sha1("other".getBytes(StandardCharsets.UTF_8))))
+        {
+            assertThrows(IOException.class, () -> IOUtils.toByteArray(is));
+        }
+        try (LayoutInputStream is = newInputStream(sha1("other".getBytes(StandardCharsets.UTF_8))))
+        {
+            for (int i = 0; i < CONTENT.length; i++)
+            {
+                is.read();
+            }
+
+            assertThrows(IOException.class, is::read);
+        }
+    }
+
+    @Test
+    public void testPartialReadsAreNotVerified()
+        throws Exception
+    {
+        try (LayoutInputStream is = newInputStream(sha1("other".getBytes(StandardCharsets.UTF_8))))
+        {
+            assertEquals(3, is.skip(3));
+            assertEquals(CONTENT.length - 3, IOUtils.toByteArray(is).length);
+        }
+    }
+
+    @Test
+    public void testDigestsWithoutChecksumAreNotVerified()
+        throws Exception
+    {
+        try (LayoutInputStream is = new LayoutInputStream(new ByteArrayInputStream(CONTENT)))
+        {
+            is.expectHexDigests(Collections.singletonMap(MessageDigestAlgorithms.SHA_256, "unknown"), CONTENT.length);
+
+            assertEquals(CONTENT.length, IOUtils.toByteArray(is).length);
+        }
+    }
+
+    private LayoutInputStream newInputStream(String expectedSha1)
+        throws NoSuchAlgorithmException
+    {
+        LayoutInputStream result = new LayoutInputStream(new ByteArrayInputStream(CONTENT),
+                                                         Collections.singleton(MessageDigestAlgorithms.SHA_1));
+        Map<String, String> expectedHexDigests = Collections.singletonMap(MessageDigestAlgorithms.SHA_1,
+                                                                          expectedSha1);
+        result.expectHexDigests(expectedHexDigests, CONTENT.length);
+
+        return result;
+    }
+
+    private static String sha1(byte[] content)
+        throws NoSuchAlgorithmException
+    {
+        return MessageDigestUtils.convertToHexadecimalString(MessageDigest.getInstance(MessageDigestAlgorithms.SHA_1)
+                                                                          .digest(content));
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChecksumRegenerationCheckpointTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/checkpoint-releases")
+                                                        .toAbsolutePath();
+
+    private static final Path CHECKPOINT_DIRECTORY = Paths.get("target/strongbox-vault/checksum-regeneration-test")
+                                                          .toAbsolutePath();
+
+    private static final String BASE_PATH = "org/carlspring/foo";
+
+    private RepositoryPath rootPath;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+        FileSystemUtils.deleteRecursively(CHECKPOINT_DIRECTORY);
+        Files.createDirectories(REPOSITORY_BASEDIR);
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId("storage0");
+
+        MutableRepository repository = new MutableRepository();
+        repository.setStorage(storage);
+        repository.setId("checkpoint-releases");
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new ImmutableRepository(repository),
+                                                                     FileSystems.getDefault(),
+                                                                     null)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        rootPath = repositoryFileSystem.getRootDirectory();
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+        FileSystemUtils.deleteRecursively(CHECKPOINT_DIRECTORY);
+    }
+
+    @Test
+    public void testInterruptedRegenerationIsResumed()
+        throws IOException
+    {
+        RepositoryPath completed = rootPath.resolve(BASE_PATH).resolve("1.0");
+        RepositoryPath pending = rootPath.resolve(BASE_PATH).resolve("1.1");
+
+        FileTime startedAt;
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            startedAt = checkpoint.getStartedAt();
+            checkpoint.complete(completed);
+        }
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            assertEquals(startedAt, checkpoint.getStartedAt());
+            assertTrue(checkpoint.isCompleted(completed));
+            assertFalse(checkpoint.isCompleted(pending));
+
+            checkpoint.complete(pending);
+        }
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            assertEquals(startedAt, checkpoint.getStartedAt());
+            assertTrue(checkpoint.isCompleted(completed));
+            assertTrue(checkpoint.isCompleted(pending));
+        }
+        assertEquals(3, Files.readAllLines(getCheckpointPath(), StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    public void testRegenerationWithOtherParametersStartsFresh()
+        throws IOException
+    {
+        RepositoryPath completed = rootPath.resolve(BASE_PATH).resolve("1.0");
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            checkpoint.complete(completed);
+        }
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(true))
+        {
+            assertFalse(checkpoint.isCompleted(completed));
+        }
+
+        List<String> lines = Files.readAllLines(getCheckpointPath(), StandardCharsets.UTF_8);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("|true|" + BASE_PATH), lines.get(0));
+    }
+
+    @Test
+    public void testInvalidCheckpointStartsFresh()
+        throws IOException
+    {
+        RepositoryPath completed = rootPath.resolve(BASE_PATH).resolve("1.0");
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            checkpoint.complete(completed);
+        }
+        Path checkpointPath = getCheckpointPath();
+        Files.write(checkpointPath, ("invalid|false|" + BASE_PATH + "\n" + completed.relativize() + "\n").getBytes(
+                StandardCharsets.UTF_8));
+
+        try (ChecksumRegenerationCheckpoint checkpoint = open(false))
+        {
+            assertFalse(checkpoint.isCompleted(completed));
+        }
+    }
+
+    @Test
+    public void testFinishedRegenerationRemovesCheckpoint()
+        throws IOException
+    {
+        RepositoryPath completed = rootPath.resolve(BASE_PATH).resolve("1.0");
+
+        ChecksumRegenerationCheckpoint checkpoint = open(false);
+        checkpoint.complete(completed);
+        Path checkpointPath = getCheckpointPath();
+
+        checkpoint.finish();
+
+        assertFalse(Files.exists(checkpointPath));
+        try (ChecksumRegenerationCheckpoint next = open(false))
+        {
+            assertFalse(next.isCompleted(completed));
+        }
+    }
+
+    private ChecksumRegenerationCheckpoint open(boolean forceRegeneration)
+        throws IOException
+    {
+        return ChecksumRegenerationCheckpoint.open(CHECKPOINT_DIRECTORY, rootPath, BASE_PATH, forceRegeneration);
+    }
+
+    private Path getCheckpointPath()
+        throws IOException
+    {
+        try (Stream<Path> stream = Files.list(CHECKPOINT_DIRECTORY.resolve("storage0").resolve("checkpoint-releases")))
+        {
+            List<Path> checkpoints = stream.collect(Collectors.toList());
+            assertEquals(1, checkpoints.size());
+
+            return checkpoints.get(0);
+        }
+    }
+
+}
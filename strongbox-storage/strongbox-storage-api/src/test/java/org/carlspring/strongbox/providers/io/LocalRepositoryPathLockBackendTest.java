@@ -0,0 +1,144 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalRepositoryPathLockBackendTest
+{
+
+    private final LocalRepositoryPathLockBackend lockBackend = new LocalRepositoryPathLockBackend();
+
+    @Test
+    public void testIdleLocksAreEvicted()
+    {
+        Lock readLock = lockBackend.getReadWriteLock("org.foo:bar").readLock();
+
+        readLock.lock();
+        readLock.lock();
+        lockBackend.getReadWriteLock("org.foo:bar").readLock().lock();
+        assertEquals(1, lockBackend.size());
+
+        readLock.unlock();
+        readLock.unlock();
+        assertEquals(1, lockBackend.size());
+
+        lockBackend.getReadWriteLock("org.foo:bar").readLock().unlock();
+        assertEquals(0, lockBackend.size());
+
+        assertThrows(IllegalMonitorStateException.class, readLock::unlock);
+    }
+
+    @Test
+    public void testWriteLockIsExclusive()
+        throws Exception
+    {
+        Lock writeLock = lockBackend.getReadWriteLock("org.foo:bar").writeLock();
+        writeLock.lock();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            assertFalse(executor.submit(() -> lockBackend.getReadWriteLock("org.foo:bar").readLock().tryLock())
+                                .get(10, TimeUnit.SECONDS));
+            assertTrue(executor.submit(() -> {
+                Lock lock = lockBackend.getReadWriteLock("org.foo:baz").writeLock();
+                boolean result = lock.tryLock();
+                lock.unlock();
+
+                return result;
+            }).get(10, TimeUnit.SECONDS));
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, lockBackend.size());
+
+        writeLock.unlock();
+
+        assertEquals(0, lockBackend.size());
+    }
+
+    @Test
+    public void testConcurrentWriters()
+        throws Exception
+    {
+        int concurrency = 8;
+        int iterations = 1000;
+        int[] counter = new int[1];
+        AtomicInteger holders = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        IntStream.range(0, concurrency).forEach(i -> executor.execute(() -> IntStream.range(0, iterations).forEach(j -> {
+            Lock lock = lockBackend.getReadWriteLock("org.foo:bar").writeLock();
+            lock.lock();
+            try
+            {
+                assertEquals(1, holders.incrementAndGet());
+                counter[0]++;
+                holders.decrementAndGet();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        })));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(concurrency * iterations, counter[0]);
+        assertEquals(0, lockBackend.size());
+    }
+
+    @Test
+    public void testWriteLockCondition()
+        throws Exception
+    {
+        Lock writeLock = lockBackend.getReadWriteLock("org.foo:bar").writeLock();
+        assertThrows(IllegalMonitorStateException.class, writeLock::newCondition);
+
+        writeLock.lock();
+        Condition condition = writeLock.newCondition();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<?> signal = executor.submit(() -> {
+                Lock lock = lockBackend.getReadWriteLock("org.foo:bar").writeLock();
+                lock.lock();
+                try
+                {
+                    condition.signal();
+                }
+                finally
+                {
+                    lock.unlock();
+                }
+            });
+
+            assertTrue(condition.await(10, TimeUnit.SECONDS));
+            signal.get(10, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            writeLock.unlock();
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, lockBackend.size());
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.providers.io.MeteredReadWriteLock.LockTimers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MeteredReadWriteLockTest
+{
+
+    private MeterRegistry meterRegistry;
+
+    private Timer holdTimer;
+
+    private List<MeteredReadWriteLock> idleLocks;
+
+    private MeteredReadWriteLock lock;
+
+    @BeforeEach
+    public void setUp()
+    {
+        meterRegistry = new SimpleMeterRegistry();
+        holdTimer = meterRegistry.timer("hold");
+        idleLocks = new ArrayList<>();
+
+        LockTimers timers = new LockTimers(meterRegistry.timer("wait"), holdTimer);
+        lock = new MeteredReadWriteLock("org.foo:bar", new ReentrantReadWriteLock(), timers, timers, idleLocks::add);
+    }
+
+    @Test
+    public void testHoldTimeIsRecordedOnceReleased()
+        throws Exception
+    {
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        Thread.sleep(10);
+
+        lock.writeLock().unlock();
+        assertEquals(1, holdTimer.count());
+        assertTrue(idleLocks.isEmpty());
+
+        lock.writeLock().unlock();
+        assertEquals(2, holdTimer.count());
+        assertTrue(holdTimer.totalTime(TimeUnit.MILLISECONDS) >= 10);
+
+        assertEquals(1, idleLocks.size());
+        assertSame(lock, idleLocks.get(0));
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.io.FileChannelInputStream;
+import org.carlspring.strongbox.io.RepositoryStreamReadContext;
+import org.carlspring.strongbox.io.RepositoryStreamWriteContext;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RepositoryStreamSupportTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/stream-releases")
+                                                        .toAbsolutePath();
+
+    private byte[] content;
+
+    private RepositoryPath artifactPath;
+
+    private ReentrantReadWriteLock lock;
+
+    private TestRepositoryStreamSupport repositoryStreamSupport;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+
+        content = new byte[100];
+        for (int i = 0; i < content.length; i++)
+        {
+            content[i] = (byte) i;
+        }
+        Path artifactFile = REPOSITORY_BASEDIR.resolve("org/carlspring/foo/1.0/foo-1.0.jar");
+        Files.createDirectories(artifactFile.getParent());
+        Files.write(artifactFile, content);
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId("storage0");
+
+        MutableRepository repository = new MutableRepository();
+        repository.setStorage(storage);
+        repository.setId("stream-releases");
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new ImmutableRepository(repository),
+                                                                     FileSystems.getDefault(),
+                                                                     null)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        artifactPath = new RepositoryPath(artifactFile, repositoryFileSystem);
+
+        lock = new ReentrantReadWriteLock();
+        RepositoryPathLock repositoryPathLock = Mockito.mock(RepositoryPathLock.class);
+        Mockito.when(repositoryPathLock.lock(ArgumentMatchers.any(RepositoryPath.class))).thenReturn(lock);
+
+        repositoryStreamSupport = new TestRepositoryStreamSupport();
+        ReflectionTestUtils.setField(repositoryStreamSupport, "repositoryPathLock", repositoryPathLock);
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+    }
+
+    @Test
+    public void testTransferTo()
+        throws IOException
+    {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (RepositoryInputStream is = newFileChannelInputStream())
+        {
+            assertEquals(content.length, is.size());
+            assertEquals(0, repositoryStreamSupport.reads);
+
+            assertEquals(content.length, is.transferTo(0, content.length, Channels.newChannel(target)));
+
+            assertEquals(1, repositoryStreamSupport.reads);
+            assertEquals(1, lock.getReadLockCount());
+        }
+
+        assertArrayEquals(content, target.toByteArray());
+        assertEquals(1, repositoryStreamSupport.completedReads);
+        assertEquals(0, lock.getReadLockCount());
+    }
+
+    @Test
+    public void testRangedTransferTo()
+        throws IOException
+    {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+
+        try (RepositoryInputStream is = newFileChannelInputStream())
+        {
+            assertEquals(20, is.transferTo(10, 20, Channels.newChannel(target)));
+            assertArrayEquals(Arrays.copyOfRange(content, 10, 30), target.toByteArray());
+
+            // The count is limited by the end of the file.
+            target.reset();
+            assertEquals(10, is.transferTo(90, 20, Channels.newChannel(target)));
+            assertArrayEquals(Arrays.copyOfRange(content, 90, 100), target.toByteArray());
+
+            target.reset();
+            assertEquals(0, is.transferTo(content.length, 20, Channels.newChannel(target)));
+
+            // The stream is opened once for all the transfers.
+            assertEquals(1, repositoryStreamSupport.reads);
+        }
+        assertEquals(1, repositoryStreamSupport.completedReads);
+    }
+
+    @Test
+    public void testTransferIsNotSupportedByOtherStreams()
+        throws IOException
+    {
+        try (RepositoryInputStream is = repositoryStreamSupport.new RepositoryInputStream(artifactPath,
+                                                                                          new ByteArrayInputStream(content)))
+        {
+            assertThrows(UnsupportedOperationException.class,
+                         () -> is.transferTo(0, content.length, Channels.newChannel(new ByteArrayOutputStream())));
+            assertThrows(UnsupportedOperationException.class, is::size);
+        }
+        assertEquals(0, repositoryStreamSupport.reads);
+        assertEquals(0, lock.getReadLockCount());
+    }
+
+    private RepositoryInputStream newFileChannelInputStream()
+        throws IOException
+    {
+        FileChannel channel = FileChannel.open(Paths.get(artifactPath.toString()), StandardOpenOption.READ);
+
+        return repositoryStreamSupport.new RepositoryInputStream(artifactPath, new FileChannelInputStream(channel));
+    }
+
+    private static class TestRepositoryStreamSupport
+            extends RepositoryStreamSupport
+    {
+
+        private int reads;
+
+        private int completedReads;
+
+        @Override
+        public void onBeforeRead(RepositoryStreamReadContext ctx)
+        {
+            reads++;
+        }
+
+        @Override
+        public void onAfterRead(RepositoryStreamReadContext ctx)
+        {
+            completedReads++;
+        }
+
+        @Override
+        public void onBeforeWrite(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void onAfterWrite(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commit(RepositoryStreamWriteContext ctx)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,319 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.io.LayoutInputStream;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LayoutFileSystemProviderTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault/storages/storage0/layout-releases")
+                                                        .toAbsolutePath();
+
+    private static final byte[] CONTENT = "strongbox".getBytes(StandardCharsets.UTF_8);
+
+    private MutableRepository repository;
+
+    private TestLayoutFileSystemProvider provider;
+
+    private RepositoryPath artifactPath;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+        Files.createDirectories(REPOSITORY_BASEDIR);
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId("storage0");
+
+        repository = new MutableRepository();
+        repository.setStorage(storage);
+        repository.setId("layout-releases");
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+
+        provider = new TestLayoutFileSystemProvider();
+        artifactPath = createArtifact();
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(REPOSITORY_BASEDIR);
+    }
+
+    @Test
+    public void testMissingChecksumsAreWritten()
+        throws Exception
+    {
+        provider.writeChecksum(artifactPath, false);
+
+        assertEquals(hexDigest(MessageDigestAlgorithms.MD5), readChecksum(MessageDigestAlgorithms.MD5));
+        assertEquals(hexDigest(MessageDigestAlgorithms.SHA_1), readChecksum(MessageDigestAlgorithms.SHA_1));
+    }
+
+    @Test
+    public void testExistingChecksumsAreKeptWithoutForce()
+        throws Exception
+    {
+        writeChecksum(MessageDigestAlgorithms.MD5, "stale", null);
+
+        provider.writeChecksum(artifactPath, false);
+
+        assertEquals("stale", readChecksum(MessageDigestAlgorithms.MD5));
+        assertEquals(hexDigest(MessageDigestAlgorithms.SHA_1), readChecksum(MessageDigestAlgorithms.SHA_1));
+    }
+
+    @Test
+    public void testForcedRegenerationRewritesAllChecksums()
+        throws Exception
+    {
+        writeChecksum(MessageDigestAlgorithms.MD5, "stale", null);
+        writeChecksum(MessageDigestAlgorithms.SHA_1, "stale", null);
+
+        provider.writeChecksum(artifactPath, true);
+
+        assertEquals(hexDigest(MessageDigestAlgorithms.MD5), readChecksum(MessageDigestAlgorithms.MD5));
+        assertEquals(hexDigest(MessageDigestAlgorithms.SHA_1), readChecksum(MessageDigestAlgorithms.SHA_1));
+    }
+
+    @Test
+    public void testForcedRegenerationSkipsChecksumsWrittenSinceStart()
+        throws Exception
+    {
+        FileTime startedAt = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        writeChecksum(MessageDigestAlgorithms.MD5, "stale",
+                      FileTime.fromMillis(startedAt.toMillis() - TimeUnit.MINUTES.toMillis(1)));
+        writeChecksum(MessageDigestAlgorithms.SHA_1, "regenerated",
+                      FileTime.fromMillis(startedAt.toMillis() + TimeUnit.SECONDS.toMillis(1)));
+
+        provider.writeChecksum(artifactPath, true, startedAt);
+
+        assertEquals(hexDigest(MessageDigestAlgorithms.MD5), readChecksum(MessageDigestAlgorithms.MD5));
+        assertEquals("regenerated", readChecksum(MessageDigestAlgorithms.SHA_1));
+    }
+
+    @Test
+    public void testStoredChecksumsAreServedWithoutDigests()
+        throws Exception
+    {
+        writeChecksum(MessageDigestAlgorithms.MD5, hexDigest(MessageDigestAlgorithms.MD5), null);
+        writeChecksum(MessageDigestAlgorithms.SHA_1, hexDigest(MessageDigestAlgorithms.SHA_1), null);
+
+        try (LayoutInputStream is = decorateStream())
+        {
+            assertTrue(is.getDigests().isEmpty());
+
+            IOUtils.toByteArray(is);
+
+            assertEquals(hexDigest(MessageDigestAlgorithms.MD5),
+                         is.getMessageDigestAsHexadecimalString(MessageDigestAlgorithms.MD5));
+            assertEquals(hexDigest(MessageDigestAlgorithms.SHA_1),
+                         is.getMessageDigestAsHexadecimalString(MessageDigestAlgorithms.SHA_1));
+        }
+    }
+
+    @Test
+    public void testMissingChecksumsAreCalculated()
+        throws Exception
+    {
+        writeChecksum(MessageDigestAlgorithms.MD5, hexDigest(MessageDigestAlgorithms.MD5), null);
+
+        try (LayoutInputStream is = decorateStream())
+        {
+            assertEquals(Collections.singleton(MessageDigestAlgorithms.SHA_1), is.getDigests().keySet());
+
+            IOUtils.toByteArray(is);
+
+            assertEquals(hexDigest(MessageDigestAlgorithms.MD5),
+                         is.getMessageDigestAsHexadecimalString(MessageDigestAlgorithms.MD5));
+            assertEquals(hexDigest(MessageDigestAlgorithms.SHA_1),
+                         is.getMessageDigestAsHexadecimalString(MessageDigestAlgorithms.SHA_1));
+        }
+    }
+
+    @Test
+    public void testChecksumsAreVerifiedOnRead()
+        throws Exception
+    {
+        repository.setChecksumVerifyOnRead(true);
+        artifactPath = createArtifact();
+        writeChecksum(MessageDigestAlgorithms.MD5, hexDigest(MessageDigestAlgorithms.MD5).toUpperCase(), null);
+
+        try (LayoutInputStream is = decorateStream())
+        {
+            assertEquals(2, is.getDigests().size());
+
+            assertEquals(CONTENT.length, IOUtils.toByteArray(is).length);
+        }
+    }
+
+    @Test
+    public void testChecksumMismatchFailsWithVerifyOnRead()
+        throws Exception
+    {
+        repository.setChecksumVerifyOnRead(true);
+        artifactPath = createArtifact();
+        writeChecksum(MessageDigestAlgorithms.MD5, hexDigest(MessageDigestAlgorithms.MD5), null);
+        writeChecksum(MessageDigestAlgorithms.SHA_1, "0000000000000000000000000000000000000000", null);
+
+        try (LayoutInputStream is = decorateStream())
+        {
+            IOException e = assertThrows(IOException.class, () -> IOUtils.toByteArray(is));
+            assertTrue(e.getMessage().contains(MessageDigestAlgorithms.SHA_1), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPartialReadsAreNotVerified()
+        throws Exception
+    {
+        repository.setChecksumVerifyOnRead(true);
+        artifactPath = createArtifact();
+        writeChecksum(MessageDigestAlgorithms.SHA_1, "0000000000000000000000000000000000000000", null);
+
+        try (LayoutInputStream is = decorateStream())
+        {
+            assertEquals(3, is.read(new byte[3]));
+        }
+
+        // The ranged reads skip the beginning of the artifact.
+        try (LayoutInputStream is = decorateStream())
+        {
+            assertEquals(3, is.skip(3));
+            assertEquals(CONTENT.length - 3, IOUtils.toByteArray(is).length);
+        }
+    }
+
+    private RepositoryPath createArtifact()
+        throws IOException
+    {
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new ImmutableRepository(repository),
+                                                                     FileSystems.getDefault(),
+                                                                     provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                return new LinkedHashSet<>(Arrays.asList(MessageDigestAlgorithms.MD5,
+                                                         MessageDigestAlgorithms.SHA_1));
+            }
+        };
+
+        RepositoryPath result = repositoryFileSystem.getRootDirectory().resolve("org/carlspring/foo/1.0/foo-1.0.jar");
+        Path target = REPOSITORY_BASEDIR.resolve("org/carlspring/foo/1.0/foo-1.0.jar");
+        Files.createDirectories(target.getParent());
+        Files.write(target, CONTENT);
+
+        return result;
+    }
+
+    private LayoutInputStream decorateStream()
+        throws IOException, NoSuchAlgorithmException
+    {
+        return provider.decorateStream(artifactPath,
+                                       Files.newInputStream(Paths.get(artifactPath.toString())));
+    }
+
+    private void writeChecksum(String algorithm,
+                               String checksum,
+                               FileTime lastModified)
+        throws IOException
+    {
+        Path checksumPath = Paths.get(provider.getChecksumPath(artifactPath, algorithm).toString());
+        Files.write(checksumPath, checksum.getBytes(StandardCharsets.UTF_8));
+        if (lastModified != null)
+        {
+            Files.setLastModifiedTime(checksumPath, lastModified);
+        }
+    }
+
+    private String readChecksum(String algorithm)
+        throws IOException
+    {
+        Path checksumPath = Paths.get(provider.getChecksumPath(artifactPath, algorithm).toString());
+
+        return new String(Files.readAllBytes(checksumPath), StandardCharsets.UTF_8).trim();
+    }
+
+    private static String hexDigest(String algorithm)
+        throws NoSuchAlgorithmException
+    {
+        return MessageDigestUtils.convertToHexadecimalString(MessageDigest.getInstance(algorithm).digest(CONTENT));
+    }
+
+    /**
+     * Delegates to the default file system and recognizes the checksum files by their extension, without a layout
+     * provider.
+     */
+    static class TestLayoutFileSystemProvider
+            extends LayoutFileSystemProvider
+    {
+
+        TestLayoutFileSystemProvider()
+        {
+            super(FileSystems.getDefault().provider());
+        }
+
+        @Override
+        protected AbstractLayoutProvider getLayoutProvider()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryPath,
+                                                                                       RepositoryFileAttributeType... attributeTypes)
+        {
+            Map<RepositoryFileAttributeType, Object> result = new EnumMap<>(RepositoryFileAttributeType.class);
+            for (RepositoryFileAttributeType attributeType : attributeTypes)
+            {
+                if (attributeType == RepositoryFileAttributeType.CHECKSUM)
+                {
+                    String fileName = repositoryPath.getFileName().toString();
+                    result.put(attributeType, fileName.endsWith(".md5") || fileName.endsWith(".sha1"));
+                }
+            }
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,202 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.services.ArtifactEntryService;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.javatuples.Pair;
+import org.javatuples.Triplet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactDownloadStatisticsWriterTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private ArtifactDownloadStatisticsWriter writer;
+
+    private ArtifactEntryService artifactEntryService;
+
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup()
+    {
+        artifactEntryService = Mockito.mock(ArtifactEntryService.class);
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
+
+        writer = new ArtifactDownloadStatisticsWriter();
+        ReflectionTestUtils.setField(writer, "artifactEntryService", artifactEntryService);
+        ReflectionTestUtils.setField(writer, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(writer, "flushIntervalMillis", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "maxMisses", 2);
+
+        Mockito.when(artifactEntryService.updateDownloadStatistics(ArgumentMatchers.any()))
+               .thenAnswer(invocation -> new HashSet<>(invocation.<Map<?, ?>>getArgument(0).keySet()));
+
+        writer.init();
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws InterruptedException
+    {
+        writer.destroy();
+    }
+
+    @Test
+    public void testConcurrentDownloadsAreCoalesced()
+        throws Exception
+    {
+        int concurrency = 8;
+        int downloads = 1000;
+        String[] paths = new String[] { "org/foo/a/1.0/a-1.0.jar",
+                                        "org/foo/b/1.0/b-1.0.jar",
+                                        "org/foo/c/1.0/c-1.0.jar" };
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        IntStream.range(0, concurrency)
+                 .forEach(i -> executor.execute(() -> IntStream.range(0, downloads)
+                                                               .forEach(j -> writer.recordDownload(STORAGE_ID,
+                                                                                                   REPOSITORY_ID,
+                                                                                                   paths[j % paths.length]))));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(concurrency * downloads, writer.getPendingDownloads());
+
+        writer.flush();
+
+        assertEquals(0, writer.getPendingDownloads());
+
+        // Three artifacts are written with two batches.
+        Map<String, Integer> downloadCounts = captureDownloadCounts(2);
+        assertEquals(3, downloadCounts.size());
+        assertEquals(Integer.valueOf(2672), downloadCounts.get(paths[0]));
+        assertEquals(Integer.valueOf(2664), downloadCounts.get(paths[1]));
+        assertEquals(Integer.valueOf(2664), downloadCounts.get(paths[2]));
+
+        Mockito.verify(transactionManager, Mockito.times(2)).commit(ArgumentMatchers.any());
+
+        // Nothing left to write.
+        writer.flush();
+        Mockito.verifyNoMoreInteractions(artifactEntryService);
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenWithNextFlush()
+    {
+        String path = "org/foo/a/1.0/a-1.0.jar";
+
+        Mockito.when(artifactEntryService.updateDownloadStatistics(ArgumentMatchers.any()))
+               .thenThrow(new IllegalStateException("Database is not available"))
+               .thenAnswer(invocation -> new HashSet<>(invocation.<Map<?, ?>>getArgument(0).keySet()));
+
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+
+        writer.flush();
+
+        assertEquals(2, writer.getPendingDownloads());
+
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+        writer.flush();
+
+        assertEquals(0, writer.getPendingDownloads());
+
+        List<Map<Triplet<String, String, String>, Pair<Integer, Date>>> statistics = captureDownloadStatistics(2);
+        assertEquals(Integer.valueOf(3), statistics.get(1).get(Triplet.with(STORAGE_ID, REPOSITORY_ID, path)).getValue0());
+    }
+
+    @Test
+    public void testMissingArtifactIsWrittenWithNextFlush()
+    {
+        String path = "org/foo/a/1.0/a-1.0.jar";
+
+        Mockito.when(artifactEntryService.updateDownloadStatistics(ArgumentMatchers.any()))
+               .thenReturn(Collections.emptySet())
+               .thenAnswer(invocation -> new HashSet<>(invocation.<Map<?, ?>>getArgument(0).keySet()));
+
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+
+        // The artifact entry is not committed yet.
+        writer.flush();
+
+        assertEquals(1, writer.getPendingDownloads());
+
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+        writer.flush();
+
+        assertEquals(0, writer.getPendingDownloads());
+
+        List<Map<Triplet<String, String, String>, Pair<Integer, Date>>> statistics = captureDownloadStatistics(2);
+        assertEquals(Integer.valueOf(2), statistics.get(1).get(Triplet.with(STORAGE_ID, REPOSITORY_ID, path)).getValue0());
+    }
+
+    @Test
+    public void testMissingArtifactIsDiscardedAfterMaxMisses()
+    {
+        String path = "org/foo/a/1.0/a-1.0.jar";
+
+        Mockito.when(artifactEntryService.updateDownloadStatistics(ArgumentMatchers.any()))
+               .thenReturn(Collections.emptySet());
+
+        writer.recordDownload(STORAGE_ID, REPOSITORY_ID, path);
+
+        writer.flush();
+        assertEquals(1, writer.getPendingDownloads());
+
+        writer.flush();
+        assertEquals(0, writer.getPendingDownloads());
+
+        writer.flush();
+        captureDownloadStatistics(2);
+    }
+
+    private List<Map<Triplet<String, String, String>, Pair<Integer, Date>>> captureDownloadStatistics(int times)
+    {
+        ArgumentCaptor<Map<Triplet<String, String, String>, Pair<Integer, Date>>> downloadStatistics = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(artifactEntryService, Mockito.times(times))
+               .updateDownloadStatistics(downloadStatistics.capture());
+
+        return downloadStatistics.getAllValues();
+    }
+
+    private Map<String, Integer> captureDownloadCounts(int times)
+    {
+        Map<String, Integer> result = new HashMap<>();
+        for (Map<Triplet<String, String, String>, Pair<Integer, Date>> batch : captureDownloadStatistics(times))
+        {
+            batch.forEach((key, statistics) -> {
+                assertEquals(STORAGE_ID, key.getValue0());
+                assertEquals(REPOSITORY_ID, key.getValue1());
+
+                result.merge(key.getValue2(), statistics.getValue0(), Integer::sum);
+            });
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NegativeLookupCacheTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "group";
+
+    private static final String ARTIFACT_PATH = "org/foo/bar/1.0/bar-1.0.jar";
+
+    private static final String METADATA_PATH = "org/foo/bar/maven-metadata.xml";
+
+    @Test
+    public void testMissingPathIsCached()
+    {
+        NegativeLookupCache cache = new NegativeLookupCache("test-cached", 100, 60000);
+
+        assertFalse(cache.isMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+
+        cache.putMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+
+        assertTrue(cache.isMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertFalse(cache.isMissing(STORAGE_ID, "other", ARTIFACT_PATH));
+        assertEquals(1.0 / 3, cache.getHitRatio(), 0.01);
+    }
+
+    @Test
+    public void testEntriesExpire()
+        throws InterruptedException
+    {
+        NegativeLookupCache cache = new NegativeLookupCache("test-expire", 100, 10);
+
+        cache.putMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        Thread.sleep(50);
+
+        assertFalse(cache.isMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testAncestorDirectoriesAreInvalidated()
+    {
+        NegativeLookupCache cache = new NegativeLookupCache("test-invalidate", 100, 60000);
+
+        cache.putMissing(STORAGE_ID, REPOSITORY_ID, METADATA_PATH, cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        cache.putMissing(STORAGE_ID, REPOSITORY_ID, "org/baz/qux/1.0/qux-1.0.jar", cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        cache.putMissing(STORAGE_ID, "other", METADATA_PATH, cache.getStamp(STORAGE_ID, "other"));
+
+        // Storing the artifact creates metadata in the parent directories.
+        cache.invalidate(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH);
+
+        assertFalse(cache.isMissing(STORAGE_ID, REPOSITORY_ID, METADATA_PATH));
+        assertTrue(cache.isMissing(STORAGE_ID, REPOSITORY_ID, "org/baz/qux/1.0/qux-1.0.jar"));
+        assertTrue(cache.isMissing(STORAGE_ID, "other", METADATA_PATH));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLookupStartedBeforeInvalidationIsNotCached()
+    {
+        NegativeLookupCache cache = new NegativeLookupCache("test-stamp", 100, 60000);
+
+        long stamp = cache.getStamp(STORAGE_ID, REPOSITORY_ID);
+        long otherStamp = cache.getStamp(STORAGE_ID, "other");
+        cache.invalidate(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH);
+        cache.putMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, stamp);
+        cache.putMissing(STORAGE_ID, "other", ARTIFACT_PATH, otherStamp);
+
+        assertFalse(cache.isMissing(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        // The lookups of the other repositories are not affected.
+        assertTrue(cache.isMissing(STORAGE_ID, "other", ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testCacheIsBounded()
+    {
+        NegativeLookupCache cache = new NegativeLookupCache("test-bounded", 100, 60000);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            cache.putMissing(STORAGE_ID, REPOSITORY_ID, String.format("org/foo/bar%s/1.0/bar-1.0.jar", i), cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        }
+
+        assertTrue(cache.size() <= 100);
+        // The oldest entries are evicted first.
+        assertFalse(cache.isMissing(STORAGE_ID, REPOSITORY_ID, "org/foo/bar0/1.0/bar-1.0.jar"));
+        assertTrue(cache.isMissing(STORAGE_ID, REPOSITORY_ID, "org/foo/bar999/1.0/bar-1.0.jar"));
+    }
+
+}
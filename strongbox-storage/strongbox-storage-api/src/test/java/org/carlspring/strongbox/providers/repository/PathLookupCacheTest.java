@@ -0,0 +1,76 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PathLookupCacheTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "group";
+
+    private static final String ARTIFACT_PATH = "org/foo/bar/1.0/bar-1.0.jar";
+
+    @Test
+    public void testResolvedValueIsCached()
+    {
+        PathLookupCache<String> cache = new PathLookupCache<>("test.path.lookup.cache", "resolved", 100, 60000);
+
+        long stamp = cache.getStamp(STORAGE_ID, REPOSITORY_ID);
+        cache.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, "releases", stamp);
+
+        assertEquals("releases", cache.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertNull(cache.get(STORAGE_ID, "other", ARTIFACT_PATH));
+
+        cache.remove(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH);
+
+        assertNull(cache.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateAll()
+    {
+        PathLookupCache<String> cache = new PathLookupCache<>("test.path.lookup.cache", "invalidate", 100, 60000);
+
+        cache.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, "releases", cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        cache.put(STORAGE_ID, REPOSITORY_ID, "org/baz/qux/1.0/qux-1.0.jar", "snapshots", cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+
+        cache.invalidateAll();
+
+        assertNull(cache.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertNull(cache.get(STORAGE_ID, REPOSITORY_ID, "org/baz/qux/1.0/qux-1.0.jar"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateAllRejectsLookupsStartedBefore()
+    {
+        PathLookupCache<String> cache = new PathLookupCache<>("test.path.lookup.cache", "generation", 100, 60000);
+
+        // The repository has no entries at the moment of the invalidation.
+        long stamp = cache.getStamp(STORAGE_ID, REPOSITORY_ID);
+        cache.invalidateAll();
+        cache.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, "releases", stamp);
+
+        assertNull(cache.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testInvalidateRepository()
+    {
+        PathLookupCache<String> cache = new PathLookupCache<>("test.path.lookup.cache", "repository", 100, 60000);
+
+        cache.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, "releases", cache.getStamp(STORAGE_ID, REPOSITORY_ID));
+        cache.put(STORAGE_ID, "other", ARTIFACT_PATH, "releases", cache.getStamp(STORAGE_ID, "other"));
+
+        cache.invalidate(STORAGE_ID, REPOSITORY_ID);
+
+        assertNull(cache.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertEquals("releases", cache.get(STORAGE_ID, "other", ARTIFACT_PATH));
+        assertEquals(1, cache.size());
+    }
+
+}
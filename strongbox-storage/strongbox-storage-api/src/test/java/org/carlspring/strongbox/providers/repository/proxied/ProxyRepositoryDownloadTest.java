@@ -0,0 +1,216 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.util.MessageDigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProxyRepositoryDownloadTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get(new File("target/strongbox-vault/storages/storage0/proxy").getAbsolutePath());
+
+    private RepositoryPath repositoryPath;
+
+    private Path tempFile;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setup()
+        throws IOException
+    {
+        MutableRepository repository = new MutableRepository();
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+
+        LayoutFileSystem repositoryFileSystem = new LayoutFileSystem(new PropertiesBooter(),
+                                                                     new ImmutableRepository(repository),
+                                                                     FileSystems.getDefault(),
+                                                                     null)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                return new HashSet<>(Arrays.asList("MD5", "SHA-1"));
+            }
+        };
+
+        repositoryPath = repositoryFileSystem.getRootDirectory().resolve("org/foo/bar/1.0/bar-1.0.jar");
+
+        Files.createDirectories(REPOSITORY_BASEDIR);
+        tempFile = Files.createTempFile(REPOSITORY_BASEDIR, "bar-1.0.jar", ".part");
+
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        executor.shutdownNow();
+        Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    public void testReadersFollowInFlightDownload()
+        throws Exception
+    {
+        byte[] content = new byte[1024 * 1024];
+        new Random().nextBytes(content);
+
+        ProxyRepositoryDownload download = new ProxyRepositoryDownload(repositoryPath, tempFile);
+
+        Future<byte[]> reader1 = executor.submit(() -> readFully(download));
+        Future<byte[]> reader2 = executor.submit(() -> readFully(download));
+
+        download.start(content.length);
+        download.transfer(new SlowInputStream(content));
+
+        // Readers should not get EOF until the download completed.
+        assertTrue(!reader1.isDone() && !reader2.isDone());
+
+        download.complete();
+
+        assertArrayEquals(content, reader1.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(content, reader2.get(10, TimeUnit.SECONDS));
+        assertArrayEquals(content, readFully(download));
+
+        assertEquals(content.length, download.getContentLength());
+        assertEquals(MessageDigestUtils.convertToHexadecimalString(MessageDigest.getInstance("SHA-1").digest(content)),
+                     download.getHexDigests().get("SHA-1"));
+    }
+
+    @Test
+    public void testReadersFailWhenDownloadFails()
+        throws Exception
+    {
+        ProxyRepositoryDownload download = new ProxyRepositoryDownload(repositoryPath, tempFile);
+        download.start(-1);
+
+        Future<byte[]> reader = executor.submit(() -> readFully(download));
+
+        download.fail(new IOException("Connection reset"));
+
+        Exception e = assertThrows(Exception.class, () -> reader.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+        assertThrows(IOException.class, download::awaitStarted);
+    }
+
+    @Test
+    public void testTempFileIsDeletedByLastReader()
+        throws Exception
+    {
+        byte[] content = new byte[8192];
+        new Random().nextBytes(content);
+
+        ProxyRepositoryDownload download = new ProxyRepositoryDownload(repositoryPath, tempFile);
+        download.start(content.length);
+        download.transfer(new SlowInputStream(content));
+        download.complete();
+
+        // The reader got the download right before the manager released it.
+        InputStream reader = download.newInputStream();
+        download.finish();
+
+        assertTrue(Files.exists(tempFile));
+        assertNull(download.newInputStream());
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        IOUtils.copy(reader, result);
+        reader.close();
+
+        assertArrayEquals(content, result.toByteArray());
+        assertFalse(Files.exists(tempFile));
+    }
+
+    private byte[] readFully(ProxyRepositoryDownload download)
+        throws IOException
+    {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream is = download.newInputStream())
+        {
+            IOUtils.copy(is, result);
+        }
+
+        return result.toByteArray();
+    }
+
+    private static class SlowInputStream extends InputStream
+    {
+
+        private final byte[] content;
+
+        private int position;
+
+        private SlowInputStream(byte[] content)
+        {
+            this.content = content;
+        }
+
+        @Override
+        public int read()
+        {
+            return position < content.length ? content[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b,
+                        int off,
+                        int len)
+            throws IOException
+        {
+            if (position >= content.length)
+            {
+                return -1;
+            }
+
+            try
+            {
+                Thread.sleep(1);
+            }
+            catch (InterruptedException e)
+            {
+                throw new IOException(e);
+            }
+
+            int n = Math.min(Math.min(len, 8192), content.length - position);
+            System.arraycopy(content, position, b, off, n);
+            position += n;
+
+            return n;
+        }
+
+    }
+
+}
@@ -6,15 +6,23 @@ import org.carlspring.strongbox.artifact.coordinates.NullArtifactCoordinates;
 import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.RepositoryArtifactIdGroupService;
+import org.carlspring.strongbox.services.support.ArtifactEntrySearchIndex;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.lang3.time.DateUtils;
 import org.hamcrest.CoreMatchers;
+import org.javatuples.Pair;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -55,6 +63,12 @@ public class ArtifactEntryServiceTest
     @Inject
     ArtifactEntryService artifactEntryService;
 
+    @Inject
+    RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    ArtifactEntrySearchIndex artifactEntrySearchIndex;
+
 
     @Test
     public void saveEntityShouldWork()
@@ -297,6 +311,74 @@ public class ArtifactEntryServiceTest
         artifactEntryService.deleteAll();
     }
 
+    @Test
+    public void findExistingPathsShouldWork()
+    {
+        artifactEntryService.deleteAll();
+        createArtifacts(groupId, artifactId, storageId, repositoryId);
+
+        String existingPath = String.format("%s/%s/%s/%s", groupId, artifactId + "123", "1.2.3", "jar");
+        String missingPath = String.format("%s/%s/%s/%s", groupId, artifactId + "123", "1.2.4", "jar");
+
+        Set<String> existingPaths = artifactEntryService.findExistingPaths(storageId,
+                                                                           repositoryId,
+                                                                           Arrays.asList(existingPath, missingPath));
+        assertEquals(Collections.singleton(existingPath), existingPaths);
+
+        // The same coordinates in the other repository don't count.
+        assertTrue(artifactEntryService.findExistingPaths(storageId,
+                                                          repositoryId + "abc",
+                                                          Arrays.asList(existingPath, missingPath))
+                                       .isEmpty());
+
+        artifactEntryService.deleteAll();
+    }
+
+    /**
+     * The feed imports (npm and NuGet) add the artifact entries to their groups in batches, the entries are saved by
+     * the group service then, and they should still be found by the substring search once the search index is loaded.
+     */
+    @Test
+    public void searchByCoordinateShouldFindImportedArtifacts()
+            throws Exception
+    {
+        artifactEntryService.deleteAll();
+        createArtifacts(groupId, artifactId, storageId, repositoryId);
+
+        // The search index is loaded in the background, after the first search.
+        Map<String, String> coordinates = Collections.singletonMap("path", "%" + artifactId + "%");
+        for (int i = 0; i < 100 && !artifactEntrySearchIndex.findArtifactEntryIds(toList(storageId, repositoryId),
+                                                                                  coordinates)
+                                                            .isPresent(); i++)
+        {
+            Thread.sleep(100L);
+        }
+        assertTrue(artifactEntrySearchIndex.findArtifactEntryIds(toList(storageId, repositoryId), coordinates)
+                                           .isPresent());
+
+        String importedArtifactId = artifactId + "-imported";
+        List<ArtifactEntry> importedEntries = Arrays.asList(
+                newArtifactEntry(String.format("%s/%s/%s/%s", groupId, importedArtifactId, "1.0", "jar"),
+                                 storageId,
+                                 repositoryId),
+                newArtifactEntry(String.format("%s/%s/%s/%s", groupId, importedArtifactId, "1.1", "jar"),
+                                 storageId,
+                                 repositoryId));
+        RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                        repositoryId,
+                                                                                                        importedArtifactId);
+        repositoryArtifactIdGroupService.addArtifactsToGroup(artifactGroup, importedEntries);
+
+        List<ArtifactEntry> artifactEntries = artifactEntryService.findArtifactList(storageId,
+                                                                                    repositoryId,
+                                                                                    Collections.singletonMap("path",
+                                                                                                             "imported"),
+                                                                                    false);
+        assertEquals(2, artifactEntries.size());
+
+        artifactEntryService.deleteAll();
+    }
+
     public void displayAllEntries()
     {
         List<ArtifactEntry> result = artifactEntryService.findAll()
@@ -336,6 +418,24 @@ public class ArtifactEntryServiceTest
         return save(artifactEntry);
     }
 
+    private ArtifactEntry newArtifactEntry(String path,
+                                           String storageId,
+                                           String repositoryId)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setArtifactCoordinates(new NullArtifactCoordinates(path));
+        artifactEntry.setStorageId(storageId);
+        artifactEntry.setRepositoryId(repositoryId);
+
+        return artifactEntry;
+    }
+
+    private static List<Pair<String, String>> toList(String storageId,
+                                                     String repositoryId)
+    {
+        return Collections.singletonList(Pair.with(storageId, repositoryId));
+    }
+
     public ArtifactCoordinates createMavenArtifactCoordinates()
     {
 
@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArtifactEntryCacheManagerTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String ARTIFACT_PATH = "org/foo/bar/1.0/bar-1.0.jar";
+
+    private ArtifactEntryCacheManager artifactEntryCacheManager;
+
+    @BeforeEach
+    public void setUp()
+    {
+        artifactEntryCacheManager = new ArtifactEntryCacheManager(
+                new ConcurrentMapCacheManager(CacheName.Artifact.ARTIFACT_ENTRIES));
+    }
+
+    @Test
+    public void testArtifactEntryIsCached()
+    {
+        ArtifactEntry artifactEntry = newArtifactEntry();
+
+        artifactEntryCacheManager.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, artifactEntry,
+                                      artifactEntryCacheManager.getStamp());
+
+        assertSame(artifactEntry, artifactEntryCacheManager.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+        assertNull(artifactEntryCacheManager.get(STORAGE_ID, "snapshots", ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testEvictionChangesStamp()
+    {
+        artifactEntryCacheManager.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, newArtifactEntry(),
+                                      artifactEntryCacheManager.getStamp());
+
+        long stamp = artifactEntryCacheManager.getStamp();
+        artifactEntryCacheManager.evict(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH);
+
+        assertNotEquals(stamp, artifactEntryCacheManager.getStamp());
+        assertNull(artifactEntryCacheManager.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testLookupStartedBeforeEvictionIsNotCached()
+    {
+        long stamp = artifactEntryCacheManager.getStamp();
+        artifactEntryCacheManager.evict(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH);
+
+        artifactEntryCacheManager.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, newArtifactEntry(), stamp);
+
+        assertNull(artifactEntryCacheManager.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+    }
+
+    @Test
+    public void testEvictArtifactEntryWithoutCoordinates()
+    {
+        artifactEntryCacheManager.put(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH, newArtifactEntry(),
+                                      artifactEntryCacheManager.getStamp());
+
+        artifactEntryCacheManager.evict(newArtifactEntry());
+
+        assertNull(artifactEntryCacheManager.get(STORAGE_ID, REPOSITORY_ID, ARTIFACT_PATH));
+    }
+
+    private ArtifactEntry newArtifactEntry()
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId(STORAGE_ID);
+        artifactEntry.setRepositoryId(REPOSITORY_ID);
+
+        return artifactEntry;
+    }
+
+}
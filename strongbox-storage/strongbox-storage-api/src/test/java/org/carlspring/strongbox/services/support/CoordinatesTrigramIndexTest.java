@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.services.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CoordinatesTrigramIndexTest
+{
+
+    private CoordinatesTrigramIndex index;
+
+    @BeforeEach
+    public void setUp()
+    {
+        index = new CoordinatesTrigramIndex();
+
+        index.put("1", coordinates("org.carlspring.strongbox", "strongbox-commons", "1.0"));
+        index.put("2", coordinates("org.carlspring.strongbox", "strongbox-storage-api", "1.0"));
+        index.put("3", coordinates("org.apache.commons", "Commons-IO", "2.6"));
+    }
+
+    @Test
+    public void testSubstring()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("1", "3")), index.find("artifactId", "commons", false));
+        assertEquals(Collections.singleton("2"), index.find("artifactId", "storage-api", false));
+        assertTrue(index.find("artifactId", "commons-lang", false).isEmpty());
+        assertTrue(index.find("classifier", "commons", false).isEmpty());
+    }
+
+    @Test
+    public void testPrefix()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("1", "2")), index.find("artifactId", "strongbox", true));
+        assertEquals(Collections.singleton("3"), index.find("artifactId", "co", true));
+        assertTrue(index.find("artifactId", "commons", true).contains("3"));
+        assertTrue(index.find("artifactId", "box", true).isEmpty());
+    }
+
+    @Test
+    public void testCaseInsensitive()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("1", "3")), index.find("artifactId", "COMMONS", false));
+    }
+
+    @Test
+    public void testShortTerms()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("1", "2")), index.find("version", "1", false));
+        assertEquals(Collections.singleton("3"), index.find("artifactId", "io", false));
+    }
+
+    @Test
+    public void testUpdateAndRemove()
+    {
+        index.put("3", coordinates("org.apache.commons", "commons-lang3", "3.8"));
+
+        assertTrue(index.find("artifactId", "commons-io", false).isEmpty());
+        assertEquals(Collections.singleton("3"), index.find("artifactId", "lang3", false));
+
+        index.remove("1");
+
+        assertEquals(Collections.singleton("3"), index.find("artifactId", "commons", false));
+        assertEquals(2, index.size());
+    }
+
+    private Map<String, String> coordinates(String groupId,
+                                            String artifactId,
+                                            String version)
+    {
+        Map<String, String> coordinates = new LinkedHashMap<>();
+        coordinates.put("groupId", groupId);
+        coordinates.put("artifactId", artifactId);
+        coordinates.put("version", version);
+        coordinates.put("classifier", null);
+
+        return coordinates;
+    }
+
+}
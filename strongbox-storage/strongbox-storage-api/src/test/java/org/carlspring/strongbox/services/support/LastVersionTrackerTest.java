@@ -0,0 +1,174 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.artifact.ArtifactTag;
+import org.carlspring.strongbox.artifact.coordinates.MockedMavenArtifactCoordinates;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LastVersionTrackerTest
+{
+
+    private ArtifactTag lastVersionTag;
+
+    private RepositoryArtifactIdGroupEntry artifactGroup;
+
+    @BeforeEach
+    public void setUp()
+    {
+        ArtifactTagEntry artifactTagEntry = new ArtifactTagEntry();
+        artifactTagEntry.setName(ArtifactTag.LAST_VERSION);
+
+        lastVersionTag = artifactTagEntry;
+        artifactGroup = new RepositoryArtifactIdGroupEntry("storage0", "releases", "bar");
+    }
+
+    @Test
+    public void testFirstVersion()
+    {
+        ArtifactEntry v1 = newArtifactEntry("1.0", "jar");
+
+        LastVersionTracker lastVersionTracker = addArtifactsToGroup(v1);
+
+        assertTrue(v1.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v1)), artifactGroup.getLastVersionEntries());
+        assertTrue(lastVersionTracker.getUntaggedEntries().isEmpty());
+    }
+
+    @Test
+    public void testNewerVersion()
+    {
+        ArtifactEntry v1 = newArtifactEntry("1.0", "jar");
+        addArtifactsToGroup(v1);
+        ArtifactEntry v2 = newArtifactEntry("1.1", "jar");
+
+        LastVersionTracker lastVersionTracker = addArtifactsToGroup(v2);
+
+        assertEquals(new HashSet<>(Arrays.asList(v1)), lastVersionTracker.getUntaggedEntries());
+        assertFalse(v1.getTagSet().contains(lastVersionTag));
+        assertTrue(v2.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v2)), artifactGroup.getLastVersionEntries());
+    }
+
+    @Test
+    public void testNewerVersionWithSeveralFiles()
+    {
+        ArtifactEntry v1Jar = newArtifactEntry("1.0", "jar");
+        ArtifactEntry v1Pom = newArtifactEntry("1.0", "pom");
+        ArtifactEntry v1Sources = newArtifactEntry("1.0", "sources.jar");
+        addArtifactsToGroup(v1Pom);
+        addArtifactsToGroup(v1Jar, v1Sources);
+
+        assertEquals(new HashSet<>(Arrays.asList(v1Jar, v1Pom, v1Sources)), artifactGroup.getLastVersionEntries());
+
+        ArtifactEntry v2Pom = newArtifactEntry("1.1", "pom");
+        ArtifactEntry v2Jar = newArtifactEntry("1.1", "jar");
+
+        LastVersionTracker lastVersionTracker = addArtifactsToGroup(v2Pom);
+
+        assertEquals(new HashSet<>(Arrays.asList(v1Jar, v1Pom, v1Sources)), lastVersionTracker.getUntaggedEntries());
+        for (ArtifactEntry artifactEntry : Arrays.asList(v1Jar, v1Pom, v1Sources))
+        {
+            assertFalse(artifactEntry.getTagSet().contains(lastVersionTag));
+        }
+
+        lastVersionTracker = addArtifactsToGroup(v2Jar);
+
+        assertTrue(lastVersionTracker.getUntaggedEntries().isEmpty());
+        assertTrue(v2Pom.getTagSet().contains(lastVersionTag));
+        assertTrue(v2Jar.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v2Pom, v2Jar)), artifactGroup.getLastVersionEntries());
+    }
+
+    @Test
+    public void testOlderVersion()
+    {
+        ArtifactEntry v2 = newArtifactEntry("2.0", "jar");
+        addArtifactsToGroup(v2);
+        ArtifactEntry v1 = newArtifactEntry("1.0", "jar");
+        v1.getTagSet().add(lastVersionTag);
+
+        LastVersionTracker lastVersionTracker = addArtifactsToGroup(v1);
+
+        assertTrue(lastVersionTracker.getUntaggedEntries().isEmpty());
+        assertFalse(v1.getTagSet().contains(lastVersionTag));
+        assertTrue(v2.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v2)), artifactGroup.getLastVersionEntries());
+    }
+
+    @Test
+    public void testSeveralVersionsWithinBatch()
+    {
+        ArtifactEntry v1 = newArtifactEntry("1.0", "jar");
+        ArtifactEntry v3 = newArtifactEntry("3.0", "jar");
+        ArtifactEntry v2 = newArtifactEntry("2.0", "jar");
+
+        addArtifactsToGroup(v1, v3, v2);
+
+        assertFalse(v1.getTagSet().contains(lastVersionTag));
+        assertFalse(v2.getTagSet().contains(lastVersionTag));
+        assertTrue(v3.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v3)), artifactGroup.getLastVersionEntries());
+    }
+
+    @Test
+    public void testGroupWithoutLastVersionEntries()
+    {
+        ArtifactEntry v1 = newArtifactEntry("1.0", "jar");
+        v1.getTagSet().add(lastVersionTag);
+        ArtifactEntry v3Jar = newArtifactEntry("3.0", "jar");
+        v3Jar.getTagSet().add(lastVersionTag);
+        ArtifactEntry v3Pom = newArtifactEntry("3.0", "pom");
+        v3Pom.getTagSet().add(lastVersionTag);
+        artifactGroup.putArtifactEntry(v1);
+        artifactGroup.putArtifactEntry(v3Jar);
+        artifactGroup.putArtifactEntry(v3Pom);
+
+        ArtifactEntry v2 = newArtifactEntry("2.0", "jar");
+
+        LastVersionTracker lastVersionTracker = addArtifactsToGroup(v2);
+
+        assertEquals(new HashSet<>(Arrays.asList(v1)), lastVersionTracker.getUntaggedEntries());
+        assertFalse(v1.getTagSet().contains(lastVersionTag));
+        assertFalse(v2.getTagSet().contains(lastVersionTag));
+        assertEquals(new HashSet<>(Arrays.asList(v3Jar, v3Pom)), artifactGroup.getLastVersionEntries());
+    }
+
+    /**
+     * Does what the {@code RepositoryArtifactIdGroupService} does, without the database.
+     */
+    private LastVersionTracker addArtifactsToGroup(ArtifactEntry... artifactEntries)
+    {
+        LastVersionTracker lastVersionTracker = new LastVersionTracker(lastVersionTag, artifactGroup);
+        for (ArtifactEntry artifactEntry : artifactEntries)
+        {
+            lastVersionTracker.update(artifactEntry);
+            artifactGroup.putArtifactEntry(artifactEntry);
+        }
+        artifactGroup.setLastVersionEntries(new HashSet<>(lastVersionTracker.getLastVersionEntries()));
+
+        return lastVersionTracker;
+    }
+
+    private ArtifactEntry newArtifactEntry(String version,
+                                           String extension)
+    {
+        ArtifactEntry artifactEntry = new ArtifactEntry();
+        artifactEntry.setStorageId("storage0");
+        artifactEntry.setRepositoryId("releases");
+        artifactEntry.setArtifactCoordinates(new MockedMavenArtifactCoordinates("org.foo", "bar", version, null,
+                                                                                extension));
+
+        return artifactEntry;
+    }
+
+}
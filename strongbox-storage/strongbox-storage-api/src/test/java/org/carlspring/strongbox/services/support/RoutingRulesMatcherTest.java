@@ -0,0 +1,135 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoutingRulesMatcherTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String GROUP_ID = "group-releases";
+
+    private static final String RELEASES_ID = "releases";
+
+    private static final String SNAPSHOTS_ID = "snapshots";
+
+    private final List<MutableRoutingRule> rules = new ArrayList<>();
+
+    @Test
+    public void testEmptyRoutingRules()
+    {
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertTrue(matcher.isEmpty());
+        assertTrue(matcher.getRules(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID).isEmpty());
+        assertFalse(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/bar/1.0/bar-1.0.jar"));
+    }
+
+    @Test
+    public void testDenyRulesAreMatchedByGroupAndMember()
+    {
+        addRule(STORAGE_ID, GROUP_ID, ".*(com|org)/foo.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+        addRule(STORAGE_ID, GROUP_ID, ".*org/bar.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+        addRule(STORAGE_ID, "other-group", ".*org/baz.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertTrue(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertTrue(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/bar/bar/1.0/bar-1.0.jar"));
+        assertFalse(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/baz/baz/1.0/baz-1.0.jar"));
+        assertFalse(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, SNAPSHOTS_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertFalse(matcher.isDenied(STORAGE_ID, "other-group", STORAGE_ID, RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+    }
+
+    @Test
+    public void testAcceptRulesOverrideDenyRules()
+    {
+        addRule(STORAGE_ID, GROUP_ID, ".*org/foo.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+        addRule(STORAGE_ID, GROUP_ID, ".*org/foo/bar.*", RoutingRuleTypeEnum.ACCEPT, STORAGE_ID, RELEASES_ID);
+
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertTrue(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertFalse(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/bar/1.0/bar-1.0.jar"));
+    }
+
+    @Test
+    public void testWildcardRules()
+    {
+        // Any group within the storage.
+        addRule(STORAGE_ID, "", ".*org/foo.*", RoutingRuleTypeEnum.DENY, "", RELEASES_ID);
+        // Any group in any storage, any member repository.
+        addRule(null, null, ".*org/bar.*", RoutingRuleTypeEnum.DENY, null, null);
+        // Any member repository within the storage.
+        addRule(null, GROUP_ID, ".*org/baz.*", RoutingRuleTypeEnum.DENY, " " + STORAGE_ID + " ", "");
+
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertTrue(matcher.isDenied(STORAGE_ID, "any-group", "storage1", RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertFalse(matcher.isDenied("storage1", GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertTrue(matcher.isDenied("storage1", "any-group", "storage1", SNAPSHOTS_ID, "org/bar/bar/1.0/bar-1.0.jar"));
+        assertTrue(matcher.isDenied("storage1", GROUP_ID, STORAGE_ID, SNAPSHOTS_ID, "org/baz/baz/1.0/baz-1.0.jar"));
+        assertFalse(matcher.isDenied("storage1", GROUP_ID, "storage1", SNAPSHOTS_ID, "org/baz/baz/1.0/baz-1.0.jar"));
+    }
+
+    @Test
+    public void testPatternsWithBackReferencesAreMatchedSeparately()
+    {
+        addRule(STORAGE_ID, GROUP_ID, "org/(\\w+)/\\1/.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+        addRule(STORAGE_ID, GROUP_ID, "\\Qcom/foo/\\E.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertTrue(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/foo/1.0/foo-1.0.jar"));
+        assertFalse(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "org/foo/bar/1.0/bar-1.0.jar"));
+        assertTrue(matcher.isDenied(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID, "com/foo/bar/1.0/bar-1.0.jar"));
+    }
+
+    @Test
+    public void testMemberRulesAreMemoized()
+    {
+        addRule(STORAGE_ID, GROUP_ID, ".*org/foo.*", RoutingRuleTypeEnum.DENY, STORAGE_ID, RELEASES_ID);
+
+        RoutingRulesMatcher matcher = newMatcher();
+
+        assertSame(matcher.getRules(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID),
+                   matcher.getRules(STORAGE_ID, GROUP_ID, STORAGE_ID, RELEASES_ID));
+    }
+
+    private void addRule(String groupStorageId,
+                         String groupRepositoryId,
+                         String pattern,
+                         RoutingRuleTypeEnum type,
+                         String memberStorageId,
+                         String memberRepositoryId)
+    {
+        rules.add(MutableRoutingRule.create(groupStorageId,
+                                            groupRepositoryId,
+                                            Arrays.asList(new MutableRoutingRuleRepository(memberStorageId,
+                                                                                           memberRepositoryId)),
+                                            pattern,
+                                            type));
+    }
+
+    private RoutingRulesMatcher newMatcher()
+    {
+        MutableRoutingRules routingRules = new MutableRoutingRules();
+        routingRules.setRules(rules);
+
+        return new RoutingRulesMatcher(new RoutingRules(routingRules));
+    }
+
+}
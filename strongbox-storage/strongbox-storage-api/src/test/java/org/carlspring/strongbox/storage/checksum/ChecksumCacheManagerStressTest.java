@@ -0,0 +1,255 @@
+package org.carlspring.strongbox.storage.checksum;
+
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager.EvictionCause;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChecksumCacheManagerStressTest
+{
+
+    private static final int THREADS = 8;
+
+    private static final int PATHS = 2000;
+
+    private ChecksumCacheManager manager;
+
+    private ExecutorService executor;
+
+    private Set<String> sizeEvicted;
+
+    private Set<String> expired;
+
+    @BeforeEach
+    public void setUp()
+    {
+        sizeEvicted = ConcurrentHashMap.newKeySet();
+        expired = ConcurrentHashMap.newKeySet();
+
+        manager = new ChecksumCacheManager();
+        manager.setCachedChecksumLifetime(60000L);
+        manager.setCachedChecksumExpiredCheckInterval(10L);
+        manager.addEvictionListener((artifactBasePath, artifactChecksum, cause) -> {
+            if (EvictionCause.SIZE.equals(cause))
+            {
+                assertTrue(sizeEvicted.add(artifactBasePath));
+            }
+            else
+            {
+                assertTrue(expired.add(artifactBasePath));
+            }
+        });
+        manager.startMonitor();
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdownNow();
+        manager.stopMonitor();
+    }
+
+    @Test
+    public void testConcurrentAddsAreNotLost()
+            throws Exception
+    {
+        runConcurrently(thread -> {
+            for (int i = 0; i < PATHS; i++)
+            {
+                manager.addArtifactChecksum(path(i), algorithm(thread), checksum(i, thread));
+            }
+        });
+
+        assertEquals(PATHS, manager.getSize());
+        assertEquals(PATHS * THREADS, manager.getWeight());
+        for (int i = 0; i < PATHS; i++)
+        {
+            ArtifactChecksum artifactChecksum = manager.getArtifactChecksum(path(i));
+            assertNotNull(artifactChecksum);
+            assertEquals(THREADS, artifactChecksum.getChecksums().size());
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                assertEquals(checksum(i, thread), artifactChecksum.getChecksum(algorithm(thread)));
+            }
+        }
+
+        ChecksumCacheStats stats = manager.getStats();
+        assertEquals(PATHS, stats.getHitCount());
+        assertEquals(0, stats.getExpiredCount());
+        assertEquals(0, stats.getEvictionCount());
+    }
+
+    @Test
+    public void testConcurrentAddsAndRemovesAreNotLost()
+            throws Exception
+    {
+        runConcurrently(thread -> {
+            for (int i = 0; i < PATHS; i++)
+            {
+                manager.addArtifactChecksum(path(i), algorithm(thread), checksum(i, thread));
+                manager.getArtifactChecksum(path(i), algorithm(thread));
+                manager.removeArtifactChecksum(path(i), algorithm(thread));
+            }
+        });
+
+        assertEquals(0, manager.getSize());
+        assertEquals(0, manager.getWeight());
+    }
+
+    @Test
+    public void testWeightIsBounded()
+            throws Exception
+    {
+        manager.setCachedChecksumMaxWeight(1000L);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < PATHS; i++)
+            {
+                manager.addArtifactChecksum(path(thread * PATHS + i), "md5", checksum(i, thread));
+            }
+        });
+
+        assertTrue(manager.getWeight() <= 1000L, String.format("Weight [%s] exceeds 1000.", manager.getWeight()));
+        assertEquals(manager.getSize(), manager.getWeight());
+
+        // Each path is either cached, or it was evicted and reported to the listener.
+        ChecksumCacheStats stats = manager.getStats();
+        assertEquals(sizeEvicted.size(), stats.getEvictionCount());
+        for (int i = 0; i < PATHS * THREADS; i++)
+        {
+            assertTrue(manager.containsArtifactPath(path(i)) ^ sizeEvicted.contains(path(i)), path(i));
+        }
+    }
+
+    @Test
+    public void testUnclaimedChecksumsExpire()
+            throws Exception
+    {
+        manager.setCachedChecksumLifetime(100L);
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < PATHS; i++)
+            {
+                manager.addArtifactChecksum(path(thread * PATHS + i), "md5", checksum(i, thread));
+            }
+        });
+
+        for (int i = 0; i < 100 && manager.getSize() > 0; i++)
+        {
+            Thread.sleep(50L);
+        }
+
+        assertEquals(0, manager.getSize());
+        assertEquals(0, manager.getWeight());
+        assertEquals(PATHS * THREADS, expired.size());
+        assertEquals(PATHS * THREADS, manager.getStats().getExpiredCount());
+    }
+
+    @Test
+    public void testHitsAndMissesPerAlgorithm()
+    {
+        manager.addArtifactChecksum(path(0), "md5", checksum(0, 0));
+
+        assertEquals(checksum(0, 0), manager.getArtifactChecksum(path(0), "md5"));
+        assertNull(manager.getArtifactChecksum(path(0), "sha1"));
+        assertNull(manager.getArtifactChecksum(path(1), "md5"));
+
+        ChecksumCacheStats stats = manager.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+    }
+
+    @Test
+    public void testRecentlyAccessedPathsAreEvictedLast()
+            throws Exception
+    {
+        manager.setCachedChecksumMaxWeight(10L);
+
+        for (int i = 0; i < 10; i++)
+        {
+            manager.addArtifactChecksum(path(i), "md5", checksum(i, 0));
+        }
+
+        // Accessed within the later tick than it was scheduled for.
+        Thread.sleep(50L);
+        assertNotNull(manager.getArtifactChecksum(path(0), "md5"));
+
+        manager.addArtifactChecksum(path(10), "md5", checksum(10, 0));
+
+        assertEquals(9, manager.getWeight());
+        assertEquals(2, sizeEvicted.size());
+        assertTrue(manager.containsArtifactPath(path(0)));
+        assertTrue(manager.containsArtifactPath(path(10)));
+    }
+
+    private void runConcurrently(ThreadTask task)
+            throws Exception
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Void>> callables = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++)
+        {
+            int thread = i;
+            callables.add(() -> {
+                start.await();
+                task.run(thread);
+
+                return null;
+            });
+        }
+
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> callable : callables)
+        {
+            futures.add(executor.submit(callable));
+        }
+        start.countDown();
+
+        for (Future<Void> future : futures)
+        {
+            future.get();
+        }
+    }
+
+    private static String path(int i)
+    {
+        return String.format("storage0/releases/org/carlspring/stress/%s/1.0/stress-%s-1.0.jar", i, i);
+    }
+
+    private static String algorithm(int thread)
+    {
+        return String.format("algorithm-%s", thread);
+    }
+
+    private static String checksum(int i,
+                                   int thread)
+    {
+        return String.format("%08x%08x", i, thread);
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask
+    {
+
+        void run(int thread);
+
+    }
+
+}
@@ -51,6 +51,8 @@ public class Configuration
 
     private final SmtpConfiguration smtpConfiguration;
 
+    private final GroupRepositoryIndex groupRepositoryIndex;
+
     public Configuration(final MutableConfiguration delegate)
     {
 
@@ -68,6 +70,7 @@ public class Configuration
         routingRules = immuteRoutingRules(delegate.getRoutingRules());
         corsConfiguration = immuteCorsConfiguration(delegate.getCorsConfiguration());
         smtpConfiguration = immuteSmtpConfiguration(delegate.getSmtpConfiguration());
+        groupRepositoryIndex = new GroupRepositoryIndex(storages);
     }
 
     private ProxyConfiguration immuteProxyConfiguration(final MutableProxyConfiguration source)
@@ -194,19 +197,7 @@ public class Configuration
 
     public List<Repository> getGroupRepositories()
     {
-        List<Repository> groupRepositories = new ArrayList<>();
-
-        for (Storage storage : getStorages().values())
-        {
-            groupRepositories.addAll(storage.getRepositories()
-                                            .values()
-                                            .stream()
-                                            .filter(repository -> repository.getType()
-                                                                            .equals(RepositoryTypeEnum.GROUP.getType()))
-                                            .collect(Collectors.toList()));
-        }
-
-        return groupRepositories;
+        return new ArrayList<>(groupRepositoryIndex.getGroupRepositories());
     }
 
     public Repository getRepository(String storageId,
@@ -215,25 +206,51 @@ public class Configuration
         return getStorage(storageId).getRepository(repositoryId);
     }
 
+    /**
+     * @return the group repositories which directly include the repository (unmodifiable)
+     */
     public List<Repository> getGroupRepositoriesContaining(String storageId,
                                                            String repositoryId)
     {
-        String storageAndRepositoryId = storageId + ":" + repositoryId;
-        List<Repository> groupRepositories = getGroupRepositories();
-        for (Iterator<Repository> it = groupRepositories.iterator(); it.hasNext(); )
-        {
-            Repository repository = it.next();
-            Optional<String> exists = repository.getGroupRepositories()
-                                                .stream()
-                                                .filter(groupName -> (groupName.equals(storageAndRepositoryId) ||
-                                                                      (repository.getStorage().getId().equals(storageId) && groupName.equals(repositoryId))))
-                                                .findFirst();
-            if (!exists.isPresent())
-            {
-                it.remove();
-            }
-        }
-        return groupRepositories;
+        return groupRepositoryIndex.getParents(storageId, repositoryId);
+    }
+
+    /**
+     * @return the direct members of the group repository (unmodifiable)
+     */
+    public Set<Repository> getGroupRepositoryMembers(String storageId,
+                                                     String repositoryId)
+    {
+        return groupRepositoryIndex.getMembers(storageId, repositoryId);
+    }
+
+    /**
+     * @return the members of the group repository, with the nested group repositories replaced by their own members
+     *         (unmodifiable)
+     */
+    public Set<Repository> getGroupRepositoryLeafMembers(String storageId,
+                                                         String repositoryId)
+    {
+        return groupRepositoryIndex.getLeafMembers(storageId, repositoryId);
+    }
+
+    /**
+     * @return all the group repositories which include the repository, directly or through the other group
+     *         repositories, ordered so that each group repository comes after the group repositories it includes
+     *         (unmodifiable)
+     */
+    public List<Repository> getGroupRepositoryAncestors(String storageId,
+                                                        String repositoryId)
+    {
+        return groupRepositoryIndex.getAncestors(storageId, repositoryId);
+    }
+
+    /**
+     * @return the group repositories, each one after the group repositories it includes (unmodifiable)
+     */
+    public List<Repository> getGroupRepositoriesInTopologicalOrder()
+    {
+        return groupRepositoryIndex.getTopologicalOrder();
     }
 
     public HttpConnectionPool getHttpConnectionPoolConfiguration(String storageId,
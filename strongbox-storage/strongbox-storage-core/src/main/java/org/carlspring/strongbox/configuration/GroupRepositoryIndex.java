@@ -0,0 +1,245 @@
+package org.carlspring.strongbox.configuration;
+
+import org.carlspring.strongbox.storage.Storage;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Group repository lookup tables of a {@link Configuration}, computed once per configuration snapshot, so that the
+ * group memberships are not recomputed on each request.
+ * <p>
+ * The group repositories form a graph with the edges from the members to their groups. Besides the direct edges,
+ * the index holds the topological order of the group repositories (members first) and the ancestor closure of each
+ * repository, so that the changes can be propagated to each group repository above exactly once.
+ */
+@Immutable
+class GroupRepositoryIndex
+{
+
+    private final List<Repository> groupRepositories;
+
+    /**
+     * The direct members of each group repository, in the declaration order.
+     */
+    private final Map<String, Set<Repository>> members = new HashMap<>();
+
+    /**
+     * The direct parents (group repositories) of each repository.
+     */
+    private final Map<String, List<Repository>> parents = new HashMap<>();
+
+    /**
+     * The members of each group repository, with the nested group repositories replaced by their members.
+     */
+    private final Map<String, Set<Repository>> leafMembers = new HashMap<>();
+
+    /**
+     * The group repositories, each one after the group repositories it includes (unless they are cyclic).
+     */
+    private final List<Repository> topologicalOrder;
+
+    /**
+     * All the group repositories which include each repository, directly or through the other group repositories,
+     * in the topological order.
+     */
+    private final Map<String, List<Repository>> ancestors = new HashMap<>();
+
+    GroupRepositoryIndex(Map<String, Storage> storages)
+    {
+        List<Repository> groups = new ArrayList<>();
+        for (Storage storage : storages.values())
+        {
+            for (Repository repository : storage.getRepositories().values())
+            {
+                if (RepositoryTypeEnum.GROUP.getType().equals(repository.getType()))
+                {
+                    groups.add(repository);
+                }
+            }
+        }
+        this.groupRepositories = Collections.unmodifiableList(groups);
+
+        for (Repository groupRepository : groupRepositories)
+        {
+            Set<Repository> groupMembers = new LinkedHashSet<>();
+            for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
+            {
+                String storageId = ConfigurationUtils.getStorageId(groupRepository.getStorage().getId(),
+                                                                   storageAndRepositoryId);
+                String repositoryId = ConfigurationUtils.getRepositoryId(storageAndRepositoryId);
+
+                // The parents are known even if the member itself is not configured (yet).
+                List<Repository> memberParents = parents.computeIfAbsent(key(storageId, repositoryId),
+                                                                         k -> new ArrayList<>());
+                if (!memberParents.contains(groupRepository))
+                {
+                    memberParents.add(groupRepository);
+                }
+
+                Storage storage = storages.get(storageId);
+                Repository member = storage != null ? storage.getRepository(repositoryId) : null;
+                if (member != null)
+                {
+                    groupMembers.add(member);
+                }
+            }
+
+            members.put(key(groupRepository), Collections.unmodifiableSet(groupMembers));
+        }
+        parents.replaceAll((k, v) -> Collections.unmodifiableList(v));
+
+        for (Repository groupRepository : groupRepositories)
+        {
+            Set<Repository> groupLeafMembers = new LinkedHashSet<>();
+            collectLeafMembers(groupRepository, groupLeafMembers, new HashSet<>());
+
+            leafMembers.put(key(groupRepository), Collections.unmodifiableSet(groupLeafMembers));
+        }
+
+        Set<Repository> sortedGroups = new LinkedHashSet<>();
+        for (Repository groupRepository : groupRepositories)
+        {
+            sortTopologically(groupRepository, sortedGroups, new HashSet<>());
+        }
+        this.topologicalOrder = Collections.unmodifiableList(new ArrayList<>(sortedGroups));
+
+        Map<Repository, Integer> ranks = new IdentityHashMap<>();
+        for (Repository groupRepository : topologicalOrder)
+        {
+            ranks.put(groupRepository, ranks.size());
+        }
+        for (String key : parents.keySet())
+        {
+            ancestors.put(key, collectAncestors(key, ranks));
+        }
+    }
+
+    private void sortTopologically(Repository groupRepository,
+                                   Set<Repository> result,
+                                   Set<String> path)
+    {
+        // Cyclic group repositories are added in the order they are met.
+        if (result.contains(groupRepository) || !path.add(key(groupRepository)))
+        {
+            return;
+        }
+
+        for (Repository member : members.getOrDefault(key(groupRepository), Collections.emptySet()))
+        {
+            if (members.containsKey(key(member)))
+            {
+                sortTopologically(member, result, path);
+            }
+        }
+
+        result.add(groupRepository);
+    }
+
+    private List<Repository> collectAncestors(String key,
+                                              Map<Repository, Integer> ranks)
+    {
+        Set<Repository> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(key);
+        while (!queue.isEmpty())
+        {
+            for (Repository parent : parents.getOrDefault(queue.poll(), Collections.emptyList()))
+            {
+                if (result.add(parent))
+                {
+                    queue.add(key(parent));
+                }
+            }
+        }
+
+        List<Repository> sorted = new ArrayList<>(result);
+        sorted.sort(Comparator.comparing(ranks::get));
+
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * The nested group repositories with no members are considered to be the leaves as well.
+     */
+    private void collectLeafMembers(Repository groupRepository,
+                                    Set<Repository> result,
+                                    Set<String> visited)
+    {
+        if (!visited.add(key(groupRepository)))
+        {
+            // Cyclic group repositories.
+            return;
+        }
+
+        for (Repository member : members.getOrDefault(key(groupRepository), Collections.emptySet()))
+        {
+            if (member.getGroupRepositories() == null || member.getGroupRepositories().isEmpty())
+            {
+                result.add(member);
+                continue;
+            }
+
+            collectLeafMembers(member, result, visited);
+        }
+    }
+
+    List<Repository> getGroupRepositories()
+    {
+        return groupRepositories;
+    }
+
+    Set<Repository> getMembers(String storageId,
+                               String repositoryId)
+    {
+        return members.getOrDefault(key(storageId, repositoryId), Collections.emptySet());
+    }
+
+    Set<Repository> getLeafMembers(String storageId,
+                                   String repositoryId)
+    {
+        return leafMembers.getOrDefault(key(storageId, repositoryId), Collections.emptySet());
+    }
+
+    List<Repository> getParents(String storageId,
+                                String repositoryId)
+    {
+        return parents.getOrDefault(key(storageId, repositoryId), Collections.emptyList());
+    }
+
+    List<Repository> getTopologicalOrder()
+    {
+        return topologicalOrder;
+    }
+
+    List<Repository> getAncestors(String storageId,
+                                  String repositoryId)
+    {
+        return ancestors.getOrDefault(key(storageId, repositoryId), Collections.emptyList());
+    }
+
+    private static String key(Repository repository)
+    {
+        return key(repository.getStorage().getId(), repository.getId());
+    }
+
+    private static String key(String storageId,
+                              String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
+}
@@ -41,6 +41,14 @@ public class LayoutInputStream
 
     private Map<String, String> hexDigests = new LinkedHashMap<>();
 
+    private Map<String, String> expectedHexDigests = new LinkedHashMap<>();
+
+    private long expectedLength = -1;
+
+    private long bytesRead;
+
+    private boolean verified;
+
     public LayoutInputStream(InputStream is,
                              Set<String> checkSumDigestAlgorithmSet)
         throws NoSuchAlgorithmException
@@ -93,6 +101,10 @@ public class LayoutInputStream
         {
             return hexDigests.get(algorithm);
         }
+        else if (!digests.containsKey(algorithm))
+        {
+            return null;
+        }
         else
         {
             // This method will invoke MessageDigest.digest() which will reset the bytes when it's done
@@ -109,6 +121,17 @@ public class LayoutInputStream
         this.digests = digests;
     }
 
+    /**
+     * Makes the stream verify the calculated digests against the expected ones, once the whole content of
+     * {@code expectedLength} bytes has been read. The partial reads (byte ranges) are not verified.
+     */
+    public void expectHexDigests(Map<String, String> expectedHexDigests,
+                                 long expectedLength)
+    {
+        this.expectedHexDigests = expectedHexDigests;
+        this.expectedLength = expectedLength;
+    }
+
     @Override
     public int read()
             throws IOException
@@ -116,12 +139,17 @@ public class LayoutInputStream
         int ch = in.read();
         if (ch != -1)
         {
+            bytesRead++;
             for (Map.Entry entry : digests.entrySet())
             {
                 MessageDigest digest = (MessageDigest) entry.getValue();
                 digest.update((byte) ch);
             }
         }
+        else
+        {
+            verify();
+        }
 
         return ch;
     }
@@ -135,12 +163,17 @@ public class LayoutInputStream
         int numberOfBytesRead = in.read(bytes, off, len);
         if (numberOfBytesRead != -1)
         {
+            bytesRead += numberOfBytesRead;
             for (Map.Entry entry : digests.entrySet())
             {
                 MessageDigest digest = (MessageDigest) entry.getValue();
                 digest.update(bytes, off, numberOfBytesRead);
             }
         }
+        else
+        {
+            verify();
+        }
 
         return numberOfBytesRead;
     }
@@ -149,15 +182,30 @@ public class LayoutInputStream
     public int read(byte[] bytes)
             throws IOException
     {
-        int len = in.read(bytes);
+        return read(bytes, 0, bytes.length);
+    }
 
-        for (Map.Entry entry : digests.entrySet())
+    private void verify()
+        throws IOException
+    {
+        if (verified || expectedHexDigests.isEmpty() || bytesRead != expectedLength)
         {
-            MessageDigest digest = (MessageDigest) entry.getValue();
-            digest.update(bytes);
+            return;
         }
+        verified = true;
 
-        return len;
+        for (Map.Entry<String, String> entry : expectedHexDigests.entrySet())
+        {
+            String algorithm = entry.getKey();
+            String hexDigest = getMessageDigestAsHexadecimalString(algorithm);
+            if (hexDigest != null && !hexDigest.equalsIgnoreCase(entry.getValue()))
+            {
+                throw new IOException(String.format("Checksum mismatch: alg-[%s], expected-[%s], actual-[%s]",
+                                                    algorithm,
+                                                    entry.getValue(),
+                                                    hexDigest));
+            }
+        }
     }
 
     InputStream getTarget()
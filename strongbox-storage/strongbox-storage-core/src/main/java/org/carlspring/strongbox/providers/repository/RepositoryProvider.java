@@ -40,6 +40,20 @@ public interface RepositoryProvider
      * @throws IOException
      */
     InputStream getInputStream(Path path) throws IOException;
+
+    /**
+     * Return {@link InputStream} to read Artifact content directly from the file, without the layout specific
+     * decorators (checksum calculation, byte ranges), so that it can be transferred with positional reads.
+     * Return <code>null</code> if the Artifact can't be read this way.
+     * 
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    default InputStream getFileChannelInputStream(Path path) throws IOException
+    {
+        return null;
+    }
     
     /**
      * Return {@link OutputStream} to write Artifact content.
@@ -74,6 +74,8 @@ public class ImmutableRepository
 
     private boolean checksumHeadersEnabled;
 
+    private boolean checksumVerifyOnRead;
+
     private ProxyConfiguration proxyConfiguration;
 
     private RemoteRepository remoteRepository;
@@ -123,6 +125,7 @@ public class ImmutableRepository
         this.allowsDelete = delegate.allowsDeletion();
         this.allowsDirectoryBrowsing = delegate.allowsDirectoryBrowsing();
         this.checksumHeadersEnabled = delegate.isChecksumHeadersEnabled();
+        this.checksumVerifyOnRead = delegate.isChecksumVerifyOnRead();
         
         MutableRepository mutableRepository = (MutableRepository)delegate;
         this.proxyConfiguration = immuteProxyConfiguration(mutableRepository.getProxyConfiguration());
@@ -279,6 +282,12 @@ public class ImmutableRepository
         return checksumHeadersEnabled;
     }
 
+    @Override
+    public boolean isChecksumVerifyOnRead()
+    {
+        return checksumVerifyOnRead;
+    }
+
     public ProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
@@ -60,6 +60,8 @@ public class MutableRepository
 
     private boolean checksumHeadersEnabled;
 
+    private boolean checksumVerifyOnRead;
+
     /**
      * The per-repository proxy settings that override the overall global proxy settings.
      */
@@ -230,6 +232,16 @@ public class MutableRepository
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isChecksumVerifyOnRead()
+    {
+        return checksumVerifyOnRead;
+    }
+
+    public void setChecksumVerifyOnRead(boolean checksumVerifyOnRead)
+    {
+        this.checksumVerifyOnRead = checksumVerifyOnRead;
+    }
+
     public MutableProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
@@ -40,6 +40,8 @@ public interface Repository
 
     boolean isChecksumHeadersEnabled();
 
+    boolean isChecksumVerifyOnRead();
+
     Set<String> getGroupRepositories();
 
     Set<String> getArtifactCoordinateValidators();
@@ -1,9 +1,12 @@
 package org.carlspring.strongbox.event.artifact;
 
+import org.carlspring.strongbox.config.EventsConfig;
 import org.carlspring.strongbox.config.MavenIndexerEnabledCondition;
 import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
+import org.carlspring.strongbox.repository.group.GroupRepositoryUpdateCoalescer;
 import org.carlspring.strongbox.repository.group.index.MavenIndexGroupRepositoryComponent;
 import org.carlspring.strongbox.storage.repository.Repository;
 
@@ -25,7 +28,10 @@ public class IndexedMavenArtifactStoredEventListener
     @Inject
     private MavenIndexGroupRepositoryComponent mavenIndexGroupRepositoryComponent;
 
-    @AsyncEventListener
+    @Inject
+    private GroupRepositoryUpdateCoalescer groupRepositoryUpdateCoalescer;
+
+    @AsyncEventListener(executor = EventsConfig.INDEX_EVENT_TASK_EXECUTOR)
     public void handle(final ArtifactEvent<RepositoryPath> event)
     {
         final Repository repository = getRepository(event);
@@ -42,7 +48,13 @@ public class IndexedMavenArtifactStoredEventListener
 
         try
         {
-            mavenIndexGroupRepositoryComponent.updateGroupsContaining(event.getPath());
+            // The checksums are never indexed.
+            if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(event.getPath())))
+            {
+                return;
+            }
+
+            groupRepositoryUpdateCoalescer.updateGroupsContaining(mavenIndexGroupRepositoryComponent, event.getPath());
         }
         catch (final IOException e)
         {
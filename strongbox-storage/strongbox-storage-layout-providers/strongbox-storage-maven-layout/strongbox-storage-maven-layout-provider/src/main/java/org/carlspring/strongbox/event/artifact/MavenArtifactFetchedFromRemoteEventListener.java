@@ -3,6 +3,7 @@ package org.carlspring.strongbox.event.artifact;
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.client.RestArtifactResolver;
+import org.carlspring.strongbox.config.EventsConfig;
 import org.carlspring.strongbox.event.AsyncEventListener;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -11,6 +12,7 @@ import org.carlspring.strongbox.providers.layout.Maven2LayoutProvider;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryInputStream;
 import org.carlspring.strongbox.providers.repository.proxied.RestArtifactResolverFactory;
+import org.carlspring.strongbox.repository.group.GroupRepositoryUpdateCoalescer;
 import org.carlspring.strongbox.storage.metadata.MetadataHelper;
 import org.carlspring.strongbox.storage.metadata.MetadataType;
 import org.carlspring.strongbox.storage.repository.ImmutableRepository;
@@ -45,8 +47,11 @@ public class MavenArtifactFetchedFromRemoteEventListener
     
     @Inject
     protected RestArtifactResolverFactory restArtifactResolverFactory;
+
+    @Inject
+    private GroupRepositoryUpdateCoalescer groupRepositoryUpdateCoalescer;
     
-    @AsyncEventListener
+    @AsyncEventListener(executor = EventsConfig.METADATA_EVENT_TASK_EXECUTOR)
     public void handle(final ArtifactEvent<RepositoryPath> event)
     {
         final Repository repository = getRepository(event);
@@ -62,7 +67,26 @@ public class MavenArtifactFetchedFromRemoteEventListener
         }
 
         resolveArtifactMetadataAtArtifactIdLevel(event);
-        updateMetadataInGroupsContainingRepository(event, path -> path.getParent().getParent());
+        updateMetadataInGroupsContainingRepositoryCoalesced(event);
+    }
+
+    /**
+     * Every file of the artifact (the pom, jar, sources and all their checksums) is fetched separately, but the
+     * artifact level metadata of the group repositories needs to be merged once for all of them.
+     */
+    private void updateMetadataInGroupsContainingRepositoryCoalesced(final ArtifactEvent<RepositoryPath> event)
+    {
+        RepositoryPath artifactBasePath = event.getPath().getParent().getParent();
+        try
+        {
+            groupRepositoryUpdateCoalescer.updateGroupsContaining(mavenMetadataGroupRepositoryComponent,
+                                                                  artifactBasePath,
+                                                                  artifactBasePath);
+        }
+        catch (Exception e)
+        {
+            logger.error("Unable to update parent group repositories metadata of file " + event.getPath(), e);
+        }
     }
 
     private void resolveArtifactMetadataAtArtifactIdLevel(final ArtifactEvent<RepositoryPath> event)
@@ -1,6 +1,7 @@
 package org.carlspring.strongbox.repository;
 
 import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
+import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocatorFactory;
 import org.carlspring.strongbox.config.MavenIndexerDisabledCondition;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
@@ -57,6 +58,9 @@ public class MavenRepositoryFeatures
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDirectoryLocatorFactory artifactDirectoryLocatorFactory;
+
     private Set<String> defaultArtifactCoordinateValidators;
 
 
@@ -87,8 +91,7 @@ public class MavenRepositoryFeatures
             operation.setNumberToKeep(numberToKeep);
             operation.setKeepPeriod(keepPeriod);
 
-            ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-            locator.setOperation(operation);
+            ArtifactDirectoryLocator locator = artifactDirectoryLocatorFactory.create(operation);
             locator.locateArtifactDirectories();
         }
         else
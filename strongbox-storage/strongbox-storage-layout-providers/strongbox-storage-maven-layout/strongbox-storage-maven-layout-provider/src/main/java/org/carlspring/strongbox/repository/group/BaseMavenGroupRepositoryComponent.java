@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.repository.group;
 
+import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
@@ -13,12 +14,14 @@ import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import com.google.common.collect.Lists;
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,28 +54,22 @@ public abstract class BaseMavenGroupRepositoryComponent
 
     public void cleanupGroupsContaining(RepositoryPath repositoryPath)
             throws IOException
-    {
-        cleanupGroupsContaining(repositoryPath, new HashMap<>());
-    }
-
-    private void cleanupGroupsContaining(RepositoryPath repositoryPath,
-                                         final Map<String, MutableBoolean> repositoryArtifactExistence)
-            throws IOException
     {
         Repository repository = repositoryPath.getRepository();
-        final List<Repository> directParents = configurationManagementService.getConfiguration()
-                                                                             .getGroupRepositoriesContaining(repository.getStorage().getId(),
-                                                                                                                      repository.getId());
-        if (CollectionUtils.isEmpty(directParents))
+        final List<Repository> groupRepositories = configurationManagementService.getConfiguration()
+                                                                                 .getGroupRepositoryAncestors(repository.getStorage().getId(),
+                                                                                                              repository.getId());
+        if (groupRepositories.isEmpty())
         {
             return;
         }
-        
+
         String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        
-        for (final Repository groupRepository : directParents)
-        {
+        final Map<String, MutableBoolean> repositoryArtifactExistence = new HashMap<>();
 
+        // Each group repository is visited once, after the group repositories it includes.
+        for (final Repository groupRepository : groupRepositories)
+        {
             boolean artifactExists = groupRepositoryArtifactExistenceChecker.artifactExistsInTheGroupRepositorySubTree(groupRepository,
                                                                                                                        repositoryPath,
                                                                                                                        repositoryArtifactExistence);
@@ -81,9 +78,6 @@ public abstract class BaseMavenGroupRepositoryComponent
             {
                 cleanupGroupWhenArtifactPathNoLongerExistsInSubTree(groupRepository, artifactPath);
             }
-            
-            cleanupGroupsContaining(repositoryPathResolver.resolve(groupRepository, repositoryPath),
-                                    repositoryArtifactExistence);
         }
     }
 
@@ -95,50 +89,56 @@ public abstract class BaseMavenGroupRepositoryComponent
     public void updateGroupsContaining(RepositoryPath repositoryPath)
             throws IOException
     {
+        updateGroupsContaining(Collections.singletonList(repositoryPath));
+    }
 
-        final UpdateCallback updateCallback = newInstance(repositoryPath);
-        try
-        {
-            updateCallback.beforeUpdate();
-        }
-        catch (StopUpdateSilentlyException ex)
+    /**
+     * Updates the group repositories with several paths of the same repository, the group repositories are looked up
+     * once for all of them.
+     */
+    public void updateGroupsContaining(Collection<RepositoryPath> repositoryPaths)
+            throws IOException
+    {
+        if (repositoryPaths.isEmpty())
         {
             return;
         }
 
-
-        Repository repository = repositoryPath.getRepository();
-        updateGroupsContaining(repositoryPath, Lists.newArrayList(repository), updateCallback);
-    }
-
-    private void updateGroupsContaining(final RepositoryPath repositoryPath,
-                                        final List<Repository> leafRoute,
-                                        final UpdateCallback updateCallback)
-            throws IOException
-    {
-        Repository repository = repositoryPath.getRepository();
-        final List<Repository> groupRepositories = configurationManagementService.getConfiguration()
-                                                                                 .getGroupRepositoriesContaining(repository.getStorage().getId(),
-                                                                                                                 repository.getId());
-        if (CollectionUtils.isEmpty(groupRepositories))
+        Repository repository = repositoryPaths.iterator().next().getRepository();
+        final Configuration configuration = configurationManagementService.getConfiguration();
+        final List<Repository> groupRepositories = configuration.getGroupRepositoryAncestors(repository.getStorage().getId(),
+                                                                                             repository.getId());
+        if (groupRepositories.isEmpty())
         {
             return;
         }
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        for (final Repository parent : groupRepositories)
+
+        for (final RepositoryPath repositoryPath : repositoryPaths)
         {
-            RepositoryPath parentRepositoryArtifactAbsolutePath = repositoryPathResolver.resolve(parent, repositoryPath);
-            
-            if (!isOperationDeniedByRoutingRules(parent, leafRoute, artifactPath))
+            final UpdateCallback updateCallback = newInstance(repositoryPath);
+            try
             {
-                updateCallback.performUpdate(parentRepositoryArtifactAbsolutePath);
+                updateCallback.beforeUpdate();
+            }
+            catch (StopUpdateSilentlyException ex)
+            {
+                continue;
             }
 
-            leafRoute.add(parent);
-
-            updateGroupsContaining(parentRepositoryArtifactAbsolutePath, leafRoute, updateCallback);
+            String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
+            final Set<Repository> allowedGroupRepositories = getGroupRepositoriesAllowedByRoutingRules(configuration,
+                                                                                                       repository,
+                                                                                                       groupRepositories,
+                                                                                                       artifactPath);
 
-            leafRoute.remove(parent);
+            // Each group repository is updated once, after the group repositories it includes.
+            for (final Repository groupRepository : groupRepositories)
+            {
+                if (allowedGroupRepositories.contains(groupRepository))
+                {
+                    updateCallback.performUpdate(repositoryPathResolver.resolve(groupRepository, repositoryPath));
+                }
+            }
         }
     }
 
@@ -152,18 +152,81 @@ public abstract class BaseMavenGroupRepositoryComponent
         return layoutProviderRegistry.getProvider(repository.getLayout());
     }
 
-    protected boolean isOperationDeniedByRoutingRules(final Repository groupRepository,
-                                                      final List<Repository> leafRoute,
-                                                      final String artifactPath) throws IOException
+    /**
+     * The operation is allowed for the group repository, if it can be reached from the leaf repository through the
+     * repositories, which are not denied by the routing rules of the group repository.
+     * <br>
+     * The decisions for all the group repositories above the leaf are made at once: the artifact path is resolved
+     * once within each repository, and the repositories passing the rules of each group repository are collected in
+     * the topological order (members first), rather than with a separate search for each group repository.
+     *
+     * @param groupRepositories the group repositories which include the leaf repository, in the topological order
+     * @return the group repositories for which the operation is allowed
+     */
+    protected Set<Repository> getGroupRepositoriesAllowedByRoutingRules(final Configuration configuration,
+                                                                        final Repository leaf,
+                                                                        final List<Repository> groupRepositories,
+                                                                        final String artifactPath)
+            throws IOException
     {
-        for (final Repository leaf : leafRoute)
+        final Map<Repository, RepositoryPath> repositoryPaths = new HashMap<>();
+        repositoryPaths.put(leaf, repositoryPathResolver.resolve(leaf).resolve(artifactPath));
+        for (final Repository groupRepository : groupRepositories)
+        {
+            repositoryPaths.put(groupRepository, repositoryPathResolver.resolve(groupRepository).resolve(artifactPath));
+        }
+
+        final Set<Repository> result = new HashSet<>();
+        for (final Repository groupRepository : groupRepositories)
         {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(leaf).resolve(artifactPath);
-            if (artifactRoutingRulesChecker.isDenied(groupRepository, repositoryPath))
+            // The repositories, which are not denied by the rules of the group repository and can be reached from
+            // the leaf through such repositories.
+            final Set<Repository> passed = new HashSet<>();
+            if (!artifactRoutingRulesChecker.isDenied(groupRepository, repositoryPaths.get(leaf)))
+            {
+                passed.add(leaf);
+            }
+
+            // A single pass is enough in the topological order, the cyclic group repositories may need more.
+            boolean changed = !passed.isEmpty();
+            while (changed)
+            {
+                changed = false;
+                for (final Repository intermediate : groupRepositories)
+                {
+                    if (intermediate != groupRepository
+                            && !passed.contains(intermediate)
+                            && containsAny(configuration, intermediate, passed)
+                            && !artifactRoutingRulesChecker.isDenied(groupRepository, repositoryPaths.get(intermediate)))
+                    {
+                        passed.add(intermediate);
+                        changed = true;
+                    }
+                }
+            }
+
+            if (containsAny(configuration, groupRepository, passed))
+            {
+                result.add(groupRepository);
+            }
+        }
+
+        return result;
+    }
+
+    private boolean containsAny(final Configuration configuration,
+                                final Repository groupRepository,
+                                final Set<Repository> repositories)
+    {
+        for (final Repository member : configuration.getGroupRepositoryMembers(groupRepository.getStorage().getId(),
+                                                                               groupRepository.getId()))
+        {
+            if (repositories.contains(member))
             {
                 return true;
             }
         }
+
         return false;
     }
 
@@ -0,0 +1,214 @@
+package org.carlspring.strongbox.repository.group;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.lang3.mutable.MutableBoolean;
+import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Gathers the group repository updates of the same artifact directory over a short window, so that a bulk deploy
+ * (the pom, jar, sources, javadoc and all their checksums of one release) updates the group repositories once, rather
+ * than once per file.
+ * <br>
+ * The number of the updates of the paths which were already pending (so the update was skipped) is exposed as the
+ * <code>strongbox.group.updates.saved</code> metric, tagged with the group repository component.
+ * <br>
+ * The coalescing is enabled with the <code>strongbox.group.updates.coalesce</code> property, otherwise (in the tests
+ * and the command line tools, for example) the updates are not deferred.
+ */
+@Component
+public class GroupRepositoryUpdateCoalescer
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryUpdateCoalescer.class);
+
+    private final ConcurrentMap<Pair<BaseMavenGroupRepositoryComponent, RepositoryPath>, Set<RepositoryPath>> pendingUpdates =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, UpdateCounters> counters = new ConcurrentHashMap<>();
+
+    @Value("${strongbox.group.updates.coalesce:false}")
+    private boolean coalesce;
+
+    @Value("${strongbox.group.updates.coalesceWindowMillis:1000}")
+    private long coalesceWindowMillis;
+
+    @Value("${strongbox.events.shutdownTimeoutMillis:10000}")
+    private long shutdownTimeoutMillis;
+
+    private ScheduledThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init()
+    {
+        if (!coalesce || coalesceWindowMillis <= 0)
+        {
+            return;
+        }
+
+        Gauge.builder("strongbox.group.updates.pending", pendingUpdates, ConcurrentMap::size)
+             .description("Artifact directories waiting for the group repository updates")
+             .register(Metrics.globalRegistry);
+
+        executor = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("group-repository-updates-"));
+        // The pending updates are flushed by the shutdown itself, rather than after the window.
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * The updates are not postponed beyond the shutdown: the pending ones are flushed first, then the executor waits
+     * for the flush in progress, and the updates requested meanwhile are flushed at last.
+     */
+    @PreDestroy
+    public void destroy()
+            throws InterruptedException
+    {
+        if (executor == null)
+        {
+            return;
+        }
+
+        flushAll();
+
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS))
+        {
+            logger.warn("Timed out waiting for the group repository updates to complete.");
+        }
+
+        flushAll();
+    }
+
+    /**
+     * Updates the group repositories containing the path, together with the other paths of the same directory.
+     */
+    public void updateGroupsContaining(BaseMavenGroupRepositoryComponent component,
+                                       RepositoryPath repositoryPath)
+            throws IOException
+    {
+        updateGroupsContaining(component, repositoryPath.getParent(), repositoryPath);
+    }
+
+    /**
+     * Updates the group repositories containing the path, together with the other paths of the same batch.
+     *
+     * @param batchPath the artifact directory, to gather the updates by
+     */
+    public void updateGroupsContaining(BaseMavenGroupRepositoryComponent component,
+                                       RepositoryPath batchPath,
+                                       RepositoryPath repositoryPath)
+            throws IOException
+    {
+        UpdateCounters counters = getCounters(component);
+        counters.requested.increment();
+
+        if (executor == null)
+        {
+            component.updateGroupsContaining(repositoryPath);
+
+            return;
+        }
+
+        Pair<BaseMavenGroupRepositoryComponent, RepositoryPath> key = Pair.with(component, batchPath);
+        MutableBoolean created = new MutableBoolean();
+        pendingUpdates.compute(key, (k, batch) -> {
+            if (batch == null)
+            {
+                batch = new LinkedHashSet<>();
+                created.setTrue();
+            }
+            if (!batch.add(repositoryPath))
+            {
+                counters.saved.increment();
+            }
+
+            return batch;
+        });
+
+        if (created.isFalse())
+        {
+            return;
+        }
+
+        try
+        {
+            executor.schedule(() -> flush(key), coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e)
+        {
+            // Shutting down.
+            flush(key);
+        }
+    }
+
+    private void flushAll()
+    {
+        pendingUpdates.keySet().forEach(this::flush);
+    }
+
+    private void flush(Pair<BaseMavenGroupRepositoryComponent, RepositoryPath> key)
+    {
+        Set<RepositoryPath> batch = pendingUpdates.remove(key);
+        if (batch == null)
+        {
+            return;
+        }
+
+        try
+        {
+            key.getValue0().updateGroupsContaining(Collections.unmodifiableSet(batch));
+        }
+        catch (Exception e)
+        {
+            logger.error(String.format("Unable to update parent group repositories of [%s].", key.getValue1()), e);
+        }
+    }
+
+    private UpdateCounters getCounters(BaseMavenGroupRepositoryComponent component)
+    {
+        return counters.computeIfAbsent(ClassUtils.getUserClass(component), UpdateCounters::new);
+    }
+
+    private static class UpdateCounters
+    {
+
+        private final Counter requested;
+
+        private final Counter saved;
+
+        UpdateCounters(Class<?> componentClass)
+        {
+            requested = Counter.builder("strongbox.group.updates.requested")
+                               .description("Group repository updates requested by the artifact events")
+                               .tag("component", componentClass.getSimpleName())
+                               .register(Metrics.globalRegistry);
+            saved = Counter.builder("strongbox.group.updates.saved")
+                           .description("Group repository updates skipped, because the same path was already pending")
+                           .tag("component", componentClass.getSimpleName())
+                           .register(Metrics.globalRegistry);
+        }
+
+    }
+
+}
@@ -4,6 +4,7 @@ import org.carlspring.maven.commons.util.ArtifactUtils;
 import org.carlspring.strongbox.artifact.MavenArtifact;
 import org.carlspring.strongbox.artifact.MavenArtifactUtils;
 import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator;
+import org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocatorFactory;
 import org.carlspring.strongbox.configuration.Configuration;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
@@ -59,6 +60,9 @@ public class ArtifactMetadataServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private ArtifactDirectoryLocatorFactory artifactDirectoryLocatorFactory;
+
     public ArtifactMetadataServiceImpl()
     {
     }
@@ -123,8 +127,7 @@ public class ArtifactMetadataServiceImpl
         GenerateMavenMetadataOperation operation = new GenerateMavenMetadataOperation(mavenMetadataManager, artifactEventListenerRegistry);
         operation.setBasePath(repositoryBasePath);
 
-        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
-        locator.setOperation(operation);
+        ArtifactDirectoryLocator locator = artifactDirectoryLocatorFactory.create(operation);
         locator.locateArtifactDirectories();
     }
 
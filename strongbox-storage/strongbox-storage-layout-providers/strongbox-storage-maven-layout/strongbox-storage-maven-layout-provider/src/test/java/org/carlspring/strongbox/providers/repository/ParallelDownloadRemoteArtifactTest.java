@@ -48,6 +48,9 @@ public class ParallelDownloadRemoteArtifactTest
 
     @Inject
     private PlatformTransactionManager transactionManager;
+
+    @Inject
+    private ArtifactDownloadStatisticsWriter artifactDownloadStatisticsWriter;
     
     @BeforeEach
     public void setup()
@@ -93,6 +96,8 @@ public class ParallelDownloadRemoteArtifactTest
 
         assertArrayEquals(expected, actual);
         
+        artifactDownloadStatisticsWriter.flush();
+
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
 
         assertNotNull(repositoryPath.getArtifactEntry());
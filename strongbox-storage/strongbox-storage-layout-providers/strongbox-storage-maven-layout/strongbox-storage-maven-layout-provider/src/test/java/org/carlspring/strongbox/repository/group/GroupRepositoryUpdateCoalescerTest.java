@@ -0,0 +1,110 @@
+package org.carlspring.strongbox.repository.group;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class GroupRepositoryUpdateCoalescerTest
+{
+
+    private GroupRepositoryUpdateCoalescer coalescer;
+
+    private BaseMavenGroupRepositoryComponent component;
+
+    private RepositoryPath directory;
+
+    private RepositoryPath pom;
+
+    private RepositoryPath jar;
+
+    @BeforeEach
+    public void setUp()
+    {
+        component = Mockito.mock(BaseMavenGroupRepositoryComponent.class);
+        directory = Mockito.mock(RepositoryPath.class);
+        pom = Mockito.mock(RepositoryPath.class);
+        jar = Mockito.mock(RepositoryPath.class);
+
+        coalescer = new GroupRepositoryUpdateCoalescer();
+        ReflectionTestUtils.setField(coalescer, "coalesce", true);
+        ReflectionTestUtils.setField(coalescer, "shutdownTimeoutMillis", TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws InterruptedException
+    {
+        coalescer.destroy();
+    }
+
+    @Test
+    public void testUpdatesWithinWindowAreCoalesced()
+        throws Exception
+    {
+        init(500);
+
+        coalescer.updateGroupsContaining(component, directory, pom);
+        coalescer.updateGroupsContaining(component, directory, jar);
+        coalescer.updateGroupsContaining(component, directory, pom);
+
+        Mockito.verify(component, Mockito.timeout(TimeUnit.SECONDS.toMillis(10)))
+               .updateGroupsContaining(new HashSet<>(Arrays.asList(pom, jar)));
+        Mockito.verify(component, Mockito.never()).updateGroupsContaining(ArgumentMatchers.any(RepositoryPath.class));
+
+        // The next update starts a new window.
+        coalescer.updateGroupsContaining(component, directory, pom);
+
+        Mockito.verify(component, Mockito.timeout(TimeUnit.SECONDS.toMillis(10)))
+               .updateGroupsContaining(Collections.singleton(pom));
+    }
+
+    @Test
+    public void testPendingUpdatesAreFlushedOnShutdown()
+        throws Exception
+    {
+        init(TimeUnit.HOURS.toMillis(1));
+
+        coalescer.updateGroupsContaining(component, directory, pom);
+        coalescer.updateGroupsContaining(component, directory, jar);
+
+        Mockito.verify(component, Mockito.never()).updateGroupsContaining(ArgumentMatchers.anyCollection());
+
+        coalescer.destroy();
+
+        Mockito.verify(component).updateGroupsContaining(new HashSet<>(Arrays.asList(pom, jar)));
+
+        // The updates requested after the shutdown are not deferred.
+        coalescer.updateGroupsContaining(component, directory, pom);
+
+        Mockito.verify(component).updateGroupsContaining(Collections.singleton(pom));
+    }
+
+    @Test
+    public void testUpdatesAreImmediateWhenDisabled()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(coalescer, "coalesce", false);
+        init(TimeUnit.HOURS.toMillis(1));
+
+        coalescer.updateGroupsContaining(component, directory, pom);
+
+        Mockito.verify(component).updateGroupsContaining(pom);
+    }
+
+    private void init(long coalesceWindowMillis)
+    {
+        ReflectionTestUtils.setField(coalescer, "coalesceWindowMillis", coalesceWindowMillis);
+        coalescer.init();
+    }
+
+}
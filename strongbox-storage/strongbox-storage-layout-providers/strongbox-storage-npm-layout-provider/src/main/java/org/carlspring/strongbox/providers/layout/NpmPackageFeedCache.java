@@ -0,0 +1,447 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
+import org.carlspring.strongbox.configuration.ConfigurationUpdatedEvent;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.event.AsyncEventListener;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.npm.metadata.DistTags;
+import org.carlspring.strongbox.npm.metadata.PackageFeed;
+import org.carlspring.strongbox.npm.metadata.PackageVersion;
+import org.carlspring.strongbox.npm.metadata.Time;
+import org.carlspring.strongbox.npm.metadata.Versions;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryProvider;
+import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Materialized npm package feeds (packuments) of the hosted repositories.
+ * <br>
+ * Building a package feed reads the {@code ArtifactEntry}, the checksum and the tags of each package version, so it
+ * gets expensive for the packages with many versions. Here the feed is built once, kept serialized together with its
+ * ETag, and patched with the single version when the package file is stored, updated or deleted.
+ * <br>
+ * The feeds of the group and proxy repositories are built on each request, because they depend on the member and
+ * remote repositories, which don't always notify about the changes. Directory deletes don't notify about the
+ * deleted files either, so the entries also expire after {@code ttlMillis}. The least recently used entries are
+ * evicted once there are more than {@code maxSize} of them.
+ */
+@Component
+public class NpmPackageFeedCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackageFeedCache.class);
+
+    private static final String PACKAGE_EXTENSION = ".tgz";
+
+    @Value("${strongbox.npm.packageFeedCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.npm.packageFeedCache.maxSize:1000}")
+    private int maxSize;
+
+    @Value("${strongbox.npm.packageFeedCache.ttlMillis:3600000}")
+    private long ttlMillis;
+
+    @Inject
+    private NpmPackageSupplier npmPackageSupplier;
+
+    @Inject
+    private RepositoryProviderRegistry repositoryProviderRegistry;
+
+    @Inject
+    @NpmObjectMapper
+    private ObjectMapper npmJacksonMapper;
+
+    private Cache<String, CachedPackageFeed> packageFeeds;
+
+    /**
+     * Incremented on each change, so that the feed which was being built during the change is not cached.
+     */
+    private final AtomicLong stamp = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder patches = new LongAdder();
+
+    @PostConstruct
+    public void init()
+    {
+        packageFeeds = CacheBuilder.newBuilder()
+                                   .maximumSize(maxSize)
+                                   .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                                   .build();
+
+        FunctionCounter.builder("strongbox.npm.package.feed.cache.hits", hits, LongAdder::sum)
+                       .description("Package feed requests answered by the cache")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.npm.package.feed.cache.misses", misses, LongAdder::sum)
+                       .description("Package feed requests which built the package feed")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.npm.package.feed.cache.patches", patches, LongAdder::sum)
+                       .description("Package versions patched into the cached package feeds")
+                       .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.npm.package.feed.cache.size", this, c -> c.packageFeeds.size())
+             .description("Package feeds within the cache")
+             .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * @return the serialized package feed of the package within the repository
+     */
+    public PackageFeedContent getPackageFeed(Repository repository,
+                                             String packageScope,
+                                             String packageName)
+        throws IOException
+    {
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+        boolean cacheable = enabled && repository.isHostedRepository();
+        String key = getKey(repository.getStorage().getId(), repository.getId(), packageId);
+
+        CachedPackageFeed packageFeed = cacheable ? packageFeeds.getIfPresent(key) : null;
+        if (packageFeed != null)
+        {
+            hits.increment();
+
+            return packageFeed.content;
+        }
+        misses.increment();
+
+        long lookupStamp = stamp.get();
+        packageFeed = buildPackageFeed(repository, packageScope, packageName, packageId);
+        if (cacheable && stamp.get() == lookupStamp)
+        {
+            packageFeeds.put(key, packageFeed);
+
+            // A change could have happened while the feed was being put.
+            if (stamp.get() != lookupStamp)
+            {
+                packageFeeds.asMap().remove(key, packageFeed);
+            }
+        }
+
+        return packageFeed.content;
+    }
+
+    private CachedPackageFeed buildPackageFeed(Repository repository,
+                                               String packageScope,
+                                               String packageName,
+                                               String packageId)
+        throws IOException
+    {
+        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        Paginator paginator = new Paginator();
+        paginator.setProperty("version");
+
+        List<Path> searchResult = provider.search(repository.getStorage().getId(),
+                                                  repository.getId(),
+                                                  createSearchPredicate(packageScope, packageName),
+                                                  paginator);
+
+        CachedPackageFeed result = new CachedPackageFeed(packageId);
+        searchResult.stream().map(npmPackageSupplier).forEach(result::put);
+        result.serialize();
+
+        return result;
+    }
+
+    private Predicate createSearchPredicate(String packageScope,
+                                            String packageName)
+    {
+        Predicate rootPredicate = Predicate.empty();
+
+        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
+        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.name", packageName)));
+        if (packageScope != null)
+        {
+            rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.scope", packageScope)));
+        }
+
+        return rootPredicate;
+    }
+
+    @AsyncEventListener
+    public void handleEvent(ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        boolean stored = type == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() ||
+                         type == ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType();
+        boolean deleted = type == ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType();
+
+        RepositoryPath repositoryPath = event.getPath();
+        Repository repository = repositoryPath.getRepository();
+        if (!enabled || (!stored && !deleted) || !NpmLayoutProvider.ALIAS.equals(repository.getLayout()))
+        {
+            return;
+        }
+        stamp.incrementAndGet();
+
+        String path;
+        try
+        {
+            path = RepositoryFiles.relativizePath(repositoryPath);
+        }
+        catch (IOException e)
+        {
+            logger.warn(String.format("Failed to patch npm package feed with [%s].", repositoryPath), e);
+            invalidate(repository);
+
+            return;
+        }
+
+        // The package checksums are the part of the package feed as well.
+        String packagePath = path.endsWith(PACKAGE_EXTENSION) ? path : StringUtils.substringBeforeLast(path, ".");
+        if (!packagePath.endsWith(PACKAGE_EXTENSION))
+        {
+            return;
+        }
+
+        NpmArtifactCoordinates coordinates;
+        try
+        {
+            coordinates = NpmArtifactCoordinates.parse(packagePath);
+        }
+        catch (IllegalArgumentException e)
+        {
+            logger.debug(String.format("Skip npm package feed patch with [%s]: %s", path, e.getMessage()));
+
+            return;
+        }
+
+        String key = getKey(repository.getStorage().getId(), repository.getId(), coordinates.getId());
+        CachedPackageFeed packageFeed = packageFeeds.getIfPresent(key);
+        if (packageFeed == null)
+        {
+            return;
+        }
+
+        RepositoryPath packageRepositoryPath = path.equals(packagePath) ?
+                                               repositoryPath :
+                                               repositoryPath.resolveSibling(StringUtils.substringAfterLast(packagePath,
+                                                                                                            "/"));
+        boolean patched;
+        try
+        {
+            patched = stored && Files.exists(packageRepositoryPath) ?
+                      packageFeed.patch(npmPackageSupplier.apply(packageRepositoryPath)) :
+                      packageFeed.remove(coordinates.getVersion());
+        }
+        catch (RuntimeException e)
+        {
+            logger.warn(String.format("Failed to patch npm package feed [%s] with [%s].", key, path), e);
+            patched = false;
+        }
+
+        if (patched)
+        {
+            patches.increment();
+        }
+        else
+        {
+            packageFeeds.asMap().remove(key, packageFeed);
+        }
+    }
+
+    @EventListener
+    public void handleEvent(ConfigurationUpdatedEvent event)
+    {
+        // The repositories could have been removed or changed their types.
+        invalidateAll();
+    }
+
+    public void invalidate(Repository repository)
+    {
+        stamp.incrementAndGet();
+
+        String prefix = getKey(repository.getStorage().getId(), repository.getId(), "");
+        packageFeeds.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    public void invalidateAll()
+    {
+        stamp.incrementAndGet();
+
+        packageFeeds.invalidateAll();
+    }
+
+    private static String getKey(String storageId,
+                                 String repositoryId,
+                                 String packageId)
+    {
+        return String.format("%s:%s:%s", storageId, repositoryId, packageId);
+    }
+
+    /**
+     * The serialized package feed and its ETag.
+     */
+    public static class PackageFeedContent
+    {
+
+        private final byte[] content;
+
+        private final String etag;
+
+        PackageFeedContent(byte[] content)
+        {
+            this.content = content;
+            this.etag = String.format("\"%s\"", DigestUtils.sha1Hex(content));
+        }
+
+        public byte[] getContent()
+        {
+            return content;
+        }
+
+        public String getEtag()
+        {
+            return etag;
+        }
+
+    }
+
+    private class CachedPackageFeed
+    {
+
+        private final String packageId;
+
+        private final Map<String, NpmPackageDesc> versions = new LinkedHashMap<>();
+
+        private String latest;
+
+        private volatile PackageFeedContent content;
+
+        private CachedPackageFeed(String packageId)
+        {
+            this.packageId = packageId;
+        }
+
+        private void put(NpmPackageDesc npmPackageDesc)
+        {
+            String version = npmPackageDesc.getNpmPackage().getVersion();
+            versions.put(version, npmPackageDesc);
+
+            if (npmPackageDesc.isLastVersion())
+            {
+                latest = version;
+            }
+        }
+
+        /**
+         * @return false if the package feed can't be patched and should be built once again
+         */
+        private synchronized boolean patch(NpmPackageDesc npmPackageDesc)
+        {
+            String version = npmPackageDesc.getNpmPackage().getVersion();
+            if (version.equals(latest) && !npmPackageDesc.isLastVersion())
+            {
+                // The previous last version is known to the database only.
+                return false;
+            }
+
+            put(npmPackageDesc);
+            serialize();
+
+            return true;
+        }
+
+        /**
+         * @return false if the package feed can't be patched and should be built once again
+         */
+        private synchronized boolean remove(String version)
+        {
+            if (version.equals(latest))
+            {
+                return false;
+            }
+
+            if (versions.remove(version) != null)
+            {
+                serialize();
+            }
+
+            return true;
+        }
+
+        private void serialize()
+        {
+            PackageFeed packageFeed = new PackageFeed();
+
+            packageFeed.setName(packageId);
+            packageFeed.setAdditionalProperty("_id", packageId);
+
+            Versions packageVersions = new Versions();
+            packageFeed.setVersions(packageVersions);
+
+            Time npmTime = new Time();
+            packageFeed.setTime(npmTime);
+
+            DistTags distTags = new DistTags();
+            packageFeed.setDistTags(distTags);
+            distTags.setLatest(latest);
+
+            for (NpmPackageDesc p : versions.values())
+            {
+                PackageVersion npmPackage = p.getNpmPackage();
+                packageVersions.setAdditionalProperty(npmPackage.getVersion(), npmPackage);
+
+                npmTime.setAdditionalProperty(npmPackage.getVersion(), p.getReleaseDate());
+
+                Date created = npmTime.getCreated();
+                npmTime.setCreated(created == null || created.before(p.getReleaseDate()) ? p.getReleaseDate() : created);
+
+                Date modified = npmTime.getModified();
+                npmTime.setModified(modified == null || modified.before(p.getReleaseDate()) ? p.getReleaseDate()
+                        : modified);
+            }
+
+            try
+            {
+                content = new PackageFeedContent(npmJacksonMapper.writeValueAsBytes(packageFeed));
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,185 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.artifact.generator.NpmPackageGenerator;
+import org.carlspring.strongbox.config.NpmLayoutProviderTestConfig;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache.PackageFeedContent;
+import org.carlspring.strongbox.services.ArtifactManagementService;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
+import org.carlspring.strongbox.testing.NpmRepositoryTestCase;
+
+import javax.inject.Inject;
+import javax.xml.bind.JAXBException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ContextConfiguration(classes = NpmLayoutProviderTestConfig.class)
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+public class NpmPackageFeedCacheTest
+        extends NpmRepositoryTestCase
+{
+
+    private static final String REPOSITORY_RELEASES = "npfct-releases";
+
+    private static final String PACKAGE_NAME = "npm-test-feed-cache";
+
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
+    @Inject
+    private ArtifactManagementService artifactManagementService;
+
+    private Repository repository;
+
+    @BeforeAll
+    public static void cleanUp()
+        throws Exception
+    {
+        cleanUp(getRepositoriesToClean());
+    }
+
+    public static Set<MutableRepository> getRepositoriesToClean()
+    {
+        Set<MutableRepository> repositories = new LinkedHashSet<>();
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_RELEASES, NpmLayoutProvider.ALIAS));
+
+        return repositories;
+    }
+
+    @BeforeEach
+    public void initialize()
+        throws Exception
+    {
+        MutableRepository mutableRepository = npmRepositoryFactory.createRepository(REPOSITORY_RELEASES);
+        mutableRepository.setPolicy(RepositoryPolicyEnum.RELEASE.getPolicy());
+
+        createRepository(STORAGE0, mutableRepository);
+
+        repository = configurationManagementService.getConfiguration().getRepository(STORAGE0, REPOSITORY_RELEASES);
+    }
+
+    @AfterEach
+    public void removeRepositories()
+        throws IOException, JAXBException
+    {
+        npmPackageFeedCache.invalidateAll();
+
+        removeRepositories(getRepositoriesToClean());
+    }
+
+    @Test
+    public void testPackageFeedPatchedOnStoreAndDelete()
+        throws Exception
+    {
+        store("1.0.0");
+
+        PackageFeedContent packageFeed = npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME);
+        assertSame(packageFeed, npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME));
+
+        JsonNode packageFeedJson = new ObjectMapper().readTree(packageFeed.getContent());
+        assertEquals(PACKAGE_NAME, packageFeedJson.path("name").asText());
+        assertTrue(packageFeedJson.path("versions").has("1.0.0"));
+        assertEquals("1.0.0", packageFeedJson.path("dist-tags").path("latest").asText());
+
+        RepositoryPath packagePath = store("1.0.1");
+
+        PackageFeedContent patchedPackageFeed = npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME);
+        assertNotEquals(packageFeed.getEtag(), patchedPackageFeed.getEtag());
+
+        packageFeedJson = new ObjectMapper().readTree(patchedPackageFeed.getContent());
+        assertTrue(packageFeedJson.path("versions").has("1.0.0"));
+        assertTrue(packageFeedJson.path("versions").has("1.0.1"));
+        assertEquals("1.0.1", packageFeedJson.path("dist-tags").path("latest").asText());
+
+        // The latest version is deleted, so the package feed is built once again.
+        artifactManagementService.delete(packagePath, true);
+
+        packageFeedJson = new ObjectMapper().readTree(npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME)
+                                                                         .getContent());
+        assertTrue(packageFeedJson.path("versions").has("1.0.0"));
+        assertFalse(packageFeedJson.path("versions").has("1.0.1"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPackageFeedEvicted()
+        throws Exception
+    {
+        // The cache is proxied, because of its async event listener.
+        NpmPackageFeedCache target = AopTestUtils.getTargetObject(npmPackageFeedCache);
+        int maxSize = (Integer) ReflectionTestUtils.getField(target, "maxSize");
+        ReflectionTestUtils.setField(target, "maxSize", 2);
+        target.init();
+        try
+        {
+            store(PACKAGE_NAME + "-a", "1.0.0");
+            store(PACKAGE_NAME + "-b", "1.0.0");
+            store(PACKAGE_NAME + "-c", "1.0.0");
+
+            PackageFeedContent packageFeedA = npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-a");
+            PackageFeedContent packageFeedB = npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-b");
+            // The first package feed is used more recently than the second one.
+            assertSame(packageFeedA, npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-a"));
+
+            npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-c");
+
+            assertSame(packageFeedA, npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-a"));
+            assertNotSame(packageFeedB, npmPackageFeedCache.getPackageFeed(repository, null, PACKAGE_NAME + "-b"));
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(target, "maxSize", maxSize);
+            target.init();
+        }
+    }
+
+    private RepositoryPath store(String version)
+        throws Exception
+    {
+        return store(PACKAGE_NAME, version);
+    }
+
+    private RepositoryPath store(String packageName,
+                                 String version)
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(packageName, version);
+
+        Path packagesPath = Files.createTempDirectory("npm-packages");
+        Path packagePath = new NpmPackageGenerator(packagesPath.toString()).of(coordinates).buildPackage();
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, coordinates.toPath());
+        try (InputStream is = Files.newInputStream(packagePath))
+        {
+            artifactManagementService.validateAndStore(repositoryPath, is);
+        }
+
+        return repositoryPath;
+    }
+
+}
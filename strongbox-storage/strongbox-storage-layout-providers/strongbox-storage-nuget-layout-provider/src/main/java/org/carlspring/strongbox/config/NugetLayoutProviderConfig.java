@@ -22,6 +22,7 @@ import org.springframework.context.annotation.Scope;
 
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.configuration",
+                 "org.carlspring.strongbox.nuget.filter",
                  "org.carlspring.strongbox.repository",
                  "org.carlspring.strongbox.providers",
                  "org.carlspring.strongbox.services",
@@ -0,0 +1,227 @@
+package org.carlspring.strongbox.nuget.filter;
+
+import org.carlspring.strongbox.data.criteria.Expression;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.data.criteria.Predicate.BooleanOperator;
+import org.carlspring.strongbox.data.criteria.QueryParserException;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled NuGet OData {@code $filter} plans.
+ * <br>
+ * The clients send a few filter shapes over and over again, only with the other package ids and versions, like
+ * {@code IsLatestVersion} or {@code tolower(Id) eq 'nhibernate'}. So the filter is split into its shape, where each
+ * quoted literal is replaced with a placeholder, and the literals. The shape is parsed once into the template
+ * {@link Predicate}, and each filter of the same shape gets a copy of the template with its own literals.
+ * <br>
+ * The literals which the lexer would not read as the values (like the keywords) make the filter invalid, so such
+ * filters are parsed as they are, in order to fail with the same error.
+ */
+@Component
+public class NugetODataFilterPlanCache
+{
+
+    private static final Pattern VALUE = Pattern.compile("[a-zA-Z_0-9.]+");
+
+    private static final Set<String> KEYWORDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("tolower",
+                                                                                                        "IsLatestVersion",
+                                                                                                        "Id",
+                                                                                                        "Version",
+                                                                                                        "eq",
+                                                                                                        "ge",
+                                                                                                        "and",
+                                                                                                        "or",
+                                                                                                        "not")));
+
+    private static final String PLACEHOLDER_PREFIX = "p";
+
+    private static final Pattern PLACEHOLDER = Pattern.compile(PLACEHOLDER_PREFIX + "(\\d+)");
+
+    @Value("${strongbox.nuget.filterPlanCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.nuget.filterPlanCache.maxSize:1000}")
+    private int maxSize;
+
+    /**
+     * Evicts the least recently used plans once there are more than {@code maxSize} of them.
+     */
+    private Cache<String, Predicate> plans;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void init()
+    {
+        plans = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+
+        FunctionCounter.builder("strongbox.nuget.filter.plan.cache.hits", hits, LongAdder::sum)
+                       .description("Filters planned with the cached filter shape")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.nuget.filter.plan.cache.misses", misses, LongAdder::sum)
+                       .description("Filters which were parsed")
+                       .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.nuget.filter.plan.cache.size", this, c -> c.plans.size())
+             .description("Filter shapes within the cache")
+             .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * @return the new {@link Predicate} of the filter, which can be modified by the caller
+     * @throws QueryParserException
+     *             if the filter is not valid
+     */
+    public Predicate getPredicate(String filter)
+    {
+        List<String> literals = new ArrayList<>();
+        String shape = enabled ? toShape(filter, literals) : null;
+        if (shape == null)
+        {
+            misses.increment();
+
+            return parse(filter);
+        }
+
+        Predicate plan = plans.getIfPresent(shape);
+        if (plan != null)
+        {
+            hits.increment();
+
+            return bind(plan, literals);
+        }
+        misses.increment();
+
+        try
+        {
+            plan = parse(shape);
+        }
+        catch (QueryParserException e)
+        {
+            // The error should point to the filter as it was sent.
+            return parse(filter);
+        }
+
+        plans.put(shape, plan);
+
+        return bind(plan, literals);
+    }
+
+    public void invalidateAll()
+    {
+        plans.invalidateAll();
+    }
+
+    private static Predicate parse(String filter)
+    {
+        return NugetODataFilterQueryParser.ofThreadParser(filter).parseQuery().getPredicate();
+    }
+
+    /**
+     * Replaces the quoted literals of the filter with the placeholders, and collapses the spaces, which are skipped
+     * by the lexer.
+     *
+     * @return the shape of the filter, or <code>null</code> if the filter has to be parsed as it is
+     */
+    static String toShape(String filter,
+                          List<String> literals)
+    {
+        StringBuilder shape = new StringBuilder(filter.length());
+        for (int i = 0; i < filter.length(); i++)
+        {
+            char c = filter.charAt(i);
+            if (c == '\'')
+            {
+                int end = filter.indexOf('\'', i + 1);
+                if (end < 0)
+                {
+                    return null;
+                }
+
+                String literal = filter.substring(i + 1, end);
+                if (!VALUE.matcher(literal).matches() || KEYWORDS.contains(literal))
+                {
+                    return null;
+                }
+
+                shape.append('\'').append(PLACEHOLDER_PREFIX).append(literals.size()).append('\'');
+                literals.add(literal);
+                i = end;
+            }
+            else if (c != ' ' || (shape.length() > 0 && shape.charAt(shape.length() - 1) != ' '))
+            {
+                shape.append(c);
+            }
+        }
+
+        int length = shape.length();
+        if (length > 0 && shape.charAt(length - 1) == ' ')
+        {
+            shape.setLength(length - 1);
+        }
+
+        return shape.toString();
+    }
+
+    /**
+     * Copies the template predicate, with the placeholders replaced by the literals.
+     */
+    private static Predicate bind(Predicate plan,
+                                  List<String> literals)
+    {
+        Predicate result;
+        Expression expression = plan.getExpression();
+        if (expression != null)
+        {
+            Object value = expression.getValue();
+            Matcher placeholder = value instanceof String ? PLACEHOLDER.matcher((String) value) : null;
+            if (placeholder != null && placeholder.matches())
+            {
+                value = literals.get(Integer.parseInt(placeholder.group(1)));
+            }
+
+            result = Predicate.of(new Expression(expression.getProperty(), expression.getOperator(), value));
+        }
+        else
+        {
+            result = Predicate.empty();
+        }
+
+        for (Predicate childPlan : plan.getChildPredicateList())
+        {
+            if (BooleanOperator.OR.equals(plan.getOperator()))
+            {
+                result.or(bind(childPlan, literals));
+            }
+            else
+            {
+                result.and(bind(childPlan, literals));
+            }
+        }
+
+        result.setNested(plan.isNested());
+        result.setNegated(plan.isNegated());
+
+        return result;
+    }
+
+}
@@ -15,11 +15,43 @@ import org.carlspring.strongbox.nuget.filter.NugetODataFilterParser.FilterContex
 public class NugetODataFilterQueryParser extends QueryParser<FilterContext, ArtifactEntry, NugetODataFilterVisitorImpl>
 {
 
+    /**
+     * The lexer and the parser are not thread safe, but they can be reset to the next query, so each thread keeps
+     * its own instances.
+     */
+    private static final ThreadLocal<NugetODataFilterParser> THREAD_PARSER = ThreadLocal.withInitial(
+            () -> (NugetODataFilterParser) createParser(CharStreams.fromString("")));
+
     public NugetODataFilterQueryParser(String query)
     {
         super(createParser(CharStreams.fromString(query)));
     }
 
+    private NugetODataFilterQueryParser(Parser parser)
+    {
+        super(parser);
+    }
+
+    /**
+     * Creates the query parser with the lexer and the parser of the current thread, reset to the query.
+     */
+    public static NugetODataFilterQueryParser ofThreadParser(String query)
+    {
+        NugetODataFilterParser parser = THREAD_PARSER.get();
+        CommonTokenStream commonTokenStream = (CommonTokenStream) parser.getTokenStream();
+        NugetODataFilterLexer lexer = (NugetODataFilterLexer) commonTokenStream.getTokenSource();
+
+        // The error listeners of the previous query are registered by the QueryParser.
+        lexer.removeErrorListeners();
+        parser.removeErrorListeners();
+
+        lexer.setInputStream(CharStreams.fromString(query));
+        commonTokenStream.setTokenSource(lexer);
+        parser.setTokenStream(commonTokenStream);
+
+        return new NugetODataFilterQueryParser(parser);
+    }
+
     public static Parser createParser(CharStream is)
     {
         NugetODataFilterLexer lexer = new NugetODataFilterLexer(is);
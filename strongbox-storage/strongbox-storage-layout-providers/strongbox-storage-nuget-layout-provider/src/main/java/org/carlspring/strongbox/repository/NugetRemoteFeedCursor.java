@@ -0,0 +1,206 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.nuget.NugetSearchRequest;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The progress of the remote feed download of a NuGet proxy repository, which is kept in a file outside of the
+ * repository tree, so that the interrupted download can be resumed. There is a file per storage, repository and
+ * download parameters, and only one download of them can have the cursor open at a time, so the concurrent downloads
+ * don't overwrite each other's progress.
+ * <p>
+ * The first line of the file is the header with the parameters of the download (the page size and the search
+ * request), the next lines are the {@code $skip} values of the next page, written once the previous page has been
+ * committed. The download is resumed from the last recorded {@code $skip} only with the same parameters.
+ */
+public class NugetRemoteFeedCursor
+        implements Closeable
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NugetRemoteFeedCursor.class);
+
+    private static final String HEADER_SEPARATOR = "|";
+
+    private static final Set<Path> openCursorPaths = ConcurrentHashMap.newKeySet();
+
+    private final Path cursorPath;
+
+    private final Writer writer;
+
+    private int skip;
+
+    private NugetRemoteFeedCursor(Path cursorPath,
+                                  int skip,
+                                  Writer writer)
+    {
+        this.cursorPath = cursorPath;
+        this.skip = skip;
+        this.writer = writer;
+    }
+
+    /**
+     * Opens the cursor of the download with the same parameters, or starts the new one.
+     *
+     * @return the cursor, or <code>null</code> if the same download is already in progress
+     */
+    public static NugetRemoteFeedCursor open(Path cursorDirectory,
+                                             RepositoryPath repositoryRoot,
+                                             NugetSearchRequest nugetSearchRequest,
+                                             int pageSize)
+        throws IOException
+    {
+        String parameters = String.join(HEADER_SEPARATOR,
+                                        String.valueOf(pageSize),
+                                        Objects.toString(nugetSearchRequest.getFilter(), ""),
+                                        Objects.toString(nugetSearchRequest.getSearchTerm(), ""),
+                                        Objects.toString(nugetSearchRequest.getTargetFramework(), ""));
+
+        Repository repository = repositoryRoot.getRepository();
+        Path cursorPath = cursorDirectory.resolve(repository.getStorage().getId())
+                                         .resolve(repository.getId())
+                                         .resolve(getCursorFileName(parameters));
+
+        return open(cursorPath, parameters);
+    }
+
+    static NugetRemoteFeedCursor open(Path cursorPath,
+                                      String parameters)
+        throws IOException
+    {
+        if (!openCursorPaths.add(cursorPath))
+        {
+            return null;
+        }
+
+        try
+        {
+            return doOpen(cursorPath, parameters);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            openCursorPaths.remove(cursorPath);
+
+            throw e;
+        }
+    }
+
+    private static NugetRemoteFeedCursor doOpen(Path cursorPath,
+                                                String parameters)
+        throws IOException
+    {
+        Integer skip = null;
+        if (Files.exists(cursorPath))
+        {
+            try (BufferedReader reader = Files.newBufferedReader(cursorPath, StandardCharsets.UTF_8))
+            {
+                String header = reader.readLine();
+                if (parameters.equals(header))
+                {
+                    // A partially written line is the only one which could be broken, so the last valid one is used.
+                    skip = reader.lines()
+                                 .filter(l -> l.matches("\\d+"))
+                                 .map(Integer::valueOf)
+                                 .reduce((first, second) -> second)
+                                 .orElse(0);
+                }
+            }
+            catch (NumberFormatException e)
+            {
+                logger.warn(String.format("Ignoring invalid NuGet remote feed cursor [%s].", cursorPath));
+            }
+        }
+
+        Writer writer;
+        if (skip != null)
+        {
+            logger.info(String.format("Resuming NuGet remote feed download from [%s], $skip is [%s].",
+                                      cursorPath, skip));
+
+            writer = Files.newBufferedWriter(cursorPath, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+        else
+        {
+            skip = 0;
+
+            Files.createDirectories(cursorPath.getParent());
+            writer = Files.newBufferedWriter(cursorPath, StandardCharsets.UTF_8);
+            writer.write(parameters + "\n");
+            writer.flush();
+        }
+
+        return new NugetRemoteFeedCursor(cursorPath, skip, writer);
+    }
+
+    /**
+     * The parameters are hashed, because they can't be used as a file name as is.
+     */
+    private static String getCursorFileName(String parameters)
+    {
+        return UUID.nameUUIDFromBytes(parameters.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * @return the {@code $skip} of the next page to download
+     */
+    public int getSkip()
+    {
+        return skip;
+    }
+
+    /**
+     * Records the {@code $skip} of the next page, once the previous page has been committed.
+     */
+    public synchronized void commit(int nextSkip)
+        throws IOException
+    {
+        skip = nextSkip;
+
+        writer.write(nextSkip + "\n");
+        writer.flush();
+    }
+
+    /**
+     * Removes the cursor once the whole feed has been downloaded, it still has to be closed afterwards.
+     */
+    public synchronized void finish()
+        throws IOException
+    {
+        writer.close();
+        Files.deleteIfExists(cursorPath);
+    }
+
+    /**
+     * Closes the cursor, keeping it to resume the download unless it has been finished.
+     */
+    @Override
+    public synchronized void close()
+        throws IOException
+    {
+        try
+        {
+            writer.close();
+        }
+        finally
+        {
+            openCursorPaths.remove(cursorPath);
+        }
+    }
+
+}
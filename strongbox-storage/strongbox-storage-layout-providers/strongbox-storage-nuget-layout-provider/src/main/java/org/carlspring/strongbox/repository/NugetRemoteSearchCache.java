@@ -0,0 +1,288 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.config.EventsConfig;
+import org.carlspring.strongbox.configuration.ConfigurationUpdatedEvent;
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.nuget.NugetSearchRequest;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers when the NuGet proxy repository searches were last fetched from the remote repository, keyed by the
+ * normalized {@code $filter}, {@code searchTerm}, {@code targetFramework}, {@code $skip} and {@code $top}.
+ * <br>
+ * The fetched packages are stored as the remote artifact entries, so the search itself is always answered from the
+ * local data, and the remote fetch only brings the local data up to date:
+ * <ul>
+ * <li>fresh - the search was fetched within {@code ttlMillis}, the remote repository is not called</li>
+ * <li>stale - the search is answered right away, and fetched again in the background (stale-while-revalidate)</li>
+ * <li>miss - the search was never fetched, so it's fetched before answering, otherwise the first search of a
+ * package would come back empty</li>
+ * </ul>
+ * The hits are counted together with the upstream time they saved, which is the duration of the last fetch of the
+ * same search. The stale searches are still useful, so the searches don't expire, the least recently used ones are
+ * evicted once there are more than {@code maxSize} of them.
+ */
+@Component
+public class NugetRemoteSearchCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NugetRemoteSearchCache.class);
+
+    @Value("${strongbox.nuget.remoteSearchCache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${strongbox.nuget.remoteSearchCache.maxSize:10000}")
+    private int maxSize;
+
+    @Value("${strongbox.nuget.remoteSearchCache.ttlMillis:300000}")
+    private long ttlMillis;
+
+    @Inject
+    @Named(EventsConfig.REMOTE_SEARCH_TASK_EXECUTOR)
+    private Executor remoteSearchTaskExecutor;
+
+    private Cache<String, RemoteSearchEntry> remoteSearches;
+
+    private final LongAdder freshHits = new LongAdder();
+
+    private final LongAdder staleHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder savedUpstreamNanos = new LongAdder();
+
+    private Timer upstreamTimer;
+
+    @PostConstruct
+    public void init()
+    {
+        remoteSearches = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+
+        FunctionCounter.builder("strongbox.nuget.remote.search.cache.hits", freshHits, LongAdder::sum)
+                       .description("Remote searches answered without calling the remote repository")
+                       .tag("state", "fresh")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.nuget.remote.search.cache.hits", staleHits, LongAdder::sum)
+                       .description("Remote searches answered right away and fetched again in the background")
+                       .tag("state", "stale")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.nuget.remote.search.cache.misses", misses, LongAdder::sum)
+                       .description("Remote searches fetched from the remote repository before answering")
+                       .register(Metrics.globalRegistry);
+        FunctionCounter.builder("strongbox.nuget.remote.search.cache.saved",
+                                savedUpstreamNanos,
+                                a -> a.sum() / (double) TimeUnit.SECONDS.toNanos(1))
+                       .description("Remote repository time the searches didn't wait for")
+                       .baseUnit("seconds")
+                       .register(Metrics.globalRegistry);
+        Gauge.builder("strongbox.nuget.remote.search.cache.size", this, c -> c.remoteSearches.size())
+             .description("Remote searches within the cache")
+             .register(Metrics.globalRegistry);
+        upstreamTimer = Timer.builder("strongbox.nuget.remote.search.upstream")
+                             .description("Time taken to fetch the searches from the remote repository")
+                             .register(Metrics.globalRegistry);
+    }
+
+    /**
+     * Brings the local data of the search up to date, according to the state of the search within the cache.
+     */
+    public void search(String storageId,
+                       String repositoryId,
+                       NugetSearchRequest nugetSearchRequest,
+                       Paginator paginator,
+                       RemoteSearch remoteSearch)
+        throws IOException
+    {
+        if (!enabled)
+        {
+            fetch(remoteSearch);
+
+            return;
+        }
+
+        String key = getKey(storageId, repositoryId, nugetSearchRequest, paginator);
+        RemoteSearchEntry remoteSearchEntry = remoteSearches.getIfPresent(key);
+        if (remoteSearchEntry == null)
+        {
+            misses.increment();
+
+            long upstreamNanos = fetch(remoteSearch);
+            if (upstreamNanos >= 0)
+            {
+                remoteSearches.put(key, newRemoteSearchEntry(upstreamNanos));
+            }
+
+            return;
+        }
+
+        savedUpstreamNanos.add(remoteSearchEntry.upstreamNanos);
+
+        long now = System.currentTimeMillis();
+        if (now - remoteSearchEntry.fetchedAt < ttlMillis)
+        {
+            freshHits.increment();
+
+            return;
+        }
+        staleHits.increment();
+
+        if (remoteSearchEntry.startRefresh(now, ttlMillis))
+        {
+            remoteSearchTaskExecutor.execute(() -> refresh(key, remoteSearchEntry, remoteSearch));
+        }
+    }
+
+    private void refresh(String key,
+                         RemoteSearchEntry remoteSearchEntry,
+                         RemoteSearch remoteSearch)
+    {
+        try
+        {
+            long upstreamNanos = fetch(remoteSearch);
+            if (upstreamNanos >= 0)
+            {
+                remoteSearches.asMap().replace(key, remoteSearchEntry, newRemoteSearchEntry(upstreamNanos));
+
+                return;
+            }
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to refresh remote search [%s].", key), e);
+        }
+
+        // The next request will try again.
+        remoteSearchEntry.refreshStartedAt.set(0);
+    }
+
+    /**
+     * @return the upstream time in nanoseconds, or -1 if the search was not fetched
+     */
+    private long fetch(RemoteSearch remoteSearch)
+        throws IOException
+    {
+        long start = System.nanoTime();
+        boolean fetched = remoteSearch.fetch();
+        long upstreamNanos = System.nanoTime() - start;
+
+        upstreamTimer.record(upstreamNanos, TimeUnit.NANOSECONDS);
+
+        return fetched ? upstreamNanos : -1;
+    }
+
+    private RemoteSearchEntry newRemoteSearchEntry(long upstreamNanos)
+    {
+        return new RemoteSearchEntry(System.currentTimeMillis(), upstreamNanos);
+    }
+
+    @EventListener
+    public void handleEvent(ConfigurationUpdatedEvent event)
+    {
+        // The remote repository URL could have been changed.
+        invalidateAll();
+    }
+
+    public void invalidateAll()
+    {
+        remoteSearches.invalidateAll();
+    }
+
+    static String getKey(String storageId,
+                         String repositoryId,
+                         NugetSearchRequest nugetSearchRequest,
+                         Paginator paginator)
+    {
+        return String.format("%s:%s:%s:%s:%s:%s:%s",
+                             storageId,
+                             repositoryId,
+                             normalize(nugetSearchRequest.getFilter(), false),
+                             normalize(nugetSearchRequest.getSearchTerm(), true),
+                             normalize(nugetSearchRequest.getTargetFramework(), true),
+                             paginator.getSkip() == null ? 0 : paginator.getSkip(),
+                             paginator.getLimit() == null ? 0 : paginator.getLimit());
+    }
+
+    /**
+     * The filter values (like package ids) are passed to the remote repository as they are, so only the whitespace
+     * is normalized, while the search terms and the target frameworks are case insensitive.
+     */
+    private static String normalize(String value,
+                                    boolean ignoreCase)
+    {
+        if (value == null)
+        {
+            return "";
+        }
+
+        String result = value.trim().replaceAll("\\s+", " ");
+
+        return ignoreCase ? result.toLowerCase(Locale.ROOT) : result;
+    }
+
+    /**
+     * Fetches the search from the remote repository into the local data.
+     */
+    @FunctionalInterface
+    public interface RemoteSearch
+    {
+
+        /**
+         * @return <code>false</code> if the remote repository could not be searched
+         */
+        boolean fetch()
+            throws IOException;
+
+    }
+
+    private static class RemoteSearchEntry
+    {
+
+        private final long fetchedAt;
+
+        private final long upstreamNanos;
+
+        /**
+         * The background fetch can be discarded when its executor is saturated, so a refresh which has not
+         * completed within {@code ttlMillis} can be started again.
+         */
+        private final AtomicLong refreshStartedAt = new AtomicLong();
+
+        RemoteSearchEntry(long fetchedAt,
+                          long upstreamNanos)
+        {
+            this.fetchedAt = fetchedAt;
+            this.upstreamNanos = upstreamNanos;
+        }
+
+        boolean startRefresh(long now,
+                             long ttlMillis)
+        {
+            long startedAt = refreshStartedAt.get();
+
+            return (startedAt == 0 || now - startedAt >= ttlMillis) && refreshStartedAt.compareAndSet(startedAt, now);
+        }
+
+    }
+
+}
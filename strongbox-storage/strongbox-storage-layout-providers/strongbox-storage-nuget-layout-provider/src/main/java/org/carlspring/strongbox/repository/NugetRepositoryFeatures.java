@@ -1,7 +1,7 @@
 package org.carlspring.strongbox.repository;
 
 import org.carlspring.strongbox.artifact.ArtifactTag;
-import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
+import org.carlspring.strongbox.booters.PropertiesBooter;
 import org.carlspring.strongbox.artifact.coordinates.NugetArtifactCoordinates;
 import org.carlspring.strongbox.client.ArtifactTransportException;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
@@ -16,7 +16,6 @@ import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
 import org.carlspring.strongbox.domain.RepositoryArtifactIdGroupEntry;
 import org.carlspring.strongbox.nuget.NugetSearchRequest;
-import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
@@ -44,10 +43,15 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.WebTarget;
 
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
@@ -71,6 +75,8 @@ public class NugetRepositoryFeatures
 
     private static final int REMOTE_FEED_PAGE_SIZE = 1000;
 
+    private static final String REMOTE_FEED_CURSOR_DIRECTORY = "nuget-remote-feed";
+
     private static final Logger logger = LoggerFactory.getLogger(NugetRepositoryFeatures.class);
 
     @Inject
@@ -105,6 +111,12 @@ public class NugetRepositoryFeatures
 
     @Inject
     private RepositoryArtifactIdGroupService repositoryArtifactIdGroupService;
+
+    @Inject
+    private NugetRemoteSearchCache nugetRemoteSearchCache;
+
+    @Inject
+    private PropertiesBooter propertiesBooter;
     
     private Set<String> defaultMavenArtifactCoordinateValidators;
 
@@ -123,6 +135,11 @@ public class NugetRepositoryFeatures
         downloadRemoteFeed(storageId, repositoryId, new NugetSearchRequest());
     }
 
+    /**
+     * Downloads the whole remote feed page by page. The {@code $skip} of the next page is recorded with the
+     * {@link NugetRemoteFeedCursor} once a page has been committed, so that an interrupted download continues from
+     * the last committed page.
+     */
     public void downloadRemoteFeed(String storageId,
                                    String repositoryId,
                                    NugetSearchRequest nugetSearchRequest)
@@ -130,18 +147,53 @@ public class NugetRepositoryFeatures
     {
         Storage storage = getConfiguration().getStorage(storageId);
         Repository repository = storage.getRepository(repositoryId);
+        if (((ImmutableRepository) repository).getRemoteRepository() == null)
+        {
+            return;
+        }
 
         Optional<NugetRepositoryConfiguration> repositoryConfiguration = Optional.ofNullable((NugetRepositoryConfiguration) ((ImmutableRepository)repository).getRepositoryConfiguration());
         Integer remoteFeedPageSize = repositoryConfiguration.map(c -> c.getRemoteFeedPageSize())
                                                             .orElse(REMOTE_FEED_PAGE_SIZE);
-        for (int i = 0; true; i++)
+
+        RepositoryPath repositoryRoot = repositoryPathResolver.resolve(repository);
+        NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(Paths.get(propertiesBooter.getVaultDirectory(),
+                                                                             REMOTE_FEED_CURSOR_DIRECTORY),
+                                                                  repositoryRoot,
+                                                                  nugetSearchRequest,
+                                                                  remoteFeedPageSize);
+        if (cursor == null)
+        {
+            logger.info(String.format("NuGet remote feed download of [%s] is already in progress.", repositoryRoot));
+
+            return;
+        }
+
+        try
         {
-            if (!downloadRemoteFeed(storageId, repositoryId, nugetSearchRequest, i * remoteFeedPageSize,
-                                    remoteFeedPageSize))
+            for (int skip = cursor.getSkip(); true; skip += remoteFeedPageSize)
             {
-                break;
+                PackageFeed packageFeed = fetchRemoteFeed(repository, nugetSearchRequest, skip, remoteFeedPageSize);
+                if (packageFeed == null)
+                {
+                    // The cursor is kept, the next download continues from this page.
+                    return;
+                }
+                if (packageFeed.getEntries() == null || packageFeed.getEntries().isEmpty())
+                {
+                    cursor.finish();
+                    return;
+                }
+
+                parseFeed(repository, packageFeed);
+
+                cursor.commit(skip + remoteFeedPageSize);
             }
         }
+        finally
+        {
+            cursor.close();
+        }
     }
 
     public boolean downloadRemoteFeed(String storageId,
@@ -154,10 +206,29 @@ public class NugetRepositoryFeatures
         Storage storage = getConfiguration().getStorage(storageId);
         Repository repository = storage.getRepository(repositoryId);
 
+        PackageFeed packageFeed = fetchRemoteFeed(repository, nugetSearchRequest, skip, top);
+        if (packageFeed == null || packageFeed.getEntries() == null || packageFeed.getEntries().size() == 0)
+        {
+            return false;
+        }
+
+        parseFeed(repository, packageFeed);
+
+        return true;
+    }
+
+    /**
+     * @return the page of the remote feed, or <code>null</code> if it could not be fetched
+     */
+    private PackageFeed fetchRemoteFeed(Repository repository,
+                                        NugetSearchRequest nugetSearchRequest,
+                                        int skip,
+                                        int top)
+    {
         RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
         if (remoteRepository == null)
         {
-            return false;
+            return null;
         }
         String remoteRepositoryUrl = remoteRepository.getUrl();
 
@@ -178,28 +249,27 @@ public class NugetRepositoryFeatures
             
             logger.debug(String.format("Downloaded remote feed for [%s], size [%s].",
                                        remoteRepository.getUrl(),
-                                       Optional.of(packageFeed).map(f -> f.getEntries().size()).orElse(0)));
+                                       Optional.ofNullable(packageFeed).map(f -> f.getEntries()).map(e -> e.size()).orElse(0)));
 
         }
         catch (Exception e)
         {
             logger.error(String.format("Failed to fetch Nuget remote feed [%s]", remoteRepositoryUrl), e);
-            return false;
+            return null;
         } finally
         {
             restClient.close();
         }
 
-        if (packageFeed == null || packageFeed.getEntries() == null || packageFeed.getEntries().size() == 0)
-        {
-            return false;
-        }
-
-        parseFeed(repository, packageFeed);
-
-        return true;
+        return packageFeed;
     }
 
+    /**
+     * Imports a page of the remote feed: the existence of the whole page is resolved with a single batch lookup,
+     * and the new entries are added to their artifact id groups group by group, so that each group is saved once
+     * per page. The entries themselves are saved with the {@link ArtifactEntryService}, so they are evicted from the
+     * artifact entry cache and added to the search index just like the deployed ones.
+     */
     private void parseFeed(Repository repository,
                            PackageFeed packageFeed) throws IOException
     {
@@ -208,15 +278,20 @@ public class NugetRepositoryFeatures
 
         ArtifactTag lastVersionTag = artifactTagService.findOneOrCreate(ArtifactTagEntry.LAST_VERSION);
 
-        Set<ArtifactEntry> artifactToSaveSet = new HashSet<>();
+        Map<String, PackageEntry> packageEntries = new LinkedHashMap<>();
         for (PackageEntry packageEntry : packageFeed.getEntries())
         {
-            String packageId = packageEntry.getProperties().getId();
-            packageId = packageId == null ? packageEntry.getTitle() : packageId;
-            String packageVersion = packageEntry.getProperties().getVersion().toString();
+            packageEntries.put(toCoordinates(packageEntry).toPath(), packageEntry);
+        }
+
+        Set<String> existingPaths = artifactEntryService.findExistingPaths(storageId, repositoryId,
+                                                                           packageEntries.keySet());
 
-            NugetArtifactCoordinates c = new NugetArtifactCoordinates(packageId, packageVersion, "nupkg");
-            if (artifactEntryService.artifactExists(storageId, repositoryId, c.toPath()))
+        Map<String, List<ArtifactEntry>> artifactGroups = new LinkedHashMap<>();
+        for (PackageEntry packageEntry : packageEntries.values())
+        {
+            NugetArtifactCoordinates c = toCoordinates(packageEntry);
+            if (existingPaths.contains(c.toPath()))
             {
                 continue;
             }
@@ -236,31 +311,51 @@ public class NugetRepositoryFeatures
                 remoteArtifactEntry.getTagSet().add(lastVersionTag);
             }
 
-            artifactToSaveSet.add(remoteArtifactEntry);
+            artifactGroups.computeIfAbsent(c.getId(), id -> new ArrayList<>()).add(remoteArtifactEntry);
         }
 
-        for (ArtifactEntry e : artifactToSaveSet)
+        for (Map.Entry<String, List<ArtifactEntry>> artifactGroupEntries : artifactGroups.entrySet())
         {
-            RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, (NugetArtifactCoordinates) e.getArtifactCoordinates());
+            artifactGroupEntries.getValue().sort(Comparator.comparing(ArtifactEntry::getArtifactPath));
 
-            Storage storage = repository.getStorage();
-            ArtifactCoordinates coordinates = RepositoryFiles.readCoordinates(repositoryPath);
-            
-            Lock lock = repositoryPathLock.lock(repositoryPath).writeLock();
-            lock.lock();
-            
+            // The same path locks are taken as for a single artifact, in the path order to avoid the deadlocks.
+            List<Lock> locks = new ArrayList<>();
+            for (ArtifactEntry e : artifactGroupEntries.getValue())
+            {
+                RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, (NugetArtifactCoordinates) e.getArtifactCoordinates());
+                locks.add(repositoryPathLock.lock(repositoryPath).writeLock());
+            }
+
+            List<Lock> acquiredLocks = new ArrayList<>();
             try
             {
-                RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storage.getId(), repository.getId(), coordinates.getId());
-                repositoryArtifactIdGroupService.addArtifactToGroup(artifactGroup, e);
+                for (Lock lock : locks)
+                {
+                    lock.lock();
+                    acquiredLocks.add(lock);
+                }
+
+                RepositoryArtifactIdGroupEntry artifactGroup = repositoryArtifactIdGroupService.findOneOrCreate(storageId,
+                                                                                                                repositoryId,
+                                                                                                                artifactGroupEntries.getKey());
+                repositoryArtifactIdGroupService.addArtifactsToGroup(artifactGroup, artifactGroupEntries.getValue());
             }
             finally
             {
-                lock.unlock();
+                acquiredLocks.forEach(Lock::unlock);
             }
         }
     }
 
+    private NugetArtifactCoordinates toCoordinates(PackageEntry packageEntry)
+    {
+        String packageId = packageEntry.getProperties().getId();
+        packageId = packageId == null ? packageEntry.getTitle() : packageId;
+        String packageVersion = packageEntry.getProperties().getVersion().toString();
+
+        return new NugetArtifactCoordinates(packageId, packageVersion, "nupkg");
+    }
+
     protected Configuration getConfiguration()
     {
         return configurationManager.getConfiguration();
@@ -299,65 +394,104 @@ public class NugetRepositoryFeatures
                 return;
             }
 
-            Selector<RemoteArtifactEntry> selector = new Selector<>(RemoteArtifactEntry.class);
-            selector.select("count(*)");
-            selector.where(Predicate.of(ExpOperator.EQ.of("storageId", event.getStorageId())))
-                    .and(Predicate.of(ExpOperator.EQ.of("repositoryId", event.getRepositoryId())));
-            if (!event.getPredicate().isEmpty())
-            {
-                selector.getPredicate().and(event.getPredicate());
-            }
-            OQueryTemplate<Long, RemoteArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
-            Long packageCount = queryTemplate.select(selector);
+            // The request scoped search request is not available to the background fetch, and the paginator can be
+            // changed by the request after the event.
+            NugetSearchRequest searchRequest = nugetSearchRequest;
+            Paginator paginator = copyOf(event.getPaginator());
+            nugetRemoteSearchCache.search(storage.getId(),
+                                          repository.getId(),
+                                          searchRequest,
+                                          paginator,
+                                          () -> fetchRemoteSearch(repository, remoteRepository, searchRequest,
+                                                                  paginator, event));
+        }
 
-            logger.debug(String.format("Remote repository [%s] cached package count is [%s]", repository.getId(),
-                                       packageCount));
+    }
 
-            Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
-            PackageFeed feed;
-            try
-            {
-                WebTarget service = restClient.target(remoteRepository.getUrl());
+    /**
+     * Fetches the page of the remote repository search into the local data, unless the remote repository has the
+     * same number of the packages as the local data.
+     *
+     * @return <code>false</code> if the remote repository could not be searched
+     */
+    private boolean fetchRemoteSearch(Repository repository,
+                                      RemoteRepository remoteRepository,
+                                      NugetSearchRequest nugetSearchRequest,
+                                      Paginator paginator,
+                                      RemoteRepositorySearchEvent event)
+        throws IOException
+    {
+        Selector<RemoteArtifactEntry> selector = new Selector<>(RemoteArtifactEntry.class);
+        selector.select("count(*)");
+        selector.where(Predicate.of(ExpOperator.EQ.of("storageId", event.getStorageId())))
+                .and(Predicate.of(ExpOperator.EQ.of("repositoryId", event.getRepositoryId())));
+        if (!event.getPredicate().isEmpty())
+        {
+            selector.getPredicate().and(event.getPredicate());
+        }
+        OQueryTemplate<Long, RemoteArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
+        Long packageCount = queryTemplate.select(selector);
 
-                Long remotePackageCount = Long.valueOf(queryParams(service.path("Search()/$count"),
-                                                                   nugetSearchRequest, new Paginator()).request()
-                                                                                                       .buildGet()
-                                                                                                       .invoke(String.class));
-                logger.debug(String.format("Remote repository [%s] remote package count is [%s]",
-                                           repository.getId(), remotePackageCount));
+        logger.debug(String.format("Remote repository [%s] cached package count is [%s]", repository.getId(),
+                                   packageCount));
 
-                if (Long.valueOf(remotePackageCount).compareTo(packageCount) == 0)
-                {
-                    logger.debug(String.format("No need to download remote feed, there was no changes in remote repository [%s] against local cache.",
-                                               remoteRepository.getUrl()));
-                    return;
-                }
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        PackageFeed feed;
+        try
+        {
+            WebTarget service = restClient.target(remoteRepository.getUrl());
+
+            Long remotePackageCount = Long.valueOf(queryParams(service.path("Search()/$count"),
+                                                               nugetSearchRequest, new Paginator()).request()
+                                                                                                   .buildGet()
+                                                                                                   .invoke(String.class));
+            logger.debug(String.format("Remote repository [%s] remote package count is [%s]",
+                                       repository.getId(), remotePackageCount));
 
-                logger.debug(String.format("Downloading remote feed for [%s].",
+            if (Long.valueOf(remotePackageCount).compareTo(packageCount) == 0)
+            {
+                logger.debug(String.format("No need to download remote feed, there was no changes in remote repository [%s] against local cache.",
                                            remoteRepository.getUrl()));
+                return true;
+            }
 
-                feed = queryParams(service.path("Search()"), nugetSearchRequest, event.getPaginator()).request()
-                                                                                                      .buildGet()
-                                                                                                      .invoke(PackageFeed.class);
+            logger.debug(String.format("Downloading remote feed for [%s].",
+                                       remoteRepository.getUrl()));
 
-                logger.debug(String.format("Downloaded remote feed for [%s], size [%s].",
-                                           remoteRepository.getUrl(),
-                                           Optional.of(feed).map(f -> f.getEntries().size()).orElse(0)));
+            feed = queryParams(service.path("Search()"), nugetSearchRequest, paginator).request()
+                                                                                       .buildGet()
+                                                                                       .invoke(PackageFeed.class);
 
-            }
-            catch (Exception e)
-            {
-                logger.error(String.format("Failed to fetch Nuget remote feed [%s]", remoteRepository.getUrl()), e);
-                return;
-            } 
-            finally
-            {
-                restClient.close();
-            }
+            logger.debug(String.format("Downloaded remote feed for [%s], size [%s].",
+                                       remoteRepository.getUrl(),
+                                       Optional.of(feed).map(f -> f.getEntries().size()).orElse(0)));
 
-            parseFeed(repository, feed);
         }
+        catch (Exception e)
+        {
+            logger.error(String.format("Failed to fetch Nuget remote feed [%s]", remoteRepository.getUrl()), e);
+            return false;
+        } 
+        finally
+        {
+            restClient.close();
+        }
+
+        parseFeed(repository, feed);
+
+        return true;
+    }
 
+    private static Paginator copyOf(Paginator paginator)
+    {
+        Paginator result = new Paginator();
+        result.setSkip(paginator.getSkip());
+        result.setLimit(paginator.getLimit());
+        result.setProperty(paginator.getProperty());
+        result.setOrder(paginator.getOrder());
+        result.setCursor(paginator.getCursor());
+
+        return result;
     }
 
     private WebTarget queryParams(WebTarget path,
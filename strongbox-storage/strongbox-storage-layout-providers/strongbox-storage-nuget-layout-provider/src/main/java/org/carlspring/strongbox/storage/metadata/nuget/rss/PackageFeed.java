@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -46,7 +47,7 @@ import org.carlspring.strongbox.storage.metadata.nuget.XmlWritable;
  */
 @XmlRootElement(name = "feed", namespace = PackageFeed.ATOM_XML_NAMESPACE)
 @XmlAccessorType(XmlAccessType.NONE)
-@XmlType(propOrder = { "title", "id", "updated", "link", "entries" })
+@XmlType(propOrder = { "title", "id", "updated", "links", "entries" })
 public class PackageFeed implements XmlWritable
 {
 
@@ -78,11 +79,15 @@ public class PackageFeed implements XmlWritable
     @XmlElement(name = "updated", type = Date.class, namespace = ATOM_XML_NAMESPACE)
     private Date updated;
 
+    private static final String SELF_LINK = "self";
+
+    private static final String NEXT_LINK = "next";
+
     /**
-     * Link to packages
+     * Link to packages and link to the next page of packages
      */
     @XmlElement(name = "link", namespace = ATOM_XML_NAMESPACE)
-    private Link link = new Link("self", "Packages", "Packages");
+    private List<Link> links = new ArrayList<>(Collections.singletonList(new Link(SELF_LINK, "Packages", "Packages")));
 
     /**
      * Packet descriptions
@@ -146,7 +151,7 @@ public class PackageFeed implements XmlWritable
      */
     public String getLink()
     {
-        return link.getHref();
+        return getLinkHref(SELF_LINK);
     }
 
     /**
@@ -155,7 +160,40 @@ public class PackageFeed implements XmlWritable
      */
     public void setLink(String link)
     {
-        this.link = new Link("self", "Packages", link);
+        setLinkHref(SELF_LINK, "Packages", link);
+    }
+
+    /**
+     * @return link to the next page of packages
+     */
+    public String getNextLink()
+    {
+        return getLinkHref(NEXT_LINK);
+    }
+
+    /**
+     * @param nextLink
+     *            link to the next page of packages
+     */
+    public void setNextLink(String nextLink)
+    {
+        setLinkHref(NEXT_LINK, null, nextLink);
+    }
+
+    private String getLinkHref(String rel)
+    {
+        return links.stream().filter(l -> rel.equals(l.getRel())).map(Link::getHref).findFirst().orElse(null);
+    }
+
+    private void setLinkHref(String rel,
+                             String title,
+                             String href)
+    {
+        links.removeIf(l -> rel.equals(l.getRel()));
+        if (href != null)
+        {
+            links.add(new Link(rel, title, href));
+        }
     }
 
     /**
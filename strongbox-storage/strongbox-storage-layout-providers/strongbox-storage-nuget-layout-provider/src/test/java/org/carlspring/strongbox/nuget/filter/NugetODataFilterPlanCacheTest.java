@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.nuget.filter;
+
+import org.carlspring.strongbox.data.criteria.Expression;
+import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.Predicate;
+import org.carlspring.strongbox.data.criteria.QueryParserException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NugetODataFilterPlanCacheTest
+{
+
+    private NugetODataFilterPlanCache cache;
+
+    @BeforeEach
+    public void setUp()
+    {
+        cache = new NugetODataFilterPlanCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+
+        cache.init();
+    }
+
+    @Test
+    public void testShape()
+    {
+        List<String> literals = new ArrayList<>();
+        assertEquals("tolower(Id) eq 'p0' and Version eq 'p1'",
+                     NugetODataFilterPlanCache.toShape("  tolower(Id)  eq 'NHibernate' and Version eq '4.0.4.4000' ",
+                                                       literals));
+        assertEquals(Arrays.asList("NHibernate", "4.0.4.4000"), literals);
+
+        // The keywords and the unterminated literals are not the values.
+        assertNull(NugetODataFilterPlanCache.toShape("Id eq 'and'", new ArrayList<>()));
+        assertNull(NugetODataFilterPlanCache.toShape("Id eq 'NHibernate", new ArrayList<>()));
+    }
+
+    @Test
+    public void testPlannedPredicateMatchesParsedPredicate()
+    {
+        for (String filter : Arrays.asList("IsLatestVersion",
+                                           "tolower(Id) eq 'nhibernate'",
+                                           "tolower(Id) eq 'log4net' and IsLatestVersion",
+                                           "(Id eq 'NHibernate' or Id eq 'log4net') and Version eq '4.0.4.4000'"))
+        {
+            // The first one compiles the plan, the second one is planned from the cache.
+            assertEquals(toString(parse(filter)), toString(cache.getPredicate(filter)));
+            assertEquals(toString(parse(filter)), toString(cache.getPredicate(filter)));
+        }
+    }
+
+    @Test
+    public void testPlannedPredicateIsCopied()
+    {
+        Predicate predicate = cache.getPredicate("tolower(Id) eq 'nhibernate'");
+        predicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "nupkg")));
+
+        assertEquals(toString(parse("tolower(Id) eq 'log4net'")),
+                     toString(cache.getPredicate("tolower(Id) eq 'log4net'")));
+    }
+
+    @Test
+    public void testInvalidFilter()
+    {
+        assertThrows(QueryParserException.class, () -> cache.getPredicate("Id eq 'and'"));
+        assertThrows(QueryParserException.class, () -> cache.getPredicate("Id eq NHibernate"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPlanIsEvicted()
+    {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        cache.init();
+        LongAdder hits = (LongAdder) ReflectionTestUtils.getField(cache, "hits");
+
+        cache.getPredicate("IsLatestVersion");
+        cache.getPredicate("tolower(Id) eq 'nhibernate'");
+        cache.getPredicate("IsLatestVersion");
+        cache.getPredicate("Id eq 'NHibernate' and IsLatestVersion");
+        assertEquals(1, hits.sum());
+
+        cache.getPredicate("IsLatestVersion");
+        assertEquals(2, hits.sum());
+
+        cache.getPredicate("tolower(Id) eq 'log4net'");
+        assertEquals(2, hits.sum());
+    }
+
+    private static Predicate parse(String filter)
+    {
+        return new NugetODataFilterQueryParser(filter).parseQuery().getPredicate();
+    }
+
+    private static String toString(Predicate predicate)
+    {
+        StringBuilder sb = new StringBuilder();
+        Expression expression = predicate.getExpression();
+        if (expression != null)
+        {
+            sb.append(String.format("%s %s %s", expression.getProperty(), expression.getOperator(),
+                                    expression.getValue()));
+        }
+        sb.append(String.format(" %s%s%s [", predicate.getOperator(), predicate.isNested() ? " nested" : "",
+                                predicate.isNegated() ? " negated" : ""));
+        predicate.getChildPredicateList().forEach(p -> sb.append(toString(p)).append(", "));
+
+        return sb.append("]").toString();
+    }
+
+}
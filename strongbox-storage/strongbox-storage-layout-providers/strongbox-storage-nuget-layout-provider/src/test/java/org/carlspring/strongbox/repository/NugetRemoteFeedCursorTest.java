@@ -0,0 +1,95 @@
+package org.carlspring.strongbox.repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class NugetRemoteFeedCursorTest
+{
+
+    private static final String PARAMETERS = "1000|Id eq 'NHibernate'||";
+
+    private Path cursorDirectory;
+
+    private Path cursorPath;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        cursorDirectory = Files.createTempDirectory("nuget-remote-feed");
+        cursorPath = cursorDirectory.resolve("cursor");
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists(cursorPath);
+        Files.deleteIfExists(cursorDirectory);
+    }
+
+    @Test
+    public void testResumeFromLastCommittedPage()
+        throws IOException
+    {
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, PARAMETERS))
+        {
+            assertEquals(0, cursor.getSkip());
+
+            cursor.commit(1000);
+            cursor.commit(2000);
+        }
+
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, PARAMETERS))
+        {
+            assertEquals(2000, cursor.getSkip());
+
+            cursor.finish();
+        }
+
+        assertFalse(Files.exists(cursorPath));
+    }
+
+    @Test
+    public void testStartOverWithOtherParameters()
+        throws IOException
+    {
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, PARAMETERS))
+        {
+            cursor.commit(1000);
+        }
+
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, "500|||"))
+        {
+            assertEquals(0, cursor.getSkip());
+        }
+    }
+
+    @Test
+    public void testConcurrentDownloadIsRejected()
+        throws IOException
+    {
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, PARAMETERS))
+        {
+            assertNull(NugetRemoteFeedCursor.open(cursorPath, PARAMETERS));
+
+            cursor.commit(1000);
+        }
+
+        try (NugetRemoteFeedCursor cursor = NugetRemoteFeedCursor.open(cursorPath, PARAMETERS))
+        {
+            assertNotNull(cursor);
+            assertEquals(1000, cursor.getSkip());
+        }
+    }
+
+}
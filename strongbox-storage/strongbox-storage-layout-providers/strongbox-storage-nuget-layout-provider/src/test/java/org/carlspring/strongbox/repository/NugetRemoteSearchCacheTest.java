@@ -0,0 +1,149 @@
+package org.carlspring.strongbox.repository;
+
+import org.carlspring.strongbox.data.criteria.Paginator;
+import org.carlspring.strongbox.nuget.NugetSearchRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class NugetRemoteSearchCacheTest
+{
+
+    private static final String STORAGE_ID = "storage-nuget";
+
+    private static final String REPOSITORY_ID = "nuget.org";
+
+    private NugetRemoteSearchCache cache;
+
+    private List<Runnable> backgroundTasks;
+
+    private AtomicInteger remoteSearches;
+
+    @BeforeEach
+    public void setUp()
+    {
+        backgroundTasks = new ArrayList<>();
+        remoteSearches = new AtomicInteger();
+
+        cache = new NugetRemoteSearchCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60000L);
+        ReflectionTestUtils.setField(cache, "remoteSearchTaskExecutor", (Executor) backgroundTasks::add);
+
+        cache.init();
+    }
+
+    @Test
+    public void testFreshSearchIsNotFetched()
+        throws Exception
+    {
+        search("Id eq 'NHibernate'", null, 0, 10);
+        assertEquals(1, remoteSearches.get());
+
+        // The same search, up to the whitespace and the case of the search term.
+        search(" Id  eq 'NHibernate' ", null, 0, 10);
+        assertEquals(1, remoteSearches.get());
+
+        search("Id eq 'NHibernate'", null, 10, 10);
+        assertEquals(2, remoteSearches.get());
+
+        search(null, "NHibernate", 0, 10);
+        search(null, "nhibernate ", 0, 10);
+        assertEquals(3, remoteSearches.get());
+        assertEquals(0, backgroundTasks.size());
+    }
+
+    @Test
+    public void testStaleSearchIsFetchedInBackground()
+        throws Exception
+    {
+        search("Id eq 'NHibernate'", null, 0, 10);
+        assertEquals(1, remoteSearches.get());
+
+        ReflectionTestUtils.setField(cache, "ttlMillis", 100L);
+        Thread.sleep(200);
+
+        // Answered right away, the fetch is started once for the concurrent stale searches.
+        search("Id eq 'NHibernate'", null, 0, 10);
+        search("Id eq 'NHibernate'", null, 0, 10);
+        assertEquals(1, remoteSearches.get());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.remove(0).run();
+        assertEquals(2, remoteSearches.get());
+    }
+
+    @Test
+    public void testFailedSearchIsFetchedAgain()
+        throws Exception
+    {
+        cache.search(STORAGE_ID, REPOSITORY_ID, request("Id eq 'NHibernate'", null), paginator(0, 10), () -> {
+            remoteSearches.incrementAndGet();
+            return false;
+        });
+        search("Id eq 'NHibernate'", null, 0, 10);
+
+        assertEquals(2, remoteSearches.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSearchIsEvicted()
+        throws Exception
+    {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        cache.init();
+
+        search("Id eq 'A'", null, 0, 10);
+        search("Id eq 'B'", null, 0, 10);
+        search("Id eq 'A'", null, 0, 10);
+        search("Id eq 'C'", null, 0, 10);
+        assertEquals(3, remoteSearches.get());
+
+        search("Id eq 'A'", null, 0, 10);
+        assertEquals(3, remoteSearches.get());
+
+        search("Id eq 'B'", null, 0, 10);
+        assertEquals(4, remoteSearches.get());
+    }
+
+    private void search(String filter,
+                        String searchTerm,
+                        int skip,
+                        int top)
+        throws Exception
+    {
+        cache.search(STORAGE_ID, REPOSITORY_ID, request(filter, searchTerm), paginator(skip, top), () -> {
+            remoteSearches.incrementAndGet();
+            return true;
+        });
+    }
+
+    private NugetSearchRequest request(String filter,
+                                       String searchTerm)
+    {
+        NugetSearchRequest nugetSearchRequest = new NugetSearchRequest();
+        nugetSearchRequest.setFilter(filter);
+        nugetSearchRequest.setSearchTerm(searchTerm);
+
+        return nugetSearchRequest;
+    }
+
+    private Paginator paginator(int skip,
+                                int top)
+    {
+        Paginator paginator = new Paginator();
+        paginator.setSkip(skip);
+        paginator.setLimit(top);
+
+        return paginator;
+    }
+
+}
@@ -30,6 +30,8 @@ public class StrongboxSpringBootApplication
 
     private static final Logger logger = LoggerFactory.getLogger(StrongboxSpringBootApplication.class);
 
+    private static final String GROUP_UPDATES_COALESCE_PROPERTY = "strongbox.group.updates.coalesce";
+
     private static ConfigurableApplicationContext applicationContext;
 
     public static void main(String[] args)
@@ -42,6 +44,12 @@ public class StrongboxSpringBootApplication
             System.setProperty(OrientDBProfile.PROPERTY_PROFILE, OrientDBProfile.PROFILE_EMBEDDED);
         }
 
+        // The group repository updates are coalesced by the server only, the tests expect them to be immediate.
+        if (System.getProperty(GROUP_UPDATES_COALESCE_PROPERTY) == null)
+        {
+            System.setProperty(GROUP_UPDATES_COALESCE_PROPERTY, Boolean.TRUE.toString());
+        }
+
         applicationContext = SpringApplication.run(StrongboxSpringBootApplication.class, args);
         applicationContext.start();
     }
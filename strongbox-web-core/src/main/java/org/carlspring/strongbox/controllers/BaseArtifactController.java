@@ -1,6 +1,11 @@
 package org.carlspring.strongbox.controllers;
 
+import org.carlspring.commons.http.range.ByteRange;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryDownload;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryDownloadManager;
+import org.carlspring.strongbox.resource.ResourceCloser;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -9,7 +14,9 @@ import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -31,6 +38,9 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private ProxyRepositoryDownloadManager proxyRepositoryDownloadManager;
+
 
     @ApiOperation(value = "Used to deploy an artifact")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "The artifact was deployed successfully."),
@@ -84,7 +94,19 @@ public abstract class BaseArtifactController
     {
         logger.debug("Resolved path: " + repositoryPath);
         
-        ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+        ProxyRepositoryDownload download = repositoryPath == null ? null
+                : proxyRepositoryDownloadManager.getDownload(repositoryPath);
+        if (download != null)
+        {
+            logger.debug("Serving in-flight download.");
+
+            ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath, download);
+        }
+        else
+        {
+            ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
+        }
+
         if (response.getStatus() == HttpStatus.NOT_FOUND.value())
         {
             return false;
@@ -94,8 +116,18 @@ public abstract class BaseArtifactController
             return true;
         }
 
+        RepositoryInputStream fileChannelInputStream = download == null
+                ? artifactResolutionService.getFileChannelInputStream(repositoryPath) : null;
+        if (fileChannelInputStream != null)
+        {
+            transferToResponse(fileChannelInputStream, httpHeaders, response);
+
+            return true;
+        }
+
         InputStream is = artifactResolutionService.getInputStream(repositoryPath);
-        if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        // The in-flight download is served as a whole, the ranged requests will be available once it's stored.
+        if (download == null && ArtifactControllerHelper.isRangedRequest(httpHeaders))
         {
             logger.debug("Detected ranged request.");
 
@@ -107,4 +139,46 @@ public abstract class BaseArtifactController
         return true;
     }
 
+    /**
+     * Serves the artifact file from the file channel, ranged requests are served with positional reads.
+     * <br>
+     * The servlet output stream is not a channel which the file can be transferred into by the kernel, so this is still
+     * a buffered copy. It skips the layout digest calculation and the per-chunk flushes of {@link #copyToResponse}.
+     */
+    private void transferToResponse(RepositoryInputStream is,
+                                    HttpHeaders httpHeaders,
+                                    HttpServletResponse response)
+            throws IOException
+    {
+        try
+        {
+            long length = is.size();
+            long position = 0;
+            long count = length;
+
+            if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+            {
+                logger.debug("Detected ranged request.");
+
+                ByteRange byteRange = ArtifactControllerHelper.handlePartialDownload(length, httpHeaders, response);
+                if (byteRange == null)
+                {
+                    return;
+                }
+
+                long partialLength = ArtifactControllerHelper.calculatePartialRangeLength(byteRange, length);
+
+                position = byteRange.getOffset();
+                count = partialLength < 0 ? length - position : partialLength;
+            }
+
+            is.transferTo(position, count, Channels.newChannel(response.getOutputStream()));
+            response.flushBuffer();
+        }
+        finally
+        {
+            ResourceCloser.close(is, logger);
+        }
+    }
+
 }
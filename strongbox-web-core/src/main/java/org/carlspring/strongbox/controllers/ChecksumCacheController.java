@@ -0,0 +1,49 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.controllers.support.ChecksumCacheStatsEntityBody;
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheStats;
+
+import javax.inject.Inject;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+@Controller
+@PreAuthorize("hasAuthority('ADMIN')")
+@RequestMapping("/api/checksum-cache")
+@Api(value = "/api/checksum-cache")
+public class ChecksumCacheController
+        extends BaseController
+{
+
+    @Inject
+    private ChecksumCacheManager checksumCacheManager;
+
+    @ApiOperation(value = "Get the hit, miss and eviction counters of the uploaded artifact checksums cache")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "The checksum cache stats were retrieved.") })
+    @GetMapping(value = "stats",
+                produces = { MediaType.TEXT_PLAIN_VALUE,
+                             MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity getStats(@RequestHeader(HttpHeaders.ACCEPT) String accept)
+    {
+        ChecksumCacheStats checksumCacheStats = checksumCacheManager.getStats();
+        if (MediaType.APPLICATION_JSON_VALUE.equals(accept))
+        {
+            return ResponseEntity.ok(new ChecksumCacheStatsEntityBody(checksumCacheStats));
+        }
+
+        return ResponseEntity.ok(String.valueOf(checksumCacheStats));
+    }
+
+}
@@ -36,15 +36,14 @@ import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.npm.NpmSearchRequest;
 import org.carlspring.strongbox.npm.NpmViewRequest;
-import org.carlspring.strongbox.npm.metadata.DistTags;
 import org.carlspring.strongbox.npm.metadata.PackageFeed;
 import org.carlspring.strongbox.npm.metadata.PackageVersion;
 import org.carlspring.strongbox.npm.metadata.SearchResults;
-import org.carlspring.strongbox.npm.metadata.Time;
-import org.carlspring.strongbox.npm.metadata.Versions;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache.PackageFeedContent;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
@@ -112,6 +111,9 @@ public class NpmArtifactController extends BaseArtifactController
     @Inject
     private NpmPackageSupplier npmPackageSupplier;
 
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
+
     @Inject
     private NpmSearchResultSupplier npmSearchResultSupplier;
     
@@ -134,6 +136,7 @@ public class NpmArtifactController extends BaseArtifactController
                        @PathVariable(name = "repositoryId") String repositoryId,
                        @RequestParam(name = "text") String text,
                        @RequestParam(name = "size", defaultValue = "20") Integer size,
+                       @RequestParam(name = "from", defaultValue = "0") Integer from,
                        HttpServletResponse response) throws JsonProcessingException, IOException
     {
         NpmSearchRequest npmSearchRequest = new NpmSearchRequest();
@@ -157,7 +160,8 @@ public class NpmArtifactController extends BaseArtifactController
         
         
         Paginator paginator = new Paginator();
-        paginator.setLimit(20);
+        paginator.setSkip(from);
+        paginator.setLimit(size);
         
         List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
 
@@ -219,6 +223,7 @@ public class NpmArtifactController extends BaseArtifactController
                                          @PathVariable(name = "repositoryId") String repositoryId,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
                                          HttpServletResponse response)
         throws Exception
     {
@@ -230,51 +235,17 @@ public class NpmArtifactController extends BaseArtifactController
         
         Repository repository = getRepository(storageId, repositoryId);
 
-        PackageFeed packageFeed = new PackageFeed();
-
-        packageFeed.setName(packageId);
-        packageFeed.setAdditionalProperty("_id", packageId);
-        
-        Predicate predicate = createSearchPredicate(packageScope, packageName);
-
-        RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
-
-        Paginator paginator = new Paginator();
-        paginator.setProperty("version");
-
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
-
-        Versions versions = new Versions();
-        packageFeed.setVersions(versions);
-
-        Time npmTime = new Time();
-        packageFeed.setTime(npmTime);
-
-        DistTags distTags = new DistTags();
-        packageFeed.setDistTags(distTags);
-
-        searchResult.stream().map(npmPackageSupplier).forEach(p -> {
-            PackageVersion npmPackage = p.getNpmPackage();
-            versions.setAdditionalProperty(npmPackage.getVersion(), npmPackage);
-
-            npmTime.setAdditionalProperty(npmPackage.getVersion(), p.getReleaseDate());
-
-            Date created = npmTime.getCreated();
-            npmTime.setCreated(created == null || created.before(p.getReleaseDate()) ? p.getReleaseDate() : created);
+        PackageFeedContent packageFeed = npmPackageFeedCache.getPackageFeed(repository, packageScope, packageName);
 
-            Date modified = npmTime.getModified();
-            npmTime.setModified(modified == null || modified.before(p.getReleaseDate()) ? p.getReleaseDate()
-                    : modified);
-
-            if (p.isLastVersion())
-            {
-                distTags.setLatest(npmPackage.getVersion());
-            }
-
-        });
+        response.setHeader(HttpHeaders.ETAG, packageFeed.getEtag());
+        if (packageFeed.getEtag().equals(ifNoneMatch))
+        {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
 
         response.setContentType(MediaType.APPLICATION_JSON);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+        response.getOutputStream().write(packageFeed.getContent());
     }
 
     @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
@@ -282,25 +253,11 @@ public class NpmArtifactController extends BaseArtifactController
     public void viewPackageFeed(@PathVariable(name = "storageId") String storageId,
                                 @PathVariable(name = "repositoryId") String repositoryId,
                                 @PathVariable(name = "packageName") String packageName,
+                                @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
                                 HttpServletResponse response)
         throws Exception
     {
-        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, response);
-    }
-
-    private Predicate createSearchPredicate(String packageScope,
-                                            String packageName)
-    {
-        Predicate rootPredicate = Predicate.empty();
-
-        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "tgz")));
-        rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.name", packageName)));
-        if (packageScope != null)
-        {
-            rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.scope", packageScope)));
-        }
-
-        return rootPredicate;
+        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, ifNoneMatch, response);
     }
 
     @PreAuthorize("hasAuthority('ARTIFACTS_RESOLVE')")
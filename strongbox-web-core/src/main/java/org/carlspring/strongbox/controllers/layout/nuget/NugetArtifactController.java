@@ -5,13 +5,14 @@ import org.carlspring.strongbox.artifact.coordinates.PathNupkg;
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.controllers.BaseArtifactController;
 import org.carlspring.strongbox.data.criteria.Expression.ExpOperator;
+import org.carlspring.strongbox.data.criteria.PageCursor;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
 import org.carlspring.strongbox.io.ReplacingInputStream;
 import org.carlspring.strongbox.nuget.NugetSearchRequest;
-import org.carlspring.strongbox.nuget.filter.NugetODataFilterQueryParser;
+import org.carlspring.strongbox.nuget.filter.NugetODataFilterPlanCache;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
@@ -64,6 +65,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
 /**
@@ -92,6 +94,9 @@ public class NugetArtifactController extends BaseArtifactController
     
     @Inject
     private RepositorySearchEventListener repositorySearchEventListener;
+
+    @Inject
+    private NugetODataFilterPlanCache nugetODataFilterPlanCache;
     
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
@@ -160,11 +165,26 @@ public class NugetArtifactController extends BaseArtifactController
                                             @RequestParam(name = "$orderby", required = false, defaultValue = "Id") String orderBy,
                                             @RequestParam(name = "$skip", required = false) Integer skip,
                                             @RequestParam(name = "$top", required = false) Integer top,
+                                            @RequestParam(name = "$skiptoken", required = false) String skipToken,
                                             @RequestParam(name = "searchTerm", required = false) String searchTerm,
                                             @RequestParam(name = "targetFramework", required = false) String targetFramework,
+                                            HttpServletRequest request,
                                             HttpServletResponse response)
             throws JAXBException, IOException
     {
+        PageCursor cursor = null;
+        if (skipToken != null)
+        {
+            try
+            {
+                cursor = PageCursor.decode(skipToken);
+            }
+            catch (IllegalArgumentException e)
+            {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+        }
+
         String normalizedSearchTerm = normaliseSearchTerm(searchTerm);
         
         NugetSearchRequest nugetSearchRequest = new NugetSearchRequest();
@@ -185,9 +205,11 @@ public class NugetArtifactController extends BaseArtifactController
                             normalizedSearchTerm,
                             targetFramework,
                             skip,
-                            top);
+                            top,
+                            cursor);
 
         PackageFeed feed = transform(feedId, files);
+        feed.setNextLink(getNextLink(request, files, orderBy, top));
 
         response.setHeader("content-type", MediaType.APPLICATION_XML);
         feed.writeXml(response.getOutputStream());
@@ -311,7 +333,8 @@ public class NugetArtifactController extends BaseArtifactController
                                                    String searchTerm,
                                                    String targetFramework,
                                                    Integer skip,
-                                                   Integer top)
+                                                   Integer top,
+                                                   PageCursor cursor)
     {
         Repository repository = getRepository(storageId, repositoryId);
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
@@ -320,6 +343,7 @@ public class NugetArtifactController extends BaseArtifactController
         paginator.setSkip(skip);
         paginator.setLimit(top);
         paginator.setProperty(orderBy);
+        paginator.setCursor(cursor);
         
         Predicate rootPredicate = createSearchPredicate(filter, searchTerm);
         
@@ -348,6 +372,39 @@ public class NugetArtifactController extends BaseArtifactController
                        .collect(Collectors.toList());
     }
 
+    /**
+     * The next page is requested with the <code>$skiptoken</code>, which is the keyset cursor after the last package
+     * of the page, so it's selected without skipping all the preceding packages.
+     */
+    private String getNextLink(HttpServletRequest request,
+                               Collection<? extends Nupkg> files,
+                               String orderBy,
+                               Integer top)
+        throws IOException
+    {
+        Paginator paginator = new Paginator();
+        paginator.setLimit(top);
+        if (files.isEmpty() || files.size() < paginator.getLimit())
+        {
+            return null;
+        }
+
+        PathNupkg last = (PathNupkg) files.stream().filter(Objects::nonNull).reduce((first, second) -> second).orElse(null);
+        if (last == null)
+        {
+            return null;
+        }
+
+        PageCursor cursor = PageCursor.after(last.getPath().getArtifactEntry(), orderBy);
+
+        return UriComponentsBuilder.fromHttpUrl(request.getRequestURL().toString())
+                                   .query(request.getQueryString())
+                                   .replaceQueryParam("$skip")
+                                   .replaceQueryParam("$skiptoken", cursor.encode())
+                                   .build(true)
+                                   .toUriString();
+    }
+
     private Predicate createSearchPredicate(String filter,
                                             String searchTerm)
     {
@@ -355,8 +412,7 @@ public class NugetArtifactController extends BaseArtifactController
 
         if (filter != null && !filter.trim().isEmpty())
         {
-           NugetODataFilterQueryParser t = new NugetODataFilterQueryParser(filter);
-           rootPredicate = t.parseQuery().getPredicate();
+           rootPredicate = nugetODataFilterPlanCache.getPredicate(filter);
         }
         
         rootPredicate.and(Predicate.of(ExpOperator.EQ.of("artifactCoordinates.coordinates.extension", "nupkg")));
@@ -0,0 +1,80 @@
+package org.carlspring.strongbox.controllers.support;
+
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheStats;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ChecksumCacheStatsEntityBody
+{
+
+    @JsonProperty("hitCount")
+    private final long hitCount;
+
+    @JsonProperty("missCount")
+    private final long missCount;
+
+    @JsonProperty("expiredCount")
+    private final long expiredCount;
+
+    @JsonProperty("evictionCount")
+    private final long evictionCount;
+
+    @JsonProperty("size")
+    private final long size;
+
+    @JsonProperty("weight")
+    private final long weight;
+
+    @JsonProperty("maxWeight")
+    private final long maxWeight;
+
+    @JsonCreator
+    public ChecksumCacheStatsEntityBody(ChecksumCacheStats checksumCacheStats)
+    {
+        this.hitCount = checksumCacheStats.getHitCount();
+        this.missCount = checksumCacheStats.getMissCount();
+        this.expiredCount = checksumCacheStats.getExpiredCount();
+        this.evictionCount = checksumCacheStats.getEvictionCount();
+        this.size = checksumCacheStats.getSize();
+        this.weight = checksumCacheStats.getWeight();
+        this.maxWeight = checksumCacheStats.getMaxWeight();
+    }
+
+    public long getHitCount()
+    {
+        return hitCount;
+    }
+
+    public long getMissCount()
+    {
+        return missCount;
+    }
+
+    public long getExpiredCount()
+    {
+        return expiredCount;
+    }
+
+    public long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    public long getSize()
+    {
+        return size;
+    }
+
+    public long getWeight()
+    {
+        return weight;
+    }
+
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+}
@@ -33,6 +33,7 @@ public enum RepositoryFormConverter
         result.setAllowsDelete(source.isAllowsDelete());
         result.setAllowsDirectoryBrowsing(source.isAllowsDirectoryBrowsing());
         result.setChecksumHeadersEnabled(source.isChecksumHeadersEnabled());
+        result.setChecksumVerifyOnRead(source.isChecksumVerifyOnRead());
         if (source.getRepositoryConfiguration() != null)
         {
             result.setRepositoryConfiguration(
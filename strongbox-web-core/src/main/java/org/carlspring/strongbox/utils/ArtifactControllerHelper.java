@@ -7,6 +7,7 @@ import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryDownload;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.FilterInputStream;
@@ -83,6 +84,50 @@ public class ArtifactControllerHelper
         }
     }
 
+    /**
+     * Prepares the response for the ranged request, which is going to be served with positional reads of the content
+     * with given length.
+     *
+     * @return the range of the content to be served, or null if the request can't be satisfied
+     */
+    public static ByteRange handlePartialDownload(long length,
+                                                  HttpHeaders headers,
+                                                  HttpServletResponse response)
+    {
+        ByteRangeHeaderParser parser = new ByteRangeHeaderParser(headers.getFirst(HEADER_NAME_RANGE));
+        List<ByteRange> ranges = parser.getRanges();
+        if (ranges.size() != 1)
+        {
+            logger.debug("Received request for a partial download with multiple ranges.");
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+
+            return null;
+        }
+
+        ByteRange byteRange = ranges.get(0);
+        if (byteRange.getOffset() >= length)
+        {
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+
+            return null;
+        }
+
+        long partialLength = calculatePartialRangeLength(byteRange, length);
+        if (partialLength < 0)
+        {
+            partialLength = length - byteRange.getOffset();
+        }
+
+        logger.debug("Calculated partial range length ->>> " + partialLength + "\n");
+
+        response.setHeader("Content-Length", partialLength + "");
+        response.setStatus(PARTIAL_CONTENT.value());
+
+        prepareResponseBuilderForPartialRequest(byteRange, length, response);
+
+        return byteRange;
+    }
+
     public static void handlePartialDownloadWithMultipleRanges(InputStream is,
                                                                List<ByteRange> byteRanges,
                                                                HttpServletResponse response)
@@ -154,24 +199,11 @@ public class ArtifactControllerHelper
         response.setHeader("Content-Length", String.valueOf(fileAttributes.size()));
         response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
                 ZonedDateTime.ofInstant(fileAttributes.lastModifiedTime().toInstant(), ZoneId.systemDefault())));
+        response.setHeader("ETag", String.format("\"%s-%s\"",
+                                                 Long.toHexString(fileAttributes.lastModifiedTime().toMillis()),
+                                                 Long.toHexString(fileAttributes.size())));
 
-        // TODO: This is far from optimal and will need to have a content type approach at some point:
-        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
-        {
-            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith("xml"))
-        {
-            response.setContentType(MediaType.APPLICATION_XML_VALUE);
-        }
-        else if (path.getFileName().toString().endsWith(".gz"))
-        {
-            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
-        }
-        else
-        {
-            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
-        }
+        provideContentType(response, path);
 
         response.setHeader("Accept-Ranges", "bytes");
 
@@ -193,4 +225,44 @@ public class ArtifactControllerHelper
         
     }
 
+    /**
+     * Provides the headers for the artifact which is still being downloaded from remote, so we know neither
+     * its last modification time nor its checksums yet.
+     */
+    public static void provideArtifactHeaders(HttpServletResponse response,
+                                              RepositoryPath path,
+                                              ProxyRepositoryDownload download)
+        throws IOException
+    {
+        if (download.getContentLength() >= 0)
+        {
+            response.setHeader("Content-Length", String.valueOf(download.getContentLength()));
+        }
+
+        provideContentType(response, path);
+    }
+
+    private static void provideContentType(HttpServletResponse response,
+                                           RepositoryPath path)
+        throws IOException
+    {
+        // TODO: This is far from optimal and will need to have a content type approach at some point:
+        if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
+        {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith("xml"))
+        {
+            response.setContentType(MediaType.APPLICATION_XML_VALUE);
+        }
+        else if (path.getFileName().toString().endsWith(".gz"))
+        {
+            response.setContentType(com.google.common.net.MediaType.GZIP.toString());
+        }
+        else
+        {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+    }
+
 }
@@ -0,0 +1,86 @@
+package org.carlspring.strongbox.controllers;
+
+import org.carlspring.strongbox.config.IntegrationTest;
+import org.carlspring.strongbox.rest.common.RestAssuredBaseTest;
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
+
+import javax.inject.Inject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@IntegrationTest
+public class ChecksumCacheControllerTest
+        extends RestAssuredBaseTest
+{
+
+    private static final String ARTIFACT_BASE_PATH = "storage0/releases/org/carlspring/strongbox/checksum-cache/1.0/checksum-cache-1.0.jar";
+
+    @Inject
+    private ChecksumCacheManager checksumCacheManager;
+
+    @Override
+    @BeforeEach
+    public void init()
+            throws Exception
+    {
+        super.init();
+        setContextBaseUrl(getContextBaseUrl() + "/api/checksum-cache");
+
+        checksumCacheManager.addArtifactChecksum(ARTIFACT_BASE_PATH, "md5", "120ea8a25e5d487bf68b5f7096440019");
+        checksumCacheManager.getArtifactChecksum(ARTIFACT_BASE_PATH, "md5");
+    }
+
+    @AfterEach
+    public void removeChecksums()
+    {
+        checksumCacheManager.removeArtifactChecksum(ARTIFACT_BASE_PATH);
+    }
+
+    @Test
+    public void testGetStats()
+    {
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/stats")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body("hitCount", greaterThanOrEqualTo(1))
+               .body("missCount", notNullValue())
+               .body("expiredCount", notNullValue())
+               .body("evictionCount", notNullValue())
+               .body("size", greaterThanOrEqualTo(1))
+               .body("weight", greaterThanOrEqualTo(1))
+               .body("maxWeight", notNullValue());
+
+        given().accept(MediaType.TEXT_PLAIN_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/stats")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .body(containsString("hitCount="));
+    }
+
+    @Test
+    @WithAnonymousUser
+    public void testGetStatsRequiresAdmin()
+    {
+        given().accept(MediaType.APPLICATION_JSON_VALUE)
+               .when()
+               .get(getContextBaseUrl() + "/stats")
+               .peek()
+               .then()
+               .statusCode(HttpStatus.UNAUTHORIZED.value());
+    }
+
+}
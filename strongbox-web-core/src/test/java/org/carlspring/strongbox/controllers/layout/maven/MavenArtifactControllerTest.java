@@ -37,7 +37,11 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
@@ -575,6 +579,64 @@ public class MavenArtifactControllerTest
         assertEquals(sha1Remote, sha1Local, "Glued partial fetches did not match SHA-1 checksum!");
     }
 
+    @Test
+    public void testFileChannelFetch()
+            throws Exception
+    {
+        String url = getContextBaseUrl() + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES1;
+        String pathToJar = "org/carlspring/strongbox/partial/partial-foo/3.2/partial-foo-3.2.jar";
+        String artifactPath = url + "/" + pathToJar;
+
+        Path artifactFile = getRepositoryBasedir(STORAGE0, REPOSITORY_RELEASES1).toPath().resolve(pathToJar);
+        byte[] content = Files.readAllBytes(artifactFile);
+        FileTime lastModified = Files.getLastModifiedTime(artifactFile);
+
+        MockMvcResponse response = given().header("user-agent", "Maven/*")
+                                          .when()
+                                          .get(artifactPath);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCode());
+        assertEquals(String.valueOf(content.length), response.getHeader("Content-Length"));
+        assertEquals(String.format("\"%s-%s\"",
+                                   Long.toHexString(lastModified.toMillis()),
+                                   Long.toHexString(content.length)),
+                     response.getHeader("ETag"));
+        assertEquals(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(lastModified.toInstant(),
+                                                                                         ZoneId.systemDefault())),
+                     response.getHeader("Last-Modified"));
+        assertArrayEquals(content, response.asByteArray());
+
+        // The ranged requests are served with the positional reads of the file.
+        int offset = content.length / 3;
+        response = given().header("user-agent", "Maven/*")
+                          .header("Range", "bytes=" + offset + "-")
+                          .when()
+                          .get(artifactPath);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+        assertEquals(String.valueOf(content.length - offset), response.getHeader("Content-Length"));
+        assertEquals("bytes " + offset + "-" + (content.length - 1) + "/" + content.length,
+                     response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, offset, content.length), response.asByteArray());
+
+        response = given().header("user-agent", "Maven/*")
+                          .header("Range", "bytes=" + offset + "-" + (2 * offset))
+                          .when()
+                          .get(artifactPath);
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatusCode());
+        int partialLength = Integer.parseInt(response.getHeader("Content-Length"));
+        assertTrue(partialLength > 0 && offset + partialLength < content.length);
+        assertArrayEquals(Arrays.copyOfRange(content, offset, offset + partialLength), response.asByteArray());
+
+        given().header("user-agent", "Maven/*")
+               .header("Range", "bytes=" + content.length + "-")
+               .when()
+               .get(artifactPath)
+               .then()
+               .statusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+    }
+
     @Test
     public void testCopyArtifactFile()
             throws Exception
@@ -66,6 +66,8 @@ public class RepositoryForm
 
     private boolean checksumHeadersEnabled;
 
+    private boolean checksumVerifyOnRead;
+
     @Valid
     private ProxyConfigurationForm proxyConfiguration;
 
@@ -242,6 +244,16 @@ public class RepositoryForm
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isChecksumVerifyOnRead()
+    {
+        return checksumVerifyOnRead;
+    }
+
+    public void setChecksumVerifyOnRead(final boolean checksumVerifyOnRead)
+    {
+        this.checksumVerifyOnRead = checksumVerifyOnRead;
+    }
+
     public ProxyConfigurationForm getProxyConfiguration()
     {
         return proxyConfiguration;